@@ -0,0 +1,89 @@
+package com.sistema.transferencias.config;
+
+import org.springframework.stereotype.Component;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Data de negócio da aplicação, lida do {@link Clock} injetado.
+ * A data do dia é guardada junto com o intervalo de instantes em que vale, de modo que cada
+ * consulta é uma leitura de {@link Clock#millis()} e uma comparação; as regras do fuso só são
+ * consultadas de novo na virada do dia (ou se o relógio voltar).
+ * Com um relógio fixo ou ajustável, as contas de dias ficam reproduzíveis em testes e benchmarks.
+ */
+
+@Component
+public class CalendarioNegocio {
+
+    private final Clock clock;
+    private volatile Dia dia;
+
+    public CalendarioNegocio(Clock clock) {
+        this.clock = clock;
+        this.dia = calcularDia(clock.millis());
+    }
+
+    /**
+     * Calendário sobre o relógio do sistema, no fuso padrão; para uso fora do contexto Spring.
+     */
+
+    public static CalendarioNegocio sistema() {
+        return new CalendarioNegocio(Clock.systemDefaultZone());
+    }
+
+    /**
+     * @return Data atual no fuso do relógio
+     */
+
+    public LocalDate hoje() {
+        long agora = clock.millis();
+        Dia atual = dia;
+        if (agora >= atual.inicio && agora < atual.fim) {
+            return atual.data;
+        }
+        // Threads concorrentes na virada calculam o mesmo dia; qualquer uma pode publicá-lo
+        Dia novo = calcularDia(agora);
+        dia = novo;
+        return novo.data;
+    }
+
+    /**
+     * @return Data e hora atuais no fuso do relógio
+     */
+
+    public LocalDateTime agora() {
+        return LocalDateTime.now(clock);
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    private Dia calcularDia(long instante) {
+        ZoneId zona = clock.getZone();
+        LocalDate data = LocalDate.ofInstant(Instant.ofEpochMilli(instante), zona);
+        long inicio = data.atStartOfDay(zona).toInstant().toEpochMilli();
+        long fim = data.plusDays(1).atStartOfDay(zona).toInstant().toEpochMilli();
+        return new Dia(data, inicio, fim);
+    }
+
+    /**
+     * Data de negócio e o intervalo [inicio, fim) em milissegundos em que ela vale.
+     */
+
+    private static final class Dia {
+
+        private final LocalDate data;
+        private final long inicio;
+        private final long fim;
+
+        private Dia(LocalDate data, long inicio, long fim) {
+            this.data = data;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sistema.transferencias.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Liga o log dos comandos SQL só para as requisições selecionadas: as que enviam o cabeçalho
+ * {@value #CABECALHO}, se {@code transferencias.log.sql.cabecalho-habilitado} (desligado por padrão:
+ * qualquer cliente poderia enviá-lo), e uma amostra aleatória ({@code transferencias.log.sql.amostragem}, de 0 a 1).
+ * A seleção é marcada no MDC e lida pelo {@link LogSqlAmostradoTurboFilter}; nas demais requisições
+ * o logger {@code org.hibernate.SQL} continua desligado e o Hibernate nem formata o comando.
+ * Vale para a thread da requisição; o SQL de tarefas assíncronas (exportação) não é registrado.
+ */
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FiltroLogSql extends OncePerRequestFilter {
+
+    public static final String CABECALHO = "X-Log-Sql";
+
+    static final String CHAVE_MDC = "logSql";
+
+    private final double amostragem;
+    private final boolean cabecalhoHabilitado;
+
+    public FiltroLogSql(@Value("${transferencias.log.sql.amostragem:0}") double amostragem,
+                        @Value("${transferencias.log.sql.cabecalho-habilitado:false}") boolean cabecalhoHabilitado) {
+        if (amostragem < 0 || amostragem > 1) {
+            throw new IllegalStateException(
+                    "transferencias.log.sql.amostragem deve estar entre 0 e 1: " + amostragem);
+        }
+        this.amostragem = amostragem;
+        this.cabecalhoHabilitado = cabecalhoHabilitado;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!registrarSql(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        MDC.put(CHAVE_MDC, "true");
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(CHAVE_MDC);
+        }
+    }
+
+    private boolean registrarSql(HttpServletRequest request) {
+        if (cabecalhoHabilitado && "true".equalsIgnoreCase(request.getHeader(CABECALHO))) {
+            return true;
+        }
+        return amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem;
+    }
+}
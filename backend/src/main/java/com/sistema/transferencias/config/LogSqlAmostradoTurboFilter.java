@@ -0,0 +1,28 @@
+package com.sistema.transferencias.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Filtro do Logback (registrado em {@code logback-spring.xml}) que habilita o logger
+ * {@value #LOGGER_SQL} nas requisições marcadas pelo {@link FiltroLogSql}, mesmo com o nível
+ * configurado acima de DEBUG. Roda antes da verificação de nível de qualquer chamada de log,
+ * por isso compara primeiro o nome do logger e só então consulta o MDC.
+ */
+
+public class LogSqlAmostradoTurboFilter extends TurboFilter {
+
+    static final String LOGGER_SQL = "org.hibernate.SQL";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (LOGGER_SQL.equals(logger.getName()) && MDC.get(FiltroLogSql.CHAVE_MDC) != null) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
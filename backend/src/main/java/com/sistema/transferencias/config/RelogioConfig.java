@@ -0,0 +1,22 @@
+package com.sistema.transferencias.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Clock;
+import java.time.ZoneId;
+
+/**
+ * Relógio único da aplicação, no fuso configurado em {@code transferencias.fuso-horario}
+ * (fuso do sistema quando vazio). Todas as contas de data leem este relógio,
+ * por meio do {@link CalendarioNegocio}.
+ */
+
+@Configuration
+public class RelogioConfig {
+
+    @Bean
+    public Clock clock(@Value("${transferencias.fuso-horario:}") String fusoHorario) {
+        return fusoHorario.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(fusoHorario));
+    }
+}
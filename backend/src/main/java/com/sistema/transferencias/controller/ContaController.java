@@ -0,0 +1,82 @@
+package com.sistema.transferencias.controller;
+
+import com.sistema.transferencias.dto.ContaRequestDTO;
+import com.sistema.transferencias.dto.ContaResponseDTO;
+import com.sistema.transferencias.dto.DepositoRequestDTO;
+import com.sistema.transferencias.dto.LancamentoContaDTO;
+import com.sistema.transferencias.service.ContaService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/**
+ * Controller REST para contas: abertura, depósitos, saldo e extrato.
+ * Os saldos mudam pelos depósitos e pela liquidação das transferências.
+ */
+
+@RestController
+@RequestMapping("/api/contas")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ContaController {
+
+    private static final String LIMITE_EXTRATO_PADRAO = "50";
+
+    private final ContaService contaService;
+
+    @Autowired
+    public ContaController(ContaService contaService) {
+        this.contaService = contaService;
+    }
+
+    /**
+     * Abre uma conta.
+     * @param requestDTO Número da conta e saldo inicial
+     * @return Conta criada
+     */
+
+    @PostMapping
+    public ResponseEntity<ContaResponseDTO> abrirConta(@Valid @RequestBody ContaRequestDTO requestDTO) {
+        return new ResponseEntity<>(contaService.abrirConta(requestDTO), HttpStatus.CREATED);
+    }
+
+    /**
+     * Deposita na conta.
+     * @param numero Número da conta
+     * @param requestDTO Valor do depósito
+     * @return Conta com o saldo atualizado
+     */
+
+    @PostMapping("/{numero}/depositos")
+    public ResponseEntity<ContaResponseDTO> depositar(@PathVariable String numero,
+                                                      @Valid @RequestBody DepositoRequestDTO requestDTO) {
+        return ResponseEntity.ok(contaService.depositar(numero, requestDTO.getValor()));
+    }
+
+    /**
+     * Busca a conta e seu saldo.
+     * @param numero Número da conta
+     * @return Conta encontrada
+     */
+
+    @GetMapping("/{numero}")
+    public ResponseEntity<ContaResponseDTO> buscarConta(@PathVariable String numero) {
+        return ResponseEntity.ok(contaService.buscarConta(numero));
+    }
+
+    /**
+     * Extrato da conta, do lançamento mais recente para o mais antigo.
+     * @param numero Número da conta
+     * @param limite Quantidade máxima de lançamentos (padrão 50)
+     * @return Lançamentos da conta
+     */
+
+    @GetMapping("/{numero}/lancamentos")
+    public ResponseEntity<List<LancamentoContaDTO>> buscarExtrato(
+            @PathVariable String numero,
+            @RequestParam(defaultValue = LIMITE_EXTRATO_PADRAO) int limite) {
+        return ResponseEntity.ok(contaService.buscarExtrato(numero, limite));
+    }
+}
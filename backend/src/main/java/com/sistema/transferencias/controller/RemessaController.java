@@ -0,0 +1,96 @@
+package com.sistema.transferencias.controller;
+
+import com.sistema.transferencias.dto.RemessaDTO;
+import com.sistema.transferencias.model.FormatoRemessa;
+import com.sistema.transferencias.service.RemessaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * Controller REST para remessas: arquivos CSV ou posicionais com transferências a agendar em massa.
+ * O arquivo é processado em segundo plano; a situação e o relatório de resultado são consultados pelo ID.
+ */
+
+@RestController
+@RequestMapping("/api/remessas")
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = HttpHeaders.LOCATION)
+public class RemessaController {
+
+    private final RemessaService remessaService;
+
+    @Autowired
+    public RemessaController(RemessaService remessaService) {
+        this.remessaService = remessaService;
+    }
+
+    /**
+     * Recebe um arquivo de remessa para processamento.
+     * @param arquivo Arquivo (multipart), uma transferência por linha
+     * @param formato csv ou posicional
+     * @return Remessa recebida (HTTP 202), com {@code Location} apontando para a sua situação
+     */
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<RemessaDTO> receberRemessa(
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @RequestParam(defaultValue = "csv") String formato) throws IOException {
+
+        FormatoRemessa formatoRemessa = FormatoRemessa.de(formato);
+        RemessaDTO remessa;
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            remessa = remessaService.receber(arquivo.getOriginalFilename(), formatoRemessa, conteudo);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/remessas/" + remessa.getId()))
+                .body(remessa);
+    }
+
+    /**
+     * Busca a situação e o progresso de uma remessa.
+     * @param id ID da remessa
+     * @return Remessa
+     */
+
+    @GetMapping("/{id}")
+    public ResponseEntity<RemessaDTO> consultarRemessa(@PathVariable Long id) {
+        return ResponseEntity.ok(remessaService.consultar(id));
+    }
+
+    /**
+     * Relatório de resultado, uma linha por linha do arquivo, até o último bloco gravado.
+     * @param id ID da remessa
+     * @return CSV com linha, situação, ID, taxa e mensagem de rejeição
+     */
+
+    @GetMapping("/{id}/resultado")
+    public ResponseEntity<StreamingResponseBody> baixarResultado(@PathVariable Long id) {
+        remessaService.consultarResultado(id);
+
+        StreamingResponseBody body = saida -> remessaService.escreverResultado(id, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"remessa_" + id + "_resultado.csv\"")
+                .body(body);
+    }
+
+    /**
+     * Retoma uma remessa que falhou, a partir do último bloco gravado.
+     * @param id ID da remessa
+     * @return Remessa (HTTP 202)
+     */
+
+    @PostMapping("/{id}/retomar")
+    public ResponseEntity<RemessaDTO> retomarRemessa(@PathVariable Long id) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/remessas/" + id))
+                .body(remessaService.retomar(id));
+    }
+}
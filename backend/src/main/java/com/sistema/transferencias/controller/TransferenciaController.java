@@ -1,14 +1,37 @@
 package com.sistema.transferencias.controller;
 
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.PaginaTransferenciasDTO;
+import com.sistema.transferencias.dto.ResumoTransferenciasDTO;
+import com.sistema.transferencias.dto.SituacaoGravacaoDTO;
+import com.sistema.transferencias.dto.TransferenciaLoteResponseDTO;
 import com.sistema.transferencias.dto.TransferenciaRequestDTO;
 import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.exception.GlobalExceptionHandler;
+import com.sistema.transferencias.service.AgendamentoAssincrono;
+import com.sistema.transferencias.service.AgrupamentoResumo;
+import com.sistema.transferencias.service.AgendamentoAssincronoService;
+import com.sistema.transferencias.service.AgendamentoIdempotente;
+import com.sistema.transferencias.service.CotacaoTaxaCache;
+import com.sistema.transferencias.service.FormatoExportacao;
+import com.sistema.transferencias.service.IdempotenciaService;
+import com.sistema.transferencias.service.ResumoDiarioService;
+import com.sistema.transferencias.service.TransferenciaExportService;
+import com.sistema.transferencias.service.TransferenciaLoteService;
 import com.sistema.transferencias.service.TransferenciaService;
+import com.sistema.transferencias.service.ValidadorTransferencia;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -21,39 +44,138 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/transferencias")
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = {
+        TransferenciaController.HEADER_IDEMPOTENT_REPLAYED, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER})
 public class TransferenciaController {
     
+    private static final String TAMANHO_PAGINA_PADRAO = "50";
+    static final String HEADER_IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String HEADER_IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
     private final TransferenciaService transferenciaService;
+    private final TransferenciaLoteService transferenciaLoteService;
+    private final TransferenciaExportService transferenciaExportService;
+    private final CotacaoTaxaCache cotacaoTaxaCache;
+    private final IdempotenciaService idempotenciaService;
+    private final AgendamentoAssincronoService agendamentoAssincronoService;
+    private final ResumoDiarioService resumoDiarioService;
+    private final CalendarioNegocio calendario;
+    private final ValidadorTransferencia validadorTransferencia;
     
     @Autowired
-    public TransferenciaController(TransferenciaService transferenciaService) {
+    public TransferenciaController(TransferenciaService transferenciaService,
+                                   TransferenciaLoteService transferenciaLoteService,
+                                   TransferenciaExportService transferenciaExportService,
+                                   CotacaoTaxaCache cotacaoTaxaCache,
+                                   IdempotenciaService idempotenciaService,
+                                   AgendamentoAssincronoService agendamentoAssincronoService,
+                                   ResumoDiarioService resumoDiarioService,
+                                   CalendarioNegocio calendario,
+                                   ValidadorTransferencia validadorTransferencia) {
         this.transferenciaService = transferenciaService;
+        this.transferenciaLoteService = transferenciaLoteService;
+        this.transferenciaExportService = transferenciaExportService;
+        this.cotacaoTaxaCache = cotacaoTaxaCache;
+        this.idempotenciaService = idempotenciaService;
+        this.agendamentoAssincronoService = agendamentoAssincronoService;
+        this.resumoDiarioService = resumoDiarioService;
+        this.calendario = calendario;
+        this.validadorTransferencia = validadorTransferencia;
+    }
+
+    /**
+     * {@code @Valid} do agendamento usa o validador escrito à mão no lugar do Hibernate Validator.
+     */
+
+    @InitBinder("transferenciaRequestDTO")
+    public void registrarValidador(WebDataBinder binder) {
+        binder.setValidator(validadorTransferencia);
     }
     
     /**
      * Agenda uma nova transferência.
+     * Com o header {@code Idempotency-Key}, repetições da mesma requisição devolvem a
+     * transferência original (com {@code Idempotent-Replayed: true}) em vez de criar outra.
+     * Com o agendamento assíncrono habilitado (e sem chave de idempotência), a transferência ainda não
+     * gravada volta com HTTP 202 e {@code Location} apontando para a situação da gravação;
+     * com a fila cheia, a resposta é HTTP 429.
      * @param requestDTO Dados da transferência
+     * @param chaveIdempotencia Chave de idempotência opcional, gerada pelo cliente
      * @return Transferência agendada com taxa calculada
      */
 
     @PostMapping
     public ResponseEntity<TransferenciaResponseDTO> agendarTransferencia(
-            @Valid @RequestBody TransferenciaRequestDTO requestDTO) {
+            @Valid @RequestBody TransferenciaRequestDTO requestDTO,
+            @RequestHeader(value = HEADER_IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
+        
+        if (chaveIdempotencia == null && agendamentoAssincronoService.isHabilitado()) {
+            AgendamentoAssincrono agendamento = agendamentoAssincronoService.agendar(requestDTO);
+            if (agendamento.isGravado()) {
+                return new ResponseEntity<>(agendamento.getTransferencia(), HttpStatus.CREATED);
+            }
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/transferencias/" + agendamento.getTransferencia().id() + "/gravacao"))
+                    .body(agendamento.getTransferencia());
+        }
+        if (chaveIdempotencia == null) {
+            TransferenciaResponseDTO response = transferenciaService.agendarTransferencia(requestDTO);
+            return new ResponseEntity<>(response, HttpStatus.CREATED);
+        }
         
-        TransferenciaResponseDTO response = transferenciaService.agendarTransferencia(requestDTO);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        AgendamentoIdempotente agendamento = idempotenciaService.agendarTransferencia(chaveIdempotencia, requestDTO);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HEADER_IDEMPOTENT_REPLAYED, String.valueOf(agendamento.isRepetido()))
+                .body(agendamento.getTransferencia());
     }
     
     /**
-     * Busca todas as transferências agendadas.
-     * @return Lista de todas as transferências
+     * Agenda um lote de transferências em uma única transação.
+     * Cada item é validado individualmente; os inválidos são reportados
+     * e os válidos são persistidos.
+     * @param requests Dados das transferências
+     * @return Resultado do agendamento de cada item
+     */
+
+    @PostMapping("/lote")
+    public ResponseEntity<TransferenciaLoteResponseDTO> agendarLote(
+            @RequestBody List<TransferenciaRequestDTO> requests) {
+        
+        TransferenciaLoteResponseDTO response = transferenciaLoteService.agendarLote(requests);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Busca as transferências agendadas, paginadas por cursor (mais recentes primeiro).
+     * @param cursor Cursor da página anterior ({@code proximoCursor}); omitir na primeira página
+     * @param tamanho Tamanho da página
+     * @return Página de transferências
      */
 
     @GetMapping
-    public ResponseEntity<List<TransferenciaResponseDTO>> buscarTodasTransferencias() {
-        List<TransferenciaResponseDTO> transferencias = transferenciaService.buscarTodasTransferencias();
-        return ResponseEntity.ok(transferencias);
+    public ResponseEntity<PaginaTransferenciasDTO> buscarTransferencias(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = TAMANHO_PAGINA_PADRAO) int tamanho) {
+        PaginaTransferenciasDTO pagina = transferenciaService.buscarTransferencias(cursor, tamanho);
+        return ResponseEntity.ok(pagina);
+    }
+    
+    /**
+     * Totais de quantidade, valor e taxa das transferências com data no período,
+     * por dia, por faixa de taxa ou por partição da conta de origem, calculados a partir dos resumos diários.
+     * @param dataInicio Data inicial (formato: yyyy-MM-dd)
+     * @param dataFim Data final (formato: yyyy-MM-dd)
+     * @param agrupamento dia (padrão), faixa ou conta
+     * @return Totais do período e de cada grupo
+     */
+
+    @GetMapping("/resumo")
+    public ResponseEntity<ResumoTransferenciasDTO> resumirTransferencias(
+            @RequestParam String dataInicio,
+            @RequestParam String dataFim,
+            @RequestParam(defaultValue = "dia") String agrupamento) {
+        return ResponseEntity.ok(resumoDiarioService.resumir(
+                LocalDate.parse(dataInicio), LocalDate.parse(dataFim), AgrupamentoResumo.de(agrupamento)));
     }
     
     /**
@@ -69,22 +191,67 @@ public class TransferenciaController {
     }
     
     /**
-     * Busca transferências por conta de origem.
+     * Situação da gravação de uma transferência do agendamento assíncrono.
+     * @param id ID devolvido no agendamento
+     * @return Pendente, gravada ou com falha
+     */
+
+    @GetMapping("/{id}/gravacao")
+    public ResponseEntity<SituacaoGravacaoDTO> consultarGravacao(@PathVariable Long id) {
+        return ResponseEntity.ok(agendamentoAssincronoService.consultarGravacao(id));
+    }
+    
+    /**
+     * Busca transferências por conta de origem, paginadas por cursor.
      * @param contaOrigem Conta de origem
-     * @return Lista de transferências da conta
+     * @param cursor Cursor da página anterior ({@code proximoCursor}); omitir na primeira página
+     * @param tamanho Tamanho da página
+     * @return Página de transferências da conta
      */
 
     @GetMapping("/conta/{contaOrigem}")
-    public ResponseEntity<List<TransferenciaResponseDTO>> buscarTransferenciasPorConta(
-            @PathVariable String contaOrigem) {
+    public ResponseEntity<PaginaTransferenciasDTO> buscarTransferenciasPorConta(
+            @PathVariable String contaOrigem,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = TAMANHO_PAGINA_PADRAO) int tamanho) {
+        
+        PaginaTransferenciasDTO pagina = 
+                transferenciaService.buscarTransferenciasPorContaOrigem(contaOrigem, cursor, tamanho);
+        return ResponseEntity.ok(pagina);
+    }
+    
+    /**
+     * Exporta as transferências de um período, escrevendo as linhas à medida que são lidas do banco.
+     * @param dataInicio Data de transferência inicial (formato: YYYY-MM-DD)
+     * @param dataFim Data de transferência final (formato: YYYY-MM-DD)
+     * @param formato ndjson ou csv
+     * @return Arquivo com uma transferência por linha
+     */
+
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportarTransferencias(
+            @RequestParam String dataInicio,
+            @RequestParam String dataFim,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        
+        LocalDate inicio = LocalDate.parse(dataInicio);
+        LocalDate fim = LocalDate.parse(dataFim);
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        transferenciaExportService.validarPeriodo(inicio, fim);
         
-        List<TransferenciaResponseDTO> transferencias = 
-                transferenciaService.buscarTransferenciasPorContaOrigem(contaOrigem);
-        return ResponseEntity.ok(transferencias);
+        StreamingResponseBody body = saida ->
+                transferenciaExportService.exportar(inicio, fim, formatoExportacao, saida);
+        String nomeArquivo = String.format("transferencias_%s_%s.%s", inicio, fim, formatoExportacao.getExtensao());
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacao.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nomeArquivo + "\"")
+                .body(body);
     }
     
     /**
      * Calcula a taxa para uma transferência sem agendá-la.
+     * As cotações são servidas pelo {@link CotacaoTaxaCache}, válido até a virada do dia.
      * @param valor Valor da transferência
      * @param dataTransferencia Data da transferência (formato: YYYY-MM-DD)
      * @return Taxa calculada
@@ -96,18 +263,34 @@ public class TransferenciaController {
             @RequestParam String dataTransferencia) {
         
         LocalDate data = LocalDate.parse(dataTransferencia);
-        BigDecimal taxa = transferenciaService.calcularTaxaTransferencia(valor, data);
+        ResultadoTaxa resultado = cotacaoTaxaCache.cotarTaxa(valor, data);
+        if (resultado.isRejeitada()) {
+            // Mesma resposta do GlobalExceptionHandler, sem lançar a exceção
+            return GlobalExceptionHandler.respostaErro(HttpStatus.BAD_REQUEST,
+                    resultado.getMotivo().isErroDeTaxa() ? "Erro no cálculo da taxa" : "Argumento inválido",
+                    resultado.getMensagem());
+        }
         
         Map<String, Object> response = Map.of(
             "valorTransferencia", valor,
             "dataTransferencia", data,
-            "taxaCalculada", taxa,
-            "diasParaTransferencia", java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), data)
+            "taxaCalculada", resultado.getTaxa(),
+            "diasParaTransferencia", java.time.temporal.ChronoUnit.DAYS.between(calendario.hoje(), data)
         );
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Estatísticas do cache de cotações de taxa (acertos, faltas e entradas do dia).
+     * @return Contadores do cache
+     */
+
+    @GetMapping("/calcular-taxa/cache")
+    public ResponseEntity<Map<String, Object>> estatisticasCacheCotacoes() {
+        return ResponseEntity.ok(cotacaoTaxaCache.getEstatisticas());
+    }
+    
     /**
      * Endpoint de health check.
      * @return Status da aplicação
@@ -117,7 +300,7 @@ public class TransferenciaController {
     public ResponseEntity<Map<String, String>> healthCheck() {
         Map<String, String> response = Map.of(
             "status", "UP",
-            "timestamp", java.time.LocalDateTime.now().toString(),
+            "timestamp", calendario.agora().toString(),
             "service", "Sistema de Transferências"
         );
         return ResponseEntity.ok(response);
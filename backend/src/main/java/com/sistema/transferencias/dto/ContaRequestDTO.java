@@ -0,0 +1,48 @@
+package com.sistema.transferencias.dto;
+
+import com.sistema.transferencias.model.NumeroContaValido;
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+public class ContaRequestDTO {
+
+    @NotBlank(message = "Número da conta é obrigatório")
+    @NumeroContaValido(message = "Número da conta deve ter exatamente 10 dígitos")
+    private String numero;
+
+    @DecimalMin(value = "0.00", message = "Saldo inicial não pode ser negativo")
+    private BigDecimal saldoInicial;
+
+
+    public ContaRequestDTO() {}
+
+    public ContaRequestDTO(String numero, BigDecimal saldoInicial) {
+        this.numero = numero;
+        this.saldoInicial = saldoInicial;
+    }
+
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public void setNumero(String numero) {
+        this.numero = numero;
+    }
+
+    public BigDecimal getSaldoInicial() {
+        return saldoInicial;
+    }
+
+    public void setSaldoInicial(BigDecimal saldoInicial) {
+        this.saldoInicial = saldoInicial;
+    }
+
+    @Override
+    public String toString() {
+        return "ContaRequestDTO{" +
+                "numero='" + numero + '\'' +
+                ", saldoInicial=" + saldoInicial +
+                '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.sistema.transferencias.dto;
+
+import com.sistema.transferencias.model.Conta;
+import java.math.BigDecimal;
+
+public class ContaResponseDTO {
+
+    private String numero;
+    private BigDecimal saldo;
+
+
+    public ContaResponseDTO() {}
+
+    public ContaResponseDTO(Conta conta) {
+        this.numero = conta.getNumero();
+        this.saldo = conta.getSaldo();
+    }
+
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public void setNumero(String numero) {
+        this.numero = numero;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    @Override
+    public String toString() {
+        return "ContaResponseDTO{" +
+                "numero='" + numero + '\'' +
+                ", saldo=" + saldo +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.sistema.transferencias.dto;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+
+public class DepositoRequestDTO {
+
+    @NotNull(message = "Valor do depósito é obrigatório")
+    @DecimalMin(value = "0.01", message = "Valor do depósito deve ser maior que zero")
+    private BigDecimal valor;
+
+
+    public DepositoRequestDTO() {}
+
+    public DepositoRequestDTO(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    @Override
+    public String toString() {
+        return "DepositoRequestDTO{" +
+                "valor=" + valor +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package com.sistema.transferencias.dto;
+
+import com.sistema.transferencias.model.LancamentoConta;
+import com.sistema.transferencias.model.TipoLancamento;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class LancamentoContaDTO {
+
+    private Long id;
+    private TipoLancamento tipo;
+    private BigDecimal valor;
+    private BigDecimal saldoApos;
+    private Long transferenciaId;
+    private LocalDateTime dataLancamento;
+
+
+    public LancamentoContaDTO() {}
+
+    public LancamentoContaDTO(LancamentoConta lancamento) {
+        this.id = lancamento.getId();
+        this.tipo = lancamento.getTipo();
+        this.valor = lancamento.getValor();
+        this.saldoApos = lancamento.getSaldoApos();
+        this.transferenciaId = lancamento.getTransferenciaId();
+        this.dataLancamento = lancamento.getDataLancamento();
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TipoLancamento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoLancamento tipo) {
+        this.tipo = tipo;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    public BigDecimal getSaldoApos() {
+        return saldoApos;
+    }
+
+    public void setSaldoApos(BigDecimal saldoApos) {
+        this.saldoApos = saldoApos;
+    }
+
+    public Long getTransferenciaId() {
+        return transferenciaId;
+    }
+
+    public void setTransferenciaId(Long transferenciaId) {
+        this.transferenciaId = transferenciaId;
+    }
+
+    public LocalDateTime getDataLancamento() {
+        return dataLancamento;
+    }
+
+    public void setDataLancamento(LocalDateTime dataLancamento) {
+        this.dataLancamento = dataLancamento;
+    }
+
+    @Override
+    public String toString() {
+        return "LancamentoContaDTO{" +
+                "id=" + id +
+                ", tipo=" + tipo +
+                ", valor=" + valor +
+                ", saldoApos=" + saldoApos +
+                ", transferenciaId=" + transferenciaId +
+                ", dataLancamento=" + dataLancamento +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package com.sistema.transferencias.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem de transferências paginada por cursor.
+ * {@code proximoCursor} é nulo na última página.
+ */
+
+public class PaginaTransferenciasDTO {
+
+    private List<TransferenciaResponseDTO> itens;
+    private int tamanho;
+    private String proximoCursor;
+
+
+    public PaginaTransferenciasDTO() {}
+
+    public PaginaTransferenciasDTO(List<TransferenciaResponseDTO> itens, int tamanho, String proximoCursor) {
+        this.itens = itens;
+        this.tamanho = tamanho;
+        this.proximoCursor = proximoCursor;
+    }
+
+
+    public List<TransferenciaResponseDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<TransferenciaResponseDTO> itens) {
+        this.itens = itens;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "PaginaTransferenciasDTO{" +
+                "itens=" + itens +
+                ", tamanho=" + tamanho +
+                ", proximoCursor='" + proximoCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,154 @@
+package com.sistema.transferencias.dto;
+
+import com.sistema.transferencias.model.Remessa;
+import com.sistema.transferencias.model.SituacaoRemessa;
+import java.time.LocalDateTime;
+
+/**
+ * Situação e progresso de uma remessa. {@code bytesProcessados} de {@code tamanhoBytes}
+ * indica quanto do arquivo já foi gravado. {@code dono} é o nó que tem o arquivo e o relatório.
+ */
+
+public class RemessaDTO {
+
+    private Long id;
+    private String nomeArquivo;
+    private String formato;
+    private SituacaoRemessa situacao;
+    private long tamanhoBytes;
+    private long bytesProcessados;
+    private long linhasAgendadas;
+    private long linhasRejeitadas;
+    private String mensagemFalha;
+    private LocalDateTime recebidaEm;
+    private LocalDateTime concluidaEm;
+    private String dono;
+
+
+    public RemessaDTO() {}
+
+    public RemessaDTO(Remessa remessa) {
+        this.id = remessa.getId();
+        this.nomeArquivo = remessa.getNomeArquivo();
+        this.formato = remessa.getFormato().getParametro();
+        this.situacao = remessa.getSituacao();
+        this.tamanhoBytes = remessa.getTamanhoBytes();
+        this.bytesProcessados = remessa.getPosicaoConfirmada();
+        this.linhasAgendadas = remessa.getLinhasAgendadas();
+        this.linhasRejeitadas = remessa.getLinhasRejeitadas();
+        this.mensagemFalha = remessa.getMensagemFalha();
+        this.recebidaEm = remessa.getRecebidaEm();
+        this.concluidaEm = remessa.getConcluidaEm();
+        this.dono = remessa.getDono();
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    public void setNomeArquivo(String nomeArquivo) {
+        this.nomeArquivo = nomeArquivo;
+    }
+
+    public String getFormato() {
+        return formato;
+    }
+
+    public void setFormato(String formato) {
+        this.formato = formato;
+    }
+
+    public SituacaoRemessa getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(SituacaoRemessa situacao) {
+        this.situacao = situacao;
+    }
+
+    public long getTamanhoBytes() {
+        return tamanhoBytes;
+    }
+
+    public void setTamanhoBytes(long tamanhoBytes) {
+        this.tamanhoBytes = tamanhoBytes;
+    }
+
+    public long getBytesProcessados() {
+        return bytesProcessados;
+    }
+
+    public void setBytesProcessados(long bytesProcessados) {
+        this.bytesProcessados = bytesProcessados;
+    }
+
+    public long getLinhasAgendadas() {
+        return linhasAgendadas;
+    }
+
+    public void setLinhasAgendadas(long linhasAgendadas) {
+        this.linhasAgendadas = linhasAgendadas;
+    }
+
+    public long getLinhasRejeitadas() {
+        return linhasRejeitadas;
+    }
+
+    public void setLinhasRejeitadas(long linhasRejeitadas) {
+        this.linhasRejeitadas = linhasRejeitadas;
+    }
+
+    public String getMensagemFalha() {
+        return mensagemFalha;
+    }
+
+    public void setMensagemFalha(String mensagemFalha) {
+        this.mensagemFalha = mensagemFalha;
+    }
+
+    public LocalDateTime getRecebidaEm() {
+        return recebidaEm;
+    }
+
+    public void setRecebidaEm(LocalDateTime recebidaEm) {
+        this.recebidaEm = recebidaEm;
+    }
+
+    public LocalDateTime getConcluidaEm() {
+        return concluidaEm;
+    }
+
+    public void setConcluidaEm(LocalDateTime concluidaEm) {
+        this.concluidaEm = concluidaEm;
+    }
+
+    public String getDono() {
+        return dono;
+    }
+
+    public void setDono(String dono) {
+        this.dono = dono;
+    }
+
+    @Override
+    public String toString() {
+        return "RemessaDTO{" +
+                "id=" + id +
+                ", nomeArquivo='" + nomeArquivo + '\'' +
+                ", situacao=" + situacao +
+                ", bytesProcessados=" + bytesProcessados +
+                ", tamanhoBytes=" + tamanhoBytes +
+                ", linhasAgendadas=" + linhasAgendadas +
+                ", linhasRejeitadas=" + linhasRejeitadas +
+                '}';
+    }
+}
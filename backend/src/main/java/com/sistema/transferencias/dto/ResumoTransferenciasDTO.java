@@ -0,0 +1,105 @@
+package com.sistema.transferencias.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resumo das transferências com data de transferência no período: totais do período
+ * e os mesmos totais por dia, por faixa de taxa ou por partição da conta de origem.
+ */
+
+public class ResumoTransferenciasDTO {
+
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private String agrupamento;
+    private long quantidade;
+    private BigDecimal valorTotal;
+    private BigDecimal taxaTotal;
+    private List<ResumoTransferenciasItemDTO> itens;
+
+
+    public ResumoTransferenciasDTO() {}
+
+    public ResumoTransferenciasDTO(LocalDate dataInicio, LocalDate dataFim, String agrupamento, long quantidade,
+                                   BigDecimal valorTotal, BigDecimal taxaTotal, List<ResumoTransferenciasItemDTO> itens) {
+        this.dataInicio = dataInicio;
+        this.dataFim = dataFim;
+        this.agrupamento = agrupamento;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+        this.taxaTotal = taxaTotal;
+        this.itens = itens;
+    }
+
+
+    public LocalDate getDataInicio() {
+        return dataInicio;
+    }
+
+    public void setDataInicio(LocalDate dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    public LocalDate getDataFim() {
+        return dataFim;
+    }
+
+    public void setDataFim(LocalDate dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    public String getAgrupamento() {
+        return agrupamento;
+    }
+
+    public void setAgrupamento(String agrupamento) {
+        this.agrupamento = agrupamento;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public BigDecimal getTaxaTotal() {
+        return taxaTotal;
+    }
+
+    public void setTaxaTotal(BigDecimal taxaTotal) {
+        this.taxaTotal = taxaTotal;
+    }
+
+    public List<ResumoTransferenciasItemDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ResumoTransferenciasItemDTO> itens) {
+        this.itens = itens;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoTransferenciasDTO{" +
+                "dataInicio=" + dataInicio +
+                ", dataFim=" + dataFim +
+                ", agrupamento='" + agrupamento + '\'' +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                ", taxaTotal=" + taxaTotal +
+                ", itens=" + itens +
+                '}';
+    }
+}
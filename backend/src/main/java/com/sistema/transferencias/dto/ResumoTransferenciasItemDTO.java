@@ -0,0 +1,101 @@
+package com.sistema.transferencias.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de um grupo do resumo de transferências: um dia ({@code dataTransferencia}), uma faixa
+ * de taxa ({@code faixa}) ou uma partição de conta de origem ({@code particaoConta}), conforme o
+ * agrupamento pedido.
+ */
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResumoTransferenciasItemDTO {
+
+    private LocalDate dataTransferencia;
+    private String faixa;
+    private Integer particaoConta;
+    private long quantidade;
+    private BigDecimal valorTotal;
+    private BigDecimal taxaTotal;
+
+
+    public ResumoTransferenciasItemDTO() {}
+
+    public ResumoTransferenciasItemDTO(LocalDate dataTransferencia, String faixa, long quantidade,
+                                       BigDecimal valorTotal, BigDecimal taxaTotal) {
+        this.dataTransferencia = dataTransferencia;
+        this.faixa = faixa;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+        this.taxaTotal = taxaTotal;
+    }
+
+    public ResumoTransferenciasItemDTO(LocalDate dataTransferencia, String faixa, Integer particaoConta, long quantidade,
+                                       BigDecimal valorTotal, BigDecimal taxaTotal) {
+        this(dataTransferencia, faixa, quantidade, valorTotal, taxaTotal);
+        this.particaoConta = particaoConta;
+    }
+
+
+    public LocalDate getDataTransferencia() {
+        return dataTransferencia;
+    }
+
+    public void setDataTransferencia(LocalDate dataTransferencia) {
+        this.dataTransferencia = dataTransferencia;
+    }
+
+    public String getFaixa() {
+        return faixa;
+    }
+
+    public void setFaixa(String faixa) {
+        this.faixa = faixa;
+    }
+
+    public Integer getParticaoConta() {
+        return particaoConta;
+    }
+
+    public void setParticaoConta(Integer particaoConta) {
+        this.particaoConta = particaoConta;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public void setValorTotal(BigDecimal valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    public BigDecimal getTaxaTotal() {
+        return taxaTotal;
+    }
+
+    public void setTaxaTotal(BigDecimal taxaTotal) {
+        this.taxaTotal = taxaTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoTransferenciasItemDTO{" +
+                "dataTransferencia=" + dataTransferencia +
+                ", faixa='" + faixa + '\'' +
+                ", particaoConta=" + particaoConta +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                ", taxaTotal=" + taxaTotal +
+                '}';
+    }
+}
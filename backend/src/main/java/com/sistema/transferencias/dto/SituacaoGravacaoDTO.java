@@ -0,0 +1,58 @@
+package com.sistema.transferencias.dto;
+
+import com.sistema.transferencias.service.SituacaoGravacao;
+
+/**
+ * Situação da gravação de uma transferência do agendamento assíncrono,
+ * consultada pelo cliente que recebeu HTTP 202.
+ */
+
+public class SituacaoGravacaoDTO {
+
+    private Long id;
+    private SituacaoGravacao situacao;
+    private String mensagem;
+
+
+    public SituacaoGravacaoDTO() {}
+
+    public SituacaoGravacaoDTO(Long id, SituacaoGravacao situacao, String mensagem) {
+        this.id = id;
+        this.situacao = situacao;
+        this.mensagem = mensagem;
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public SituacaoGravacao getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(SituacaoGravacao situacao) {
+        this.situacao = situacao;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+
+    @Override
+    public String toString() {
+        return "SituacaoGravacaoDTO{" +
+                "id=" + id +
+                ", situacao=" + situacao +
+                ", mensagem='" + mensagem + '\'' +
+                '}';
+    }
+}
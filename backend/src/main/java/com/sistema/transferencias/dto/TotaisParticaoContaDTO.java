@@ -0,0 +1,51 @@
+package com.sistema.transferencias.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais dos resumos diários de uma partição de conta de origem no período, já somadas as
+ * datas e os números de dias. Projeção da consulta do {@code ResumoDiarioRepository}.
+ */
+
+public class TotaisParticaoContaDTO {
+
+    private final int particaoConta;
+    private final long quantidade;
+    private final BigDecimal valorTotal;
+    private final BigDecimal taxaTotal;
+
+
+    public TotaisParticaoContaDTO(Integer particaoConta, Long quantidade, BigDecimal valorTotal, BigDecimal taxaTotal) {
+        this.particaoConta = particaoConta;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+        this.taxaTotal = taxaTotal;
+    }
+
+
+    public int getParticaoConta() {
+        return particaoConta;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public BigDecimal getTaxaTotal() {
+        return taxaTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "TotaisParticaoContaDTO{" +
+                "particaoConta=" + particaoConta +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                ", taxaTotal=" + taxaTotal +
+                '}';
+    }
+}
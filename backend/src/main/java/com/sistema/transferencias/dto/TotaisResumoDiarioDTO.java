@@ -0,0 +1,60 @@
+package com.sistema.transferencias.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais dos resumos diários de uma data e de um número de dias entre agendamento e transferência,
+ * já somadas as partições de conta. Projeção da consulta do {@code ResumoDiarioRepository}.
+ */
+
+public class TotaisResumoDiarioDTO {
+
+    private final LocalDate dataTransferencia;
+    private final int diasParaTransferencia;
+    private final long quantidade;
+    private final BigDecimal valorTotal;
+    private final BigDecimal taxaTotal;
+
+
+    public TotaisResumoDiarioDTO(LocalDate dataTransferencia, Integer diasParaTransferencia, Long quantidade,
+                                 BigDecimal valorTotal, BigDecimal taxaTotal) {
+        this.dataTransferencia = dataTransferencia;
+        this.diasParaTransferencia = diasParaTransferencia;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+        this.taxaTotal = taxaTotal;
+    }
+
+
+    public LocalDate getDataTransferencia() {
+        return dataTransferencia;
+    }
+
+    public int getDiasParaTransferencia() {
+        return diasParaTransferencia;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public BigDecimal getTaxaTotal() {
+        return taxaTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "TotaisResumoDiarioDTO{" +
+                "dataTransferencia=" + dataTransferencia +
+                ", diasParaTransferencia=" + diasParaTransferencia +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                ", taxaTotal=" + taxaTotal +
+                '}';
+    }
+}
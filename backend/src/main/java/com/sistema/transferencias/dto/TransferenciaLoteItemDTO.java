@@ -0,0 +1,90 @@
+package com.sistema.transferencias.dto;
+
+import java.util.Map;
+
+/**
+ * Resultado do processamento de um item de um lote de agendamentos.
+ * Itens agendados trazem a transferência criada; itens rejeitados trazem
+ * os erros de validação por campo e/ou a mensagem da regra de negócio violada.
+ */
+
+public class TransferenciaLoteItemDTO {
+
+    private int indice;
+    private boolean agendada;
+    private TransferenciaResponseDTO transferencia;
+    private Map<String, String> errors;
+    private String message;
+
+
+    public TransferenciaLoteItemDTO() {}
+
+    public static TransferenciaLoteItemDTO agendada(int indice, TransferenciaResponseDTO transferencia) {
+        TransferenciaLoteItemDTO item = new TransferenciaLoteItemDTO();
+        item.indice = indice;
+        item.agendada = true;
+        item.transferencia = transferencia;
+        return item;
+    }
+
+    public static TransferenciaLoteItemDTO rejeitada(int indice, Map<String, String> errors, String message) {
+        TransferenciaLoteItemDTO item = new TransferenciaLoteItemDTO();
+        item.indice = indice;
+        item.agendada = false;
+        item.errors = errors;
+        item.message = message;
+        return item;
+    }
+
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public boolean isAgendada() {
+        return agendada;
+    }
+
+    public void setAgendada(boolean agendada) {
+        this.agendada = agendada;
+    }
+
+    public TransferenciaResponseDTO getTransferencia() {
+        return transferencia;
+    }
+
+    public void setTransferencia(TransferenciaResponseDTO transferencia) {
+        this.transferencia = transferencia;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferenciaLoteItemDTO{" +
+                "indice=" + indice +
+                ", agendada=" + agendada +
+                ", transferencia=" + transferencia +
+                ", errors=" + errors +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.sistema.transferencias.dto;
+
+import java.util.List;
+
+/**
+ * Resposta do agendamento em lote: totais e o resultado de cada item,
+ * na mesma ordem em que os itens foram enviados.
+ */
+
+public class TransferenciaLoteResponseDTO {
+
+    private int totalRecebido;
+    private int totalAgendado;
+    private int totalRejeitado;
+    private List<TransferenciaLoteItemDTO> itens;
+
+
+    public TransferenciaLoteResponseDTO() {}
+
+    public TransferenciaLoteResponseDTO(List<TransferenciaLoteItemDTO> itens) {
+        this.itens = itens;
+        this.totalRecebido = itens.size();
+        this.totalAgendado = (int) itens.stream().filter(TransferenciaLoteItemDTO::isAgendada).count();
+        this.totalRejeitado = totalRecebido - totalAgendado;
+    }
+
+
+    public int getTotalRecebido() {
+        return totalRecebido;
+    }
+
+    public void setTotalRecebido(int totalRecebido) {
+        this.totalRecebido = totalRecebido;
+    }
+
+    public int getTotalAgendado() {
+        return totalAgendado;
+    }
+
+    public void setTotalAgendado(int totalAgendado) {
+        this.totalAgendado = totalAgendado;
+    }
+
+    public int getTotalRejeitado() {
+        return totalRejeitado;
+    }
+
+    public void setTotalRejeitado(int totalRejeitado) {
+        this.totalRejeitado = totalRejeitado;
+    }
+
+    public List<TransferenciaLoteItemDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<TransferenciaLoteItemDTO> itens) {
+        this.itens = itens;
+    }
+
+    @Override
+    public String toString() {
+        return "TransferenciaLoteResponseDTO{" +
+                "totalRecebido=" + totalRecebido +
+                ", totalAgendado=" + totalAgendado +
+                ", totalRejeitado=" + totalRejeitado +
+                ", itens=" + itens +
+                '}';
+    }
+}
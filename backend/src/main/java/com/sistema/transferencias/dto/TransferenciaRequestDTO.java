@@ -1,25 +1,41 @@
 package com.sistema.transferencias.dto;
 
+import com.sistema.transferencias.model.NumeroContaValido;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
+/**
+ * Dados de agendamento de uma transferência. As anotações documentam as regras; quem as aplica
+ * nos endpoints é o {@code ValidadorTransferencia}, com as mesmas mensagens.
+ */
+
 public class TransferenciaRequestDTO {
 
-    @NotBlank(message = "Conta de origem é obrigatória")
-    @Pattern(regexp = "\\d{10}", message = "Conta de origem deve ter exatamente 10 dígitos")
+    public static final String CONTA_ORIGEM_OBRIGATORIA = "Conta de origem é obrigatória";
+    public static final String CONTA_ORIGEM_INVALIDA = "Conta de origem deve ter exatamente 10 dígitos";
+    public static final String CONTA_DESTINO_OBRIGATORIA = "Conta de destino é obrigatória";
+    public static final String CONTA_DESTINO_INVALIDA = "Conta de destino deve ter exatamente 10 dígitos";
+    public static final String VALOR_OBRIGATORIO = "Valor da transferência é obrigatório";
+    public static final String VALOR_MINIMO = "0.01";
+    public static final String VALOR_INVALIDO = "Valor da transferência deve ser maior que zero";
+    public static final String DATA_OBRIGATORIA = "Data da transferência é obrigatória";
+    public static final String DATA_PASSADA = "Data da transferência deve ser igual ou posterior à data atual";
+
+    @NotBlank(message = CONTA_ORIGEM_OBRIGATORIA)
+    @NumeroContaValido(message = CONTA_ORIGEM_INVALIDA)
     private String contaOrigem;
 
-    @NotBlank(message = "Conta de destino é obrigatória")
-    @Pattern(regexp = "\\d{10}", message = "Conta de destino deve ter exatamente 10 dígitos")
+    @NotBlank(message = CONTA_DESTINO_OBRIGATORIA)
+    @NumeroContaValido(message = CONTA_DESTINO_INVALIDA)
     private String contaDestino;
 
-    @NotNull(message = "Valor da transferência é obrigatório")
-    @DecimalMin(value = "0.01", message = "Valor da transferência deve ser maior que zero")
+    @NotNull(message = VALOR_OBRIGATORIO)
+    @DecimalMin(value = VALOR_MINIMO, message = VALOR_INVALIDO)
     private BigDecimal valorTransferencia;
 
-    @NotNull(message = "Data da transferência é obrigatória")
-    @FutureOrPresent(message = "Data da transferência deve ser igual ou posterior à data atual")
+    @NotNull(message = DATA_OBRIGATORIA)
+    @FutureOrPresent(message = DATA_PASSADA)
     private LocalDate dataTransferencia;
 
 
@@ -0,0 +1,13 @@
+package com.sistema.transferencias.exception;
+
+/**
+ * Exceção lançada quando uma chave de idempotência já usada é reenviada
+ * com dados de transferência diferentes dos da requisição original.
+ */
+
+public class ChaveIdempotenciaException extends RuntimeException {
+
+    public ChaveIdempotenciaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.sistema.transferencias.exception;
+
+/**
+ * Exceção lançada quando a conta informada não está cadastrada (HTTP 400, como
+ * {@link IllegalArgumentException}). Na liquidação, a transferência não falha: continua
+ * reservada e volta para AGENDADA quando a reserva expira, para ser tentada de novo.
+ */
+
+public class ContaNaoEncontradaException extends IllegalArgumentException {
+
+    public ContaNaoEncontradaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.sistema.transferencias.exception;
+
+/**
+ * Exceção lançada quando a fila do agendamento assíncrono está cheia (ou parada)
+ * e a transferência não pode ser aceita agora; o cliente deve tentar de novo mais tarde.
+ */
+
+public class FilaAgendamentoCheiaException extends RuntimeException {
+
+    public FilaAgendamentoCheiaException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.sistema.transferencias.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -52,14 +53,39 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(TaxaCalculationException.class)
     public ResponseEntity<Map<String, Object>> handleTaxaCalculationException(
             TaxaCalculationException ex) {
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Erro no cálculo da taxa");
-        response.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return respostaErro(HttpStatus.BAD_REQUEST, "Erro no cálculo da taxa", ex.getMessage());
+    }
+    
+
+     // Trata chaves de idempotência reutilizadas com outros dados.
+
+
+    @ExceptionHandler(ChaveIdempotenciaException.class)
+    public ResponseEntity<Map<String, Object>> handleChaveIdempotenciaException(
+            ChaveIdempotenciaException ex) {
+        return respostaErro(HttpStatus.UNPROCESSABLE_ENTITY, "Chave de idempotência reutilizada", ex.getMessage());
+    }
+    
+
+     // Trata a fila do agendamento assíncrono cheia: o cliente deve repetir depois.
+
+
+    @ExceptionHandler(FilaAgendamentoCheiaException.class)
+    public ResponseEntity<Map<String, Object>> handleFilaAgendamentoCheiaException(
+            FilaAgendamentoCheiaException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(respostaErro(HttpStatus.TOO_MANY_REQUESTS, "Agendamento indisponível", ex.getMessage()).getBody());
+    }
+    
+
+     // Trata remessas com outro nó: o cliente deve repetir no nó indicado na mensagem.
+
+
+    @ExceptionHandler(RemessaEmOutroNoException.class)
+    public ResponseEntity<Map<String, Object>> handleRemessaEmOutroNoException(
+            RemessaEmOutroNoException ex) {
+        return respostaErro(HttpStatus.CONFLICT, "Remessa em outro nó", ex.getMessage());
     }
     
 
@@ -68,14 +94,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(
             IllegalArgumentException ex) {
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.BAD_REQUEST.value());
-        response.put("error", "Argumento inválido");
-        response.put("message", ex.getMessage());
-        
-        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+        return respostaErro(HttpStatus.BAD_REQUEST, "Argumento inválido", ex.getMessage());
     }
     
 
@@ -84,14 +103,23 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        
+        return respostaErro(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno do servidor",
+                "Ocorreu um erro inesperado. Tente novamente mais tarde.");
+    }
+    
+
+    /**
+     * Monta a resposta de erro no formato padrão da API.
+     * Também usada pelos endpoints que devolvem rejeições de negócio sem lançar exceção.
+     */
+
+    public static ResponseEntity<Map<String, Object>> respostaErro(HttpStatus status, String erro, String mensagem) {
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
-        response.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        response.put("error", "Erro interno do servidor");
-        response.put("message", "Ocorreu um erro inesperado. Tente novamente mais tarde.");
+        response.put("status", status.value());
+        response.put("error", erro);
+        response.put("message", mensagem);
         
-        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+        return new ResponseEntity<>(response, status);
     }
 }
-
@@ -0,0 +1,13 @@
+package com.sistema.transferencias.exception;
+
+/**
+ * Exceção lançada quando a remessa está com outro nó: o arquivo e o relatório ficam no disco do nó
+ * que a recebeu, ou outro nó detém a reserva de processamento (HTTP 409). A mensagem indica o nó.
+ */
+
+public class RemessaEmOutroNoException extends RuntimeException {
+
+    public RemessaEmOutroNoException(String message) {
+        super(message);
+    }
+}
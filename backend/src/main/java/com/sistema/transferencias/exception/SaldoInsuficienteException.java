@@ -0,0 +1,13 @@
+package com.sistema.transferencias.exception;
+
+/**
+ * Exceção lançada na liquidação quando o saldo da conta de origem não cobre
+ * o valor e a taxa da transferência; a transferência termina como FALHOU.
+ */
+
+public class SaldoInsuficienteException extends RuntimeException {
+
+    public SaldoInsuficienteException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,103 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de uma chave de idempotência já processada no agendamento de transferências.
+ * Guarda apenas a impressão digital da requisição (SHA-256) e o ID da transferência criada,
+ * o suficiente para reconhecer repetições e devolver a resposta original.
+ */
+
+@Entity
+@Table(name = "chaves_idempotencia", indexes = {
+        @Index(name = "idx_chaves_idempotencia_expira_em", columnList = "expira_em")
+})
+public class ChaveIdempotencia implements Persistable<String> {
+
+    @Id
+    @Column(name = "chave", length = 64)
+    private String chave;
+
+    @Column(name = "impressao_digital", nullable = false, length = 32)
+    private byte[] impressaoDigital;
+
+    @Column(name = "transferencia_id", nullable = false)
+    private Long transferenciaId;
+
+    @Column(name = "expira_em", nullable = false)
+    private LocalDateTime expiraEm;
+
+    // Chaves nunca são atualizadas: sem isso o save() faria um SELECT (merge) antes de cada INSERT
+    @Transient
+    private boolean nova = true;
+
+
+    public ChaveIdempotencia() {}
+
+    public ChaveIdempotencia(String chave, byte[] impressaoDigital, Long transferenciaId, LocalDateTime expiraEm) {
+        this.chave = chave;
+        this.impressaoDigital = impressaoDigital;
+        this.transferenciaId = transferenciaId;
+        this.expiraEm = expiraEm;
+    }
+
+
+    @PostLoad
+    @PostPersist
+    private void marcarPersistida() {
+        this.nova = false;
+    }
+
+    @Override
+    public String getId() {
+        return chave;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nova;
+    }
+
+    public String getChave() {
+        return chave;
+    }
+
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    public byte[] getImpressaoDigital() {
+        return impressaoDigital;
+    }
+
+    public void setImpressaoDigital(byte[] impressaoDigital) {
+        this.impressaoDigital = impressaoDigital;
+    }
+
+    public Long getTransferenciaId() {
+        return transferenciaId;
+    }
+
+    public void setTransferenciaId(Long transferenciaId) {
+        this.transferenciaId = transferenciaId;
+    }
+
+    public LocalDateTime getExpiraEm() {
+        return expiraEm;
+    }
+
+    public void setExpiraEm(LocalDateTime expiraEm) {
+        this.expiraEm = expiraEm;
+    }
+
+    @Override
+    public String toString() {
+        return "ChaveIdempotencia{" +
+                "chave='" + chave + '\'' +
+                ", transferenciaId=" + transferenciaId +
+                ", expiraEm=" + expiraEm +
+                '}';
+    }
+}
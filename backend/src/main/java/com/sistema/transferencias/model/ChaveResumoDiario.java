@@ -0,0 +1,113 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Chave de uma linha de {@link ResumoDiario}: data da transferência, dias entre agendamento e
+ * transferência (que determinam a faixa de taxa) e partição da conta de origem.
+ * <p>
+ * A partição espalha os agendamentos simultâneos do mesmo dia e faixa por {@value #PARTICOES_CONTA}
+ * linhas, para que não disputem o bloqueio de uma única linha, e é também um agrupamento do resumo
+ * ({@code agrupamento=conta}): cada partição reúne todas as contas com o mesmo resto, não uma conta só.
+ */
+
+@Embeddable
+public class ChaveResumoDiario implements Serializable, Comparable<ChaveResumoDiario> {
+
+    /**
+     * Quantidade de partições por conta de origem. A migração V4 usa o mesmo valor para
+     * popular os resumos das transferências já gravadas.
+     */
+
+    public static final int PARTICOES_CONTA = 16;
+
+    private static final Comparator<ChaveResumoDiario> ORDEM = Comparator
+            .comparing(ChaveResumoDiario::getDataTransferencia)
+            .thenComparingInt(ChaveResumoDiario::getDiasParaTransferencia)
+            .thenComparingInt(ChaveResumoDiario::getParticaoConta);
+
+    @Column(name = "data_transferencia", nullable = false)
+    private LocalDate dataTransferencia;
+
+    @Column(name = "dias_para_transferencia", nullable = false)
+    private int diasParaTransferencia;
+
+    @Column(name = "particao_conta", nullable = false)
+    private int particaoConta;
+
+
+    protected ChaveResumoDiario() {}
+
+    public ChaveResumoDiario(LocalDate dataTransferencia, int diasParaTransferencia, int particaoConta) {
+        this.dataTransferencia = dataTransferencia;
+        this.diasParaTransferencia = diasParaTransferencia;
+        this.particaoConta = particaoConta;
+    }
+
+    public static ChaveResumoDiario de(Transferencia transferencia) {
+        return new ChaveResumoDiario(transferencia.getDataTransferencia(), transferencia.getDiasParaTransferencia(),
+                particao(transferencia.getContaOrigem()));
+    }
+
+    /**
+     * Partição da conta: o número da conta módulo {@value #PARTICOES_CONTA}, o mesmo cálculo da migração.
+     */
+
+    public static int particao(NumeroConta conta) {
+        return particao(conta.getValor());
+    }
+
+    public static int particao(long conta) {
+        return (int) Math.floorMod(conta, PARTICOES_CONTA);
+    }
+
+
+    public LocalDate getDataTransferencia() {
+        return dataTransferencia;
+    }
+
+    public int getDiasParaTransferencia() {
+        return diasParaTransferencia;
+    }
+
+    public int getParticaoConta() {
+        return particaoConta;
+    }
+
+    @Override
+    public int compareTo(ChaveResumoDiario outra) {
+        return ORDEM.compare(this, outra);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ChaveResumoDiario outra)) {
+            return false;
+        }
+        return diasParaTransferencia == outra.diasParaTransferencia
+                && particaoConta == outra.particaoConta
+                && Objects.equals(dataTransferencia, outra.dataTransferencia);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dataTransferencia, diasParaTransferencia, particaoConta);
+    }
+
+    @Override
+    public String toString() {
+        return "ChaveResumoDiario{" +
+                "dataTransferencia=" + dataTransferencia +
+                ", diasParaTransferencia=" + diasParaTransferencia +
+                ", particaoConta=" + particaoConta +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Conta com o saldo materializado: a soma dos lançamentos ({@link LancamentoConta}) da conta,
+ * atualizada na mesma transação em que cada lançamento é gravado.
+ */
+
+@Entity
+@Table(name = "contas")
+public class Conta {
+
+    @Id
+    @Column(name = "numero", length = 10)
+    private String numero;
+
+    @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldo;
+
+
+    public Conta() {}
+
+    public Conta(String numero, BigDecimal saldo) {
+        this.numero = numero;
+        this.saldo = saldo;
+    }
+
+
+    public String getNumero() {
+        return numero;
+    }
+
+    public void setNumero(String numero) {
+        this.numero = numero;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    @Override
+    public String toString() {
+        return "Conta{" +
+                "numero='" + numero + '\'' +
+                ", saldo=" + saldo +
+                '}';
+    }
+}
@@ -0,0 +1,48 @@
+package com.sistema.transferencias.model;
+
+import java.util.Locale;
+
+/**
+ * Layouts aceitos nos arquivos de remessa, uma transferência por linha.
+ * <ul>
+ *   <li>{@link #CSV}: {@code contaOrigem,contaDestino,valor,dataTransferencia} (ex.:
+ *       {@code 1234567890,0987654321,1500.00,2025-08-01}), separado por vírgula ou ponto e vírgula,
+ *       com cabeçalho opcional na primeira linha;</li>
+ *   <li>{@link #POSICIONAL}: {@value #TAMANHO_LINHA_POSICIONAL} posições, sem separadores — conta de origem (10),
+ *       conta de destino (10), valor em centavos com zeros à esquerda (15) e data {@code yyyyMMdd} (8).</li>
+ * </ul>
+ */
+
+public enum FormatoRemessa {
+
+    CSV("csv"),
+    POSICIONAL("posicional");
+
+    public static final int TAMANHO_LINHA_POSICIONAL = 43;
+
+    private final String parametro;
+
+    FormatoRemessa(String parametro) {
+        this.parametro = parametro;
+    }
+
+    /**
+     * Converte o parâmetro recebido na requisição, sem diferenciar maiúsculas.
+     * @throws IllegalArgumentException se o formato não for suportado
+     */
+
+    public static FormatoRemessa de(String formato) {
+        if (formato != null) {
+            for (FormatoRemessa valor : values()) {
+                if (valor.parametro.equals(formato.toLowerCase(Locale.ROOT))) {
+                    return valor;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato de remessa inválido: " + formato + ". Use csv ou posicional.");
+    }
+
+    public String getParametro() {
+        return parametro;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Lançamento no extrato de uma conta. Os lançamentos só são inseridos, nunca alterados
+ * ou removidos; o saldo da {@link Conta} é a soma deles.
+ */
+
+@Entity
+@Immutable
+@Table(name = "lancamentos_conta", indexes = {
+        @Index(name = "idx_lancamentos_conta_numero_conta", columnList = "numero_conta, id DESC")
+})
+public class LancamentoConta {
+
+    public static final String SEQUENCE_ID = "lancamentos_conta_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE_ID)
+    @SequenceGenerator(name = SEQUENCE_ID, sequenceName = SEQUENCE_ID, allocationSize = 50)
+    private Long id;
+
+    @Column(name = "numero_conta", nullable = false, length = 10)
+    private String numeroConta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 10)
+    private TipoLancamento tipo;
+
+    // Sempre positivo; o sentido vem do tipo
+    @Column(name = "valor", nullable = false, precision = 15, scale = 2)
+    private BigDecimal valor;
+
+    @Column(name = "saldo_apos", nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldoApos;
+
+    @Column(name = "transferencia_id")
+    private Long transferenciaId;
+
+    @Column(name = "data_lancamento", nullable = false)
+    private LocalDateTime dataLancamento;
+
+
+    protected LancamentoConta() {}
+
+    public LancamentoConta(String numeroConta, TipoLancamento tipo, BigDecimal valor, BigDecimal saldoApos,
+                           Long transferenciaId, LocalDateTime dataLancamento) {
+        this.numeroConta = numeroConta;
+        this.tipo = tipo;
+        this.valor = valor;
+        this.saldoApos = saldoApos;
+        this.transferenciaId = transferenciaId;
+        this.dataLancamento = dataLancamento;
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNumeroConta() {
+        return numeroConta;
+    }
+
+    public TipoLancamento getTipo() {
+        return tipo;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public BigDecimal getSaldoApos() {
+        return saldoApos;
+    }
+
+    public Long getTransferenciaId() {
+        return transferenciaId;
+    }
+
+    public LocalDateTime getDataLancamento() {
+        return dataLancamento;
+    }
+
+    @Override
+    public String toString() {
+        return "LancamentoConta{" +
+                "id=" + id +
+                ", numeroConta='" + numeroConta + '\'' +
+                ", tipo=" + tipo +
+                ", valor=" + valor +
+                ", saldoApos=" + saldoApos +
+                ", transferenciaId=" + transferenciaId +
+                ", dataLancamento=" + dataLancamento +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+package com.sistema.transferencias.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.io.IOException;
+
+/**
+ * Número de conta: exatamente {@value #DIGITOS} dígitos, guardado como {@code long}.
+ * Na API e nos arquivos continua sendo o texto com os zeros à esquerda ({@code "0987654321"});
+ * no banco é um BIGINT ({@link NumeroContaConverter}). Comparar e ordenar números de conta é
+ * comparar {@code long}s, na mesma ordem do texto.
+ */
+
+@JsonSerialize(using = NumeroConta.Serializador.class)
+@JsonDeserialize(using = NumeroConta.Desserializador.class)
+public final class NumeroConta implements Comparable<NumeroConta> {
+
+    public static final int DIGITOS = 10;
+    public static final long MAXIMO = 9_999_999_999L;
+
+    private final long valor;
+
+    private NumeroConta(long valor) {
+        this.valor = valor;
+    }
+
+    /**
+     * @throws IllegalArgumentException se o valor não couber em {@value #DIGITOS} dígitos
+     */
+
+    public static NumeroConta de(long valor) {
+        if (valor < 0 || valor > MAXIMO) {
+            throw new IllegalArgumentException("Número de conta deve ter exatamente " + DIGITOS + " dígitos: " + valor);
+        }
+        return new NumeroConta(valor);
+    }
+
+    /**
+     * @throws IllegalArgumentException se o texto não tiver exatamente {@value #DIGITOS} dígitos
+     */
+
+    public static NumeroConta de(CharSequence numero) {
+        long valor = numero == null ? -1 : interpretar(numero);
+        if (valor < 0) {
+            throw new IllegalArgumentException("Número de conta deve ter exatamente " + DIGITOS + " dígitos: " + numero);
+        }
+        return new NumeroConta(valor);
+    }
+
+    /**
+     * Mesma regra de {@code \d{10}}, sem expressão regular.
+     */
+
+    public static boolean isValido(CharSequence numero) {
+        return numero != null && interpretar(numero) >= 0;
+    }
+
+    // Valor dos dígitos, ou -1 se o texto não tiver exatamente DIGITOS dígitos ASCII
+    private static long interpretar(CharSequence numero) {
+        if (numero.length() != DIGITOS) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < DIGITOS; i++) {
+            char caractere = numero.charAt(i);
+            if (caractere < '0' || caractere > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (caractere - '0');
+        }
+        return valor;
+    }
+
+    public long getValor() {
+        return valor;
+    }
+
+    /**
+     * Escreve os {@value #DIGITOS} dígitos, com zeros à esquerda, a partir de {@code inicio}.
+     */
+
+    public void escrever(char[] destino, int inicio) {
+        long restante = valor;
+        for (int i = inicio + DIGITOS - 1; i >= inicio; i--) {
+            destino[i] = (char) ('0' + restante % 10);
+            restante /= 10;
+        }
+    }
+
+    @Override
+    public int compareTo(NumeroConta outro) {
+        return Long.compare(valor, outro.valor);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof NumeroConta outro && valor == outro.valor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(valor);
+    }
+
+    @Override
+    public String toString() {
+        char[] digitos = new char[DIGITOS];
+        escrever(digitos, 0);
+        return new String(digitos);
+    }
+
+    static final class Serializador extends JsonSerializer<NumeroConta> {
+
+        @Override
+        public void serialize(NumeroConta numero, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            char[] digitos = new char[DIGITOS];
+            numero.escrever(digitos, 0);
+            gerador.writeString(digitos, 0, DIGITOS);
+        }
+    }
+
+    static final class Desserializador extends JsonDeserializer<NumeroConta> {
+
+        @Override
+        public NumeroConta deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                return (NumeroConta) contexto.handleUnexpectedToken(NumeroConta.class, parser);
+            }
+            String texto = parser.getText();
+            if (!isValido(texto)) {
+                return (NumeroConta) contexto.handleWeirdStringValue(NumeroConta.class, texto,
+                        "Número de conta deve ter exatamente " + DIGITOS + " dígitos");
+            }
+            return new NumeroConta(interpretar(texto));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Grava {@link NumeroConta} como BIGINT, aplicado a todo atributo desse tipo.
+ */
+
+@Converter(autoApply = true)
+public class NumeroContaConverter implements AttributeConverter<NumeroConta, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(NumeroConta numero) {
+        return numero == null ? null : numero.getValor();
+    }
+
+    @Override
+    public NumeroConta convertToEntityAttribute(Long valor) {
+        return valor == null ? null : NumeroConta.de(valor);
+    }
+}
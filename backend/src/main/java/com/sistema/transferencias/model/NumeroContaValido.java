@@ -0,0 +1,38 @@
+package com.sistema.transferencias.model;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * O texto anotado deve ter exatamente {@value NumeroConta#DIGITOS} dígitos ({@link NumeroConta#isValido}).
+ * {@code null} é aceito: a obrigatoriedade fica com {@code @NotBlank}.
+ */
+
+@Documented
+@Constraint(validatedBy = NumeroContaValido.Validador.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NumeroContaValido {
+
+    String message() default "Número da conta deve ter exatamente 10 dígitos";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    class Validador implements ConstraintValidator<NumeroContaValido, CharSequence> {
+
+        @Override
+        public boolean isValid(CharSequence numero, ConstraintValidatorContext contexto) {
+            return numero == null || NumeroConta.isValido(numero);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Arquivo de remessa recebido para agendamento em massa e o progresso do seu processamento.
+ * A posição confirmada, as contagens e o tamanho do relatório de resultado são gravados na mesma
+ * transação das transferências de cada bloco: o processamento retoma exatamente do último bloco gravado.
+ * O {@code dono} é o nó que tem o arquivo; {@code reservadaAte} é o prazo da reserva de processamento.
+ */
+
+@Entity
+@Table(name = "remessas")
+public class Remessa {
+
+    public static final String SEQUENCE_ID = "remessas_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE_ID)
+    @SequenceGenerator(name = SEQUENCE_ID, sequenceName = SEQUENCE_ID, allocationSize = 1)
+    private Long id;
+
+    @Column(name = "nome_arquivo", nullable = false)
+    private String nomeArquivo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "formato", nullable = false, length = 20)
+    private FormatoRemessa formato;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "situacao", nullable = false, length = 20)
+    private SituacaoRemessa situacao = SituacaoRemessa.RECEBIDA;
+
+    @Column(name = "tamanho_bytes", nullable = false)
+    private long tamanhoBytes;
+
+    // Byte do arquivo em que começa a primeira linha ainda não gravada
+    @Column(name = "posicao_confirmada", nullable = false)
+    private long posicaoConfirmada;
+
+    // Linhas lidas até a posição confirmada, inclusive cabeçalho e linhas em branco (numeração do relatório)
+    @Column(name = "linhas_lidas", nullable = false)
+    private long linhasLidas;
+
+    @Column(name = "linhas_agendadas", nullable = false)
+    private long linhasAgendadas;
+
+    @Column(name = "linhas_rejeitadas", nullable = false)
+    private long linhasRejeitadas;
+
+    // Bytes do relatório de resultado que correspondem à posição confirmada
+    @Column(name = "tamanho_resultado", nullable = false)
+    private long tamanhoResultado;
+
+    @Column(name = "mensagem_falha")
+    private String mensagemFalha;
+
+    @Column(name = "recebida_em", nullable = false)
+    private LocalDateTime recebidaEm;
+
+    @Column(name = "concluida_em")
+    private LocalDateTime concluidaEm;
+
+    @Column(name = "dono", length = 100)
+    private String dono;
+
+    @Column(name = "reservada_ate")
+    private LocalDateTime reservadaAte;
+
+
+    protected Remessa() {}
+
+    public Remessa(String nomeArquivo, FormatoRemessa formato, long tamanhoBytes, LocalDateTime recebidaEm,
+                   String dono, LocalDateTime reservadaAte) {
+        this.nomeArquivo = nomeArquivo;
+        this.formato = formato;
+        this.tamanhoBytes = tamanhoBytes;
+        this.recebidaEm = recebidaEm;
+        this.dono = dono;
+        this.reservadaAte = reservadaAte;
+    }
+
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNomeArquivo() {
+        return nomeArquivo;
+    }
+
+    public FormatoRemessa getFormato() {
+        return formato;
+    }
+
+    public SituacaoRemessa getSituacao() {
+        return situacao;
+    }
+
+    public void setSituacao(SituacaoRemessa situacao) {
+        this.situacao = situacao;
+    }
+
+    public long getTamanhoBytes() {
+        return tamanhoBytes;
+    }
+
+    public long getPosicaoConfirmada() {
+        return posicaoConfirmada;
+    }
+
+    public void setPosicaoConfirmada(long posicaoConfirmada) {
+        this.posicaoConfirmada = posicaoConfirmada;
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public void setLinhasLidas(long linhasLidas) {
+        this.linhasLidas = linhasLidas;
+    }
+
+    public long getLinhasAgendadas() {
+        return linhasAgendadas;
+    }
+
+    public void setLinhasAgendadas(long linhasAgendadas) {
+        this.linhasAgendadas = linhasAgendadas;
+    }
+
+    public long getLinhasRejeitadas() {
+        return linhasRejeitadas;
+    }
+
+    public void setLinhasRejeitadas(long linhasRejeitadas) {
+        this.linhasRejeitadas = linhasRejeitadas;
+    }
+
+    public long getTamanhoResultado() {
+        return tamanhoResultado;
+    }
+
+    public void setTamanhoResultado(long tamanhoResultado) {
+        this.tamanhoResultado = tamanhoResultado;
+    }
+
+    public String getMensagemFalha() {
+        return mensagemFalha;
+    }
+
+    public void setMensagemFalha(String mensagemFalha) {
+        this.mensagemFalha = mensagemFalha;
+    }
+
+    public LocalDateTime getRecebidaEm() {
+        return recebidaEm;
+    }
+
+    public LocalDateTime getConcluidaEm() {
+        return concluidaEm;
+    }
+
+    public void setConcluidaEm(LocalDateTime concluidaEm) {
+        this.concluidaEm = concluidaEm;
+    }
+
+    public String getDono() {
+        return dono;
+    }
+
+    public void setDono(String dono) {
+        this.dono = dono;
+    }
+
+    public LocalDateTime getReservadaAte() {
+        return reservadaAte;
+    }
+
+    public void setReservadaAte(LocalDateTime reservadaAte) {
+        this.reservadaAte = reservadaAte;
+    }
+
+    @Override
+    public String toString() {
+        return "Remessa{" +
+                "id=" + id +
+                ", nomeArquivo='" + nomeArquivo + '\'' +
+                ", formato=" + formato +
+                ", situacao=" + situacao +
+                ", dono='" + dono + '\'' +
+                ", posicaoConfirmada=" + posicaoConfirmada +
+                ", tamanhoBytes=" + tamanhoBytes +
+                ", linhasAgendadas=" + linhasAgendadas +
+                ", linhasRejeitadas=" + linhasRejeitadas +
+                '}';
+    }
+}
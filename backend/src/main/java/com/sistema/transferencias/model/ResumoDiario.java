@@ -0,0 +1,60 @@
+package com.sistema.transferencias.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import java.math.BigDecimal;
+
+/**
+ * Totais pré-agregados das transferências por {@link ChaveResumoDiario}: quantidade, soma dos valores
+ * e soma das taxas. Mantidos incrementalmente na mesma transação que grava as transferências,
+ * de modo que os resumos por período nunca leem a tabela de transferências. As linhas são
+ * gravadas só pelo {@code ResumoDiarioService} (SQL); pela JPA, apenas lidas.
+ */
+
+@Entity
+@Immutable
+@Table(name = "resumos_diarios")
+public class ResumoDiario {
+
+    @EmbeddedId
+    private ChaveResumoDiario chave;
+
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    @Column(name = "valor_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal valorTotal;
+
+    @Column(name = "taxa_total", nullable = false, precision = 19, scale = 2)
+    private BigDecimal taxaTotal;
+
+
+    protected ResumoDiario() {}
+
+
+    public ChaveResumoDiario getChave() {
+        return chave;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public BigDecimal getValorTotal() {
+        return valorTotal;
+    }
+
+    public BigDecimal getTaxaTotal() {
+        return taxaTotal;
+    }
+
+    @Override
+    public String toString() {
+        return "ResumoDiario{" +
+                "chave=" + chave +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                ", taxaTotal=" + taxaTotal +
+                '}';
+    }
+}
@@ -0,0 +1,22 @@
+package com.sistema.transferencias.model;
+
+/**
+ * Ciclo de vida de uma remessa:
+ * RECEBIDA → PROCESSANDO → CONCLUIDA ou FALHOU. Uma remessa que falhou
+ * (ou foi interrompida) volta a PROCESSANDO a partir da última posição confirmada.
+ */
+
+public enum SituacaoRemessa {
+
+    /** Arquivo gravado, aguardando processamento. */
+    RECEBIDA,
+
+    /** Em processamento, ou interrompida por uma parada da aplicação. */
+    PROCESSANDO,
+
+    /** Todas as linhas do arquivo foram agendadas ou rejeitadas. */
+    CONCLUIDA,
+
+    /** O processamento parou por um erro; o motivo fica em {@code mensagemFalha}. */
+    FALHOU
+}
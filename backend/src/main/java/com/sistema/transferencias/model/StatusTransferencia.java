@@ -0,0 +1,21 @@
+package com.sistema.transferencias.model;
+
+/**
+ * Ciclo de vida de uma transferência agendada:
+ * AGENDADA → EM_PROCESSAMENTO → LIQUIDADA ou FALHOU.
+ */
+
+public enum StatusTransferencia {
+
+    /** Aguardando a data da transferência. */
+    AGENDADA,
+
+    /** Reservada por um nó do motor de liquidação. */
+    EM_PROCESSAMENTO,
+
+    /** Liquidada na data da transferência. */
+    LIQUIDADA,
+
+    /** A liquidação falhou; o motivo fica em {@code motivoFalha}. */
+    FALHOU
+}
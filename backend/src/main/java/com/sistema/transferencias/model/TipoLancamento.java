@@ -0,0 +1,20 @@
+package com.sistema.transferencias.model;
+
+/**
+ * Natureza de um lançamento no extrato de uma conta.
+ */
+
+public enum TipoLancamento {
+
+    /** Depósito na conta, fora de uma transferência. */
+    DEPOSITO,
+
+    /** Valor recebido de uma transferência. */
+    CREDITO,
+
+    /** Valor enviado por uma transferência. */
+    DEBITO,
+
+    /** Taxa cobrada da conta de origem de uma transferência. */
+    TAXA
+}
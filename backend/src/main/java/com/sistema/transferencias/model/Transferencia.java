@@ -4,24 +4,38 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+// Índices alinhados às consultas do repository: filtro seguido da ordenação (dataAgendamento DESC, id DESC)
 @Entity
-@Table(name = "transferencias")
+@Table(name = "transferencias", indexes = {
+        @Index(name = "idx_transferencias_conta_origem_agendamento", columnList = "conta_origem, data_agendamento DESC, id DESC"),
+        @Index(name = "idx_transferencias_data_transferencia_agendamento", columnList = "data_transferencia, data_agendamento"),
+        @Index(name = "idx_transferencias_data_agendamento", columnList = "data_agendamento DESC, id DESC"),
+        @Index(name = "idx_transferencias_status_data_transferencia", columnList = "status, data_transferencia, id")
+})
 public class Transferencia {
 
+    /**
+     * Sequence dos IDs e quantos IDs cada valor dela reserva (otimizador pooled do Hibernate).
+     */
+
+    public static final String SEQUENCE_ID = "transferencias_seq";
+    public static final int TAMANHO_ALOCACAO_IDS = 50;
+
+    // Sequence com otimizador pooled: permite ao Hibernate agrupar INSERTs (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = SEQUENCE_ID)
+    @SequenceGenerator(name = SEQUENCE_ID, sequenceName = SEQUENCE_ID, allocationSize = TAMANHO_ALOCACAO_IDS)
     private Long id;
 
-    @NotBlank(message = "Conta de origem é obrigatória")
-    @Pattern(regexp = "\\d{10}", message = "Conta de origem deve ter exatamente 10 dígitos")
-    @Column(name = "conta_origem", nullable = false, length = 10)
-    private String contaOrigem;
+    @NotNull(message = "Conta de origem é obrigatória")
+    @Column(name = "conta_origem", nullable = false)
+    private NumeroConta contaOrigem;
 
-    @NotBlank(message = "Conta de destino é obrigatória")
-    @Pattern(regexp = "\\d{10}", message = "Conta de destino deve ter exatamente 10 dígitos")
-    @Column(name = "conta_destino", nullable = false, length = 10)
-    private String contaDestino;
+    @NotNull(message = "Conta de destino é obrigatória")
+    @Column(name = "conta_destino", nullable = false)
+    private NumeroConta contaDestino;
 
     @NotNull(message = "Valor da transferência é obrigatório")
     @DecimalMin(value = "0.01", message = "Valor da transferência deve ser maior que zero")
@@ -33,8 +47,9 @@ public class Transferencia {
     @Column(name = "taxa_transferencia", nullable = false, precision = 15, scale = 2)
     private BigDecimal taxaTransferencia;
 
+    // Sem @FutureOrPresent: a data atual é a do CalendarioNegocio, verificada no agendamento,
+    // e não a do relógio da JVM que a validação do Hibernate usaria ao gravar
     @NotNull(message = "Data da transferência é obrigatória")
-    @FutureOrPresent(message = "Data da transferência deve ser igual ou posterior à data atual")
     @Column(name = "data_transferencia", nullable = false)
     private LocalDate dataTransferencia;
 
@@ -45,14 +60,35 @@ public class Transferencia {
     @Column(name = "dias_para_transferencia", nullable = false)
     private Integer diasParaTransferencia;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusTransferencia status = StatusTransferencia.AGENDADA;
+
+    // Nós concorrentes do motor de liquidação: só uma das atualizações de cada versão é gravada
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    @Column(name = "inicio_processamento")
+    private LocalDateTime inicioProcessamento;
+
+    @Column(name = "data_liquidacao")
+    private LocalDate dataLiquidacao;
+
+    @Column(name = "motivo_falha")
+    private String motivoFalha;
+
 
     public Transferencia() {
-        this.dataAgendamento = LocalDate.now();
     }
 
-    public Transferencia(String contaOrigem, String contaDestino, BigDecimal valorTransferencia, 
-                        LocalDate dataTransferencia) {
-        this();
+    /**
+     * @param dataAgendamento Data de negócio do agendamento, informada por quem cria a transferência
+     */
+
+    public Transferencia(NumeroConta contaOrigem, NumeroConta contaDestino, BigDecimal valorTransferencia,
+                        LocalDate dataTransferencia, LocalDate dataAgendamento) {
+        this.dataAgendamento = dataAgendamento;
         this.contaOrigem = contaOrigem;
         this.contaDestino = contaDestino;
         this.valorTransferencia = valorTransferencia;
@@ -83,19 +119,19 @@ public class Transferencia {
         this.id = id;
     }
 
-    public String getContaOrigem() {
+    public NumeroConta getContaOrigem() {
         return contaOrigem;
     }
 
-    public void setContaOrigem(String contaOrigem) {
+    public void setContaOrigem(NumeroConta contaOrigem) {
         this.contaOrigem = contaOrigem;
     }
 
-    public String getContaDestino() {
+    public NumeroConta getContaDestino() {
         return contaDestino;
     }
 
-    public void setContaDestino(String contaDestino) {
+    public void setContaDestino(NumeroConta contaDestino) {
         this.contaDestino = contaDestino;
     }
 
@@ -141,17 +177,59 @@ public class Transferencia {
         this.diasParaTransferencia = diasParaTransferencia;
     }
 
+    public StatusTransferencia getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusTransferencia status) {
+        this.status = status;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public LocalDateTime getInicioProcessamento() {
+        return inicioProcessamento;
+    }
+
+    public void setInicioProcessamento(LocalDateTime inicioProcessamento) {
+        this.inicioProcessamento = inicioProcessamento;
+    }
+
+    public LocalDate getDataLiquidacao() {
+        return dataLiquidacao;
+    }
+
+    public void setDataLiquidacao(LocalDate dataLiquidacao) {
+        this.dataLiquidacao = dataLiquidacao;
+    }
+
+    public String getMotivoFalha() {
+        return motivoFalha;
+    }
+
+    public void setMotivoFalha(String motivoFalha) {
+        this.motivoFalha = motivoFalha;
+    }
+
     @Override
     public String toString() {
         return "Transferencia{" +
                 "id=" + id +
-                ", contaOrigem='" + contaOrigem + '\'' +
-                ", contaDestino='" + contaDestino + '\'' +
+                ", contaOrigem=" + contaOrigem +
+                ", contaDestino=" + contaDestino +
                 ", valorTransferencia=" + valorTransferencia +
                 ", taxaTransferencia=" + taxaTransferencia +
                 ", dataTransferencia=" + dataTransferencia +
                 ", dataAgendamento=" + dataAgendamento +
                 ", diasParaTransferencia=" + diasParaTransferencia +
+                ", status=" + status +
+                ", versao=" + versao +
                 '}';
     }
 }
@@ -0,0 +1,37 @@
+package com.sistema.transferencias.repository;
+
+import com.sistema.transferencias.model.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+
+/**
+ * Repository das chaves de idempotência do agendamento de transferências.
+ */
+
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Remove as chaves expiradas em um único DELETE, sem carregá-las.
+     * @param limite Instante de referência; chaves que expiraram antes dele são removidas
+     * @return Número de chaves removidas
+     */
+
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.expiraEm < :limite")
+    int deleteExpiradas(LocalDateTime limite);
+
+    /**
+     * Remove uma chave vencida ou órfã antes de reutilizá-la. Limpa o contexto de persistência
+     * para que a chave carregada antes não conflite com a nova de mesmo ID.
+     * @param chave Chave de idempotência
+     * @return Número de chaves removidas
+     */
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave")
+    int deleteByChave(String chave);
+}
@@ -0,0 +1,28 @@
+package com.sistema.transferencias.repository;
+
+import com.sistema.transferencias.model.Conta;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+/**
+ * Repository das contas e seus saldos materializados.
+ */
+
+@Repository
+public interface ContaRepository extends JpaRepository<Conta, String> {
+
+    /**
+     * Carrega a conta com a linha bloqueada ({@code SELECT ... FOR UPDATE}) até o fim da transação,
+     * para que outro nó não altere o saldo entre a leitura e a gravação.
+     * @param numero Número da conta
+     * @return Conta bloqueada, se existir
+     */
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Conta c WHERE c.numero = :numero")
+    Optional<Conta> findParaAtualizacao(String numero);
+}
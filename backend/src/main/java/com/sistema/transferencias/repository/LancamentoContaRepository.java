@@ -0,0 +1,37 @@
+package com.sistema.transferencias.repository;
+
+import com.sistema.transferencias.model.LancamentoConta;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository dos lançamentos (extrato) das contas. Lançamentos só são inseridos.
+ */
+
+@Repository
+public interface LancamentoContaRepository extends JpaRepository<LancamentoConta, Long> {
+
+    /**
+     * Lançamentos mais recentes de uma conta.
+     * @param numeroConta Número da conta
+     * @param limit Quantidade máxima de lançamentos
+     * @return Lançamentos do mais recente para o mais antigo
+     */
+
+    List<LancamentoConta> findByNumeroContaOrderByIdDesc(String numeroConta, Limit limit);
+
+    /**
+     * Saldo de uma conta recalculado a partir do extrato, para conferência do saldo materializado.
+     * @param numeroConta Número da conta
+     * @return Soma dos lançamentos, com as saídas negativas
+     */
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN l.tipo IN (com.sistema.transferencias.model.TipoLancamento.DEBITO, " +
+           "com.sistema.transferencias.model.TipoLancamento.TAXA) THEN -l.valor ELSE l.valor END), 0) " +
+           "FROM LancamentoConta l WHERE l.numeroConta = :numeroConta")
+    BigDecimal somarLancamentos(String numeroConta);
+}
@@ -0,0 +1,23 @@
+package com.sistema.transferencias.repository;
+
+import com.sistema.transferencias.model.Remessa;
+import com.sistema.transferencias.model.SituacaoRemessa;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository das remessas. O progresso de cada bloco é gravado pelo {@code RemessaService}
+ * via JDBC, na transação das transferências do bloco.
+ */
+
+@Repository
+public interface RemessaRepository extends JpaRepository<Remessa, Long> {
+
+    /**
+     * Remessas nas situações informadas, da mais antiga para a mais recente.
+     */
+
+    List<Remessa> findBySituacaoInOrderByIdAsc(Collection<SituacaoRemessa> situacoes);
+}
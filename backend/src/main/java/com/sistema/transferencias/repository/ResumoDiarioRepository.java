@@ -0,0 +1,48 @@
+package com.sistema.transferencias.repository;
+
+import com.sistema.transferencias.dto.TotaisParticaoContaDTO;
+import com.sistema.transferencias.dto.TotaisResumoDiarioDTO;
+import com.sistema.transferencias.model.ChaveResumoDiario;
+import com.sistema.transferencias.model.ResumoDiario;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository de leitura dos resumos diários. As linhas são mantidas pelo {@code ResumoDiarioService}.
+ */
+
+@Repository
+public interface ResumoDiarioRepository extends JpaRepository<ResumoDiario, ChaveResumoDiario> {
+
+    /**
+     * Totais por data e número de dias no período, somadas as partições de conta.
+     * Percorre só a chave primária dos resumos, nunca a tabela de transferências.
+     * @param dataInicio Primeira data de transferência (inclusiva)
+     * @param dataFim Última data de transferência (inclusiva)
+     * @return Totais ordenados por data e número de dias
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TotaisResumoDiarioDTO(r.chave.dataTransferencia, " +
+           "r.chave.diasParaTransferencia, SUM(r.quantidade), SUM(r.valorTotal), SUM(r.taxaTotal)) " +
+           "FROM ResumoDiario r WHERE r.chave.dataTransferencia BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY r.chave.dataTransferencia, r.chave.diasParaTransferencia " +
+           "ORDER BY r.chave.dataTransferencia, r.chave.diasParaTransferencia")
+    List<TotaisResumoDiarioDTO> somarPorDataEDias(LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Totais por partição da conta de origem no período, somadas as datas e os números de dias.
+     * Também percorre só os resumos.
+     * @param dataInicio Primeira data de transferência (inclusiva)
+     * @param dataFim Última data de transferência (inclusiva)
+     * @return Totais ordenados por partição; partições sem transferências no período ficam de fora
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TotaisParticaoContaDTO(r.chave.particaoConta, " +
+           "SUM(r.quantidade), SUM(r.valorTotal), SUM(r.taxaTotal)) " +
+           "FROM ResumoDiario r WHERE r.chave.dataTransferencia BETWEEN :dataInicio AND :dataFim " +
+           "GROUP BY r.chave.particaoConta ORDER BY r.chave.particaoConta")
+    List<TotaisParticaoContaDTO> somarPorParticaoConta(LocalDate dataInicio, LocalDate dataFim);
+}
@@ -1,16 +1,32 @@
 package com.sistema.transferencias.repository;
 
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.NumeroConta;
 import com.sistema.transferencias.model.Transferencia;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository para operações de persistência da entidade Transferencia.
  * Utiliza Spring Data JPA para fornecer operações CRUD básicas
  * e consultas customizadas.
+ * As consultas de leitura da API (listagens, busca por ID e exportação) projetam direto em
+ * {@link TransferenciaResponseDTO}, sem materializar entidades gerenciadas no contexto de persistência.
  */
 
 @Repository
@@ -23,13 +39,81 @@ public interface TransferenciaRepository extends JpaRepository<Transferencia, Lo
 
     List<Transferencia> findAllByOrderByDataAgendamentoDesc();
     
+    /**
+     * Primeira página da listagem paginada por chave (dataAgendamento DESC, id DESC).
+     * @param limit Quantidade máxima de transferências
+     * @return Transferências da primeira página
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TransferenciaResponseDTO(t.id, t.contaOrigem, t.contaDestino, " +
+           "t.valorTransferencia, t.taxaTransferencia, t.dataTransferencia, t.dataAgendamento, t.diasParaTransferencia, t.status) " +
+           "FROM Transferencia t ORDER BY t.dataAgendamento DESC, t.id DESC")
+    List<TransferenciaResponseDTO> findPrimeiraPagina(Limit limit);
+    
+    /**
+     * Página seguinte à posição (dataAgendamento, id) na listagem paginada por chave.
+     * O limite {@code dataAgendamento <= :dataAgendamento} é redundante, mas dá ao banco
+     * o ponto de partida no índice em vez de filtrar as páginas já entregues.
+     * @param dataAgendamento Data de agendamento da última transferência entregue
+     * @param id ID da última transferência entregue
+     * @param limit Quantidade máxima de transferências
+     * @return Transferências posteriores à posição informada
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TransferenciaResponseDTO(t.id, t.contaOrigem, t.contaDestino, " +
+           "t.valorTransferencia, t.taxaTransferencia, t.dataTransferencia, t.dataAgendamento, t.diasParaTransferencia, t.status) " +
+           "FROM Transferencia t WHERE t.dataAgendamento <= :dataAgendamento " +
+           "AND (t.dataAgendamento < :dataAgendamento OR t.id < :id) " +
+           "ORDER BY t.dataAgendamento DESC, t.id DESC")
+    List<TransferenciaResponseDTO> findPaginaApos(LocalDate dataAgendamento, Long id, Limit limit);
+    
     /**
      * Busca transferências por conta de origem.
      * @param contaOrigem Conta de origem
      * @return Lista de transferências da conta
      */
 
-    List<Transferencia> findByContaOrigemOrderByDataAgendamentoDesc(String contaOrigem);
+    List<Transferencia> findByContaOrigemOrderByDataAgendamentoDesc(NumeroConta contaOrigem);
+    
+    /**
+     * Primeira página das transferências de uma conta de origem, paginada por chave.
+     * @param contaOrigem Conta de origem
+     * @param limit Quantidade máxima de transferências
+     * @return Transferências da primeira página
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TransferenciaResponseDTO(t.id, t.contaOrigem, t.contaDestino, " +
+           "t.valorTransferencia, t.taxaTransferencia, t.dataTransferencia, t.dataAgendamento, t.diasParaTransferencia, t.status) " +
+           "FROM Transferencia t WHERE t.contaOrigem = :contaOrigem " +
+           "ORDER BY t.dataAgendamento DESC, t.id DESC")
+    List<TransferenciaResponseDTO> findPrimeiraPaginaPorContaOrigem(NumeroConta contaOrigem, Limit limit);
+    
+    /**
+     * Página seguinte à posição (dataAgendamento, id) das transferências de uma conta de origem.
+     * @param contaOrigem Conta de origem
+     * @param dataAgendamento Data de agendamento da última transferência entregue
+     * @param id ID da última transferência entregue
+     * @param limit Quantidade máxima de transferências
+     * @return Transferências posteriores à posição informada
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TransferenciaResponseDTO(t.id, t.contaOrigem, t.contaDestino, " +
+           "t.valorTransferencia, t.taxaTransferencia, t.dataTransferencia, t.dataAgendamento, t.diasParaTransferencia, t.status) " +
+           "FROM Transferencia t WHERE t.contaOrigem = :contaOrigem " +
+           "AND t.dataAgendamento <= :dataAgendamento AND (t.dataAgendamento < :dataAgendamento OR t.id < :id) " +
+           "ORDER BY t.dataAgendamento DESC, t.id DESC")
+    List<TransferenciaResponseDTO> findPaginaAposPorContaOrigem(NumeroConta contaOrigem, LocalDate dataAgendamento, Long id, Limit limit);
+    
+    /**
+     * Transferência pelo ID, projetada para a resposta da API.
+     * @param id ID da transferência
+     * @return Transferência, se existir
+     */
+
+    @Query("SELECT new com.sistema.transferencias.dto.TransferenciaResponseDTO(t.id, t.contaOrigem, t.contaDestino, " +
+           "t.valorTransferencia, t.taxaTransferencia, t.dataTransferencia, t.dataAgendamento, t.diasParaTransferencia, t.status) " +
+           "FROM Transferencia t WHERE t.id = :id")
+    Optional<TransferenciaResponseDTO> findResponseById(Long id);
     
     /**
      * Busca transferências por data de transferência.
@@ -59,12 +143,92 @@ public interface TransferenciaRepository extends JpaRepository<Transferencia, Lo
     @Query("SELECT t FROM Transferencia t WHERE t.dataTransferencia BETWEEN :dataInicio AND :dataFim ORDER BY t.dataTransferencia ASC")
     List<Transferencia> findByDataTransferenciaBetween(LocalDate dataInicio, LocalDate dataFim);
     
+    /**
+     * Percorre as transferências com data de transferência entre duas datas sem materializar o resultado.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * @param dataInicio Data de início
+     * @param dataFim Data de fim
+     * @return Stream de transferências no período, em ordem crescente
+     */
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.sistema.transferencias.dto.TransferenciaResponseDTO(t.id, t.contaOrigem, t.contaDestino, " +
+           "t.valorTransferencia, t.taxaTransferencia, t.dataTransferencia, t.dataAgendamento, t.diasParaTransferencia, t.status) " +
+           "FROM Transferencia t WHERE t.dataTransferencia BETWEEN :dataInicio AND :dataFim " +
+           "ORDER BY t.dataTransferencia ASC, t.id ASC")
+    Stream<TransferenciaResponseDTO> streamByDataTransferenciaBetween(LocalDate dataInicio, LocalDate dataFim);
+    
     /**
      * Conta o número de transferências por conta de origem.
      * @param contaOrigem Conta de origem
      * @return Número de transferências
      */
 
-    long countByContaOrigem(String contaOrigem);
+    long countByContaOrigem(NumeroConta contaOrigem);
+
+    /**
+     * Transferências agendadas com data de transferência até {@code data}, bloqueadas para a reserva
+     * do motor de liquidação. As linhas já bloqueadas por outro nó são puladas ({@code SKIP LOCKED},
+     * timeout de lock -2 no Hibernate), de modo que nós concorrentes reservam lotes disjuntos.
+     * Em bancos sem SKIP LOCKED (H2), o dialeto gera {@code FOR UPDATE} e os nós esperam uns pelos outros.
+     * @param data Data de negócio da liquidação
+     * @param limit Tamanho do lote
+     * @return Transferências vencidas, em ordem de ID
+     */
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT t FROM Transferencia t WHERE t.status = com.sistema.transferencias.model.StatusTransferencia.AGENDADA " +
+           "AND t.dataTransferencia <= :data ORDER BY t.id")
+    List<Transferencia> findVencidasParaLiquidacao(LocalDate data, Limit limit);
+
+    /**
+     * Reserva as transferências AGENDADAS para o nó atual: EM_PROCESSAMENTO, com a versão incrementada.
+     * Atualização em massa, sem carregar entidades.
+     * @return Quantidade de transferências reservadas
+     */
+
+    @Modifying
+    @Query("UPDATE Transferencia t SET t.status = com.sistema.transferencias.model.StatusTransferencia.EM_PROCESSAMENTO, " +
+           "t.inicioProcessamento = :agora, t.versao = t.versao + 1 WHERE t.id IN :ids " +
+           "AND t.status = com.sistema.transferencias.model.StatusTransferencia.AGENDADA")
+    int reservarParaLiquidacao(Collection<Long> ids, LocalDateTime agora);
+
+    /**
+     * Liquida uma transferência reservada, se ela ainda estiver na versão da reserva.
+     * @return 1 se liquidada; 0 se outro nó a alterou depois da reserva
+     */
+
+    @Modifying
+    @Query("UPDATE Transferencia t SET t.status = com.sistema.transferencias.model.StatusTransferencia.LIQUIDADA, " +
+           "t.dataLiquidacao = :dataLiquidacao, t.inicioProcessamento = null, t.versao = t.versao + 1 " +
+           "WHERE t.id = :id AND t.versao = :versao " +
+           "AND t.status = com.sistema.transferencias.model.StatusTransferencia.EM_PROCESSAMENTO")
+    int liquidar(Long id, Long versao, LocalDate dataLiquidacao);
+
+    /**
+     * Marca como falha uma transferência reservada, se ela ainda estiver na versão da reserva.
+     * @return 1 se marcada; 0 se outro nó a alterou depois da reserva
+     */
+
+    @Modifying
+    @Query("UPDATE Transferencia t SET t.status = com.sistema.transferencias.model.StatusTransferencia.FALHOU, " +
+           "t.motivoFalha = :motivo, t.inicioProcessamento = null, t.versao = t.versao + 1 " +
+           "WHERE t.id = :id AND t.versao = :versao " +
+           "AND t.status = com.sistema.transferencias.model.StatusTransferencia.EM_PROCESSAMENTO")
+    int marcarFalha(Long id, Long versao, String motivo);
+
+    /**
+     * Devolve para AGENDADA as reservas iniciadas antes de {@code limite}, de nós que pararam no meio
+     * do lote. A versão incrementada faz o nó original, se ainda estiver vivo, perder a liquidação.
+     * @return Quantidade de reservas liberadas
+     */
+
+    @Modifying
+    @Query("UPDATE Transferencia t SET t.status = com.sistema.transferencias.model.StatusTransferencia.AGENDADA, " +
+           "t.inicioProcessamento = null, t.versao = t.versao + 1 " +
+           "WHERE t.status = com.sistema.transferencias.model.StatusTransferencia.EM_PROCESSAMENTO " +
+           "AND t.inicioProcessamento < :limite")
+    int liberarReservasIniciadasAntes(LocalDateTime limite);
 }
 
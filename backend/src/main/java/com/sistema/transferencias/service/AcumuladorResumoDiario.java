@@ -0,0 +1,60 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.model.ChaveResumoDiario;
+import com.sistema.transferencias.model.Transferencia;
+import java.math.BigDecimal;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Soma em memória as transferências de um lote por {@link ChaveResumoDiario}, para que o
+ * {@link ResumoDiarioService} atualize cada linha de resumo uma única vez por lote.
+ * As chaves ficam ordenadas: é a ordem em que as linhas são bloqueadas. Não é thread-safe.
+ */
+
+public class AcumuladorResumoDiario {
+
+    private final TreeMap<ChaveResumoDiario, Totais> totais = new TreeMap<>();
+
+    public void adicionar(Transferencia transferencia) {
+        adicionar(ChaveResumoDiario.de(transferencia), transferencia.getValorTransferencia(),
+                transferencia.getTaxaTransferencia());
+    }
+
+    public void adicionar(ChaveResumoDiario chave, BigDecimal valor, BigDecimal taxa) {
+        totais.computeIfAbsent(chave, novaChave -> new Totais()).somar(valor, taxa);
+    }
+
+    public boolean isVazio() {
+        return totais.isEmpty();
+    }
+
+    NavigableMap<ChaveResumoDiario, Totais> getTotais() {
+        return totais;
+    }
+
+    static final class Totais {
+
+        private long quantidade;
+        private BigDecimal valorTotal = BigDecimal.ZERO;
+        private BigDecimal taxaTotal = BigDecimal.ZERO;
+
+        private void somar(BigDecimal valor, BigDecimal taxa) {
+            quantidade++;
+            valorTotal = valorTotal.add(valor);
+            taxaTotal = taxaTotal.add(taxa);
+        }
+
+        long getQuantidade() {
+            return quantidade;
+        }
+
+        BigDecimal getValorTotal() {
+            return valorTotal;
+        }
+
+        BigDecimal getTaxaTotal() {
+            return taxaTotal;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+
+/**
+ * Resultado de um agendamento assíncrono: a transferência com o ID já reservado e
+ * se ela já estava gravada quando a resposta foi montada.
+ */
+
+public final class AgendamentoAssincrono {
+
+    private final TransferenciaResponseDTO transferencia;
+    private final boolean gravado;
+
+    private AgendamentoAssincrono(TransferenciaResponseDTO transferencia, boolean gravado) {
+        this.transferencia = transferencia;
+        this.gravado = gravado;
+    }
+
+    public static AgendamentoAssincrono enfileirado(TransferenciaResponseDTO transferencia) {
+        return new AgendamentoAssincrono(transferencia, false);
+    }
+
+    public static AgendamentoAssincrono gravado(TransferenciaResponseDTO transferencia) {
+        return new AgendamentoAssincrono(transferencia, true);
+    }
+
+    public TransferenciaResponseDTO getTransferencia() {
+        return transferencia;
+    }
+
+    public boolean isGravado() {
+        return gravado;
+    }
+}
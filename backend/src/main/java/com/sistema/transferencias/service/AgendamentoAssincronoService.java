@@ -0,0 +1,441 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.SituacaoGravacaoDTO;
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.exception.FilaAgendamentoCheiaException;
+import com.sistema.transferencias.exception.TaxaCalculationException;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agendamento com gravação assíncrona (write-behind), ligado por {@code transferencias.agendamento.assincrono.habilitado}.
+ * A requisição valida e cota a transferência como no agendamento síncrono, recebe um ID reservado na sequence
+ * ({@link AlocadorIdsTransferencia}) e entra numa fila limitada. Uma única thread esvazia a fila em grupos de até
+ * {@code tamanho-grupo} transferências, ou o que chegar em {@code intervalo} depois da primeira, com um INSERT
+ * em batch e um commit por grupo: picos de agendamento não exigem um pool de conexões do tamanho do pico.
+ * Os resumos diários do grupo ({@link ResumoDiarioService}) são atualizados na mesma transação.
+ * Com a fila cheia, o agendamento é recusado ({@link FilaAgendamentoCheiaException}, HTTP 429) em vez de esperar.
+ * <p>
+ * Na confirmação {@link Confirmacao#ENFILEIRADA}, a resposta sai assim que a transferência entra na fila, e a
+ * gravação é acompanhada por {@link #consultarGravacao}; na {@link Confirmacao#GRAVADA}, só depois do commit do grupo.
+ */
+
+@Service
+public class AgendamentoAssincronoService implements SmartLifecycle, MeterBinder {
+
+    /**
+     * Quando a resposta do agendamento assíncrono é enviada.
+     */
+
+    public enum Confirmacao {
+
+        /** Ao entrar na fila: menor latência; uma queda antes do commit perde a transferência. */
+        ENFILEIRADA,
+
+        /** Após o commit do grupo: a resposta garante a gravação, com a latência do grupo. */
+        GRAVADA
+    }
+
+    static final String INSERT = "INSERT INTO transferencias (id, conta_origem, conta_destino, valor_transferencia, "
+            + "taxa_transferencia, data_transferencia, data_agendamento, dias_para_transferencia, status, versao) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    // Parada depois do servidor web (que para em DEFAULT_PHASE - 1024), para gravar o que ainda estiver na fila
+    private static final int FASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long ESPERA_FILA_VAZIA_MS = 100;
+
+    // Mensagens devolvidas ao cliente; a exceção, que pode trazer SQL e nomes de tabelas, fica só no log
+    static final String MENSAGEM_RECUSADA = "Transferência recusada pelo banco de dados.";
+    static final String MENSAGEM_FALHA = "Falha ao gravar a transferência. Tente agendar novamente.";
+    static final String MENSAGEM_ENCERRADA = "Aplicação encerrada antes da gravação. Tente agendar novamente.";
+
+    private static final Logger log = LoggerFactory.getLogger(AgendamentoAssincronoService.class);
+
+    private final TransferenciaService transferenciaService;
+    private final TransferenciaRepository transferenciaRepository;
+    private final AlocadorIdsTransferencia alocadorIds;
+    private final ResumoDiarioService resumoDiarioService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricasTransferencias metricas;
+    private final boolean habilitado;
+    private final int tamanhoGrupo;
+    private final long intervaloNanos;
+    private final Confirmacao confirmacao;
+    private final Duration esperaMaxima;
+
+    private final BlockingQueue<Pendente> fila;
+    private final Map<Long, Pendente> pendentes = new ConcurrentHashMap<>();
+    private final FalhasRecentes falhas;
+
+    private volatile boolean executando;
+    private Thread escritor;
+
+    public AgendamentoAssincronoService(TransferenciaService transferenciaService,
+                                        TransferenciaRepository transferenciaRepository,
+                                        AlocadorIdsTransferencia alocadorIds,
+                                        ResumoDiarioService resumoDiarioService,
+                                        JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        MetricasTransferencias metricas,
+                                        @Value("${transferencias.agendamento.assincrono.habilitado:false}") boolean habilitado,
+                                        @Value("${transferencias.agendamento.assincrono.capacidade:10000}") int capacidade,
+                                        @Value("${transferencias.agendamento.assincrono.tamanho-grupo:500}") int tamanhoGrupo,
+                                        @Value("${transferencias.agendamento.assincrono.intervalo:PT0.005S}") Duration intervalo,
+                                        @Value("${transferencias.agendamento.assincrono.confirmacao:ENFILEIRADA}") Confirmacao confirmacao,
+                                        @Value("${transferencias.agendamento.assincrono.espera-maxima:PT5S}") Duration esperaMaxima) {
+        if (capacidade <= 0 || tamanhoGrupo <= 0) {
+            throw new IllegalStateException("Capacidade da fila e tamanho do grupo devem ser maiores que zero");
+        }
+        this.transferenciaService = transferenciaService;
+        this.transferenciaRepository = transferenciaRepository;
+        this.alocadorIds = alocadorIds;
+        this.resumoDiarioService = resumoDiarioService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.metricas = metricas;
+        this.habilitado = habilitado;
+        this.tamanhoGrupo = tamanhoGrupo;
+        this.intervaloNanos = intervalo.toNanos();
+        this.confirmacao = confirmacao;
+        this.esperaMaxima = esperaMaxima;
+        this.fila = new ArrayBlockingQueue<>(capacidade);
+        this.falhas = new FalhasRecentes(capacidade);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Valida, cota e enfileira a transferência.
+     * @return Transferência com o ID reservado; gravada, se a confirmação for {@link Confirmacao#GRAVADA}
+     *         e o commit terminar dentro de {@code espera-maxima}
+     * @throws IllegalArgumentException se os dados forem inválidos
+     * @throws TaxaCalculationException se a transferência não for permitida
+     * @throws FilaAgendamentoCheiaException se a fila estiver cheia ou parada
+     * @throws IllegalStateException se a confirmação for GRAVADA e a gravação falhar
+     */
+
+    public AgendamentoAssincrono agendar(TransferenciaRequestDTO requestDTO) {
+        return metricas.medirAgendamento(() -> {
+            verificarCapacidade();
+            Transferencia transferencia = transferenciaService.prepararTransferencia(requestDTO);
+            transferencia.setId(alocadorIds.proximoId());
+
+            Pendente pendente = new Pendente(transferencia);
+            pendentes.put(transferencia.getId(), pendente);
+            if (!fila.offer(pendente)) {
+                pendentes.remove(transferencia.getId());
+                throw recusar();
+            }
+            // Se a parada já esvaziou a fila depois da verificação, ninguém mais gravaria esta transferência;
+            // se a remoção falhar, a thread ou a parada já a tiraram da fila e vão concluí-la
+            if (!executando && fila.remove(pendente)) {
+                pendentes.remove(transferencia.getId());
+                throw indisponivel();
+            }
+
+            TransferenciaResponseDTO response = TransferenciaResponseDTO.de(transferencia);
+            if (confirmacao == Confirmacao.GRAVADA && aguardarGravacao(pendente)) {
+                return AgendamentoAssincrono.gravado(response);
+            }
+            return AgendamentoAssincrono.enfileirado(response);
+        });
+    }
+
+    /**
+     * Situação da gravação de uma transferência aceita pelo agendamento assíncrono.
+     * Transferências agendadas pelo caminho síncrono aparecem como gravadas.
+     * @throws IllegalArgumentException se a transferência não existir
+     */
+
+    public SituacaoGravacaoDTO consultarGravacao(Long id) {
+        if (pendentes.containsKey(id)) {
+            return new SituacaoGravacaoDTO(id, SituacaoGravacao.PENDENTE, null);
+        }
+        String falha = falhas.consultar(id);
+        if (falha != null) {
+            return new SituacaoGravacaoDTO(id, SituacaoGravacao.FALHOU, falha);
+        }
+        if (transferenciaRepository.existsById(id)) {
+            return new SituacaoGravacaoDTO(id, SituacaoGravacao.GRAVADA, null);
+        }
+        throw new IllegalArgumentException("Transferência não encontrada com ID: " + id);
+    }
+
+    public int getTamanhoFila() {
+        return fila.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("transferencias.agendamento.fila.tamanho", this, AgendamentoAssincronoService::getTamanhoFila)
+                .description("Transferências aguardando gravação no agendamento assíncrono")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!habilitado || executando) {
+            return;
+        }
+        executando = true;
+        escritor = new Thread(this::escrever, "agendamento-escritor");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Para de aceitar transferências e espera a thread gravar o que já está na fila.
+     */
+
+    @Override
+    public void stop() {
+        if (!executando) {
+            return;
+        }
+        executando = false;
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Enfileiradas depois da última leitura da thread, durante a parada
+        List<Pendente> restantes = new ArrayList<>();
+        fila.drainTo(restantes);
+        for (Pendente pendente : restantes) {
+            falhar(pendente, new IllegalStateException(MENSAGEM_ENCERRADA), MENSAGEM_ENCERRADA);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @Override
+    public int getPhase() {
+        return FASE;
+    }
+
+    private void verificarCapacidade() {
+        if (!executando) {
+            throw indisponivel();
+        }
+        if (fila.remainingCapacity() == 0) {
+            throw recusar();
+        }
+    }
+
+    private FilaAgendamentoCheiaException indisponivel() {
+        metricas.contarRecusaFila();
+        return new FilaAgendamentoCheiaException("Agendamento assíncrono indisponível. Tente novamente mais tarde.");
+    }
+
+    private FilaAgendamentoCheiaException recusar() {
+        metricas.contarRecusaFila();
+        return new FilaAgendamentoCheiaException("Fila de agendamento cheia. Tente novamente mais tarde.");
+    }
+
+    private boolean aguardarGravacao(Pendente pendente) {
+        try {
+            pendente.gravacao.get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gravar a transferência " + pendente.transferencia.getId(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void escrever() {
+        List<Pendente> grupo = new ArrayList<>(tamanhoGrupo);
+        while (executando || !fila.isEmpty()) {
+            try {
+                Pendente primeiro = fila.poll(ESPERA_FILA_VAZIA_MS, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                grupo.add(primeiro);
+                completarGrupo(grupo);
+            } catch (InterruptedException e) {
+                // Só a parada interrompe a thread; o grupo já montado ainda é gravado
+                Thread.currentThread().interrupt();
+            }
+            if (!grupo.isEmpty()) {
+                gravar(grupo);
+                grupo.clear();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    // Junta ao grupo o que chegar até ele encher ou o intervalo, contado da primeira transferência, terminar
+    private void completarGrupo(List<Pendente> grupo) throws InterruptedException {
+        long prazo = System.nanoTime() + intervaloNanos;
+        while (grupo.size() < tamanhoGrupo) {
+            fila.drainTo(grupo, tamanhoGrupo - grupo.size());
+            long restante = prazo - System.nanoTime();
+            if (grupo.size() >= tamanhoGrupo || restante <= 0) {
+                return;
+            }
+            Pendente proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                return;
+            }
+            grupo.add(proximo);
+        }
+    }
+
+    /**
+     * Grava o grupo em uma transação. Se o grupo falhar, grava as transferências uma a uma,
+     * para que uma linha recusada pelo banco não desfaça as demais.
+     */
+
+    private void gravar(List<Pendente> grupo) {
+        RuntimeException erro = inserir(grupo);
+        if (erro == null) {
+            grupo.forEach(this::concluir);
+            return;
+        }
+        if (grupo.size() == 1) {
+            falhar(grupo.get(0), erro, mensagemFalha(erro));
+            return;
+        }
+        for (Pendente pendente : grupo) {
+            RuntimeException erroIndividual = inserir(List.of(pendente));
+            if (erroIndividual == null) {
+                concluir(pendente);
+            } else {
+                falhar(pendente, erroIndividual, mensagemFalha(erroIndividual));
+            }
+        }
+    }
+
+    private RuntimeException inserir(List<Pendente> grupo) {
+        long inicio = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT, grupo, grupo.size(), (ps, pendente) -> {
+                    Transferencia transferencia = pendente.transferencia;
+                    ps.setLong(1, transferencia.getId());
+                    ps.setLong(2, transferencia.getContaOrigem().getValor());
+                    ps.setLong(3, transferencia.getContaDestino().getValor());
+                    ps.setBigDecimal(4, transferencia.getValorTransferencia());
+                    ps.setBigDecimal(5, transferencia.getTaxaTransferencia());
+                    ps.setObject(6, transferencia.getDataTransferencia());
+                    ps.setObject(7, transferencia.getDataAgendamento());
+                    ps.setInt(8, transferencia.getDiasParaTransferencia());
+                    ps.setString(9, transferencia.getStatus().name());
+                });
+                AcumuladorResumoDiario resumos = new AcumuladorResumoDiario();
+                grupo.forEach(pendente -> resumos.adicionar(pendente.transferencia));
+                resumoDiarioService.registrar(resumos);
+            });
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        } finally {
+            metricas.registrarGrupo(grupo.size(), System.nanoTime() - inicio);
+        }
+    }
+
+    private void concluir(Pendente pendente) {
+        pendentes.remove(pendente.transferencia.getId());
+        pendente.gravacao.complete(null);
+    }
+
+    // A falha é registrada antes de a transferência sair das pendentes, para a consulta nunca a perder de vista
+    private void falhar(Pendente pendente, RuntimeException erro, String mensagem) {
+        Long id = pendente.transferencia.getId();
+        log.warn("Falha ao gravar a transferência {}", id, erro);
+        falhas.registrar(id, mensagem);
+        pendentes.remove(id);
+        pendente.gravacao.completeExceptionally(erro);
+    }
+
+    private static String mensagemFalha(RuntimeException erro) {
+        return erro instanceof DataIntegrityViolationException ? MENSAGEM_RECUSADA : MENSAGEM_FALHA;
+    }
+
+    /**
+     * Mensagens das últimas falhas de gravação, descartando a menos consultada quando cheia:
+     * uma falha recente nunca deixa de ser registrada.
+     */
+
+    private static final class FalhasRecentes {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, String> mensagens;
+
+        private FalhasRecentes(int tamanhoMaximo) {
+            this.mensagens = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, String> maisAntiga) {
+                    return size() > tamanhoMaximo;
+                }
+            };
+        }
+
+        private void registrar(Long id, String mensagem) {
+            lock.lock();
+            try {
+                mensagens.put(id, mensagem);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Em ordem de acesso, a consulta também reordena o mapa
+        private String consultar(Long id) {
+            lock.lock();
+            try {
+                return mensagens.get(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Pendente {
+
+        private final Transferencia transferencia;
+        private final CompletableFuture<Void> gravacao = new CompletableFuture<>();
+
+        private Pendente(Transferencia transferencia) {
+            this.transferencia = transferencia;
+        }
+    }
+}
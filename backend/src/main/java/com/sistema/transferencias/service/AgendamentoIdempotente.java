@@ -0,0 +1,35 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+
+/**
+ * Resultado de um agendamento com chave de idempotência: a transferência e
+ * se ela foi criada agora ou devolvida de uma requisição anterior com a mesma chave.
+ */
+
+public final class AgendamentoIdempotente {
+
+    private final TransferenciaResponseDTO transferencia;
+    private final boolean repetido;
+
+    private AgendamentoIdempotente(TransferenciaResponseDTO transferencia, boolean repetido) {
+        this.transferencia = transferencia;
+        this.repetido = repetido;
+    }
+
+    public static AgendamentoIdempotente novo(TransferenciaResponseDTO transferencia) {
+        return new AgendamentoIdempotente(transferencia, false);
+    }
+
+    public static AgendamentoIdempotente repetido(TransferenciaResponseDTO transferencia) {
+        return new AgendamentoIdempotente(transferencia, true);
+    }
+
+    public TransferenciaResponseDTO getTransferencia() {
+        return transferencia;
+    }
+
+    public boolean isRepetido() {
+        return repetido;
+    }
+}
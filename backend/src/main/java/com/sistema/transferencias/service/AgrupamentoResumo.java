@@ -0,0 +1,42 @@
+package com.sistema.transferencias.service;
+
+import java.util.Locale;
+
+/**
+ * Agrupamentos suportados pelo resumo de transferências.
+ */
+
+public enum AgrupamentoResumo {
+
+    DIA("dia"),
+    FAIXA("faixa"),
+
+    /** Partição da conta de origem (número da conta módulo {@code ChaveResumoDiario.PARTICOES_CONTA}). */
+    CONTA("conta");
+
+    private final String parametro;
+
+    AgrupamentoResumo(String parametro) {
+        this.parametro = parametro;
+    }
+
+    /**
+     * Converte o parâmetro recebido na requisição, sem diferenciar maiúsculas.
+     * @throws IllegalArgumentException se o agrupamento não for suportado
+     */
+
+    public static AgrupamentoResumo de(String agrupamento) {
+        if (agrupamento != null) {
+            for (AgrupamentoResumo valor : values()) {
+                if (valor.parametro.equals(agrupamento.toLowerCase(Locale.ROOT))) {
+                    return valor;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Agrupamento inválido: " + agrupamento + ". Use dia, faixa ou conta.");
+    }
+
+    public String getParametro() {
+        return parametro;
+    }
+}
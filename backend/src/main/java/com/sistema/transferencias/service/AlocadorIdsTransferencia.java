@@ -0,0 +1,63 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.model.Transferencia;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reserva IDs de transferência antes da gravação, para o agendamento assíncrono devolver o ID
+ * na resposta. Lê a mesma sequence do mapeamento JPA e interpreta cada valor como o Hibernate
+ * (otimizador pooled): o valor v reserva os IDs de v - {@value Transferencia#TAMANHO_ALOCACAO_IDS} + 1 a v,
+ * de modo que os IDs daqui e os gerados pelo Hibernate nunca coincidem.
+ */
+
+@Component
+public class AlocadorIdsTransferencia {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String proximoValorSql;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long proximo = 1;
+    private long limite = 0;
+
+    @Autowired
+    public AlocadorIdsTransferencia(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this(jdbcTemplate, entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getSequenceSupport().getSequenceNextValString(Transferencia.SEQUENCE_ID));
+    }
+
+    AlocadorIdsTransferencia(JdbcTemplate jdbcTemplate, String proximoValorSql) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.proximoValorSql = proximoValorSql;
+    }
+
+    /**
+     * @return ID ainda não usado; consulta a sequence uma vez a cada bloco
+     */
+
+    public long proximoId() {
+        lock.lock();
+        try {
+            if (proximo > limite) {
+                reservarBloco();
+            }
+            return proximo++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reservarBloco() {
+        Long valor = jdbcTemplate.queryForObject(proximoValorSql, Long.class);
+        if (valor == null) {
+            throw new IllegalStateException("Sequence " + Transferencia.SEQUENCE_ID + " não retornou valor");
+        }
+        limite = valor;
+        proximo = Math.max(1, valor - Transferencia.TAMANHO_ALOCACAO_IDS + 1);
+    }
+}
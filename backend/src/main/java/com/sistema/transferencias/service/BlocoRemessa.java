@@ -0,0 +1,224 @@
+package com.sistema.transferencias.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bloco de linhas de uma remessa, lidas de uma mesma janela do arquivo e gravadas numa única transação.
+ * Os campos de cada linha ficam em colunas de tipos primitivos (contas e valores em {@code long}, data em
+ * dia epoch), reaproveitadas de um bloco para o seguinte: ler, validar e cotar uma linha não cria objetos.
+ * Uma linha rejeitada guarda só a mensagem do motivo, em geral uma constante compartilhada.
+ * Não é thread-safe, mas threads diferentes podem preencher linhas diferentes do mesmo bloco.
+ */
+
+final class BlocoRemessa {
+
+    static final byte[] CABECALHO_RESULTADO = "linha,situacao,id,taxa,mensagem\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] AGENDADA = ",AGENDADA,".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] REJEITADA = ",REJEITADA,,,".getBytes(StandardCharsets.US_ASCII);
+    private static final int TAMANHO_MEDIO_RESULTADO = 48;
+
+    private final int capacidade;
+
+    // Linhas do bloco: início e fim (exclusivo) na janela, sem o fim de linha
+    private ByteBuffer janela;
+    private final int[] inicio;
+    private final int[] fim;
+    private final long[] numeroLinha;
+    private int quantidade;
+    private long posicaoFinal;
+    private long linhasLidas;
+
+    private final long[] contaOrigem;
+    private final long[] contaDestino;
+    private final long[] valorCentavos;
+    private final long[] dataTransferencia;
+    private final int[] dias;
+    private final long[] taxaCentavos;
+    private final long[] id;
+    private final String[] rejeicao;
+
+    private final byte[] digitos = new byte[20];
+    private final Map<String, byte[]> mensagensCodificadas = new HashMap<>();
+    private ByteBuffer resultado;
+
+    BlocoRemessa(int capacidade) {
+        this.capacidade = capacidade;
+        this.inicio = new int[capacidade];
+        this.fim = new int[capacidade];
+        this.numeroLinha = new long[capacidade];
+        this.contaOrigem = new long[capacidade];
+        this.contaDestino = new long[capacidade];
+        this.valorCentavos = new long[capacidade];
+        this.dataTransferencia = new long[capacidade];
+        this.dias = new int[capacidade];
+        this.taxaCentavos = new long[capacidade];
+        this.id = new long[capacidade];
+        this.rejeicao = new String[capacidade];
+        this.resultado = ByteBuffer.allocate(capacidade * TAMANHO_MEDIO_RESULTADO);
+    }
+
+    void limpar() {
+        janela = null;
+        quantidade = 0;
+    }
+
+    boolean isCheio() {
+        return quantidade == capacidade;
+    }
+
+    /**
+     * Acrescenta uma linha; todas as linhas de um bloco vêm da mesma janela.
+     */
+
+    void adicionarLinha(ByteBuffer janela, int inicioLinha, int fimLinha, long numero) {
+        this.janela = janela;
+        inicio[quantidade] = inicioLinha;
+        fim[quantidade] = fimLinha;
+        numeroLinha[quantidade] = numero;
+        rejeicao[quantidade] = null;
+        quantidade++;
+    }
+
+    void definirCampos(int linha, long origem, long destino, long valor, long data) {
+        contaOrigem[linha] = origem;
+        contaDestino[linha] = destino;
+        valorCentavos[linha] = valor;
+        dataTransferencia[linha] = data;
+    }
+
+    void cotar(int linha, int diasParaTransferencia, long taxa) {
+        dias[linha] = diasParaTransferencia;
+        taxaCentavos[linha] = taxa;
+    }
+
+    void rejeitar(int linha, String mensagem) {
+        rejeicao[linha] = mensagem;
+    }
+
+    void definirId(int linha, long valor) {
+        id[linha] = valor;
+    }
+
+    void definirFim(long posicao, long linhas) {
+        this.posicaoFinal = posicao;
+        this.linhasLidas = linhas;
+    }
+
+    /**
+     * Relatório das linhas do bloco, uma linha CSV por linha do arquivo: número da linha, AGENDADA
+     * com o ID e a taxa, ou REJEITADA com a mensagem. O buffer é reaproveitado pelo bloco seguinte.
+     */
+
+    ByteBuffer escreverResultado() {
+        resultado.clear();
+        for (int i = 0; i < quantidade; i++) {
+            String mensagem = rejeicao[i];
+            byte[] mensagemCodificada = mensagem == null ? null : mensagensCodificadas.computeIfAbsent(mensagem,
+                    m -> ('"' + m.replace("\"", "\"\"") + "\"").getBytes(StandardCharsets.UTF_8));
+            garantirEspaco(64 + (mensagemCodificada == null ? 0 : mensagemCodificada.length));
+
+            escreverNumero(numeroLinha[i]);
+            if (mensagemCodificada == null) {
+                resultado.put(AGENDADA);
+                escreverNumero(id[i]);
+                resultado.put((byte) ',');
+                escreverNumero(taxaCentavos[i] / 100);
+                resultado.put((byte) '.');
+                resultado.put((byte) ('0' + taxaCentavos[i] % 100 / 10));
+                resultado.put((byte) ('0' + taxaCentavos[i] % 10));
+                resultado.put((byte) ',');
+            } else {
+                resultado.put(REJEITADA);
+                resultado.put(mensagemCodificada);
+            }
+            resultado.put((byte) '\n');
+        }
+        return resultado.flip();
+    }
+
+    private void escreverNumero(long valor) {
+        int posicao = digitos.length;
+        do {
+            digitos[--posicao] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor > 0);
+        resultado.put(digitos, posicao, digitos.length - posicao);
+    }
+
+    private void garantirEspaco(int necessario) {
+        if (resultado.remaining() < necessario) {
+            ByteBuffer maior = ByteBuffer.allocate(Math.max(resultado.capacity() * 2, resultado.position() + necessario));
+            resultado.flip();
+            maior.put(resultado);
+            resultado = maior;
+        }
+    }
+
+    ByteBuffer getJanela() {
+        return janela;
+    }
+
+    int getQuantidade() {
+        return quantidade;
+    }
+
+    int getInicio(int linha) {
+        return inicio[linha];
+    }
+
+    int getFim(int linha) {
+        return fim[linha];
+    }
+
+    long getNumeroLinha(int linha) {
+        return numeroLinha[linha];
+    }
+
+    long getPosicaoFinal() {
+        return posicaoFinal;
+    }
+
+    long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    boolean isAceita(int linha) {
+        return rejeicao[linha] == null;
+    }
+
+    String getRejeicao(int linha) {
+        return rejeicao[linha];
+    }
+
+    long getContaOrigem(int linha) {
+        return contaOrigem[linha];
+    }
+
+    long getContaDestino(int linha) {
+        return contaDestino[linha];
+    }
+
+    long getValorCentavos(int linha) {
+        return valorCentavos[linha];
+    }
+
+    long getDataTransferencia(int linha) {
+        return dataTransferencia[linha];
+    }
+
+    int getDias(int linha) {
+        return dias[linha];
+    }
+
+    long getTaxaCentavos(int linha) {
+        return taxaCentavos[linha];
+    }
+
+    long getId(int linha) {
+        return id[linha];
+    }
+}
@@ -0,0 +1,177 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.ContaRequestDTO;
+import com.sistema.transferencias.dto.ContaResponseDTO;
+import com.sistema.transferencias.dto.LancamentoContaDTO;
+import com.sistema.transferencias.exception.ContaNaoEncontradaException;
+import com.sistema.transferencias.exception.SaldoInsuficienteException;
+import com.sistema.transferencias.model.Conta;
+import com.sistema.transferencias.model.LancamentoConta;
+import com.sistema.transferencias.model.TipoLancamento;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ContaRepository;
+import com.sistema.transferencias.repository.LancamentoContaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Contas e seus extratos. Cada movimentação grava os lançamentos e o novo saldo materializado
+ * na mesma transação, com as contas travadas em {@link TravasContas} (entre threads deste nó) e
+ * as linhas bloqueadas com {@code SELECT ... FOR UPDATE} (entre nós), sempre na mesma ordem.
+ */
+
+@Service
+public class ContaService {
+
+    private static final int LIMITE_MAXIMO_EXTRATO = 1000;
+
+    private final ContaRepository contaRepository;
+    private final LancamentoContaRepository lancamentoContaRepository;
+    private final TravasContas travasContas;
+    private final TransactionTemplate transactionTemplate;
+    private final CalendarioNegocio calendarioNegocio;
+
+    public ContaService(ContaRepository contaRepository,
+                        LancamentoContaRepository lancamentoContaRepository,
+                        TravasContas travasContas,
+                        PlatformTransactionManager transactionManager,
+                        CalendarioNegocio calendarioNegocio) {
+        this.contaRepository = contaRepository;
+        this.lancamentoContaRepository = lancamentoContaRepository;
+        this.travasContas = travasContas;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.calendarioNegocio = calendarioNegocio;
+    }
+
+    /**
+     * Abre uma conta, com o saldo inicial lançado como depósito.
+     * @throws IllegalArgumentException se a conta já existir
+     */
+
+    public ContaResponseDTO abrirConta(ContaRequestDTO requestDTO) {
+        String numero = requestDTO.getNumero();
+        BigDecimal saldoInicial = requestDTO.getSaldoInicial() != null ? requestDTO.getSaldoInicial() : BigDecimal.ZERO;
+        return travasContas.executar(numero, () -> transactionTemplate.execute(status -> {
+            if (contaRepository.existsById(numero)) {
+                throw new IllegalArgumentException("Conta já existe: " + numero);
+            }
+            Conta conta = contaRepository.save(new Conta(numero, saldoInicial));
+            if (saldoInicial.signum() > 0) {
+                lancamentoContaRepository.save(new LancamentoConta(numero, TipoLancamento.DEPOSITO, saldoInicial,
+                        saldoInicial, null, calendarioNegocio.agora()));
+            }
+            return new ContaResponseDTO(conta);
+        }));
+    }
+
+    /**
+     * Deposita na conta.
+     * @throws IllegalArgumentException se a conta não existir
+     */
+
+    public ContaResponseDTO depositar(String numero, BigDecimal valor) {
+        return travasContas.executar(numero, () -> transactionTemplate.execute(status -> {
+            Conta conta = contaRepository.findParaAtualizacao(numero)
+                    .orElseThrow(() -> new ContaNaoEncontradaException("Conta não encontrada: " + numero));
+            conta.setSaldo(conta.getSaldo().add(valor));
+            lancamentoContaRepository.save(new LancamentoConta(numero, TipoLancamento.DEPOSITO, valor,
+                    conta.getSaldo(), null, calendarioNegocio.agora()));
+            return new ContaResponseDTO(conta);
+        }));
+    }
+
+    /**
+     * @throws IllegalArgumentException se a conta não existir
+     */
+
+    public ContaResponseDTO buscarConta(String numero) {
+        return contaRepository.findById(numero)
+                .map(ContaResponseDTO::new)
+                .orElseThrow(() -> new ContaNaoEncontradaException("Conta não encontrada: " + numero));
+    }
+
+    /**
+     * Lançamentos mais recentes da conta, do mais novo para o mais antigo.
+     * @throws IllegalArgumentException se a conta não existir ou o limite for inválido
+     */
+
+    public List<LancamentoContaDTO> buscarExtrato(String numero, int limite) {
+        if (limite <= 0 || limite > LIMITE_MAXIMO_EXTRATO) {
+            throw new IllegalArgumentException("Limite do extrato deve estar entre 1 e " + LIMITE_MAXIMO_EXTRATO);
+        }
+        if (!contaRepository.existsById(numero)) {
+            throw new ContaNaoEncontradaException("Conta não encontrada: " + numero);
+        }
+        return lancamentoContaRepository.findByNumeroContaOrderByIdDesc(numero, Limit.of(limite)).stream()
+                .map(LancamentoContaDTO::new)
+                .toList();
+    }
+
+    /**
+     * Liquida a transferência: com as duas contas travadas e numa única transação, executa a
+     * transição de status e, se ela for aceita, debita valor e taxa da origem e credita o valor no destino.
+     * @param transicao Mudança de status da transferência; {@code false} se outro nó já a alterou
+     * @return {@code false} se a transição foi recusada, sem movimentar as contas
+     * @throws SaldoInsuficienteException se a origem não cobrir valor e taxa (nada é gravado)
+     * @throws ContaNaoEncontradaException se uma das contas não existir (nada é gravado)
+     */
+
+    public boolean liquidar(Transferencia transferencia, BooleanSupplier transicao) {
+        return travasContas.executar(transferencia.getContaOrigem().toString(), transferencia.getContaDestino().toString(),
+                () -> Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                    if (!transicao.getAsBoolean()) {
+                        return false;
+                    }
+                    movimentar(transferencia);
+                    return true;
+                })));
+    }
+
+    private void movimentar(Transferencia transferencia) {
+        Conta origem;
+        Conta destino;
+        // Linhas bloqueadas em ordem de número, como as travas: A→B e B→A em nós diferentes não se bloqueiam em ciclo
+        if (transferencia.getContaOrigem().compareTo(transferencia.getContaDestino()) < 0) {
+            origem = bloquear(transferencia.getContaOrigem().toString(), "origem");
+            destino = bloquear(transferencia.getContaDestino().toString(), "destino");
+        } else {
+            destino = bloquear(transferencia.getContaDestino().toString(), "destino");
+            origem = bloquear(transferencia.getContaOrigem().toString(), "origem");
+        }
+
+        BigDecimal valor = transferencia.getValorTransferencia();
+        BigDecimal taxa = transferencia.getTaxaTransferencia();
+        if (origem.getSaldo().compareTo(valor.add(taxa)) < 0) {
+            throw new SaldoInsuficienteException("Saldo insuficiente na conta " + origem.getNumero()
+                    + " para a transferência " + transferencia.getId());
+        }
+
+        LocalDateTime agora = calendarioNegocio.agora();
+        List<LancamentoConta> lancamentos = new ArrayList<>(3);
+        origem.setSaldo(origem.getSaldo().subtract(valor));
+        lancamentos.add(new LancamentoConta(origem.getNumero(), TipoLancamento.DEBITO, valor, origem.getSaldo(),
+                transferencia.getId(), agora));
+        if (taxa.signum() > 0) {
+            origem.setSaldo(origem.getSaldo().subtract(taxa));
+            lancamentos.add(new LancamentoConta(origem.getNumero(), TipoLancamento.TAXA, taxa, origem.getSaldo(),
+                    transferencia.getId(), agora));
+        }
+        destino.setSaldo(destino.getSaldo().add(valor));
+        lancamentos.add(new LancamentoConta(destino.getNumero(), TipoLancamento.CREDITO, valor, destino.getSaldo(),
+                transferencia.getId(), agora));
+        lancamentoContaRepository.saveAll(lancamentos);
+    }
+
+    private Conta bloquear(String numero, String papel) {
+        return contaRepository.findParaAtualizacao(numero)
+                .orElseThrow(() -> new ContaNaoEncontradaException("Conta de " + papel + " não encontrada: " + numero));
+    }
+}
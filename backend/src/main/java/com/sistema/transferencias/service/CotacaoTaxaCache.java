@@ -0,0 +1,246 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.strategy.CalculadoraTaxaCentavos;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
+import com.sistema.transferencias.strategy.TabelaTaxas;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache de leitura das cotações de taxa, à frente de
+ * {@link TransferenciaService#cotarTaxa}.
+ * A taxa depende apenas do valor e dos dias até a transferência, então a chave é
+ * (valor em centavos, dias). Rejeições também são guardadas (entradas negativas),
+ * já que o {@link ResultadoTaxa} as representa como valor. Como os dias são contados a partir da data atual,
+ * o cache inteiro é descartado na virada do dia, e também quando uma nova tabela de taxas é publicada.
+ * Cheio, o cache remove uma cotação pelo algoritmo CLOCK: o acerto só marca a entrada como referenciada,
+ * sem trava, e a inserção percorre as entradas em anel, poupando uma vez as marcadas, até achar uma não usada
+ * desde a última passagem.
+ * Os contadores também são publicados como métricas ({@code transferencias.cotacao.cache.*}).
+ */
+
+@Component
+public class CotacaoTaxaCache implements MeterBinder {
+
+    // Os dias ocupam os 10 bits menos significativos da chave; o restante é o valor em centavos
+    private static final int BITS_DIAS = 10;
+    private static final long DIAS_MAXIMO_CHAVE = (1L << BITS_DIAS) - 1;
+
+    private final TransferenciaService transferenciaService;
+    private final TaxaCalculationContext taxaCalculationContext;
+    private final CalendarioNegocio calendario;
+    private final int tamanhoMaximo;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    private final AtomicReference<Geracao> geracao;
+
+    public CotacaoTaxaCache(TransferenciaService transferenciaService, TaxaCalculationContext taxaCalculationContext,
+                            CalendarioNegocio calendario,
+                            @Value("${transferencias.cotacao.cache.tamanho-maximo:10000}") int tamanhoMaximo) {
+        if (tamanhoMaximo <= 0) {
+            throw new IllegalStateException("Tamanho máximo do cache de cotações deve ser maior que zero: " + tamanhoMaximo);
+        }
+        this.transferenciaService = transferenciaService;
+        this.taxaCalculationContext = taxaCalculationContext;
+        this.calendario = calendario;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.geracao = new AtomicReference<>(new Geracao(calendario.hoje(), taxaCalculationContext.getTabela(), tamanhoMaximo));
+    }
+
+    /**
+     * Retorna a cotação, calculando-a pelo service apenas na primeira consulta do dia.
+     * @return Taxa calculada ou rejeição tipada
+     */
+
+    public ResultadoTaxa cotarTaxa(BigDecimal valorTransferencia, LocalDate dataTransferencia) {
+        LocalDate hoje = calendario.hoje();
+        long chave = chave(valorTransferencia, dataTransferencia, hoje);
+        if (chave < 0) {
+            return transferenciaService.cotarTaxa(valorTransferencia, dataTransferencia);
+        }
+
+        Geracao atual = geracaoVigente(hoje);
+        Entrada entrada = atual.cotacoes.get(chave);
+        if (entrada != null) {
+            acertos.increment();
+            entrada.referenciar();
+            return entrada.cotacao;
+        }
+
+        faltas.increment();
+        ResultadoTaxa resultado = transferenciaService.cotarTaxa(valorTransferencia, dataTransferencia);
+        guardar(atual, chave, resultado);
+        return resultado;
+    }
+
+    /**
+     * Contadores do cache, para acompanhar quanto da carga deixa de chegar ao service.
+     */
+
+    public Map<String, Object> getEstatisticas() {
+        Geracao atual = geracao.get();
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("acertos", acertos.sum());
+        estatisticas.put("faltas", faltas.sum());
+        estatisticas.put("remocoes", remocoes.sum());
+        estatisticas.put("entradas", atual.cotacoes.size());
+        estatisticas.put("tamanhoMaximo", tamanhoMaximo);
+        estatisticas.put("dataReferencia", atual.data);
+        return estatisticas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("transferencias.cotacao.cache.consultas", this, CotacaoTaxaCache::getAcertos)
+                .description("Consultas ao cache de cotações")
+                .tag("resultado", "acerto")
+                .register(registry);
+        FunctionCounter.builder("transferencias.cotacao.cache.consultas", this, CotacaoTaxaCache::getFaltas)
+                .description("Consultas ao cache de cotações")
+                .tag("resultado", "falta")
+                .register(registry);
+        FunctionCounter.builder("transferencias.cotacao.cache.remocoes", this, CotacaoTaxaCache::getRemocoes)
+                .description("Cotações removidas para abrir espaço com o cache cheio")
+                .register(registry);
+        Gauge.builder("transferencias.cotacao.cache.entradas", this, CotacaoTaxaCache::getEntradas)
+                .description("Cotações guardadas para a data atual")
+                .register(registry);
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFaltas() {
+        return faltas.sum();
+    }
+
+    public long getRemocoes() {
+        return remocoes.sum();
+    }
+
+    public int getEntradas() {
+        return geracao.get().cotacoes.size();
+    }
+
+    // Valores não representáveis em centavos, não positivos ou datas fora da faixa da chave não passam pelo cache
+    private static long chave(BigDecimal valorTransferencia, LocalDate dataTransferencia, LocalDate hoje) {
+        if (valorTransferencia == null || dataTransferencia == null
+                || valorTransferencia.signum() <= 0
+                || !CalculadoraTaxaCentavos.isRepresentavelEmCentavos(valorTransferencia)) {
+            return -1;
+        }
+        long dias = ChronoUnit.DAYS.between(hoje, dataTransferencia);
+        if (dias < 0 || dias > DIAS_MAXIMO_CHAVE) {
+            return -1;
+        }
+        return (CalculadoraTaxaCentavos.paraCentavos(valorTransferencia) << BITS_DIAS) | dias;
+    }
+
+    private Geracao geracaoVigente(LocalDate hoje) {
+        TabelaTaxas tabela = taxaCalculationContext.getTabela();
+        Geracao atual = geracao.get();
+        while (!atual.data.equals(hoje) || atual.tabela != tabela) {
+            Geracao nova = new Geracao(hoje, tabela, tamanhoMaximo);
+            if (geracao.compareAndSet(atual, nova)) {
+                return nova;
+            }
+            atual = geracao.get();
+        }
+        return atual;
+    }
+
+    // Só guarda se o dia não virou nem a tabela foi trocada durante o cálculo
+    private void guardar(Geracao atual, long chave, ResultadoTaxa cotacao) {
+        if (!atual.data.equals(calendario.hoje()) || atual.tabela != taxaCalculationContext.getTabela()) {
+            return;
+        }
+        atual.lock.lock();
+        try {
+            if (atual.cotacoes.containsKey(chave)) {
+                return;
+            }
+            if (atual.ocupadas < atual.anel.length) {
+                atual.anel[atual.ocupadas++] = chave;
+            } else {
+                atual.cotacoes.remove(atual.substituir(chave));
+                remocoes.increment();
+            }
+            atual.cotacoes.put(chave, new Entrada(cotacao));
+        } finally {
+            atual.lock.unlock();
+        }
+    }
+
+    /**
+     * Cotações válidas para uma data e uma tabela de taxas; trocar a geração descarta todas de uma vez.
+     * O anel guarda as chaves na ordem de varredura do CLOCK e só é alterado sob a trava.
+     */
+
+    private static final class Geracao {
+
+        private final LocalDate data;
+        private final TabelaTaxas tabela;
+        private final Map<Long, Entrada> cotacoes = new ConcurrentHashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] anel;
+        private int ocupadas;
+        private int ponteiro;
+
+        private Geracao(LocalDate data, TabelaTaxas tabela, int tamanhoMaximo) {
+            this.data = data;
+            this.tabela = tabela;
+            this.anel = new long[tamanhoMaximo];
+        }
+
+        // Avança o ponteiro desmarcando as entradas referenciadas e põe a chave nova no lugar da primeira não marcada
+        private long substituir(long chave) {
+            while (true) {
+                long candidata = anel[ponteiro];
+                Entrada entrada = cotacoes.get(candidata);
+                if (!entrada.referenciada) {
+                    anel[ponteiro] = chave;
+                    ponteiro = (ponteiro + 1) % anel.length;
+                    return candidata;
+                }
+                entrada.referenciada = false;
+                ponteiro = (ponteiro + 1) % anel.length;
+            }
+        }
+    }
+
+    private static final class Entrada {
+
+        private final ResultadoTaxa cotacao;
+        private volatile boolean referenciada;
+
+        private Entrada(ResultadoTaxa cotacao) {
+            this.cotacao = cotacao;
+        }
+
+        // Evita escrever (e invalidar a linha de cache) a cada acerto de uma entrada já marcada
+        private void referenciar() {
+            if (!referenciada) {
+                referenciada = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para a paginação por chave (keyset) das listagens de transferências.
+ * Guarda a posição da última transferência entregue na ordenação
+ * (dataAgendamento DESC, id DESC), codificada em Base64 URL-safe.
+ */
+
+public final class CursorPaginacao {
+
+    private static final char SEPARADOR = ':';
+
+    private final LocalDate dataAgendamento;
+    private final long id;
+
+    private CursorPaginacao(LocalDate dataAgendamento, long id) {
+        this.dataAgendamento = dataAgendamento;
+        this.id = id;
+    }
+
+    public static CursorPaginacao posicaoApos(TransferenciaResponseDTO transferencia) {
+        return new CursorPaginacao(transferencia.dataAgendamento(), transferencia.id());
+    }
+
+    /**
+     * Reconstrói o cursor a partir do token recebido do cliente.
+     * @throws IllegalArgumentException se o token for inválido
+     */
+
+    public static CursorPaginacao decodificar(String token) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separador = valor.indexOf(SEPARADOR);
+            LocalDate dataAgendamento = LocalDate.ofEpochDay(Long.parseLong(valor.substring(0, separador)));
+            long id = Long.parseLong(valor.substring(separador + 1));
+            return new CursorPaginacao(dataAgendamento, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor de paginação inválido");
+        }
+    }
+
+    public String codificar() {
+        String valor = Long.toString(dataAgendamento.toEpochDay()) + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public LocalDate getDataAgendamento() {
+        return dataAgendamento;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sistema.transferencias.service;
+
+import java.util.Locale;
+
+/**
+ * Formatos suportados pela exportação de transferências.
+ */
+
+public enum FormatoExportacao {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    /**
+     * Converte o parâmetro recebido na requisição, sem diferenciar maiúsculas.
+     * @throws IllegalArgumentException se o formato não for suportado
+     */
+
+    public static FormatoExportacao de(String formato) {
+        if (formato != null) {
+            for (FormatoExportacao valor : values()) {
+                if (valor.extensao.equals(formato.toLowerCase(Locale.ROOT))) {
+                    return valor;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação inválido: " + formato + ". Use ndjson ou csv.");
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+}
@@ -0,0 +1,190 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.exception.ChaveIdempotenciaException;
+import com.sistema.transferencias.model.ChaveIdempotencia;
+import com.sistema.transferencias.repository.ChaveIdempotenciaRepository;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service responsável pelo agendamento idempotente de transferências (header {@code Idempotency-Key}).
+ * Cada chave processada é gravada na tabela de chaves com a impressão digital da requisição
+ * e o ID da transferência criada; repetições dentro da validade devolvem a transferência original
+ * sem passar de novo pelo {@link TransferenciaService}. As chaves mais recentes também ficam
+ * em memória, de modo que as repetições em rajada não consultam o banco.
+ */
+
+@Service
+public class IdempotenciaService {
+
+    static final int TAMANHO_MAXIMO_CHAVE = 64;
+
+    private final TransferenciaService transferenciaService;
+    private final TransferenciaRepository transferenciaRepository;
+    private final ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration validade;
+    private final int tamanhoMaximoRecentes;
+
+    private final Map<String, ChaveRecente> recentes = new ConcurrentHashMap<>();
+
+    public IdempotenciaService(TransferenciaService transferenciaService,
+                               TransferenciaRepository transferenciaRepository,
+                               ChaveIdempotenciaRepository chaveIdempotenciaRepository,
+                               PlatformTransactionManager transactionManager,
+                               Clock clock,
+                               @Value("${transferencias.idempotencia.validade:PT24H}") Duration validade,
+                               @Value("${transferencias.idempotencia.recentes.tamanho-maximo:10000}") int tamanhoMaximoRecentes) {
+        this.transferenciaService = transferenciaService;
+        this.transferenciaRepository = transferenciaRepository;
+        this.chaveIdempotenciaRepository = chaveIdempotenciaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.validade = validade;
+        this.tamanhoMaximoRecentes = tamanhoMaximoRecentes;
+    }
+
+    /**
+     * Agenda a transferência uma única vez por chave de idempotência.
+     * @return Transferência criada agora ou a criada pela primeira requisição com a mesma chave
+     * @throws IllegalArgumentException se a chave for inválida
+     * @throws ChaveIdempotenciaException se a chave já foi usada com outros dados
+     */
+
+    public AgendamentoIdempotente agendarTransferencia(String chave, TransferenciaRequestDTO requestDTO) {
+        validarChave(chave);
+        byte[] impressaoDigital = impressaoDigital(requestDTO);
+        LocalDateTime agora = LocalDateTime.now(clock);
+
+        ChaveRecente recente = recentes.get(chave);
+        if (recente != null && recente.expiraEm.isAfter(agora)) {
+            verificarImpressaoDigital(chave, recente.impressaoDigital, impressaoDigital);
+            return AgendamentoIdempotente.repetido(recente.transferencia);
+        }
+
+        ChaveIdempotencia registrada = chaveIdempotenciaRepository.findById(chave).orElse(null);
+        if (registrada != null && registrada.getExpiraEm().isAfter(agora)) {
+            TransferenciaResponseDTO original = buscarOriginal(chave, impressaoDigital, registrada);
+            if (original != null) {
+                return AgendamentoIdempotente.repetido(original);
+            }
+        }
+        boolean descartarRegistrada = registrada != null;
+
+        LocalDateTime expiraEm = agora.plus(validade);
+        try {
+            TransferenciaResponseDTO criada = transactionTemplate.execute(status -> {
+                if (descartarRegistrada) {
+                    chaveIdempotenciaRepository.deleteByChave(chave);
+                }
+                TransferenciaResponseDTO response = transferenciaService.agendarTransferencia(requestDTO);
+                chaveIdempotenciaRepository.saveAndFlush(
+                        new ChaveIdempotencia(chave, impressaoDigital, response.id(), expiraEm));
+                return response;
+            });
+            lembrar(chave, new ChaveRecente(impressaoDigital, criada, expiraEm), agora);
+            return AgendamentoIdempotente.novo(criada);
+        } catch (DataIntegrityViolationException e) {
+            // Uma requisição concorrente com a mesma chave gravou primeiro; a transferência desta foi desfeita
+            ChaveIdempotencia concorrente = chaveIdempotenciaRepository.findById(chave).orElseThrow(() -> e);
+            TransferenciaResponseDTO original = buscarOriginal(chave, impressaoDigital, concorrente);
+            if (original == null) {
+                throw e;
+            }
+            return AgendamentoIdempotente.repetido(original);
+        }
+    }
+
+    /**
+     * Remove as chaves vencidas da tabela e da memória.
+     */
+
+    @Scheduled(fixedDelayString = "${transferencias.idempotencia.intervalo-limpeza:PT10M}")
+    public void removerChavesExpiradas() {
+        LocalDateTime agora = LocalDateTime.now(clock);
+        recentes.values().removeIf(recente -> !recente.expiraEm.isAfter(agora));
+        transactionTemplate.executeWithoutResult(status -> chaveIdempotenciaRepository.deleteExpiradas(agora));
+    }
+
+    private TransferenciaResponseDTO buscarOriginal(String chave, byte[] impressaoDigital, ChaveIdempotencia registrada) {
+        verificarImpressaoDigital(chave, registrada.getImpressaoDigital(), impressaoDigital);
+        TransferenciaResponseDTO original = transferenciaRepository.findResponseById(registrada.getTransferenciaId())
+                .orElse(null);
+        if (original != null) {
+            lembrar(chave, new ChaveRecente(impressaoDigital, original, registrada.getExpiraEm()),
+                    LocalDateTime.now(clock));
+        }
+        return original;
+    }
+
+    // Quando o conjunto em memória enche, descarta as vencidas; se continuar cheio, a chave fica só no banco
+    private void lembrar(String chave, ChaveRecente recente, LocalDateTime agora) {
+        if (recentes.size() >= tamanhoMaximoRecentes) {
+            recentes.values().removeIf(existente -> !existente.expiraEm.isAfter(agora));
+            if (recentes.size() >= tamanhoMaximoRecentes) {
+                return;
+            }
+        }
+        recentes.put(chave, recente);
+    }
+
+    private static void validarChave(String chave) {
+        if (chave == null || chave.isBlank()) {
+            throw new IllegalArgumentException("Idempotency-Key não pode ser vazia");
+        }
+        if (chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                    String.format("Idempotency-Key deve ter no máximo %d caracteres", TAMANHO_MAXIMO_CHAVE));
+        }
+    }
+
+    private static void verificarImpressaoDigital(String chave, byte[] registrada, byte[] recebida) {
+        if (!Arrays.equals(registrada, recebida)) {
+            throw new ChaveIdempotenciaException(String.format(
+                    "Idempotency-Key '%s' já foi usada com dados de transferência diferentes", chave));
+        }
+    }
+
+    // SHA-256 dos campos da requisição; o valor é normalizado para que 100 e 100.00 coincidam
+    static byte[] impressaoDigital(TransferenciaRequestDTO requestDTO) {
+        String conteudo = requestDTO.getContaOrigem() + '|' + requestDTO.getContaDestino() + '|'
+                + (requestDTO.getValorTransferencia() == null ? null
+                        : requestDTO.getValorTransferencia().stripTrailingZeros().toPlainString()) + '|'
+                + requestDTO.getDataTransferencia();
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(conteudo.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static final class ChaveRecente {
+
+        private final byte[] impressaoDigital;
+        private final TransferenciaResponseDTO transferencia;
+        private final LocalDateTime expiraEm;
+
+        private ChaveRecente(byte[] impressaoDigital, TransferenciaResponseDTO transferencia, LocalDateTime expiraEm) {
+            this.impressaoDigital = impressaoDigital;
+            this.transferencia = transferencia;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.model.FormatoRemessa;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Lê o arquivo de uma remessa em blocos de linhas, a partir de uma posição confirmada, por janelas
+ * mapeadas em memória ({@link FileChannel#map}). As linhas de um bloco vêm todas da mesma janela; uma
+ * linha que atravessa o fim da janela encerra o bloco, e a janela seguinte começa nela.
+ * <p>
+ * {@link #interpretar} lê os campos de uma linha direto dos bytes da janela, sem criar {@link String}:
+ * contas, valor em centavos e data (dia epoch) vão para as colunas do {@link BlocoRemessa}.
+ * Linhas em branco e o cabeçalho do CSV (primeira linha que não começa por dígito) são pulados,
+ * mas contam na numeração das linhas.
+ */
+
+final class LeitorRemessa implements Closeable {
+
+    static final int TAMANHO_JANELA = 64 * 1024 * 1024;
+
+    static final String LAYOUT_CSV = "Linha fora do layout: esperados contaOrigem, contaDestino, valor e dataTransferencia";
+    static final String LAYOUT_POSICIONAL =
+            "Linha deve ter exatamente " + FormatoRemessa.TAMANHO_LINHA_POSICIONAL + " posições";
+    static final String CONTA_ORIGEM_INVALIDA = "Conta de origem deve ter exatamente 10 dígitos";
+    static final String CONTA_DESTINO_INVALIDA = "Conta de destino deve ter exatamente 10 dígitos";
+    static final String VALOR_INVALIDO = "Valor da transferência inválido ou acima de 999999999999.99";
+    static final String DATA_INVALIDA = "Data da transferência inválida";
+
+    // Mesmo limite de CalculadoraTaxaCentavos: 12 dígitos inteiros, para a taxa em centavos caber num long
+    static final long VALOR_MAXIMO_CENTAVOS = 99_999_999_999_999L;
+
+    private static final int DIGITOS_CONTA = 10;
+    private static final int DIGITOS_VALOR_POSICIONAL = 15;
+    private static final long DATA_INVALIDA_EPOCH = Long.MIN_VALUE;
+    private static final byte[] BOM_UTF8 = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final FileChannel canal;
+    private final FormatoRemessa formato;
+    private final long tamanho;
+    private final int tamanhoJanela;
+    private final long inicioDados;
+
+    private MappedByteBuffer janela;
+    private long inicioJanela;
+    private long posicao;
+    private long linhasLidas;
+
+    LeitorRemessa(Path arquivo, FormatoRemessa formato, long posicao, long linhasLidas) throws IOException {
+        this(arquivo, formato, posicao, linhasLidas, TAMANHO_JANELA);
+    }
+
+    LeitorRemessa(Path arquivo, FormatoRemessa formato, long posicao, long linhasLidas, int tamanhoJanela)
+            throws IOException {
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        this.formato = formato;
+        this.tamanho = canal.size();
+        this.tamanhoJanela = tamanhoJanela;
+        this.inicioDados = comecaComBom() ? BOM_UTF8.length : 0;
+        this.posicao = Math.max(posicao, inicioDados);
+        this.linhasLidas = linhasLidas;
+    }
+
+    /**
+     * Lê o próximo bloco de linhas, até encher o bloco ou a janela terminar.
+     * @return false se o arquivo terminou antes deste bloco
+     * @throws IOException se uma linha for maior que a janela de leitura
+     */
+
+    boolean ler(BlocoRemessa bloco) throws IOException {
+        bloco.limpar();
+        if (posicao >= tamanho) {
+            return false;
+        }
+        while (!bloco.isCheio() && posicao < tamanho) {
+            if (janela == null || posicao >= inicioJanela + janela.limit()) {
+                if (bloco.getQuantidade() > 0) {
+                    break;
+                }
+                mapear();
+            }
+            int inicioLinha = (int) (posicao - inicioJanela);
+            int fimLinha = procurarQuebra(inicioLinha);
+            long proximaLinha = inicioJanela + fimLinha + 1;
+            if (fimLinha < 0) {
+                if (inicioJanela + janela.limit() < tamanho) {
+                    // A linha continua depois da janela: termina o bloco, ou remapeia a janela a partir dela
+                    if (bloco.getQuantidade() > 0) {
+                        break;
+                    }
+                    if (inicioLinha == 0) {
+                        throw new IOException("Linha " + (linhasLidas + 1) + " maior que a janela de leitura ("
+                                + tamanhoJanela + " bytes)");
+                    }
+                    mapear();
+                    continue;
+                }
+                // Última linha, sem quebra no fim do arquivo
+                fimLinha = janela.limit();
+                proximaLinha = tamanho;
+            }
+            if (fimLinha > inicioLinha && janela.get(fimLinha - 1) == '\r') {
+                fimLinha--;
+            }
+            linhasLidas++;
+            if (fimLinha > inicioLinha && !isCabecalho(inicioLinha)) {
+                bloco.adicionarLinha(janela, inicioLinha, fimLinha, linhasLidas);
+            }
+            posicao = proximaLinha;
+        }
+        bloco.definirFim(posicao, linhasLidas);
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private void mapear() throws IOException {
+        inicioJanela = posicao;
+        janela = canal.map(FileChannel.MapMode.READ_ONLY, posicao, Math.min(tamanhoJanela, tamanho - posicao));
+    }
+
+    private int procurarQuebra(int inicio) {
+        for (int i = inicio, limite = janela.limit(); i < limite; i++) {
+            if (janela.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isCabecalho(int inicioLinha) {
+        return formato == FormatoRemessa.CSV && inicioJanela + inicioLinha == inicioDados
+                && !isDigito(janela.get(inicioLinha));
+    }
+
+    private boolean comecaComBom() throws IOException {
+        if (tamanho < BOM_UTF8.length) {
+            return false;
+        }
+        ByteBuffer inicio = ByteBuffer.allocate(BOM_UTF8.length);
+        canal.read(inicio, 0);
+        return inicio.flip().equals(ByteBuffer.wrap(BOM_UTF8));
+    }
+
+    /**
+     * Interpreta os campos da linha para as colunas do bloco, ou a rejeita com o motivo de layout.
+     * Não aplica regras de negócio (contas iguais, data passada, faixas de taxa).
+     */
+
+    static void interpretar(BlocoRemessa bloco, int linha, FormatoRemessa formato) {
+        if (formato == FormatoRemessa.POSICIONAL) {
+            interpretarPosicional(bloco, linha);
+        } else {
+            interpretarCsv(bloco, linha);
+        }
+    }
+
+    private static void interpretarPosicional(BlocoRemessa bloco, int linha) {
+        ByteBuffer janela = bloco.getJanela();
+        int inicio = bloco.getInicio(linha);
+        if (bloco.getFim(linha) - inicio != FormatoRemessa.TAMANHO_LINHA_POSICIONAL) {
+            bloco.rejeitar(linha, LAYOUT_POSICIONAL);
+            return;
+        }
+        int inicioValor = inicio + 2 * DIGITOS_CONTA;
+        int inicioData = inicioValor + DIGITOS_VALOR_POSICIONAL;
+        definirCampos(bloco, linha,
+                lerDigitos(janela, inicio, inicio + DIGITOS_CONTA),
+                lerDigitos(janela, inicio + DIGITOS_CONTA, inicioValor),
+                lerDigitos(janela, inicioValor, inicioData),
+                lerData(janela, inicioData, inicioData + 8, false));
+    }
+
+    private static void interpretarCsv(BlocoRemessa bloco, int linha) {
+        ByteBuffer janela = bloco.getJanela();
+        int inicio = bloco.getInicio(linha);
+        int fim = bloco.getFim(linha);
+
+        // O separador é o primeiro ',' ou ';' da linha; com ';', o valor aceita vírgula decimal
+        int separador1 = inicio;
+        while (separador1 < fim && janela.get(separador1) != ',' && janela.get(separador1) != ';') {
+            separador1++;
+        }
+        if (separador1 == fim) {
+            bloco.rejeitar(linha, LAYOUT_CSV);
+            return;
+        }
+        byte separador = janela.get(separador1);
+        int separador2 = procurar(janela, separador, separador1 + 1, fim);
+        int separador3 = procurar(janela, separador, separador2 + 1, fim);
+        if (separador2 == fim || separador3 == fim || procurar(janela, separador, separador3 + 1, fim) != fim) {
+            bloco.rejeitar(linha, LAYOUT_CSV);
+            return;
+        }
+
+        definirCampos(bloco, linha,
+                lerConta(janela, inicio, separador1),
+                lerConta(janela, separador1 + 1, separador2),
+                lerValor(janela, separador2 + 1, separador3, separador == ';'),
+                lerData(janela, separador3 + 1, fim, true));
+    }
+
+    private static void definirCampos(BlocoRemessa bloco, int linha, long origem, long destino, long valor, long data) {
+        if (origem < 0) {
+            bloco.rejeitar(linha, CONTA_ORIGEM_INVALIDA);
+        } else if (destino < 0) {
+            bloco.rejeitar(linha, CONTA_DESTINO_INVALIDA);
+        } else if (valor < 0 || valor > VALOR_MAXIMO_CENTAVOS) {
+            bloco.rejeitar(linha, VALOR_INVALIDO);
+        } else if (data == DATA_INVALIDA_EPOCH) {
+            bloco.rejeitar(linha, DATA_INVALIDA);
+        } else {
+            bloco.definirCampos(linha, origem, destino, valor, data);
+        }
+    }
+
+    private static int procurar(ByteBuffer janela, byte caractere, int inicio, int fim) {
+        int i = inicio;
+        while (i < fim && janela.get(i) != caractere) {
+            i++;
+        }
+        return i;
+    }
+
+    // Conta com exatamente 10 dígitos, ignorando espaços nas pontas; -1 se inválida
+    private static long lerConta(ByteBuffer janela, int inicio, int fim) {
+        while (inicio < fim && janela.get(inicio) == ' ') {
+            inicio++;
+        }
+        while (fim > inicio && janela.get(fim - 1) == ' ') {
+            fim--;
+        }
+        return fim - inicio == DIGITOS_CONTA ? lerDigitos(janela, inicio, fim) : -1;
+    }
+
+    // Valor decimal com até duas casas, em centavos; -1 se inválido
+    private static long lerValor(ByteBuffer janela, int inicio, int fim, boolean aceitaVirgula) {
+        while (inicio < fim && janela.get(inicio) == ' ') {
+            inicio++;
+        }
+        while (fim > inicio && janela.get(fim - 1) == ' ') {
+            fim--;
+        }
+        long inteiro = 0;
+        long fracao = 0;
+        int digitosInteiros = 0;
+        int casas = -1;
+        for (int i = inicio; i < fim; i++) {
+            byte caractere = janela.get(i);
+            if (isDigito(caractere)) {
+                if (casas < 0) {
+                    if (++digitosInteiros > 12) {
+                        return -1;
+                    }
+                    inteiro = inteiro * 10 + (caractere - '0');
+                } else {
+                    if (++casas > 2) {
+                        return -1;
+                    }
+                    fracao = fracao * 10 + (caractere - '0');
+                }
+            } else if (casas < 0 && (caractere == '.' || (aceitaVirgula && caractere == ','))) {
+                casas = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (digitosInteiros == 0 || casas == 0) {
+            return -1;
+        }
+        return inteiro * 100 + (casas == 1 ? fracao * 10 : fracao);
+    }
+
+    // Data yyyy-MM-dd (CSV) ou yyyyMMdd (posicional), em dia epoch
+    private static long lerData(ByteBuffer janela, int inicio, int fim, boolean comSeparador) {
+        while (comSeparador && inicio < fim && janela.get(inicio) == ' ') {
+            inicio++;
+        }
+        while (comSeparador && fim > inicio && janela.get(fim - 1) == ' ') {
+            fim--;
+        }
+        int deslocamento = comSeparador ? 1 : 0;
+        if (fim - inicio != 8 + 2 * deslocamento
+                || (comSeparador && (janela.get(inicio + 4) != '-' || janela.get(inicio + 7) != '-'))) {
+            return DATA_INVALIDA_EPOCH;
+        }
+        long ano = lerDigitos(janela, inicio, inicio + 4);
+        long mes = lerDigitos(janela, inicio + 4 + deslocamento, inicio + 6 + deslocamento);
+        long dia = lerDigitos(janela, inicio + 6 + 2 * deslocamento, inicio + 8 + 2 * deslocamento);
+        if (ano < 1 || mes < 1 || mes > 12 || dia < 1
+                || dia > Month.of((int) mes).length(Year.isLeap(ano))) {
+            return DATA_INVALIDA_EPOCH;
+        }
+        return LocalDate.of((int) ano, (int) mes, (int) dia).toEpochDay();
+    }
+
+    // Número formado só por dígitos; -1 se vazio ou com outro caractere
+    private static long lerDigitos(ByteBuffer janela, int inicio, int fim) {
+        if (inicio >= fim) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            byte caractere = janela.get(i);
+            if (!isDigito(caractere)) {
+                return -1;
+            }
+            valor = valor * 10 + (caractere - '0');
+        }
+        return valor;
+    }
+
+    private static boolean isDigito(byte caractere) {
+        return caractere >= '0' && caractere <= '9';
+    }
+}
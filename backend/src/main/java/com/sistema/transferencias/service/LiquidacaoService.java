@@ -0,0 +1,223 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.exception.ContaNaoEncontradaException;
+import com.sistema.transferencias.model.StatusTransferencia;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de liquidação: na data da transferência, leva cada transferência de AGENDADA
+ * a LIQUIDADA (ou FALHOU), passando por EM_PROCESSAMENTO.
+ * <p>
+ * Cada lote é reservado numa transação curta: as transferências vencidas são lidas com
+ * {@code FOR UPDATE SKIP LOCKED} e passam a EM_PROCESSAMENTO com a versão incrementada. O lote é
+ * dividido entre as threads de {@code workers}, e cada transferência é liquidada em sua própria
+ * transação, que também debita a origem e credita o destino ({@link ContaService#liquidar}). Uma
+ * transação por transferência mantém cada thread com no máximo um par de contas travado de cada vez.
+ * Toda mudança de status exige a versão da reserva ({@code @Version}): se outro nó alterou a
+ * transferência no meio do caminho, a atualização não encontra a linha e a transferência é contada
+ * como conflito, nunca liquidada duas vezes. Reservas de nós que pararam no meio do lote voltam para
+ * AGENDADA depois de {@code tempo-maximo-processamento}.
+ * <p>
+ * Transferência com conta não cadastrada não falha: a reserva é mantida, para que os próximos lotes
+ * sigam com as demais, e a transferência volta para AGENDADA com as reservas expiradas, sendo tentada
+ * de novo a cada {@code tempo-maximo-processamento} até a conta ser aberta.
+ */
+
+@Service
+public class LiquidacaoService {
+
+    private final TransferenciaRepository transferenciaRepository;
+    private final ContaService contaService;
+    private final TransactionTemplate transactionTemplate;
+    private final CalendarioNegocio calendarioNegocio;
+    private final MetricasTransferencias metricas;
+    private final boolean habilitada;
+    private final int tamanhoLote;
+    private final int workers;
+    private final Duration tempoMaximoProcessamento;
+    private final ExecutorService executor;
+
+    public LiquidacaoService(TransferenciaRepository transferenciaRepository,
+                             ContaService contaService,
+                             PlatformTransactionManager transactionManager,
+                             CalendarioNegocio calendarioNegocio,
+                             MetricasTransferencias metricas,
+                             @Value("${transferencias.liquidacao.habilitada:false}") boolean habilitada,
+                             @Value("${transferencias.liquidacao.tamanho-lote:500}") int tamanhoLote,
+                             @Value("${transferencias.liquidacao.workers:4}") int workers,
+                             @Value("${transferencias.liquidacao.tempo-maximo-processamento:PT5M}") Duration tempoMaximoProcessamento) {
+        if (tamanhoLote <= 0 || workers <= 0) {
+            throw new IllegalStateException("Tamanho do lote e quantidade de workers da liquidação devem ser maiores que zero");
+        }
+        this.transferenciaRepository = transferenciaRepository;
+        this.contaService = contaService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.calendarioNegocio = calendarioNegocio;
+        this.metricas = metricas;
+        this.habilitada = habilitada;
+        this.tamanhoLote = tamanhoLote;
+        this.workers = workers;
+        this.tempoMaximoProcessamento = tempoMaximoProcessamento;
+        AtomicInteger numero = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, tarefa -> {
+            Thread thread = new Thread(tarefa, "liquidacao-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Libera as reservas vencidas e liquida lotes até não restar transferência vencida.
+     */
+
+    @Scheduled(fixedDelayString = "${transferencias.liquidacao.intervalo:PT10S}")
+    public void liquidarVencidas() {
+        if (!habilitada) {
+            return;
+        }
+        liberarReservasExpiradas();
+        ResultadoLiquidacao resultado;
+        do {
+            resultado = liquidarLote();
+        } while (resultado.getReservadas() == tamanhoLote);
+    }
+
+    /**
+     * Reserva e liquida um lote de até {@code tamanho-lote} transferências vencidas.
+     * @return Contagem do lote; {@link ResultadoLiquidacao#getReservadas()} menor que o tamanho do lote
+     *         indica que não há mais transferências vencidas livres
+     */
+
+    public ResultadoLiquidacao liquidarLote() {
+        long inicio = System.nanoTime();
+        LocalDate hoje = calendarioNegocio.hoje();
+        List<Transferencia> reservadas = reservar(hoje);
+        if (reservadas.isEmpty()) {
+            return ResultadoLiquidacao.vazio();
+        }
+
+        List<CompletableFuture<ResultadoLiquidacao>> particoes = new ArrayList<>();
+        for (List<Transferencia> particao : particionar(reservadas)) {
+            particoes.add(CompletableFuture.supplyAsync(() -> liquidarParticao(particao, hoje), executor));
+        }
+        ResultadoLiquidacao resultado = ResultadoLiquidacao.vazio();
+        for (CompletableFuture<ResultadoLiquidacao> particao : particoes) {
+            resultado = resultado.somar(particao.join());
+        }
+        metricas.registrarLoteLiquidacao(resultado, System.nanoTime() - inicio);
+        return resultado;
+    }
+
+    /**
+     * Devolve para AGENDADA as reservas mais antigas que {@code tempo-maximo-processamento}.
+     * @return Quantidade de reservas liberadas
+     */
+
+    public int liberarReservasExpiradas() {
+        Integer liberadas = transactionTemplate.execute(status -> transferenciaRepository
+                .liberarReservasIniciadasAntes(calendarioNegocio.agora().minus(tempoMaximoProcessamento)));
+        if (liberadas != null && liberadas > 0) {
+            metricas.contarReservasLiberadas(liberadas);
+        }
+        return liberadas == null ? 0 : liberadas;
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // As entidades lidas são só uma cópia: a reserva é uma atualização em massa, e a cópia recebe a versão gravada por ela
+    private List<Transferencia> reservar(LocalDate hoje) {
+        List<Transferencia> reservadas = transactionTemplate.execute(status -> {
+            List<Transferencia> vencidas = transferenciaRepository.findVencidasParaLiquidacao(hoje, Limit.of(tamanhoLote));
+            if (vencidas.isEmpty()) {
+                return vencidas;
+            }
+            int reservadasAgora = transferenciaRepository.reservarParaLiquidacao(
+                    vencidas.stream().map(Transferencia::getId).toList(), calendarioNegocio.agora());
+            // Leitura anterior ao commit de outro nó: sem saber quais linhas são deste nó, desiste do lote
+            if (reservadasAgora != vencidas.size()) {
+                status.setRollbackOnly();
+                return List.<Transferencia>of();
+            }
+            return vencidas;
+        });
+        if (reservadas == null) {
+            return List.of();
+        }
+        for (Transferencia transferencia : reservadas) {
+            transferencia.setStatus(StatusTransferencia.EM_PROCESSAMENTO);
+            transferencia.setVersao(transferencia.getVersao() + 1);
+        }
+        return reservadas;
+    }
+
+    private List<List<Transferencia>> particionar(List<Transferencia> reservadas) {
+        int tamanhoParticao = (reservadas.size() + workers - 1) / workers;
+        List<List<Transferencia>> particoes = new ArrayList<>();
+        for (int inicio = 0; inicio < reservadas.size(); inicio += tamanhoParticao) {
+            particoes.add(reservadas.subList(inicio, Math.min(inicio + tamanhoParticao, reservadas.size())));
+        }
+        return particoes;
+    }
+
+    /**
+     * Liquida as transferências da partição uma a uma, cada uma em sua transação com as contas
+     * travadas por {@link ContaService}, para que só a transferência com problema termine como FALHOU.
+     */
+
+    private ResultadoLiquidacao liquidarParticao(List<Transferencia> particao, LocalDate hoje) {
+        ResultadoLiquidacao resultado = ResultadoLiquidacao.vazio();
+        for (Transferencia transferencia : particao) {
+            try {
+                resultado = resultado.somar(liquidar(transferencia, hoje)
+                        ? new ResultadoLiquidacao(1, 1, 0, 0, 0)
+                        : new ResultadoLiquidacao(1, 0, 0, 1, 0));
+            } catch (ContaNaoEncontradaException e) {
+                resultado = resultado.somar(new ResultadoLiquidacao(1, 0, 0, 0, 1));
+            } catch (RuntimeException e) {
+                resultado = resultado.somar(falhar(transferencia, e));
+            }
+        }
+        return resultado;
+    }
+
+    // Liquidação de uma transferência reservada; false se outro nó a alterou depois da reserva
+    private boolean liquidar(Transferencia transferencia, LocalDate hoje) {
+        return contaService.liquidar(transferencia, () -> transferenciaRepository.liquidar(
+                transferencia.getId(), transferencia.getVersao(), hoje) == 1);
+    }
+
+    private ResultadoLiquidacao falhar(Transferencia transferencia, RuntimeException erro) {
+        Integer marcada = transactionTemplate.execute(status -> transferenciaRepository.marcarFalha(
+                transferencia.getId(), transferencia.getVersao(), motivo(erro)));
+        return marcada != null && marcada == 1
+                ? new ResultadoLiquidacao(1, 0, 1, 0, 0)
+                : new ResultadoLiquidacao(1, 0, 0, 1, 0);
+    }
+
+    private static String motivo(RuntimeException erro) {
+        String mensagem = erro.getMessage() != null ? erro.getMessage() : erro.getClass().getSimpleName();
+        return mensagem.length() > 255 ? mensagem.substring(0, 255) : mensagem;
+    }
+}
@@ -0,0 +1,196 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.strategy.MotivoRejeicao;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas dos caminhos de agendamento, cotação e liquidação de transferências.
+ * Os medidores são registrados uma vez e reaproveitados, de modo que medir
+ * uma operação não faz buscas no {@link MeterRegistry}.
+ */
+
+@Component
+public class MetricasTransferencias {
+
+    static final String AGENDAMENTO = "transferencias.agendamento";
+    static final String COTACAO = "transferencias.cotacao";
+    static final String CALCULOS_POR_FAIXA = "transferencias.taxa.calculos";
+    static final String REJEICOES = "transferencias.rejeicoes";
+    static final String GRUPOS_GRAVADOS = "transferencias.agendamento.grupo.linhas";
+    static final String GRAVACAO_GRUPO = "transferencias.agendamento.grupo.gravacao";
+    static final String RECUSAS_FILA = "transferencias.agendamento.fila.recusas";
+    static final String LOTE_LIQUIDACAO = "transferencias.liquidacao.lote";
+    static final String LOTE_LIQUIDACAO_TAMANHO = "transferencias.liquidacao.lote.tamanho";
+    static final String LOTE_LIQUIDACAO_VAZAO = "transferencias.liquidacao.lote.vazao";
+    static final String LIQUIDACOES = "transferencias.liquidacao.transferencias";
+    static final String RESERVAS_LIBERADAS = "transferencias.liquidacao.reservas.liberadas";
+
+    private final MeterRegistry registry;
+
+    private final Timer agendamentoSucesso;
+    private final Timer agendamentoRejeitado;
+    private final Timer cotacaoSucesso;
+    private final Timer cotacaoRejeitada;
+    private final DistributionSummary linhasPorGrupo;
+    private final Timer gravacaoGrupo;
+    private final Counter recusasFila;
+    private final Timer loteLiquidacao;
+    private final DistributionSummary tamanhoLoteLiquidacao;
+    private final DistributionSummary vazaoLoteLiquidacao;
+    private final Counter liquidadas;
+    private final Counter falhasLiquidacao;
+    private final Counter conflitosLiquidacao;
+    private final Counter adiadasLiquidacao;
+    private final Counter reservasLiberadas;
+
+    private final Map<String, Counter> calculosPorFaixa = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejeicoesPorMotivo = new ConcurrentHashMap<>();
+
+    public MetricasTransferencias(MeterRegistry registry) {
+        this.registry = registry;
+        this.agendamentoSucesso = timer(AGENDAMENTO, "Tempo do agendamento de uma transferência", "sucesso");
+        this.agendamentoRejeitado = timer(AGENDAMENTO, "Tempo do agendamento de uma transferência", "rejeitada");
+        this.cotacaoSucesso = timer(COTACAO, "Tempo do cálculo de taxa sem agendamento", "sucesso");
+        this.cotacaoRejeitada = timer(COTACAO, "Tempo do cálculo de taxa sem agendamento", "rejeitada");
+        this.linhasPorGrupo = DistributionSummary.builder(GRUPOS_GRAVADOS)
+                .description("Transferências gravadas por commit no agendamento assíncrono")
+                .register(registry);
+        this.gravacaoGrupo = Timer.builder(GRAVACAO_GRUPO)
+                .description("Tempo do INSERT em batch e do commit de um grupo do agendamento assíncrono")
+                .register(registry);
+        this.recusasFila = Counter.builder(RECUSAS_FILA)
+                .description("Agendamentos assíncronos recusados com a fila cheia (HTTP 429)")
+                .register(registry);
+        this.loteLiquidacao = Timer.builder(LOTE_LIQUIDACAO)
+                .description("Tempo de um lote do motor de liquidação, da reserva ao último commit")
+                .register(registry);
+        this.tamanhoLoteLiquidacao = DistributionSummary.builder(LOTE_LIQUIDACAO_TAMANHO)
+                .description("Transferências reservadas por lote de liquidação")
+                .register(registry);
+        this.vazaoLoteLiquidacao = DistributionSummary.builder(LOTE_LIQUIDACAO_VAZAO)
+                .description("Transferências processadas por segundo em cada lote de liquidação")
+                .baseUnit("transferencias/s")
+                .register(registry);
+        this.liquidadas = liquidacao("liquidada");
+        this.falhasLiquidacao = liquidacao("falhou");
+        this.conflitosLiquidacao = liquidacao("conflito");
+        this.adiadasLiquidacao = liquidacao("adiada");
+        this.reservasLiberadas = Counter.builder(RESERVAS_LIBERADAS)
+                .description("Reservas de liquidação vencidas devolvidas para AGENDADA")
+                .register(registry);
+    }
+
+    public <T> T medirAgendamento(Supplier<T> agendamento) {
+        return medir(agendamento, agendamentoSucesso, agendamentoRejeitado);
+    }
+
+    /**
+     * Mede uma cotação; cotações que devolvem rejeição contam como rejeitadas, assim como exceções.
+     */
+
+    public ResultadoTaxa medirCotacao(Supplier<ResultadoTaxa> cotacao) {
+        long inicio = System.nanoTime();
+        ResultadoTaxa resultado;
+        try {
+            resultado = cotacao.get();
+        } catch (RuntimeException e) {
+            cotacaoRejeitada.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        Timer timer = resultado.isCalculada() ? cotacaoSucesso : cotacaoRejeitada;
+        timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return resultado;
+    }
+
+    /**
+     * Conta um cálculo de taxa concluído na faixa (estratégia) informada.
+     */
+
+    public void contarCalculo(String faixa) {
+        calculosPorFaixa.computeIfAbsent(faixa, nome -> Counter.builder(CALCULOS_POR_FAIXA)
+                .description("Taxas calculadas por faixa de dias")
+                .tag("faixa", nome)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Conta uma transferência ou cotação recusada pelo motivo informado.
+     */
+
+    public void contarRejeicao(MotivoRejeicao motivo) {
+        rejeicoesPorMotivo.computeIfAbsent(motivo.getTag(), tag -> Counter.builder(REJEICOES)
+                .description("Transferências e cotações recusadas por motivo")
+                .tag("motivo", tag)
+                .register(registry)).increment();
+    }
+
+    /**
+     * Registra um grupo gravado (ou tentado) pelo agendamento assíncrono.
+     */
+
+    public void registrarGrupo(int linhas, long nanos) {
+        linhasPorGrupo.record(linhas);
+        gravacaoGrupo.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void contarRecusaFila() {
+        recusasFila.increment();
+    }
+
+    /**
+     * Registra um lote do motor de liquidação; lotes vazios não são registrados.
+     */
+
+    public void registrarLoteLiquidacao(ResultadoLiquidacao resultado, long nanos) {
+        if (resultado.getReservadas() == 0) {
+            return;
+        }
+        loteLiquidacao.record(nanos, TimeUnit.NANOSECONDS);
+        tamanhoLoteLiquidacao.record(resultado.getReservadas());
+        vazaoLoteLiquidacao.record(resultado.getReservadas() * 1e9 / Math.max(nanos, 1));
+        liquidadas.increment(resultado.getLiquidadas());
+        falhasLiquidacao.increment(resultado.getFalhas());
+        conflitosLiquidacao.increment(resultado.getConflitos());
+        adiadasLiquidacao.increment(resultado.getAdiadas());
+    }
+
+    public void contarReservasLiberadas(int reservas) {
+        reservasLiberadas.increment(reservas);
+    }
+
+    private Timer timer(String nome, String descricao, String resultado) {
+        return Timer.builder(nome)
+                .description(descricao)
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter liquidacao(String resultado) {
+        return Counter.builder(LIQUIDACOES)
+                .description("Transferências processadas pelo motor de liquidação por resultado")
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private static <T> T medir(Supplier<T> operacao, Timer sucesso, Timer rejeitada) {
+        long inicio = System.nanoTime();
+        try {
+            T resultado = operacao.get();
+            sucesso.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (RuntimeException e) {
+            rejeitada.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,544 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.RemessaDTO;
+import com.sistema.transferencias.exception.RemessaEmOutroNoException;
+import com.sistema.transferencias.model.ChaveResumoDiario;
+import com.sistema.transferencias.model.FormatoRemessa;
+import com.sistema.transferencias.model.Remessa;
+import com.sistema.transferencias.model.SituacaoRemessa;
+import com.sistema.transferencias.model.StatusTransferencia;
+import com.sistema.transferencias.repository.RemessaRepository;
+import com.sistema.transferencias.strategy.CalculadoraTaxaCentavos;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import com.sistema.transferencias.strategy.TaxaCalculationStrategy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Agendamento em massa a partir de arquivos de remessa ({@link FormatoRemessa}).
+ * <p>
+ * O arquivo recebido é gravado em {@code transferencias.remessas.diretorio} e processado em segundo plano, em
+ * blocos de {@code tamanho-bloco} linhas lidas por {@link LeitorRemessa} de uma janela mapeada em memória. As
+ * linhas de cada bloco são interpretadas, validadas e cotadas em paralelo ({@code paralelismo} threads) sobre
+ * colunas de tipos primitivos, com a taxa calculada em centavos; enquanto um bloco é gravado, o seguinte já é
+ * lido e cotado. Cada bloco é gravado numa única transação: INSERT em batch das linhas aceitas (com IDs
+ * reservados por {@link AlocadorIdsTransferencia}), resumos diários e o progresso da remessa — posição no
+ * arquivo, contagens e tamanho do relatório de resultado.
+ * <p>
+ * O relatório ({@code remessa-{id}.resultado.csv}, uma linha por linha do arquivo) é escrito e sincronizado antes
+ * do commit do bloco; ao retomar, é truncado no tamanho confirmado. Assim, uma remessa interrompida (falha ou
+ * parada da aplicação) retoma do último bloco gravado, sem duplicar nem perder linhas. Na inicialização, as
+ * remessas RECEBIDA e PROCESSANDO são retomadas; as que falharam, por {@link #retomar}.
+ * <p>
+ * O arquivo fica no disco do nó que o recebeu ({@code transferencias.remessas.no}, por padrão o nome do host).
+ * Antes de processar, o nó reserva a remessa com um UPDATE condicional: só a assume se tiver o arquivo e se a
+ * remessa for dele, estiver sem reserva ou com a reserva vencida ({@code duracao-reserva}). A reserva é renovada
+ * a cada bloco, junto com o progresso, e liberada ao fim; todas as escritas exigem que o nó ainda seja o dono,
+ * então um nó que perdeu a reserva não sobrescreve o progresso de quem a assumiu. Com o diretório compartilhado,
+ * outro nó assume a remessa de um nó que caiu quando a reserva vence.
+ */
+
+@Service
+public class RemessaService implements SmartLifecycle {
+
+    private static final String ATUALIZAR_PROGRESSO = "UPDATE remessas SET posicao_confirmada = ?, linhas_lidas = ?, " +
+            "linhas_agendadas = ?, linhas_rejeitadas = ?, tamanho_resultado = ?, reservada_ate = ? WHERE id = ? AND dono = ?";
+
+    // Assume a remessa não concluída que for deste nó, estiver sem reserva ou com a reserva vencida
+    private static final String RESERVAR = "UPDATE remessas SET dono = ?, reservada_ate = ? WHERE id = ? " +
+            "AND situacao <> 'CONCLUIDA' AND (dono = ? OR reservada_ate IS NULL OR reservada_ate < ?)";
+    private static final String LIBERAR = "UPDATE remessas SET reservada_ate = NULL WHERE id = ? AND dono = ?";
+
+    private static final String INICIAR = "UPDATE remessas SET situacao = 'PROCESSANDO', mensagem_falha = NULL, " +
+            "tamanho_resultado = ? WHERE id = ? AND dono = ?";
+    private static final String CONCLUIR = "UPDATE remessas SET situacao = 'CONCLUIDA', concluida_em = ? WHERE id = ? AND dono = ?";
+    private static final String FALHAR = "UPDATE remessas SET situacao = 'FALHOU', mensagem_falha = ? WHERE id = ? AND dono = ?";
+    private static final String NOME_PADRAO = "remessa";
+
+    private final RemessaRepository remessaRepository;
+    private final AlocadorIdsTransferencia alocadorIds;
+    private final ResumoDiarioService resumoDiarioService;
+    private final TaxaCalculationContext taxaCalculationContext;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CalendarioNegocio calendario;
+    private final Path diretorio;
+    private final int tamanhoBloco;
+    private final int paralelismo;
+    private final String no;
+    private final Duration duracaoReserva;
+
+    private final ExecutorService processador;
+    private final ExecutorService cotacao;
+    private final Set<Long> emProcessamento = ConcurrentHashMap.newKeySet();
+    private volatile boolean executando;
+    private volatile boolean parando;
+
+    public RemessaService(RemessaRepository remessaRepository,
+                          AlocadorIdsTransferencia alocadorIds,
+                          ResumoDiarioService resumoDiarioService,
+                          TaxaCalculationContext taxaCalculationContext,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          CalendarioNegocio calendario,
+                          @Value("${transferencias.remessas.diretorio:./data/remessas}") Path diretorio,
+                          @Value("${transferencias.remessas.tamanho-bloco:5000}") int tamanhoBloco,
+                          @Value("${transferencias.remessas.paralelismo:0}") int paralelismo,
+                          @Value("${transferencias.remessas.no:}") String no,
+                          @Value("${transferencias.remessas.duracao-reserva:PT5M}") Duration duracaoReserva) {
+        if (tamanhoBloco <= 0 || paralelismo < 0) {
+            throw new IllegalStateException("Tamanho do bloco da remessa deve ser maior que zero e o paralelismo, positivo");
+        }
+        if (duracaoReserva.isNegative() || duracaoReserva.isZero()) {
+            throw new IllegalStateException("Duração da reserva da remessa deve ser positiva: " + duracaoReserva);
+        }
+        this.remessaRepository = remessaRepository;
+        this.alocadorIds = alocadorIds;
+        this.resumoDiarioService = resumoDiarioService;
+        this.taxaCalculationContext = taxaCalculationContext;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.calendario = calendario;
+        this.diretorio = diretorio;
+        this.tamanhoBloco = tamanhoBloco;
+        this.paralelismo = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.no = nomeDoNo(no);
+        this.duracaoReserva = duracaoReserva;
+        this.processador = Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "remessas-processador");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger numero = new AtomicInteger();
+        this.cotacao = Executors.newFixedThreadPool(this.paralelismo, tarefa -> {
+            Thread thread = new Thread(tarefa, "remessas-cotacao-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Grava o arquivo da remessa e o coloca na fila de processamento.
+     * @param nomeArquivo Nome original do arquivo, só para consulta
+     * @return Remessa RECEBIDA
+     * @throws IllegalArgumentException se o formato não for informado
+     * @throws UncheckedIOException se o arquivo não puder ser gravado
+     */
+
+    public RemessaDTO receber(String nomeArquivo, FormatoRemessa formato, InputStream conteudo) {
+        if (formato == null) {
+            throw new IllegalArgumentException("Formato da remessa é obrigatório");
+        }
+        Path temporario = null;
+        try {
+            Files.createDirectories(diretorio);
+            temporario = Files.createTempFile(diretorio, "recebendo-", ".tmp");
+            long tamanho = Files.copy(conteudo, temporario, StandardCopyOption.REPLACE_EXISTING);
+            String nome = nomeArquivo == null || nomeArquivo.isBlank() ? NOME_PADRAO : nomeArquivo;
+            LocalDateTime agora = calendario.agora();
+            Remessa remessa = remessaRepository.save(new Remessa(
+                    nome.length() > 255 ? nome.substring(0, 255) : nome, formato, tamanho, agora, no, agora.plus(duracaoReserva)));
+            Files.move(temporario, arquivo(remessa.getId()), StandardCopyOption.ATOMIC_MOVE);
+            if (executando) {
+                agendarProcessamento(remessa.getId());
+            }
+            return new RemessaDTO(remessa);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o arquivo da remessa", e);
+        } finally {
+            if (temporario != null) {
+                try {
+                    Files.deleteIfExists(temporario);
+                } catch (IOException e) {
+                    // O arquivo temporário ficou no diretório; não afeta a remessa
+                }
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException se a remessa não existir
+     */
+
+    public RemessaDTO consultar(Long id) {
+        return new RemessaDTO(buscar(id));
+    }
+
+    /**
+     * Volta a processar uma remessa que falhou, a partir da última posição confirmada.
+     * @throws IllegalArgumentException se a remessa não existir, já estiver concluída ou em processamento
+     * @throws RemessaEmOutroNoException se o arquivo estiver em outro nó ou outro nó detiver a reserva
+     */
+
+    public RemessaDTO retomar(Long id) {
+        Remessa remessa = buscar(id);
+        if (remessa.getSituacao() == SituacaoRemessa.CONCLUIDA) {
+            throw new IllegalArgumentException("Remessa já concluída: " + id);
+        }
+        if (emProcessamento.contains(id)) {
+            throw new IllegalArgumentException("Remessa já está em processamento: " + id);
+        }
+        if (!Files.exists(arquivo(id))) {
+            throw new RemessaEmOutroNoException("Arquivo da remessa " + id + " está no nó " + remessa.getDono());
+        }
+        if (!reservar(id)) {
+            throw new RemessaEmOutroNoException("Remessa " + id + " está em processamento no nó " + buscar(id).getDono());
+        }
+        agendarProcessamento(id);
+        return new RemessaDTO(buscar(id));
+    }
+
+    /**
+     * Remessa cujo relatório de resultado pode ser lido neste nó; consultada antes de começar a resposta.
+     * @throws IllegalArgumentException se a remessa não existir
+     * @throws RemessaEmOutroNoException se o relatório estiver no disco de outro nó
+     */
+
+    public RemessaDTO consultarResultado(Long id) {
+        Remessa remessa = buscar(id);
+        verificarRelatorioLocal(remessa);
+        return new RemessaDTO(remessa);
+    }
+
+    /**
+     * Escreve o relatório de resultado até o último bloco confirmado.
+     * @throws IllegalArgumentException se a remessa não existir
+     * @throws RemessaEmOutroNoException se o relatório estiver no disco de outro nó
+     */
+
+    public void escreverResultado(Long id, OutputStream saida) throws IOException {
+        Remessa remessa = buscar(id);
+        long tamanho = remessa.getTamanhoResultado();
+        if (tamanho == 0) {
+            saida.write(BlocoRemessa.CABECALHO_RESULTADO);
+            return;
+        }
+        verificarRelatorioLocal(remessa);
+        try (FileChannel relatorio = FileChannel.open(resultado(id), StandardOpenOption.READ)) {
+            WritableByteChannel destino = Channels.newChannel(saida);
+            long enviado = 0;
+            while (enviado < tamanho) {
+                enviado += relatorio.transferTo(enviado, tamanho - enviado, destino);
+            }
+        }
+    }
+
+    /**
+     * Processa a remessa na thread atual, do ponto em que parou até o fim do arquivo ou até a aplicação parar.
+     * Uma falha deixa a remessa em FALHOU, com a mensagem e o progresso do último bloco gravado.
+     * Sem a reserva (arquivo em outro nó ou reserva de outro nó em vigor), a remessa não é alterada.
+     * @return Situação da remessa ao fim do processamento
+     * @throws IllegalArgumentException se a remessa não existir
+     */
+
+    public RemessaDTO processar(Long id) {
+        Remessa remessa = buscar(id);
+        if (remessa.getSituacao() == SituacaoRemessa.CONCLUIDA || !emProcessamento.add(id)) {
+            return new RemessaDTO(remessa);
+        }
+        try {
+            if (reservar(id)) {
+                // Relida depois da reserva: o progresso pode ter avançado em outro nó
+                executar(buscar(id));
+            }
+        } catch (IOException | RuntimeException e) {
+            Throwable causa = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            String mensagem = causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+            jdbcTemplate.update(FALHAR, mensagem.length() > 255 ? mensagem.substring(0, 255) : mensagem, id, no);
+        } finally {
+            jdbcTemplate.update(LIBERAR, id, no);
+            emProcessamento.remove(id);
+        }
+        return consultar(id);
+    }
+
+    /**
+     * Retoma as remessas RECEBIDA e PROCESSANDO que este nó consegue reservar.
+     */
+
+    @Override
+    public void start() {
+        parando = false;
+        executando = true;
+        for (Remessa remessa : remessaRepository.findBySituacaoInOrderByIdAsc(
+                List.of(SituacaoRemessa.RECEBIDA, SituacaoRemessa.PROCESSANDO))) {
+            if (reservar(remessa.getId())) {
+                agendarProcessamento(remessa.getId());
+            }
+        }
+    }
+
+    /**
+     * Interrompe o processamento depois do bloco em gravação; a remessa fica em PROCESSANDO e é retomada
+     * na próxima inicialização.
+     */
+
+    @Override
+    public void stop() {
+        executando = false;
+        parando = true;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        stop();
+        processador.shutdown();
+        processador.awaitTermination(30, TimeUnit.SECONDS);
+        cotacao.shutdown();
+    }
+
+    private void agendarProcessamento(Long id) {
+        processador.execute(() -> {
+            if (executando) {
+                processar(id);
+            }
+        });
+    }
+
+    // Só reserva a remessa cujo arquivo está neste nó (ou no diretório compartilhado)
+    private boolean reservar(Long id) {
+        if (!Files.exists(arquivo(id))) {
+            return false;
+        }
+        LocalDateTime agora = calendario.agora();
+        return jdbcTemplate.update(RESERVAR, no, agora.plus(duracaoReserva), id, no, agora) == 1;
+    }
+
+    private void verificarRelatorioLocal(Remessa remessa) {
+        if (remessa.getTamanhoResultado() > 0 && !Files.exists(resultado(remessa.getId()))) {
+            throw new RemessaEmOutroNoException("Relatório da remessa " + remessa.getId() + " está no nó " + remessa.getDono());
+        }
+    }
+
+    private Remessa buscar(Long id) {
+        return remessaRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Remessa não encontrada com ID: " + id));
+    }
+
+    private void executar(Remessa remessa) throws IOException {
+        Long id = remessa.getId();
+        LocalDate hoje = calendario.hoje();
+        try (LeitorRemessa leitor = new LeitorRemessa(arquivo(id), remessa.getFormato(),
+                     remessa.getPosicaoConfirmada(), remessa.getLinhasLidas());
+             FileChannel relatorio = FileChannel.open(resultado(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            iniciar(remessa, relatorio);
+
+            BlocoRemessa atual = new BlocoRemessa(tamanhoBloco);
+            BlocoRemessa proximo = new BlocoRemessa(tamanhoBloco);
+            CompletableFuture<Void> cotacaoAtual = leitor.ler(atual) ? cotar(atual, remessa.getFormato(), hoje) : null;
+            while (cotacaoAtual != null) {
+                cotacaoAtual.join();
+                // O bloco seguinte é lido e cotado enquanto este é gravado
+                CompletableFuture<Void> cotacaoProxima = leitor.ler(proximo) ? cotar(proximo, remessa.getFormato(), hoje) : null;
+                gravar(remessa, atual, relatorio, hoje);
+                if (cotacaoProxima != null && parando) {
+                    cotacaoProxima.join();
+                    return;
+                }
+                BlocoRemessa gravado = atual;
+                atual = proximo;
+                proximo = gravado;
+                cotacaoAtual = cotacaoProxima;
+            }
+        }
+        jdbcTemplate.update(CONCLUIR, calendario.agora(), id, no);
+    }
+
+    // Descarta do relatório o que foi escrito depois do último bloco confirmado
+    private void iniciar(Remessa remessa, FileChannel relatorio) throws IOException {
+        relatorio.truncate(remessa.getTamanhoResultado());
+        relatorio.position(remessa.getTamanhoResultado());
+        if (remessa.getTamanhoResultado() == 0) {
+            relatorio.write(ByteBuffer.wrap(BlocoRemessa.CABECALHO_RESULTADO));
+            relatorio.force(false);
+            remessa.setTamanhoResultado(relatorio.position());
+        }
+        if (jdbcTemplate.update(INICIAR, remessa.getTamanhoResultado(), remessa.getId(), no) == 0) {
+            throw reservaPerdida(remessa.getId());
+        }
+    }
+
+    private CompletableFuture<Void> cotar(BlocoRemessa bloco, FormatoRemessa formato, LocalDate hoje) {
+        int quantidade = bloco.getQuantidade();
+        int tamanhoParte = Math.max(1, (quantidade + paralelismo - 1) / paralelismo);
+        List<CompletableFuture<Void>> partes = new ArrayList<>(paralelismo);
+        for (int inicio = 0; inicio < quantidade; inicio += tamanhoParte) {
+            int de = inicio;
+            int ate = Math.min(inicio + tamanhoParte, quantidade);
+            partes.add(CompletableFuture.runAsync(() -> {
+                for (int linha = de; linha < ate; linha++) {
+                    cotarLinha(bloco, linha, formato, hoje);
+                }
+            }, cotacao));
+        }
+        return CompletableFuture.allOf(partes.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Mesmas regras do agendamento ({@link TransferenciaService#prepararTransferencia}), sobre as colunas do bloco:
+     * contas diferentes, valor positivo, data não passada e as regras da faixa vigente hoje.
+     */
+
+    private void cotarLinha(BlocoRemessa bloco, int linha, FormatoRemessa formato, LocalDate hoje) {
+        LeitorRemessa.interpretar(bloco, linha, formato);
+        if (!bloco.isAceita(linha)) {
+            return;
+        }
+        long valor = bloco.getValorCentavos(linha);
+        long diasAteData = bloco.getDataTransferencia(linha) - hoje.toEpochDay();
+        if (bloco.getContaOrigem(linha) == bloco.getContaDestino(linha)) {
+            bloco.rejeitar(linha, TransferenciaService.CONTAS_IGUAIS.getMensagem());
+        } else if (valor <= 0) {
+            bloco.rejeitar(linha, ResultadoTaxa.VALOR_INVALIDO.getMensagem());
+        } else if (diasAteData < 0) {
+            bloco.rejeitar(linha, TransferenciaService.DATA_PASSADA.getMensagem());
+        } else {
+            int dias = (int) Math.min(diasAteData, Integer.MAX_VALUE);
+            TaxaCalculationStrategy strategy = taxaCalculationContext.resolverStrategy(dias, hoje);
+            ResultadoTaxa rejeicao = strategy.validarCentavos(valor, dias);
+            if (rejeicao != null) {
+                bloco.rejeitar(linha, rejeicao.getMensagem());
+            } else {
+                bloco.cotar(linha, dias, strategy.calcularTaxaCentavos(valor, dias));
+            }
+        }
+    }
+
+    /**
+     * Escreve o relatório do bloco e, numa transação, grava as transferências aceitas, os resumos e o progresso.
+     */
+
+    private void gravar(Remessa remessa, BlocoRemessa bloco, FileChannel relatorio, LocalDate hoje) throws IOException {
+        int[] aceitas = new int[bloco.getQuantidade()];
+        int quantidadeAceitas = 0;
+        for (int linha = 0; linha < bloco.getQuantidade(); linha++) {
+            if (bloco.isAceita(linha)) {
+                bloco.definirId(linha, alocadorIds.proximoId());
+                aceitas[quantidadeAceitas++] = linha;
+            }
+        }
+        int totalAceitas = quantidadeAceitas;
+
+        ByteBuffer resultadoBloco = bloco.escreverResultado();
+        while (resultadoBloco.hasRemaining()) {
+            relatorio.write(resultadoBloco);
+        }
+        relatorio.force(false);
+        long tamanhoResultado = relatorio.position();
+
+        long agendadas = remessa.getLinhasAgendadas() + totalAceitas;
+        long rejeitadas = remessa.getLinhasRejeitadas() + bloco.getQuantidade() - totalAceitas;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (totalAceitas > 0) {
+                inserir(bloco, aceitas, totalAceitas, hoje);
+            }
+            // Renova a reserva; se outro nó a assumiu, o bloco é desfeito
+            if (jdbcTemplate.update(ATUALIZAR_PROGRESSO, bloco.getPosicaoFinal(), bloco.getLinhasLidas(), agendadas,
+                    rejeitadas, tamanhoResultado, calendario.agora().plus(duracaoReserva), remessa.getId(), no) == 0) {
+                throw reservaPerdida(remessa.getId());
+            }
+        });
+        remessa.setPosicaoConfirmada(bloco.getPosicaoFinal());
+        remessa.setLinhasLidas(bloco.getLinhasLidas());
+        remessa.setLinhasAgendadas(agendadas);
+        remessa.setLinhasRejeitadas(rejeitadas);
+        remessa.setTamanhoResultado(tamanhoResultado);
+    }
+
+    private void inserir(BlocoRemessa bloco, int[] aceitas, int quantidade, LocalDate hoje) {
+        AcumuladorResumoDiario resumos = new AcumuladorResumoDiario();
+        jdbcTemplate.batchUpdate(AgendamentoAssincronoService.INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                int linha = aceitas[i];
+                LocalDate data = LocalDate.ofEpochDay(bloco.getDataTransferencia(linha));
+                BigDecimal valor = CalculadoraTaxaCentavos.paraBigDecimal(bloco.getValorCentavos(linha));
+                BigDecimal taxa = CalculadoraTaxaCentavos.paraBigDecimal(bloco.getTaxaCentavos(linha));
+                ps.setLong(1, bloco.getId(linha));
+                ps.setLong(2, bloco.getContaOrigem(linha));
+                ps.setLong(3, bloco.getContaDestino(linha));
+                ps.setBigDecimal(4, valor);
+                ps.setBigDecimal(5, taxa);
+                ps.setObject(6, data);
+                ps.setObject(7, hoje);
+                ps.setInt(8, bloco.getDias(linha));
+                ps.setString(9, StatusTransferencia.AGENDADA.name());
+                resumos.adicionar(new ChaveResumoDiario(data, bloco.getDias(linha),
+                        ChaveResumoDiario.particao(bloco.getContaOrigem(linha))), valor, taxa);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return quantidade;
+            }
+        });
+        resumoDiarioService.registrar(resumos);
+    }
+
+    private static RemessaEmOutroNoException reservaPerdida(Long id) {
+        return new RemessaEmOutroNoException("Reserva da remessa " + id + " assumida por outro nó");
+    }
+
+    private static String nomeDoNo(String configurado) {
+        if (configurado != null && !configurado.isBlank()) {
+            return configurado.length() > 100 ? configurado.substring(0, 100) : configurado;
+        }
+        try {
+            String host = InetAddress.getLocalHost().getHostName();
+            return host.length() > 100 ? host.substring(0, 100) : host;
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Nome do host indisponível; defina transferencias.remessas.no", e);
+        }
+    }
+
+    private Path arquivo(Long id) {
+        return diretorio.resolve("remessa-" + id + ".dat");
+    }
+
+    private Path resultado(Long id) {
+        return diretorio.resolve("remessa-" + id + ".resultado.csv");
+    }
+}
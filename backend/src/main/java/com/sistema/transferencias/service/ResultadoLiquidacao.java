@@ -0,0 +1,67 @@
+package com.sistema.transferencias.service;
+
+/**
+ * Resultado de um lote do motor de liquidação.
+ * Conflitos são transferências que outro nó alterou depois da reserva (versão diferente)
+ * e que este nó deixou de liquidar. Adiadas são as de conta não cadastrada, que continuam
+ * reservadas até a reserva expirar.
+ */
+
+public class ResultadoLiquidacao {
+
+    private static final ResultadoLiquidacao VAZIO = new ResultadoLiquidacao(0, 0, 0, 0, 0);
+
+    private final int reservadas;
+    private final int liquidadas;
+    private final int falhas;
+    private final int conflitos;
+    private final int adiadas;
+
+    public ResultadoLiquidacao(int reservadas, int liquidadas, int falhas, int conflitos, int adiadas) {
+        this.reservadas = reservadas;
+        this.liquidadas = liquidadas;
+        this.falhas = falhas;
+        this.conflitos = conflitos;
+        this.adiadas = adiadas;
+    }
+
+    public static ResultadoLiquidacao vazio() {
+        return VAZIO;
+    }
+
+    public ResultadoLiquidacao somar(ResultadoLiquidacao outro) {
+        return new ResultadoLiquidacao(reservadas + outro.reservadas, liquidadas + outro.liquidadas,
+                falhas + outro.falhas, conflitos + outro.conflitos, adiadas + outro.adiadas);
+    }
+
+    public int getReservadas() {
+        return reservadas;
+    }
+
+    public int getLiquidadas() {
+        return liquidadas;
+    }
+
+    public int getFalhas() {
+        return falhas;
+    }
+
+    public int getConflitos() {
+        return conflitos;
+    }
+
+    public int getAdiadas() {
+        return adiadas;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLiquidacao{" +
+                "reservadas=" + reservadas +
+                ", liquidadas=" + liquidadas +
+                ", falhas=" + falhas +
+                ", conflitos=" + conflitos +
+                ", adiadas=" + adiadas +
+                '}';
+    }
+}
@@ -0,0 +1,202 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.ResumoTransferenciasDTO;
+import com.sistema.transferencias.dto.ResumoTransferenciasItemDTO;
+import com.sistema.transferencias.dto.TotaisParticaoContaDTO;
+import com.sistema.transferencias.dto.TotaisResumoDiarioDTO;
+import com.sistema.transferencias.model.ChaveResumoDiario;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ResumoDiarioRepository;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resumos diários de transferências (quantidade, valor e taxa por data, faixa e partição de conta).
+ * <p>
+ * Todo caminho que grava transferências chama {@link #registrar} na própria transação: os resumos
+ * confirmam ou desfazem junto com as transferências. Cada linha de resumo recebe um único
+ * {@code UPDATE} por lote, somando o lote inteiro. As linhas são atualizadas em ordem de chave,
+ * como as contas na liquidação, para que lotes concorrentes não se bloqueiem em ciclo. A linha que
+ * ainda não existe é inserida sob um savepoint: se outra transação a inserir primeiro, a inserção
+ * é desfeita e o valor é somado à linha dela, sem uma segunda conexão e sem perder a transação.
+ * <p>
+ * {@link #resumir} responde períodos somando só os resumos; a tabela de transferências não é lida.
+ */
+
+@Service
+public class ResumoDiarioService {
+
+    static final String INCREMENTAR = "UPDATE resumos_diarios SET quantidade = quantidade + ?, " +
+            "valor_total = valor_total + ?, taxa_total = taxa_total + ? " +
+            "WHERE data_transferencia = ? AND dias_para_transferencia = ? AND particao_conta = ?";
+
+    static final String INSERIR = "INSERT INTO resumos_diarios (data_transferencia, dias_para_transferencia, " +
+            "particao_conta, quantidade, valor_total, taxa_total) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResumoDiarioRepository resumoDiarioRepository;
+    private final TaxaCalculationContext taxaCalculationContext;
+
+    public ResumoDiarioService(JdbcTemplate jdbcTemplate,
+                               ResumoDiarioRepository resumoDiarioRepository,
+                               TaxaCalculationContext taxaCalculationContext) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.resumoDiarioRepository = resumoDiarioRepository;
+        this.taxaCalculationContext = taxaCalculationContext;
+    }
+
+    /**
+     * Soma uma transferência aos resumos, na transação em andamento.
+     */
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Transferencia transferencia) {
+        AcumuladorResumoDiario acumulador = new AcumuladorResumoDiario();
+        acumulador.adicionar(transferencia);
+        registrar(acumulador);
+    }
+
+    /**
+     * Soma o lote acumulado aos resumos, na transação em andamento.
+     */
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(AcumuladorResumoDiario acumulador) {
+        for (Map.Entry<ChaveResumoDiario, AcumuladorResumoDiario.Totais> linha : acumulador.getTotais().entrySet()) {
+            ChaveResumoDiario chave = linha.getKey();
+            AcumuladorResumoDiario.Totais totais = linha.getValue();
+            if (incrementar(chave, totais) == 1 || inserir(chave, totais)) {
+                continue;
+            }
+            // Outra transação inseriu a linha entre o UPDATE e o INSERT deste lote
+            if (incrementar(chave, totais) != 1) {
+                throw new IllegalStateException("Resumo diário não encontrado após inserção concorrente: " + chave);
+            }
+        }
+    }
+
+    /**
+     * Resume as transferências com data de transferência no período.
+     * A faixa de cada transferência é a da tabela de taxas vigente na data do agendamento
+     * (data da transferência menos os dias), a mesma usada para cobrar a taxa. Por conta, os grupos
+     * são as partições da conta de origem, em ordem de partição.
+     * @throws IllegalArgumentException se o período for inválido
+     */
+
+    public ResumoTransferenciasDTO resumir(LocalDate dataInicio, LocalDate dataFim, AgrupamentoResumo agrupamento) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Data de início e data de fim são obrigatórias");
+        }
+        if (dataFim.isBefore(dataInicio)) {
+            throw new IllegalArgumentException("Data de fim deve ser igual ou posterior à data de início");
+        }
+
+        Map<Object, Soma> grupos = new LinkedHashMap<>();
+        Soma total = new Soma(null, null, null, 0);
+        if (agrupamento == AgrupamentoResumo.CONTA) {
+            for (TotaisParticaoContaDTO totais : resumoDiarioRepository.somarPorParticaoConta(dataInicio, dataFim)) {
+                Soma grupo = new Soma(null, null, totais.getParticaoConta(), 0);
+                grupos.put(totais.getParticaoConta(), grupo);
+                grupo.somar(totais.getQuantidade(), totais.getValorTotal(), totais.getTaxaTotal());
+                total.somar(totais.getQuantidade(), totais.getValorTotal(), totais.getTaxaTotal());
+            }
+        } else {
+            for (TotaisResumoDiarioDTO totais : resumoDiarioRepository.somarPorDataEDias(dataInicio, dataFim)) {
+                Soma grupo;
+                if (agrupamento == AgrupamentoResumo.DIA) {
+                    grupo = grupos.computeIfAbsent(totais.getDataTransferencia(),
+                            data -> new Soma(totais.getDataTransferencia(), null, null, 0));
+                } else {
+                    int dias = totais.getDiasParaTransferencia();
+                    String faixa = taxaCalculationContext
+                            .resolverStrategy(dias, totais.getDataTransferencia().minusDays(dias)).getFaixa();
+                    grupo = grupos.computeIfAbsent(faixa, chave -> new Soma(null, faixa, null, dias));
+                    grupo.menorDias = Math.min(grupo.menorDias, dias);
+                }
+                grupo.somar(totais.getQuantidade(), totais.getValorTotal(), totais.getTaxaTotal());
+                total.somar(totais.getQuantidade(), totais.getValorTotal(), totais.getTaxaTotal());
+            }
+        }
+
+        List<Soma> ordenados = new ArrayList<>(grupos.values());
+        if (agrupamento == AgrupamentoResumo.FAIXA) {
+            ordenados.sort(Comparator.comparingInt(soma -> soma.menorDias));
+        }
+        List<ResumoTransferenciasItemDTO> itens = new ArrayList<>(ordenados.size());
+        for (Soma soma : ordenados) {
+            itens.add(new ResumoTransferenciasItemDTO(soma.data, soma.faixa, soma.particaoConta, soma.quantidade,
+                    soma.valorTotal, soma.taxaTotal));
+        }
+        return new ResumoTransferenciasDTO(dataInicio, dataFim, agrupamento.getParametro(),
+                total.quantidade, total.valorTotal, total.taxaTotal, itens);
+    }
+
+    private int incrementar(ChaveResumoDiario chave, AcumuladorResumoDiario.Totais totais) {
+        return jdbcTemplate.update(INCREMENTAR, totais.getQuantidade(), totais.getValorTotal(), totais.getTaxaTotal(),
+                chave.getDataTransferencia(), chave.getDiasParaTransferencia(), chave.getParticaoConta());
+    }
+
+    // false se a linha já existia: o savepoint desfaz só a inserção recusada, não a transação
+    private boolean inserir(ChaveResumoDiario chave, AcumuladorResumoDiario.Totais totais) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            Savepoint savepoint = conexao.setSavepoint();
+            try (PreparedStatement ps = conexao.prepareStatement(INSERIR)) {
+                ps.setObject(1, chave.getDataTransferencia());
+                ps.setInt(2, chave.getDiasParaTransferencia());
+                ps.setInt(3, chave.getParticaoConta());
+                ps.setLong(4, totais.getQuantidade());
+                ps.setBigDecimal(5, totais.getValorTotal());
+                ps.setBigDecimal(6, totais.getTaxaTotal());
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                if (!(jdbcTemplate.getExceptionTranslator().translate("inserir resumo diário", INSERIR, e)
+                        instanceof DuplicateKeyException)) {
+                    throw e;
+                }
+                conexao.rollback(savepoint);
+                return false;
+            }
+            conexao.releaseSavepoint(savepoint);
+            return true;
+        }));
+    }
+
+    private static final class Soma {
+
+        private final LocalDate data;
+        private final String faixa;
+        private final Integer particaoConta;
+        private int menorDias;
+        private long quantidade;
+        private BigDecimal valorTotal = BigDecimal.ZERO;
+        private BigDecimal taxaTotal = BigDecimal.ZERO;
+
+        private Soma(LocalDate data, String faixa, Integer particaoConta, int menorDias) {
+            this.data = data;
+            this.faixa = faixa;
+            this.particaoConta = particaoConta;
+            this.menorDias = menorDias;
+        }
+
+        private void somar(long quantidade, BigDecimal valorTotal, BigDecimal taxaTotal) {
+            this.quantidade += quantidade;
+            this.valorTotal = this.valorTotal.add(valorTotal);
+            this.taxaTotal = this.taxaTotal.add(taxaTotal);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.sistema.transferencias.service;
+
+/**
+ * Situação da gravação de uma transferência aceita pelo agendamento assíncrono.
+ */
+
+public enum SituacaoGravacao {
+
+    /** Na fila, aguardando o commit do grupo. */
+    PENDENTE,
+
+    /** Gravada no banco. */
+    GRAVADA,
+
+    /** A gravação falhou; a transferência não foi agendada. */
+    FALHOU
+}
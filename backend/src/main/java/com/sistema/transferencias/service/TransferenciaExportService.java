@@ -0,0 +1,129 @@
+package com.sistema.transferencias.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service responsável pela exportação de transferências por período.
+ * Percorre o resultado da consulta como {@link Stream}, já projetado em {@link TransferenciaResponseDTO}
+ * (sem entidades no contexto de persistência), escrevendo cada linha diretamente na saída,
+ * de modo que a memória usada não depende do tamanho do resultado.
+ */
+
+@Service
+public class TransferenciaExportService {
+
+    static final String CABECALHO_CSV = "id,contaOrigem,contaDestino,valorTransferencia,taxaTransferencia," +
+            "dataTransferencia,dataAgendamento,diasParaTransferencia";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final TransferenciaRepository transferenciaRepository;
+
+    public TransferenciaExportService(TransferenciaRepository transferenciaRepository) {
+        this.transferenciaRepository = transferenciaRepository;
+    }
+
+    /**
+     * Valida o período antes de iniciar a resposta, já que erros durante o
+     * streaming não podem mais ser convertidos em status HTTP.
+     * @throws IllegalArgumentException se o período for inválido
+     */
+
+    public void validarPeriodo(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Data de início e data de fim são obrigatórias");
+        }
+        if (dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data de início deve ser igual ou anterior à data de fim");
+        }
+    }
+
+    /**
+     * Escreve as transferências com data de transferência no período, em ordem crescente.
+     * @param saida Stream de saída da resposta HTTP
+     */
+
+    @Transactional(readOnly = true)
+    public void exportar(LocalDate dataInicio, LocalDate dataFim, FormatoExportacao formato, OutputStream saida)
+            throws IOException {
+        validarPeriodo(dataInicio, dataFim);
+
+        try (Stream<TransferenciaResponseDTO> transferencias =
+                     transferenciaRepository.streamByDataTransferenciaBetween(dataInicio, dataFim)) {
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(transferencias.iterator(), saida);
+            } else {
+                escreverNdjson(transferencias.iterator(), saida);
+            }
+        }
+    }
+
+    private void escreverNdjson(Iterator<TransferenciaResponseDTO> transferencias, OutputStream saida) throws IOException {
+        JsonGenerator generator = JSON_FACTORY.createGenerator(saida);
+        generator.setRootValueSeparator(null);
+        char[] conta = new char[NumeroConta.DIGITOS];
+        while (transferencias.hasNext()) {
+            TransferenciaResponseDTO t = transferencias.next();
+            generator.writeStartObject();
+            generator.writeNumberField("id", t.id());
+            generator.writeFieldName("contaOrigem");
+            t.contaOrigem().escrever(conta, 0);
+            generator.writeString(conta, 0, conta.length);
+            generator.writeFieldName("contaDestino");
+            t.contaDestino().escrever(conta, 0);
+            generator.writeString(conta, 0, conta.length);
+            generator.writeNumberField("valorTransferencia", t.valorTransferencia());
+            generator.writeNumberField("taxaTransferencia", t.taxaTransferencia());
+            generator.writeStringField("dataTransferencia", t.dataTransferencia().toString());
+            generator.writeStringField("dataAgendamento", t.dataAgendamento().toString());
+            generator.writeNumberField("diasParaTransferencia", t.diasParaTransferencia());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private void escreverCsv(Iterator<TransferenciaResponseDTO> transferencias, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        writer.write(CABECALHO_CSV);
+        writer.write('\n');
+        char[] conta = new char[NumeroConta.DIGITOS];
+        while (transferencias.hasNext()) {
+            TransferenciaResponseDTO t = transferencias.next();
+            writer.write(Long.toString(t.id()));
+            writer.write(',');
+            t.contaOrigem().escrever(conta, 0);
+            writer.write(conta);
+            writer.write(',');
+            t.contaDestino().escrever(conta, 0);
+            writer.write(conta);
+            writer.write(',');
+            writer.write(t.valorTransferencia().toPlainString());
+            writer.write(',');
+            writer.write(t.taxaTransferencia().toPlainString());
+            writer.write(',');
+            writer.write(t.dataTransferencia().toString());
+            writer.write(',');
+            writer.write(t.dataAgendamento().toString());
+            writer.write(',');
+            writer.write(Integer.toString(t.diasParaTransferencia()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+}
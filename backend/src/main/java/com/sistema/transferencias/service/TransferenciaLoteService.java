@@ -0,0 +1,124 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaLoteItemDTO;
+import com.sistema.transferencias.dto.TransferenciaLoteResponseDTO;
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.exception.TaxaCalculationException;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service responsável pelo agendamento de transferências em lote.
+ * Valida cada item de forma independente, reportando os erros por item,
+ * e persiste os itens válidos em uma única transação usando INSERTs em batch,
+ * somando o lote aos resumos diários na mesma transação.
+ */
+
+@Service
+public class TransferenciaLoteService {
+
+    private final TransferenciaService transferenciaService;
+    private final TransferenciaRepository transferenciaRepository;
+    private final ResumoDiarioService resumoDiarioService;
+    private final EntityManager entityManager;
+    private final ValidadorTransferencia validador;
+    private final int tamanhoMaximoLote;
+    private final int tamanhoBatch;
+
+    public TransferenciaLoteService(TransferenciaService transferenciaService,
+                                    TransferenciaRepository transferenciaRepository,
+                                    ResumoDiarioService resumoDiarioService,
+                                    EntityManager entityManager,
+                                    ValidadorTransferencia validador,
+                                    @Value("${transferencias.lote.tamanho-maximo:10000}") int tamanhoMaximoLote,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int tamanhoBatch) {
+        this.transferenciaService = transferenciaService;
+        this.transferenciaRepository = transferenciaRepository;
+        this.resumoDiarioService = resumoDiarioService;
+        this.entityManager = entityManager;
+        this.validador = validador;
+        this.tamanhoMaximoLote = tamanhoMaximoLote;
+        this.tamanhoBatch = tamanhoBatch;
+    }
+
+    @Transactional
+    public TransferenciaLoteResponseDTO agendarLote(List<TransferenciaRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve conter ao menos uma transferência");
+        }
+        if (requests.size() > tamanhoMaximoLote) {
+            throw new IllegalArgumentException(
+                    String.format("O lote deve conter no máximo %d transferências", tamanhoMaximoLote));
+        }
+
+        TransferenciaLoteItemDTO[] itens = new TransferenciaLoteItemDTO[requests.size()];
+        List<Transferencia> pendentes = new ArrayList<>(tamanhoBatch);
+        int[] indicesPendentes = new int[tamanhoBatch];
+        AcumuladorResumoDiario resumos = new AcumuladorResumoDiario();
+
+        for (int indice = 0; indice < requests.size(); indice++) {
+            TransferenciaRequestDTO requestDTO = requests.get(indice);
+
+            Map<String, String> errors = validarCampos(requestDTO);
+            if (!errors.isEmpty()) {
+                itens[indice] = TransferenciaLoteItemDTO.rejeitada(indice, errors, "Dados inválidos fornecidos");
+                continue;
+            }
+
+            try {
+                pendentes.add(transferenciaService.prepararTransferencia(requestDTO));
+                indicesPendentes[pendentes.size() - 1] = indice;
+            } catch (IllegalArgumentException | TaxaCalculationException e) {
+                itens[indice] = TransferenciaLoteItemDTO.rejeitada(indice, null, e.getMessage());
+                continue;
+            }
+
+            if (pendentes.size() == tamanhoBatch) {
+                persistir(pendentes, indicesPendentes, itens, resumos);
+            }
+        }
+        persistir(pendentes, indicesPendentes, itens, resumos);
+        // Uma atualização por linha de resumo para o lote inteiro, no commit do lote
+        resumoDiarioService.registrar(resumos);
+
+        return new TransferenciaLoteResponseDTO(Arrays.asList(itens));
+    }
+
+    /**
+     * Grava um batch de transferências e libera o contexto de persistência,
+     * mantendo a memória constante independentemente do tamanho do lote.
+     */
+
+    private void persistir(List<Transferencia> pendentes, int[] indicesPendentes, TransferenciaLoteItemDTO[] itens,
+                           AcumuladorResumoDiario resumos) {
+        if (pendentes.isEmpty()) {
+            return;
+        }
+
+        List<Transferencia> salvas = transferenciaRepository.saveAll(pendentes);
+        transferenciaRepository.flush();
+        for (int i = 0; i < salvas.size(); i++) {
+            int indice = indicesPendentes[i];
+            resumos.adicionar(salvas.get(i));
+            itens[indice] = TransferenciaLoteItemDTO.agendada(indice, TransferenciaResponseDTO.de(salvas.get(i)));
+        }
+        entityManager.clear();
+        pendentes.clear();
+    }
+
+    private Map<String, String> validarCampos(TransferenciaRequestDTO requestDTO) {
+        if (requestDTO == null) {
+            return Map.of("transferencia", "Dados da transferência são obrigatórios");
+        }
+        return validador.validar(requestDTO);
+    }
+}
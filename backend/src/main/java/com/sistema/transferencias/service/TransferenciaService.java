@@ -1,18 +1,24 @@
 package com.sistema.transferencias.service;
 
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.PaginaTransferenciasDTO;
 import com.sistema.transferencias.dto.TransferenciaRequestDTO;
 import com.sistema.transferencias.dto.TransferenciaResponseDTO;
 import com.sistema.transferencias.exception.TaxaCalculationException;
+import com.sistema.transferencias.model.NumeroConta;
 import com.sistema.transferencias.model.Transferencia;
 import com.sistema.transferencias.repository.TransferenciaRepository;
+import com.sistema.transferencias.strategy.MotivoRejeicao;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
 import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import com.sistema.transferencias.strategy.TaxaCalculationStrategy;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service responsável pela lógica de negócio das transferências.
@@ -23,116 +29,208 @@ import java.util.stream.Collectors;
 @Service
 public class TransferenciaService {
 
-    private static final BigDecimal VALOR_MINIMO_DIA_ZERO = new BigDecimal("3.00");
-    private static final BigDecimal VALOR_MINIMO_DIAS_1_A_10 = new BigDecimal("12.00");
+    static final ResultadoTaxa DATA_PASSADA = ResultadoTaxa.rejeitada(MotivoRejeicao.DATA_PASSADA,
+            "Data da transferência deve ser igual ou posterior à data atual");
+    static final ResultadoTaxa CONTAS_IGUAIS = ResultadoTaxa.rejeitada(MotivoRejeicao.CONTAS_IGUAIS,
+            "Conta de origem e destino não podem ser iguais");
+
+    public static final int TAMANHO_MAXIMO_PAGINA = 500;
 
     private final TransferenciaRepository transferenciaRepository;
     private final TaxaCalculationContext taxaCalculationContext;
+    private final MetricasTransferencias metricas;
+    private final CalendarioNegocio calendario;
+    private final ResumoDiarioService resumoDiarioService;
 
-    public TransferenciaService(TransferenciaRepository transferenciaRepository, TaxaCalculationContext taxaCalculationContext) {
+    public TransferenciaService(TransferenciaRepository transferenciaRepository, TaxaCalculationContext taxaCalculationContext,
+                                MetricasTransferencias metricas, CalendarioNegocio calendario,
+                                ResumoDiarioService resumoDiarioService) {
         this.transferenciaRepository = transferenciaRepository;
         this.taxaCalculationContext = taxaCalculationContext;
+        this.metricas = metricas;
+        this.calendario = calendario;
+        this.resumoDiarioService = resumoDiarioService;
     }
 
+    /**
+     * Agenda a transferência e a soma aos resumos diários, na mesma transação.
+     */
+
+    @Transactional
     public TransferenciaResponseDTO agendarTransferencia(TransferenciaRequestDTO requestDTO) {
-        if (requestDTO == null) {
-            throw new IllegalArgumentException("Dados da transferência são obrigatórios");
-        }
-        if (requestDTO.getContaOrigem().equals(requestDTO.getContaDestino())) {
-            throw new IllegalArgumentException("Conta de origem e destino não podem ser iguais");
-        }
-        if (requestDTO.getValorTransferencia() == null || requestDTO.getValorTransferencia().compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Valor da transferência deve ser maior que zero");
-        }
-        if (requestDTO.getDataTransferencia() == null || requestDTO.getDataTransferencia().isBefore(LocalDate.now())) {
-            throw new TaxaCalculationException("Data da transferência deve ser igual ou posterior à data atual");
-        }
+        return metricas.medirAgendamento(() -> {
+            Transferencia transferencia = prepararTransferencia(requestDTO);
 
-        long dias = ChronoUnit.DAYS.between(LocalDate.now(), requestDTO.getDataTransferencia());
+            Transferencia savedTransferencia = transferenciaRepository.save(transferencia);
+            resumoDiarioService.registrar(savedTransferencia);
+            return TransferenciaResponseDTO.de(savedTransferencia);
+        });
+    }
 
+    /**
+     * Aplica as regras de negócio e calcula a taxa, montando a transferência sem persisti-la.
+     * @throws IllegalArgumentException se os dados forem inválidos
+     * @throws TaxaCalculationException se a transferência não for permitida
+     */
 
-        if (dias == 0 && requestDTO.getValorTransferencia().compareTo(VALOR_MINIMO_DIA_ZERO) < 0) {
-            throw new TaxaCalculationException(
-                    String.format("Valor da transferência deve ser maior ou igual a R$ %s para transferências no mesmo dia",
-                            VALOR_MINIMO_DIA_ZERO.setScale(2, RoundingMode.HALF_UP))
-            );
+    public Transferencia prepararTransferencia(TransferenciaRequestDTO requestDTO) {
+        if (requestDTO == null) {
+            throw rejeitar(MotivoRejeicao.DADOS_AUSENTES,
+                    new IllegalArgumentException("Dados da transferência são obrigatórios"));
         }
-        if (dias >= 1 && dias <= 10 && requestDTO.getValorTransferencia().compareTo(VALOR_MINIMO_DIAS_1_A_10) < 0) {
-            throw new TaxaCalculationException(
-                    String.format("Valor da transferência deve ser maior ou igual a R$ %s para transferências de 1 a 10 dias",
-                            VALOR_MINIMO_DIAS_1_A_10.setScale(2, RoundingMode.HALF_UP))
-            );
+        NumeroConta contaOrigem = NumeroConta.de(requestDTO.getContaOrigem());
+        NumeroConta contaDestino = NumeroConta.de(requestDTO.getContaDestino());
+        if (contaOrigem.equals(contaDestino)) {
+            throw rejeitar(MotivoRejeicao.CONTAS_IGUAIS, new IllegalArgumentException(CONTAS_IGUAIS.getMensagem()));
         }
 
-        if (!taxaCalculationContext.isTransferenciaPermitida((int) dias)) {
-            throw new TaxaCalculationException(
-                    String.format("Transferência não permitida para %d dias. Transferências são permitidas apenas entre 0 e 50 dias.", dias)
-            );
+        LocalDate hoje = calendario.hoje();
+        ResultadoTaxa resultado = cotar(requestDTO.getValorTransferencia(), requestDTO.getDataTransferencia(), hoje);
+        if (resultado.isRejeitada()) {
+            throw rejeitar(resultado.getMotivo(), excecao(resultado));
         }
 
-        BigDecimal taxa = taxaCalculationContext.calcularTaxa(requestDTO.getValorTransferencia(), (int) dias);
-
         Transferencia transferencia = new Transferencia();
-        transferencia.setContaOrigem(requestDTO.getContaOrigem());
-        transferencia.setContaDestino(requestDTO.getContaDestino());
+        transferencia.setContaOrigem(contaOrigem);
+        transferencia.setContaDestino(contaDestino);
         transferencia.setValorTransferencia(requestDTO.getValorTransferencia());
         transferencia.setDataTransferencia(requestDTO.getDataTransferencia());
-        transferencia.setDataAgendamento(LocalDate.now());
-        transferencia.setTaxaTransferencia(taxa);
+        transferencia.setDataAgendamento(hoje);
+        transferencia.setTaxaTransferencia(resultado.getTaxa());
+        return transferencia;
+    }
 
-        Transferencia savedTransferencia = transferenciaRepository.save(transferencia);
-        return new TransferenciaResponseDTO(savedTransferencia);
+    /**
+     * Cota a taxa de uma transferência sem agendá-la.
+     * Transferências recusadas pelas regras de negócio voltam como rejeição, sem exceção.
+     * @return Taxa calculada ou rejeição tipada
+     */
+
+    public ResultadoTaxa cotarTaxa(BigDecimal valorTransferencia, LocalDate dataTransferencia) {
+        ResultadoTaxa resultado = metricas.medirCotacao(() -> cotar(valorTransferencia, dataTransferencia, calendario.hoje()));
+        if (resultado.isRejeitada()) {
+            metricas.contarRejeicao(resultado.getMotivo());
+        }
+        return resultado;
     }
 
+    /**
+     * Calcula a taxa de uma transferência sem agendá-la.
+     * @throws IllegalArgumentException se os dados forem inválidos
+     * @throws TaxaCalculationException se a transferência não for permitida
+     */
+
     public BigDecimal calcularTaxaTransferencia(BigDecimal valorTransferencia, LocalDate dataTransferencia) {
-        if (valorTransferencia == null || valorTransferencia.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("Valor da transferência deve ser maior que zero");
-        }
-        if (dataTransferencia == null || dataTransferencia.isBefore(LocalDate.now())) {
-            throw new TaxaCalculationException("Data da transferência deve ser igual ou posterior à data atual");
+        ResultadoTaxa resultado = cotarTaxa(valorTransferencia, dataTransferencia);
+        if (resultado.isRejeitada()) {
+            throw excecao(resultado);
         }
+        return resultado.getTaxa();
+    }
 
-        long dias = ChronoUnit.DAYS.between(LocalDate.now(), dataTransferencia);
+    /**
+     * Converte uma rejeição na exceção correspondente, para os chamadores que tratam erros por exceção.
+     */
+
+    public static RuntimeException excecao(ResultadoTaxa rejeicao) {
+        return rejeicao.getMotivo().isErroDeTaxa()
+                ? new TaxaCalculationException(rejeicao.getMensagem())
+                : new IllegalArgumentException(rejeicao.getMensagem());
+    }
 
-        if (dias == 0 && valorTransferencia.compareTo(VALOR_MINIMO_DIA_ZERO) < 0) {
-            throw new TaxaCalculationException(
-                    String.format("Valor da transferência deve ser maior ou igual a R$ %s para transferências no mesmo dia",
-                            VALOR_MINIMO_DIA_ZERO.setScale(2, RoundingMode.HALF_UP))
-            );
+    /**
+     * Etapa única de validação e cotação, compartilhada pelo agendamento e pela cotação avulsa.
+     * Valida o valor e a data, conta os dias a partir da data atual recebida e resolve a estratégia
+     * uma única vez; a estratégia aplica apenas as regras da própria faixa (valor mínimo, faixa negada).
+     * @param hoje Data atual, lida uma única vez por requisição pelo chamador
+     */
+
+    private ResultadoTaxa cotar(BigDecimal valorTransferencia, LocalDate dataTransferencia, LocalDate hoje) {
+        if (valorTransferencia == null || valorTransferencia.signum() <= 0) {
+            return ResultadoTaxa.VALOR_INVALIDO;
         }
-        if (dias >= 1 && dias <= 10 && valorTransferencia.compareTo(VALOR_MINIMO_DIAS_1_A_10) < 0) {
-            throw new TaxaCalculationException(
-                    String.format("Valor da transferência deve ser maior ou igual a R$ %s para transferências de 1 a 10 dias",
-                            VALOR_MINIMO_DIAS_1_A_10.setScale(2, RoundingMode.HALF_UP))
-            );
+        if (dataTransferencia == null || dataTransferencia.isBefore(hoje)) {
+            return DATA_PASSADA;
         }
 
-        if (!taxaCalculationContext.isTransferenciaPermitida((int) dias)) {
-            throw new TaxaCalculationException(
-                    String.format("Transferência não permitida para %d dias. Transferências são permitidas apenas entre 0 e 50 dias.", dias)
-            );
+        int dias = (int) Math.min(ChronoUnit.DAYS.between(hoje, dataTransferencia), Integer.MAX_VALUE);
+        TaxaCalculationStrategy strategy = taxaCalculationContext.resolverStrategy(dias, hoje);
+        ResultadoTaxa resultado = strategy.cotarTaxaValidada(valorTransferencia, dias);
+        if (resultado.isCalculada()) {
+            metricas.contarCalculo(strategy.getFaixa());
         }
+        return resultado;
+    }
 
-        return taxaCalculationContext.calcularTaxa(valorTransferencia, (int) dias);
+    private RuntimeException rejeitar(MotivoRejeicao motivo, RuntimeException excecao) {
+        metricas.contarRejeicao(motivo);
+        return excecao;
     }
 
-    public List<TransferenciaResponseDTO> buscarTodasTransferencias() {
-        return transferenciaRepository.findAllByOrderByDataAgendamentoDesc()
-                .stream()
-                .map(TransferenciaResponseDTO::new)
-                .collect(Collectors.toList());
+    /**
+     * Lista as transferências paginadas por cursor, da mais recente para a mais antiga.
+     * @param cursor Cursor retornado pela página anterior, ou nulo para a primeira página
+     * @param tamanho Tamanho da página, limitado a {@value #TAMANHO_MAXIMO_PAGINA}
+     */
+
+    @Transactional(readOnly = true)
+    public PaginaTransferenciasDTO buscarTransferencias(String cursor, int tamanho) {
+        int limite = normalizarTamanhoPagina(tamanho);
+        List<TransferenciaResponseDTO> transferencias;
+        if (cursor == null || cursor.isBlank()) {
+            transferencias = transferenciaRepository.findPrimeiraPagina(Limit.of(limite + 1));
+        } else {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            transferencias = transferenciaRepository.findPaginaApos(
+                    posicao.getDataAgendamento(), posicao.getId(), Limit.of(limite + 1));
+        }
+        return montarPagina(transferencias, limite);
     }
 
+    @Transactional(readOnly = true)
     public TransferenciaResponseDTO buscarTransferenciaPorId(Long id) {
-        Transferencia transferencia = transferenciaRepository.findById(id)
+        return transferenciaRepository.findResponseById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Transferência não encontrada com ID: " + id));
-        return new TransferenciaResponseDTO(transferencia);
     }
 
-    public List<TransferenciaResponseDTO> buscarTransferenciasPorContaOrigem(String contaOrigem) {
-        return transferenciaRepository.findByContaOrigemOrderByDataAgendamentoDesc(contaOrigem)
-                .stream()
-                .map(TransferenciaResponseDTO::new)
-                .collect(Collectors.toList());
+    /**
+     * Lista as transferências de uma conta de origem paginadas por cursor.
+     * @param contaOrigem Conta de origem
+     * @param cursor Cursor retornado pela página anterior, ou nulo para a primeira página
+     * @param tamanho Tamanho da página, limitado a {@value #TAMANHO_MAXIMO_PAGINA}
+     * @throws IllegalArgumentException se a conta não tiver exatamente 10 dígitos
+     */
+
+    @Transactional(readOnly = true)
+    public PaginaTransferenciasDTO buscarTransferenciasPorContaOrigem(String contaOrigem, String cursor, int tamanho) {
+        NumeroConta conta = NumeroConta.de(contaOrigem);
+        int limite = normalizarTamanhoPagina(tamanho);
+        List<TransferenciaResponseDTO> transferencias;
+        if (cursor == null || cursor.isBlank()) {
+            transferencias = transferenciaRepository.findPrimeiraPaginaPorContaOrigem(conta, Limit.of(limite + 1));
+        } else {
+            CursorPaginacao posicao = CursorPaginacao.decodificar(cursor);
+            transferencias = transferenciaRepository.findPaginaAposPorContaOrigem(
+                    conta, posicao.getDataAgendamento(), posicao.getId(), Limit.of(limite + 1));
+        }
+        return montarPagina(transferencias, limite);
+    }
+
+    private int normalizarTamanhoPagina(int tamanho) {
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("Tamanho da página deve ser maior que zero");
+        }
+        return Math.min(tamanho, TAMANHO_MAXIMO_PAGINA);
+    }
+
+    // As consultas buscam um item além do limite apenas para saber se existe próxima página
+    private PaginaTransferenciasDTO montarPagina(List<TransferenciaResponseDTO> transferencias, int limite) {
+        boolean possuiProximaPagina = transferencias.size() > limite;
+        List<TransferenciaResponseDTO> itens = possuiProximaPagina ? transferencias.subList(0, limite) : transferencias;
+
+        String proximoCursor = possuiProximaPagina
+                ? CursorPaginacao.posicaoApos(itens.get(itens.size() - 1)).codificar()
+                : null;
+        return new PaginaTransferenciasDTO(itens, limite, proximoCursor);
     }
 }
@@ -0,0 +1,79 @@
+package com.sistema.transferencias.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Travas por conta dentro do processo, em faixas: cada número de conta cai em uma de
+ * {@code transferencias.contas.travas} travas, de modo que só movimentações de contas na mesma
+ * faixa esperam umas pelas outras, sem uma trava por conta em memória.
+ * <p>
+ * Duas contas são sempre travadas em ordem crescente de faixa, qualquer que seja a ordem
+ * origem/destino, para que A→B e B→A simultâneas não entrem em deadlock. As travas são tomadas
+ * antes da transação: quem espera não segura conexão do pool nem bloqueio de linha no banco.
+ */
+
+@Component
+public class TravasContas {
+
+    private final ReentrantLock[] travas;
+    private final int mascara;
+
+    public TravasContas(@Value("${transferencias.contas.travas:1024}") int quantidade) {
+        if (quantidade <= 0 || Integer.bitCount(quantidade) != 1) {
+            throw new IllegalStateException("Quantidade de travas de contas deve ser uma potência de 2: " + quantidade);
+        }
+        this.travas = new ReentrantLock[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            travas[i] = new ReentrantLock();
+        }
+        this.mascara = quantidade - 1;
+    }
+
+    /**
+     * Executa a operação com a conta travada.
+     */
+
+    public <T> T executar(String conta, Supplier<T> operacao) {
+        ReentrantLock trava = travas[faixa(conta)];
+        trava.lock();
+        try {
+            return operacao.get();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Executa a operação com as duas contas travadas, na ordem das faixas.
+     */
+
+    public <T> T executar(String contaOrigem, String contaDestino, Supplier<T> operacao) {
+        int faixaOrigem = faixa(contaOrigem);
+        int faixaDestino = faixa(contaDestino);
+        ReentrantLock primeira = travas[Math.min(faixaOrigem, faixaDestino)];
+        ReentrantLock segunda = travas[Math.max(faixaOrigem, faixaDestino)];
+        primeira.lock();
+        try {
+            if (segunda == primeira) {
+                return operacao.get();
+            }
+            segunda.lock();
+            try {
+                return operacao.get();
+            } finally {
+                segunda.unlock();
+            }
+        } finally {
+            primeira.unlock();
+        }
+    }
+
+    int faixa(String conta) {
+        // Mistura os bits altos do hash nos baixos, como o HashMap, antes de aplicar a máscara
+        int hash = conta.hashCode();
+        return (hash ^ (hash >>> 16)) & mascara;
+    }
+}
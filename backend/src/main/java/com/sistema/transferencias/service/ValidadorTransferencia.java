@@ -0,0 +1,97 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.model.NumeroConta;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sistema.transferencias.dto.TransferenciaRequestDTO.*;
+
+/**
+ * Validação de {@link TransferenciaRequestDTO} escrita à mão: as mesmas regras e mensagens das
+ * anotações do DTO, numa única passada pelos quatro campos, sem metadados nem reflexão.
+ * Registrada no binder do {@code TransferenciaController}, de modo que {@code @Valid} chega aqui e os
+ * erros seguem para o {@code GlobalExceptionHandler} no formato de sempre; o lote usa {@link #validar}.
+ * <p>
+ * Cada campo reporta no máximo um erro: a ausência antes do formato. A data atual é a do
+ * {@link CalendarioNegocio}, a mesma usada na cotação.
+ */
+
+@Component
+public class ValidadorTransferencia implements Validator {
+
+    private static final BigDecimal MINIMO = new BigDecimal(VALOR_MINIMO);
+
+    private final CalendarioNegocio calendario;
+
+    public ValidadorTransferencia(CalendarioNegocio calendario) {
+        this.calendario = calendario;
+    }
+
+    /**
+     * @return Mensagem por campo inválido; mapa vazio (sem alocação) quando o DTO é válido
+     */
+
+    public Map<String, String> validar(TransferenciaRequestDTO requestDTO) {
+        String contaOrigem = erroConta(requestDTO.getContaOrigem(), CONTA_ORIGEM_OBRIGATORIA, CONTA_ORIGEM_INVALIDA);
+        String contaDestino = erroConta(requestDTO.getContaDestino(), CONTA_DESTINO_OBRIGATORIA, CONTA_DESTINO_INVALIDA);
+        String valor = erroValor(requestDTO.getValorTransferencia());
+        String data = erroData(requestDTO.getDataTransferencia());
+        if (contaOrigem == null && contaDestino == null && valor == null && data == null) {
+            return Map.of();
+        }
+
+        Map<String, String> errors = new HashMap<>();
+        adicionar(errors, "contaOrigem", contaOrigem);
+        adicionar(errors, "contaDestino", contaDestino);
+        adicionar(errors, "valorTransferencia", valor);
+        adicionar(errors, "dataTransferencia", data);
+        return errors;
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return TransferenciaRequestDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validar((TransferenciaRequestDTO) target).forEach((campo, mensagem) -> errors.rejectValue(campo, "Invalido", mensagem));
+    }
+
+    // @NotBlank seguido de @NumeroContaValido
+    private static String erroConta(String conta, String obrigatoria, String invalida) {
+        if (conta == null || conta.isBlank()) {
+            return obrigatoria;
+        }
+        return NumeroConta.isValido(conta) ? null : invalida;
+    }
+
+    // @NotNull seguido de @DecimalMin(VALOR_MINIMO)
+    private static String erroValor(BigDecimal valor) {
+        if (valor == null) {
+            return VALOR_OBRIGATORIO;
+        }
+        return valor.compareTo(MINIMO) < 0 ? VALOR_INVALIDO : null;
+    }
+
+    // @NotNull seguido de @FutureOrPresent
+    private String erroData(LocalDate data) {
+        if (data == null) {
+            return DATA_OBRIGATORIA;
+        }
+        return data.isBefore(calendario.hoje()) ? DATA_PASSADA : null;
+    }
+
+    private static void adicionar(Map<String, String> errors, String campo, String mensagem) {
+        if (mensagem != null) {
+            errors.put(campo, mensagem);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sistema.transferencias.strategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Motor de cálculo de taxa em aritmética de ponto fixo.
+ * Os valores são mantidos em centavos ({@code long}) e as taxas percentuais em
+ * pontos-base (1 ponto-base = 0,01%), de modo que o cálculo não aloca objetos.
+ * O arredondamento é HALF_UP na segunda casa decimal, idêntico ao
+ * {@code setScale(2, RoundingMode.HALF_UP)} usado pelas estratégias em {@link BigDecimal}.
+ */
+
+public final class CalculadoraTaxaCentavos {
+
+    static final long PONTOS_BASE_POR_UNIDADE = 10_000L;
+    private static final long METADE_PONTOS_BASE = PONTOS_BASE_POR_UNIDADE / 2;
+
+    // Limita os dígitos inteiros para que centavos x pontos-base nunca exceda um long
+    private static final int DIGITOS_INTEIROS_MAXIMOS = 12;
+
+    private CalculadoraTaxaCentavos() {
+    }
+
+    /**
+     * Aplica uma taxa percentual, em pontos-base, sobre um valor em centavos.
+     * @return Taxa em centavos arredondada HALF_UP
+     * @throws ArithmeticException se o produto exceder a capacidade de um long
+     */
+
+    public static long aplicarPercentual(long valorCentavos, int pontosBase) {
+        long produto = Math.multiplyExact(valorCentavos, (long) pontosBase);
+        if (produto >= 0) {
+            return (produto + METADE_PONTOS_BASE) / PONTOS_BASE_POR_UNIDADE;
+        }
+        return -((-produto + METADE_PONTOS_BASE) / PONTOS_BASE_POR_UNIDADE);
+    }
+
+    /**
+     * Aplica uma taxa percentual, em pontos-base, sobre um valor em {@link BigDecimal}.
+     * Valores representáveis em centavos seguem pelo cálculo em {@code long}; valores com
+     * frações de centavo ou grandes demais caem no cálculo em {@link BigDecimal}.
+     * @return Taxa com escala 2
+     */
+
+    public static BigDecimal aplicarPercentual(BigDecimal valor, int pontosBase) {
+        if (isRepresentavelEmCentavos(valor)) {
+            return paraBigDecimal(aplicarPercentual(paraCentavos(valor), pontosBase));
+        }
+        return valor.multiply(BigDecimal.valueOf(pontosBase, 4)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Verifica se o valor pode ser convertido para centavos sem perda.
+     */
+
+    public static boolean isRepresentavelEmCentavos(BigDecimal valor) {
+        if (valor.precision() - valor.scale() > DIGITOS_INTEIROS_MAXIMOS) {
+            return false;
+        }
+        return valor.scale() <= 2 || valor.stripTrailingZeros().scale() <= 2;
+    }
+
+    /**
+     * Converte um valor monetário para centavos.
+     * @throws ArithmeticException se o valor tiver frações de centavo
+     */
+
+    public static long paraCentavos(BigDecimal valor) {
+        return valor.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Converte centavos para {@link BigDecimal} com escala 2.
+     */
+
+    public static BigDecimal paraBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
@@ -0,0 +1,206 @@
+package com.sistema.transferencias.strategy;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carrega a tabela de faixas de taxa do arquivo YAML configurado em {@code transferencias.taxas.arquivo}
+ * e a publica no {@link TaxaCalculationContext}.
+ * O arquivo é verificado periodicamente; quando muda, a nova tabela é lida e compilada
+ * fora do caminho das cotações e trocada de uma só vez, sem reiniciar a aplicação.
+ * Uma tabela inválida falha a inicialização; numa recarga, é recusada e a tabela vigente continua em uso.
+ */
+
+@Component
+public class CarregadorTabelaTaxas {
+
+    private final TaxaCalculationContext taxaCalculationContext;
+    private final Resource arquivo;
+
+    private volatile long ultimaModificacao;
+
+    public CarregadorTabelaTaxas(TaxaCalculationContext taxaCalculationContext,
+                                 @Value("${transferencias.taxas.arquivo:classpath:faixas-taxa.yml}") Resource arquivo) {
+        this.taxaCalculationContext = taxaCalculationContext;
+        this.arquivo = arquivo;
+    }
+
+    @PostConstruct
+    public void carregar() {
+        recarregar();
+    }
+
+    /**
+     * Lê o arquivo e publica a tabela.
+     * @throws IllegalStateException se o arquivo não puder ser lido ou a tabela for inválida
+     */
+
+    public TabelaTaxas recarregar() {
+        ultimaModificacao = ultimaModificacao();
+        TabelaTaxas tabela = ler(arquivo);
+        taxaCalculationContext.atualizarTabela(tabela);
+        return tabela;
+    }
+
+    /**
+     * Recarrega a tabela se o arquivo mudou desde a última leitura.
+     * A data de modificação é registrada antes da leitura, de modo que um arquivo inválido
+     * só é lido de novo depois de corrigido.
+     */
+
+    @Scheduled(fixedDelayString = "${transferencias.taxas.intervalo-verificacao:PT30S}",
+            initialDelayString = "${transferencias.taxas.intervalo-verificacao:PT30S}")
+    public void recarregarSeAlterado() {
+        if (ultimaModificacao() != ultimaModificacao) {
+            recarregar();
+        }
+    }
+
+    private long ultimaModificacao() {
+        try {
+            return arquivo.lastModified();
+        } catch (IOException e) {
+            return ultimaModificacao;
+        }
+    }
+
+    /**
+     * Lê e compila a tabela de taxas de um arquivo YAML.
+     * @throws IllegalStateException se o arquivo não puder ser lido ou a tabela for inválida
+     */
+
+    public static TabelaTaxas ler(Resource arquivo) {
+        List<PropertySource<?>> fontes;
+        try {
+            fontes = new YamlPropertySourceLoader().load(arquivo.getDescription(), arquivo);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ler a tabela de taxas: " + arquivo.getDescription(), e);
+        }
+
+        Binder binder = new Binder(ConfigurationPropertySources.from(fontes), null,
+                ApplicationConversionService.getSharedInstance());
+        List<Vigencia> vigencias = binder.bind("vigencias", Bindable.listOf(Vigencia.class))
+                .orElseThrow(() -> new IllegalStateException(
+                        "Tabela de taxas sem vigências: " + arquivo.getDescription()));
+
+        Map<LocalDate, List<TaxaCalculationStrategy>> versoes = new HashMap<>();
+        for (Vigencia vigencia : vigencias) {
+            if (vigencia.getVigenteDesde() == null) {
+                throw new IllegalStateException("Vigência sem data de início: " + arquivo.getDescription());
+            }
+            if (versoes.put(vigencia.getVigenteDesde(), vigencia.paraStrategies()) != null) {
+                throw new IllegalStateException("Vigência duplicada: " + vigencia.getVigenteDesde());
+            }
+        }
+        return TabelaTaxas.compilar(versoes);
+    }
+
+    /**
+     * Vigência da tabela: faixas válidas a partir de uma data.
+     */
+
+    public static class Vigencia {
+
+        private LocalDate vigenteDesde;
+        private List<Faixa> faixas = new ArrayList<>();
+
+        public LocalDate getVigenteDesde() {
+            return vigenteDesde;
+        }
+
+        public void setVigenteDesde(LocalDate vigenteDesde) {
+            this.vigenteDesde = vigenteDesde;
+        }
+
+        public List<Faixa> getFaixas() {
+            return faixas;
+        }
+
+        public void setFaixas(List<Faixa> faixas) {
+            this.faixas = faixas;
+        }
+
+        private List<TaxaCalculationStrategy> paraStrategies() {
+            List<TaxaCalculationStrategy> strategies = new ArrayList<>(faixas.size());
+            for (Faixa faixa : faixas) {
+                try {
+                    strategies.add(new TaxaFaixaStrategy(faixa.getDiasMin(), faixa.getDiasMax(),
+                            faixa.getTaxaPercentual(), faixa.getValorMinimo(), faixa.isPermitida()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException(
+                            String.format("Faixa inválida na vigência de %s: %s", vigenteDesde, e.getMessage()), e);
+                }
+            }
+            return strategies;
+        }
+    }
+
+    /**
+     * Faixa de dias da tabela, como escrita no arquivo.
+     */
+
+    public static class Faixa {
+
+        private int diasMin;
+        private int diasMax;
+        private BigDecimal taxaPercentual = BigDecimal.ZERO;
+        private BigDecimal valorMinimo = BigDecimal.ZERO;
+        private boolean permitida = true;
+
+        public int getDiasMin() {
+            return diasMin;
+        }
+
+        public void setDiasMin(int diasMin) {
+            this.diasMin = diasMin;
+        }
+
+        public int getDiasMax() {
+            return diasMax;
+        }
+
+        public void setDiasMax(int diasMax) {
+            this.diasMax = diasMax;
+        }
+
+        public BigDecimal getTaxaPercentual() {
+            return taxaPercentual;
+        }
+
+        public void setTaxaPercentual(BigDecimal taxaPercentual) {
+            this.taxaPercentual = taxaPercentual;
+        }
+
+        public BigDecimal getValorMinimo() {
+            return valorMinimo;
+        }
+
+        public void setValorMinimo(BigDecimal valorMinimo) {
+            this.valorMinimo = valorMinimo;
+        }
+
+        public boolean isPermitida() {
+            return permitida;
+        }
+
+        public void setPermitida(boolean permitida) {
+            this.permitida = permitida;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sistema.transferencias.strategy;
+
+/**
+ * Motivos pelos quais uma transferência ou cotação é recusada,
+ * usados como tag da métrica de rejeições.
+ * Os motivos de taxa correspondem a {@code TaxaCalculationException} ("Erro no cálculo da taxa");
+ * os demais, a {@code IllegalArgumentException} ("Argumento inválido").
+ */
+
+public enum MotivoRejeicao {
+
+    DADOS_AUSENTES("dados_ausentes", false),
+    CONTAS_IGUAIS("contas_iguais", false),
+    VALOR_INVALIDO("valor_invalido", false),
+    DATA_PASSADA("data_passada", true),
+    VALOR_MINIMO("valor_minimo", true),
+    FORA_DA_JANELA("fora_da_janela", true),
+    FAIXA_NAO_PERMITIDA("faixa_nao_permitida", false);
+
+    private final String tag;
+    private final boolean erroDeTaxa;
+
+    MotivoRejeicao(String tag, boolean erroDeTaxa) {
+        this.tag = tag;
+        this.erroDeTaxa = erroDeTaxa;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public boolean isErroDeTaxa() {
+        return erroDeTaxa;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sistema.transferencias.strategy;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado de uma cotação de taxa: a taxa calculada ou a rejeição tipada pelo motivo.
+ * Transferências recusadas pelas regras de negócio são um resultado esperado da cotação,
+ * não uma falha; por isso são devolvidas como valor, sem o custo de montar uma exceção.
+ * Rejeições com mensagem fixa podem ser compartilhadas, pois o resultado é imutável.
+ */
+
+public final class ResultadoTaxa {
+
+    public static final ResultadoTaxa VALOR_INVALIDO =
+            rejeitada(MotivoRejeicao.VALOR_INVALIDO, "Valor da transferência deve ser maior que zero");
+
+    private final BigDecimal taxa;
+    private final MotivoRejeicao motivo;
+    private final String mensagem;
+
+    private ResultadoTaxa(BigDecimal taxa, MotivoRejeicao motivo, String mensagem) {
+        this.taxa = taxa;
+        this.motivo = motivo;
+        this.mensagem = mensagem;
+    }
+
+    public static ResultadoTaxa calculada(BigDecimal taxa) {
+        return new ResultadoTaxa(taxa, null, null);
+    }
+
+    public static ResultadoTaxa rejeitada(MotivoRejeicao motivo, String mensagem) {
+        return new ResultadoTaxa(null, motivo, mensagem);
+    }
+
+    public boolean isCalculada() {
+        return motivo == null;
+    }
+
+    public boolean isRejeitada() {
+        return motivo != null;
+    }
+
+    /**
+     * @return Taxa calculada, ou nulo se a cotação foi rejeitada
+     */
+
+    public BigDecimal getTaxa() {
+        return taxa;
+    }
+
+    /**
+     * @return Motivo da rejeição, ou nulo se a taxa foi calculada
+     */
+
+    public MotivoRejeicao getMotivo() {
+        return motivo;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    @Override
+    public String toString() {
+        return isCalculada()
+                ? "ResultadoTaxa{taxa=" + taxa + '}'
+                : "ResultadoTaxa{motivo=" + motivo + ", mensagem='" + mensagem + "'}";
+    }
+}
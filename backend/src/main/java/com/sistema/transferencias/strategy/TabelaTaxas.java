@@ -0,0 +1,227 @@
+package com.sistema.transferencias.strategy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tabela de faixas de taxa compilada para consulta: para cada vigência, um array dia → estratégia.
+ * É imutável depois de compilada, de modo que pode ser lida sem sincronização e trocada
+ * inteira no {@link TaxaCalculationContext} quando a configuração muda.
+ * A vigência aplicada é a mais recente cuja data de início é igual ou anterior à data consultada.
+ */
+
+public final class TabelaTaxas {
+
+    /**
+     * Maior número de dias que uma faixa pode cobrir.
+     */
+
+    public static final int DIAS_MAXIMO = 365;
+
+    static final String FAIXA_NAO_PERMITIDA = "NaoPermitida";
+
+    /**
+     * Sentinela para os dias sem estratégia aplicável (transferência não permitida).
+     * Não conhece o limite da tabela; usado onde não há vigência para informá-lo.
+     */
+
+    static final TaxaCalculationStrategy NAO_PERMITIDA = new ForaDaJanela(-1);
+
+    private final LocalDate[] vigencias;
+    private final TaxaCalculationStrategy[][] strategiesPorDia;
+    private final TaxaCalculationStrategy[] foraDaJanela;
+    private final List<List<TaxaCalculationStrategy>> strategies;
+
+    private TabelaTaxas(LocalDate[] vigencias, TaxaCalculationStrategy[][] strategiesPorDia,
+                        List<List<TaxaCalculationStrategy>> strategies) {
+        this.vigencias = vigencias;
+        this.strategiesPorDia = strategiesPorDia;
+        this.strategies = strategies;
+        this.foraDaJanela = new TaxaCalculationStrategy[strategiesPorDia.length];
+        for (int indice = 0; indice < strategiesPorDia.length; indice++) {
+            foraDaJanela[indice] = new ForaDaJanela(strategiesPorDia[indice].length - 1);
+        }
+    }
+
+    /**
+     * Tabela sem faixas: toda transferência é recusada até que uma tabela seja carregada.
+     */
+
+    public static TabelaTaxas vazia() {
+        return new TabelaTaxas(new LocalDate[0], new TaxaCalculationStrategy[0][], List.of());
+    }
+
+    /**
+     * Compila as vigências informadas, validando as faixas de cada uma.
+     * @param versoes Estratégias de cada vigência, pela data de início
+     * @throws IllegalStateException se a configuração das estratégias for inconsistente
+     */
+
+    public static TabelaTaxas compilar(Map<LocalDate, List<TaxaCalculationStrategy>> versoes) {
+        TreeMap<LocalDate, List<TaxaCalculationStrategy>> ordenadas = new TreeMap<>(versoes);
+        LocalDate[] vigencias = new LocalDate[ordenadas.size()];
+        TaxaCalculationStrategy[][] strategiesPorDia = new TaxaCalculationStrategy[ordenadas.size()][];
+        List<List<TaxaCalculationStrategy>> strategies = new ArrayList<>(ordenadas.size());
+
+        int indice = 0;
+        for (Map.Entry<LocalDate, List<TaxaCalculationStrategy>> versao : ordenadas.entrySet()) {
+            vigencias[indice] = versao.getKey();
+            strategiesPorDia[indice] = montarTabela(versao.getValue());
+            strategies.add(List.copyOf(versao.getValue()));
+            indice++;
+        }
+        return new TabelaTaxas(vigencias, strategiesPorDia, Collections.unmodifiableList(strategies));
+    }
+
+    /**
+     * Resolve a estratégia da vigência em vigor na data para o número de dias.
+     * Fora das faixas, devolve um sentinela que rejeita a cotação com o limite da vigência
+     * ({@link MotivoRejeicao#FORA_DA_JANELA}) e não é aplicável a nenhum dia.
+     */
+
+    TaxaCalculationStrategy resolver(int diasParaTransferencia, LocalDate data) {
+        int indice = indiceVigencia(data);
+        if (indice < 0) {
+            return NAO_PERMITIDA;
+        }
+        TaxaCalculationStrategy[] porDia = strategiesPorDia[indice];
+        if (diasParaTransferencia < 0 || diasParaTransferencia >= porDia.length) {
+            return foraDaJanela[indice];
+        }
+        return porDia[diasParaTransferencia];
+    }
+
+    /**
+     * Maior número de dias coberto pela vigência em vigor na data.
+     * @return Último dia com estratégia aplicável, ou -1 se não houver faixas vigentes
+     */
+
+    int getDiasMaximo(LocalDate data) {
+        int indice = indiceVigencia(data);
+        return indice < 0 ? -1 : strategiesPorDia[indice].length - 1;
+    }
+
+    /**
+     * Estratégias da vigência em vigor na data, na ordem em que foram configuradas.
+     */
+
+    public List<TaxaCalculationStrategy> getStrategies(LocalDate data) {
+        int indice = indiceVigencia(data);
+        return indice < 0 ? List.of() : strategies.get(indice);
+    }
+
+    public List<LocalDate> getVigencias() {
+        return List.of(vigencias);
+    }
+
+    // Poucas vigências por tabela; a busca linear a partir da mais recente termina, em geral, na primeira
+    private int indiceVigencia(LocalDate data) {
+        for (int indice = vigencias.length - 1; indice >= 0; indice--) {
+            if (!vigencias[indice].isAfter(data)) {
+                return indice;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Monta a tabela dia → estratégia de uma vigência, até o último dia coberto.
+     * Falha se duas estratégias disputarem o mesmo dia, se houver lacuna entre os dias
+     * cobertos ou se alguma estratégia se declarar aplicável fora de 0 a {@value #DIAS_MAXIMO} dias.
+     */
+
+    private static TaxaCalculationStrategy[] montarTabela(List<TaxaCalculationStrategy> strategies) {
+        TaxaCalculationStrategy[] tabela = new TaxaCalculationStrategy[DIAS_MAXIMO + 1];
+        Arrays.fill(tabela, NAO_PERMITIDA);
+
+        for (TaxaCalculationStrategy strategy : strategies) {
+            if (strategy.isAplicavel(-1) || strategy.isAplicavel(DIAS_MAXIMO + 1)) {
+                throw new IllegalStateException(String.format(
+                        "Estratégia '%s' é aplicável fora do intervalo de 0 a %d dias",
+                        strategy.getDescricao(), DIAS_MAXIMO));
+            }
+            for (int dias = 0; dias <= DIAS_MAXIMO; dias++) {
+                if (!strategy.isAplicavel(dias)) {
+                    continue;
+                }
+                if (tabela[dias] != NAO_PERMITIDA) {
+                    throw new IllegalStateException(String.format(
+                            "Sobreposição de estratégias para %d dias: '%s' e '%s'",
+                            dias, tabela[dias].getDescricao(), strategy.getDescricao()));
+                }
+                tabela[dias] = strategy;
+            }
+        }
+
+        int primeiroDia = -1;
+        int ultimoDia = -1;
+        for (int dias = 0; dias <= DIAS_MAXIMO; dias++) {
+            if (tabela[dias] != NAO_PERMITIDA) {
+                if (primeiroDia < 0) {
+                    primeiroDia = dias;
+                }
+                ultimoDia = dias;
+            }
+        }
+        for (int dias = primeiroDia + 1; dias < ultimoDia; dias++) {
+            if (tabela[dias] == NAO_PERMITIDA) {
+                throw new IllegalStateException(String.format(
+                        "Lacuna na tabela de estratégias: nenhuma estratégia aplicável para %d dias", dias));
+            }
+        }
+
+        return Arrays.copyOf(tabela, ultimoDia + 1);
+    }
+
+    /**
+     * Estratégia dos dias fora das faixas de uma vigência: sempre recusa a transferência.
+     */
+
+    private static final class ForaDaJanela implements TaxaCalculationStrategy {
+
+        private final int diasMaximo;
+
+        private ForaDaJanela(int diasMaximo) {
+            this.diasMaximo = diasMaximo;
+        }
+
+        @Override
+        public ResultadoTaxa cotarTaxa(BigDecimal valorTransferencia, int diasParaTransferencia) {
+            return ResultadoTaxa.rejeitada(MotivoRejeicao.FORA_DA_JANELA, mensagem(diasParaTransferencia));
+        }
+
+        @Override
+        public long calcularTaxaCentavos(long valorCentavosTransferencia, int diasParaTransferencia) {
+            throw new IllegalArgumentException(mensagem(diasParaTransferencia));
+        }
+
+        private String mensagem(int diasParaTransferencia) {
+            if (diasMaximo < 0) {
+                return "Não há faixas de taxa vigentes; transferências não são permitidas.";
+            }
+            return String.format("Transferência não permitida para %d dias. " +
+                    "Transferências são permitidas apenas entre 0 e %d dias.", diasParaTransferencia, diasMaximo);
+        }
+
+        @Override
+        public boolean isAplicavel(int diasParaTransferencia) {
+            return false;
+        }
+
+        @Override
+        public String getDescricao() {
+            return "Transferência não permitida";
+        }
+
+        @Override
+        public String getFaixa() {
+            return FAIXA_NAO_PERMITIDA;
+        }
+    }
+}
@@ -1,72 +1,145 @@
 package com.sistema.transferencias.strategy;
 
+import com.sistema.transferencias.config.CalendarioNegocio;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Contexto do padrão Strategy para cálculo de taxa de transferência.
  * Esta classe é responsável por selecionar a estratégia apropriada
  * baseada no número de dias para transferência e delegar o cálculo.
+ * As estratégias vêm de uma {@link TabelaTaxas} compilada, publicada pelo
+ * {@link CarregadorTabelaTaxas}; cada consulta lê a referência atual uma única vez
+ * e faz uma leitura de array, sem bloqueio, mesmo durante a troca da tabela.
  */
 
 @Component
 public class TaxaCalculationContext {
-    
-    private final List<TaxaCalculationStrategy> strategies;
-    
+
+    static final String FAIXA_NAO_PERMITIDA = TabelaTaxas.FAIXA_NAO_PERMITIDA;
+
+    private final AtomicReference<TabelaTaxas> tabela;
+    private final CalendarioNegocio calendario;
+
+    /**
+     * Cria o contexto sem faixas; a tabela é publicada pelo carregador na inicialização.
+     */
+
     @Autowired
+    public TaxaCalculationContext(CalendarioNegocio calendario) {
+        this(TabelaTaxas.vazia(), calendario);
+    }
+
+    /**
+     * Cria o contexto com uma única vigência, válida para qualquer data.
+     * @throws IllegalStateException se a configuração das estratégias for inconsistente
+     */
+
     public TaxaCalculationContext(List<TaxaCalculationStrategy> strategies) {
-        this.strategies = strategies;
+        this(TabelaTaxas.compilar(Map.of(LocalDate.MIN, strategies)));
+    }
+
+    public TaxaCalculationContext(TabelaTaxas tabela) {
+        this(tabela, CalendarioNegocio.sistema());
     }
-    
+
+    public TaxaCalculationContext(TabelaTaxas tabela, CalendarioNegocio calendario) {
+        this.tabela = new AtomicReference<>(tabela);
+        this.calendario = calendario;
+    }
+
+    /**
+     * Publica uma nova tabela de taxas; as cotações seguintes já a utilizam.
+     */
+
+    public void atualizarTabela(TabelaTaxas novaTabela) {
+        tabela.set(novaTabela);
+    }
+
+    public TabelaTaxas getTabela() {
+        return tabela.get();
+    }
+
+    /**
+     * Resolve, em uma única consulta à tabela, a estratégia da vigência em vigor na data de referência.
+     * Fora das faixas, devolve uma estratégia que rejeita a cotação ({@link MotivoRejeicao#FORA_DA_JANELA})
+     * e não é aplicável a nenhum dia.
+     * @param dataReferencia Data atual da cotação, que define a vigência
+     */
+
+    public TaxaCalculationStrategy resolverStrategy(int diasParaTransferencia, LocalDate dataReferencia) {
+        return tabela.get().resolver(diasParaTransferencia, dataReferencia);
+    }
+
+    /**
+     * Cota a taxa de transferência usando a estratégia apropriada.
+     * @return Taxa calculada ou rejeição (inclusive quando não há estratégia para os dias)
+     */
+
+    public ResultadoTaxa cotarTaxa(BigDecimal valorTransferencia, int diasParaTransferencia) {
+        return findStrategy(diasParaTransferencia).cotarTaxa(valorTransferencia, diasParaTransferencia);
+    }
+
     /**
      * Calcula a taxa de transferência usando a estratégia apropriada.
      * @throws IllegalArgumentException se não houver estratégia aplicável
      */
 
     public BigDecimal calcularTaxa(BigDecimal valorTransferencia, int diasParaTransferencia) {
-        TaxaCalculationStrategy strategy = findStrategy(diasParaTransferencia);
-        
-        if (strategy == null) {
-            throw new IllegalArgumentException(
-                String.format("Não é possível calcular a taxa para transferência em %d dias. " +
-                             "Transferências são permitidas apenas entre 0 e 50 dias.", 
-                             diasParaTransferencia)
-            );
-        }
-        
-        return strategy.calcularTaxa(valorTransferencia, diasParaTransferencia);
+        return findStrategy(diasParaTransferencia).calcularTaxa(valorTransferencia, diasParaTransferencia);
     }
-    
+
     /**
-     * Encontra a estratégia aplicável para o número de dias informado.
-     * @return Estratégia aplicável ou null se não encontrada
+     * Calcula a taxa de transferência em centavos usando a estratégia apropriada.
+     * @throws IllegalArgumentException se não houver estratégia aplicável
      */
 
+    public long calcularTaxaCentavos(long valorCentavosTransferencia, int diasParaTransferencia) {
+        return findStrategy(diasParaTransferencia).calcularTaxaCentavos(valorCentavosTransferencia, diasParaTransferencia);
+    }
+
     private TaxaCalculationStrategy findStrategy(int diasParaTransferencia) {
-        return strategies.stream()
-                .filter(strategy -> strategy.isAplicavel(diasParaTransferencia))
-                .findFirst()
-                .orElse(null);
+        return resolverStrategy(diasParaTransferencia, calendario.hoje());
     }
-    
+
 
      // Verifica se existe uma estratégia aplicável para o número de dias.
 
 
     public boolean isTransferenciaPermitida(int diasParaTransferencia) {
-        return findStrategy(diasParaTransferencia) != null;
+        return findStrategy(diasParaTransferencia).isAplicavel(diasParaTransferencia);
+    }
+
+    /**
+     * Maior número de dias coberto pela tabela vigente.
+     * @return Último dia com estratégia aplicável, ou -1 se não houver faixas vigentes
+     */
+
+    public int getDiasMaximo() {
+        return tabela.get().getDiasMaximo(calendario.hoje());
     }
-    
+
+    /**
+     * Nome da faixa aplicável ao número de dias, usado como tag de métricas.
+     * @return Faixa da estratégia, ou {@code NaoPermitida} fora das faixas
+     */
+
+    public String getFaixa(int diasParaTransferencia) {
+        return findStrategy(diasParaTransferencia).getFaixa();
+    }
+
     /**
-     * Retorna todas as estratégias disponíveis para fins de documentação.
+     * Retorna as estratégias vigentes para fins de documentação.
      * @return Lista de descrições das estratégias
      */
 
     public List<String> getDescricoesEstrategias() {
-        return strategies.stream()
+        return tabela.get().getStrategies(calendario.hoje()).stream()
                 .map(TaxaCalculationStrategy::getDescricao)
                 .toList();
     }
@@ -12,12 +12,59 @@ import java.math.BigDecimal;
 
 public interface TaxaCalculationStrategy {
     
+    /**
+     * Cota a taxa de transferência baseada no valor e número de dias.
+     * Valores recusados pelas regras da faixa são devolvidos como rejeição, não como exceção.
+     * @return Taxa calculada ou rejeição tipada
+     * @throws IllegalArgumentException se a estratégia não for aplicável para o número de dias
+     */
+
+    ResultadoTaxa cotarTaxa(BigDecimal valorTransferencia, int diasParaTransferencia);
+
+    /**
+     * Cota a taxa de um valor já validado como positivo, para um número de dias ao qual
+     * a estratégia foi resolvida pela tabela, sem repetir essas verificações.
+     * Usado pelo pipeline de cotação do service, que valida a entrada uma única vez.
+     * @return Taxa calculada ou rejeição tipada
+     */
+
+    default ResultadoTaxa cotarTaxaValidada(BigDecimal valorTransferencia, int diasParaTransferencia) {
+        return cotarTaxa(valorTransferencia, diasParaTransferencia);
+    }
+
     /**
      * Calcula a taxa de transferência baseada no valor e número de dias.
+     * @throws IllegalArgumentException se os parâmetros forem inválidos ou a cotação for rejeitada
+     */
+
+    default BigDecimal calcularTaxa(BigDecimal valorTransferencia, int diasParaTransferencia) {
+        ResultadoTaxa resultado = cotarTaxa(valorTransferencia, diasParaTransferencia);
+        if (resultado.isRejeitada()) {
+            throw new IllegalArgumentException(resultado.getMensagem());
+        }
+        return resultado.getTaxa();
+    }
+
+    /**
+     * Calcula a taxa de transferência em centavos, sem alocar {@link BigDecimal}.
+     * Deve produzir o mesmo resultado que {@link #calcularTaxa(BigDecimal, int)}.
      * @throws IllegalArgumentException se os parâmetros forem inválidos
      */
 
-    BigDecimal calcularTaxa(BigDecimal valorTransferencia, int diasParaTransferencia);
+    long calcularTaxaCentavos(long valorCentavosTransferencia, int diasParaTransferencia);
+
+    /**
+     * Aplica as regras da faixa a um valor em centavos já validado como positivo, sem calcular a taxa.
+     * Usado pela leitura de remessas, que calcula a taxa com {@link #calcularTaxaCentavos} só quando
+     * a transferência é aceita, sem alocar nem lançar exceção por linha.
+     * @return Rejeição da faixa, ou nulo se a taxa pode ser calculada
+     */
+
+    default ResultadoTaxa validarCentavos(long valorCentavosTransferencia, int diasParaTransferencia) {
+        ResultadoTaxa resultado = cotarTaxaValidada(
+                CalculadoraTaxaCentavos.paraBigDecimal(valorCentavosTransferencia), diasParaTransferencia);
+        return resultado.isRejeitada() ? resultado : null;
+    }
     
     /**
      * Verifica se esta estratégia é aplicável para o número de dias informado.
@@ -28,5 +75,14 @@ public interface TaxaCalculationStrategy {
 
 
     String getDescricao();
+
+    /**
+     * Nome da faixa de dias atendida pela estratégia, usado como tag de métricas.
+     * @return Por padrão, o nome simples da classe da estratégia
+     */
+
+    default String getFaixa() {
+        return getClass().getSimpleName();
+    }
 }
 
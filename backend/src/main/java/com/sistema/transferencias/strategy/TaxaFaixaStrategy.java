@@ -0,0 +1,183 @@
+package com.sistema.transferencias.strategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Estratégia de cálculo de taxa para uma faixa de dias definida na tabela de taxas.
+ * Regra: taxa percentual sobre o valor da transferência, exigindo um valor mínimo de transferência.
+ * Faixas não permitidas recusam a transferência mesmo quando o valor mínimo é atendido.
+ * Todos os parâmetros vêm da configuração ({@link CarregadorTabelaTaxas}); as rejeições
+ * são montadas uma única vez na criação da faixa.
+ */
+
+public final class TaxaFaixaStrategy implements TaxaCalculationStrategy {
+
+    private final int diasMin;
+    private final int diasMax;
+    private final int taxaPontosBase;
+    private final BigDecimal valorMinimo;
+    private final long valorMinimoCentavos;
+    private final boolean exigeValorMinimo;
+    private final boolean permitida;
+
+    private final ResultadoTaxa abaixoDoMinimo;
+    private final ResultadoTaxa negada;
+    private final String descricao;
+
+    /**
+     * @param taxaPercentual Taxa em percentual (ex.: 8.2 para 8,2%), com no máximo duas casas decimais
+     * @param valorMinimo Valor mínimo da transferência na faixa, com no máximo duas casas decimais
+     * @param permitida false para faixas em que a transferência é sempre recusada
+     * @throws IllegalArgumentException se os parâmetros forem inválidos
+     */
+
+    public TaxaFaixaStrategy(int diasMin, int diasMax, BigDecimal taxaPercentual, BigDecimal valorMinimo, boolean permitida) {
+        if (diasMin < 0 || diasMax < diasMin) {
+            throw new IllegalArgumentException(
+                    String.format("Faixa de dias inválida: %d a %d", diasMin, diasMax));
+        }
+        if (taxaPercentual == null || taxaPercentual.signum() < 0 || taxaPercentual.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException(
+                    "Taxa percentual deve ser positiva e ter no máximo duas casas decimais: " + taxaPercentual);
+        }
+        if (valorMinimo == null || valorMinimo.signum() < 0 || !CalculadoraTaxaCentavos.isRepresentavelEmCentavos(valorMinimo)) {
+            throw new IllegalArgumentException(
+                    "Valor mínimo deve ser positivo e representável em centavos: " + valorMinimo);
+        }
+
+        this.diasMin = diasMin;
+        this.diasMax = diasMax;
+        this.taxaPontosBase = taxaPercentual.movePointRight(2).intValueExact();
+        this.valorMinimo = valorMinimo.setScale(2, RoundingMode.HALF_UP);
+        this.valorMinimoCentavos = CalculadoraTaxaCentavos.paraCentavos(valorMinimo);
+        this.exigeValorMinimo = valorMinimo.signum() > 0;
+        this.permitida = permitida;
+
+        this.abaixoDoMinimo = ResultadoTaxa.rejeitada(MotivoRejeicao.VALOR_MINIMO,
+                String.format("Valor da transferência deve ser maior ou igual a R$ %s para transferências %s",
+                        this.valorMinimo, intervalo()));
+        this.negada = ResultadoTaxa.rejeitada(MotivoRejeicao.FAIXA_NAO_PERMITIDA,
+                "Transferência negada, não há taxa percentual aplicável para esta data");
+        this.descricao = montarDescricao(taxaPercentual);
+    }
+
+    @Override
+    public ResultadoTaxa cotarTaxa(BigDecimal valorTransferencia, int diasParaTransferencia) {
+        if (valorTransferencia == null || valorTransferencia.signum() <= 0) {
+            return ResultadoTaxa.VALOR_INVALIDO;
+        }
+
+        if (!isAplicavel(diasParaTransferencia)) {
+            throw new IllegalArgumentException("Esta estratégia não é aplicável para " + diasParaTransferencia + " dias");
+        }
+
+        return cotarTaxaValidada(valorTransferencia, diasParaTransferencia);
+    }
+
+    @Override
+    public ResultadoTaxa cotarTaxaValidada(BigDecimal valorTransferencia, int diasParaTransferencia) {
+        if (exigeValorMinimo && valorTransferencia.compareTo(valorMinimo) < 0) {
+            return abaixoDoMinimo;
+        }
+
+        if (!permitida) {
+            return negada;
+        }
+
+        return ResultadoTaxa.calculada(CalculadoraTaxaCentavos.aplicarPercentual(valorTransferencia, taxaPontosBase));
+    }
+
+    @Override
+    public long calcularTaxaCentavos(long valorCentavosTransferencia, int diasParaTransferencia) {
+        if (valorCentavosTransferencia <= 0) {
+            throw new IllegalArgumentException(ResultadoTaxa.VALOR_INVALIDO.getMensagem());
+        }
+
+        if (valorCentavosTransferencia < valorMinimoCentavos) {
+            throw new IllegalArgumentException(abaixoDoMinimo.getMensagem());
+        }
+
+        if (!isAplicavel(diasParaTransferencia)) {
+            throw new IllegalArgumentException("Esta estratégia não é aplicável para " + diasParaTransferencia + " dias");
+        }
+
+        if (!permitida) {
+            throw new IllegalArgumentException(negada.getMensagem());
+        }
+
+        return CalculadoraTaxaCentavos.aplicarPercentual(valorCentavosTransferencia, taxaPontosBase);
+    }
+
+    @Override
+    public ResultadoTaxa validarCentavos(long valorCentavosTransferencia, int diasParaTransferencia) {
+        if (valorCentavosTransferencia < valorMinimoCentavos) {
+            return abaixoDoMinimo;
+        }
+        return permitida ? null : negada;
+    }
+
+    @Override
+    public boolean isAplicavel(int diasParaTransferencia) {
+        return diasParaTransferencia >= diasMin && diasParaTransferencia <= diasMax;
+    }
+
+    @Override
+    public String getDescricao() {
+        return descricao;
+    }
+
+    @Override
+    public String getFaixa() {
+        return diasMin == diasMax ? String.valueOf(diasMin) : diasMin + "-" + diasMax;
+    }
+
+    public int getDiasMin() {
+        return diasMin;
+    }
+
+    public int getDiasMax() {
+        return diasMax;
+    }
+
+    public int getTaxaPontosBase() {
+        return taxaPontosBase;
+    }
+
+    public BigDecimal getValorMinimo() {
+        return valorMinimo;
+    }
+
+    public boolean isPermitida() {
+        return permitida;
+    }
+
+    private String intervalo() {
+        return diasMin == 0 && diasMax == 0 ? "no mesmo dia" : String.format("de %d a %d dias", diasMin, diasMax);
+    }
+
+    private String montarDescricao(BigDecimal taxaPercentual) {
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(new Locale("pt", "BR"));
+        String minimo = new DecimalFormat("#,##0.00", symbols).format(valorMinimo);
+        if (!permitida) {
+            return String.format("Transferências %s não são permitidas (valor mínimo R$ %s, sem taxa percentual aplicável)",
+                    intervalo(), minimo);
+        }
+        String descricaoTaxa = String.format("Taxa para transferência %s: %s%% sobre o valor",
+                intervalo(), new DecimalFormat("0.0#", symbols).format(taxaPercentual));
+        return valorMinimo.signum() > 0 ? descricaoTaxa + " (mínimo R$ " + minimo + ")" : descricaoTaxa;
+    }
+
+    @Override
+    public String toString() {
+        return "TaxaFaixaStrategy{" +
+                "dias=" + diasMin + "-" + diasMax +
+                ", taxaPontosBase=" + taxaPontosBase +
+                ", valorMinimo=" + valorMinimo +
+                ", permitida=" + permitida +
+                '}';
+    }
+}
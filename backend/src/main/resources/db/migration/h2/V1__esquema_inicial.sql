@@ -0,0 +1,33 @@
+-- Esquema inicial (perfil prod, H2 em arquivo). Espelha o mapeamento das entidades,
+-- que o Hibernate apenas valida (ddl-auto=validate). Manter igual à versão de db/migration/postgresql.
+
+-- Incremento igual ao allocationSize de Transferencia: o Hibernate reserva 50 IDs por chamada
+CREATE SEQUENCE transferencias_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE transferencias (
+    id BIGINT NOT NULL PRIMARY KEY,
+    conta_origem VARCHAR(10) NOT NULL,
+    conta_destino VARCHAR(10) NOT NULL,
+    valor_transferencia NUMERIC(15,2) NOT NULL,
+    taxa_transferencia NUMERIC(15,2) NOT NULL,
+    data_transferencia DATE NOT NULL,
+    data_agendamento DATE NOT NULL,
+    dias_para_transferencia INTEGER NOT NULL
+);
+
+-- Filtro seguido da ordenação das consultas do repository (dataAgendamento DESC, id DESC)
+CREATE INDEX idx_transferencias_conta_origem_agendamento
+    ON transferencias (conta_origem, data_agendamento DESC, id DESC);
+CREATE INDEX idx_transferencias_data_transferencia_agendamento
+    ON transferencias (data_transferencia, data_agendamento);
+CREATE INDEX idx_transferencias_data_agendamento
+    ON transferencias (data_agendamento DESC, id DESC);
+
+CREATE TABLE chaves_idempotencia (
+    chave VARCHAR(64) NOT NULL PRIMARY KEY,
+    impressao_digital VARBINARY(32) NOT NULL,
+    transferencia_id BIGINT NOT NULL,
+    expira_em TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_chaves_idempotencia_expira_em ON chaves_idempotencia (expira_em);
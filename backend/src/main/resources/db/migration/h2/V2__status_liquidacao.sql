@@ -0,0 +1,15 @@
+-- Status da liquidação (perfil prod, H2 em arquivo). Manter igual à versão de db/migration/postgresql.
+-- Transferências existentes começam AGENDADA, na versão 0.
+
+ALTER TABLE transferencias ADD COLUMN status VARCHAR(20) DEFAULT 'AGENDADA' NOT NULL;
+ALTER TABLE transferencias ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE transferencias ADD COLUMN inicio_processamento TIMESTAMP(6);
+ALTER TABLE transferencias ADD COLUMN data_liquidacao DATE;
+ALTER TABLE transferencias ADD COLUMN motivo_falha VARCHAR(255);
+
+ALTER TABLE transferencias ADD CONSTRAINT ck_transferencias_status
+    CHECK (status IN ('AGENDADA', 'EM_PROCESSAMENTO', 'LIQUIDADA', 'FALHOU'));
+
+-- Reserva do motor de liquidação: AGENDADA com data_transferencia até hoje, em ordem de ID
+CREATE INDEX idx_transferencias_status_data_transferencia
+    ON transferencias (status, data_transferencia, id);
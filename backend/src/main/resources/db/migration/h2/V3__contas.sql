@@ -0,0 +1,25 @@
+-- Contas e extrato (perfil prod, H2 em arquivo). Manter igual à versão de db/migration/postgresql.
+-- O saldo de contas é materializado: sempre igual à soma dos lançamentos da conta.
+
+CREATE TABLE contas (
+    numero VARCHAR(10) NOT NULL PRIMARY KEY,
+    saldo NUMERIC(15,2) NOT NULL
+);
+
+-- Incremento igual ao allocationSize de LancamentoConta
+CREATE SEQUENCE lancamentos_conta_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE lancamentos_conta (
+    id BIGINT NOT NULL PRIMARY KEY,
+    numero_conta VARCHAR(10) NOT NULL,
+    tipo VARCHAR(10) NOT NULL,
+    valor NUMERIC(15,2) NOT NULL,
+    saldo_apos NUMERIC(15,2) NOT NULL,
+    transferencia_id BIGINT,
+    data_lancamento TIMESTAMP(6) NOT NULL,
+    CONSTRAINT ck_lancamentos_conta_tipo CHECK (tipo IN ('DEPOSITO', 'CREDITO', 'DEBITO', 'TAXA'))
+);
+
+-- Extrato: lançamentos da conta do mais recente para o mais antigo
+CREATE INDEX idx_lancamentos_conta_numero_conta
+    ON lancamentos_conta (numero_conta, id DESC);
@@ -0,0 +1,5 @@
+-- Números de conta como BIGINT (perfil prod, H2 em arquivo). Manter igual à versão de db/migration/postgresql.
+-- Os 10 dígitos são refeitos com zeros à esquerda na leitura (NumeroConta), então nada se perde na conversão.
+
+ALTER TABLE transferencias ALTER COLUMN conta_origem SET DATA TYPE BIGINT;
+ALTER TABLE transferencias ALTER COLUMN conta_destino SET DATA TYPE BIGINT;
@@ -0,0 +1,20 @@
+-- Resumos diários das transferências (perfis prod,postgres). Manter igual à versão de db/migration/h2.
+-- Mantidos pelo ResumoDiarioService na transação de cada gravação; a chave primária atende os períodos.
+
+CREATE TABLE resumos_diarios (
+    data_transferencia DATE NOT NULL,
+    dias_para_transferencia INTEGER NOT NULL,
+    particao_conta INTEGER NOT NULL,
+    quantidade BIGINT NOT NULL,
+    valor_total NUMERIC(19,2) NOT NULL,
+    taxa_total NUMERIC(19,2) NOT NULL,
+    CONSTRAINT pk_resumos_diarios PRIMARY KEY (data_transferencia, dias_para_transferencia, particao_conta)
+);
+
+-- Resumos das transferências já gravadas. O módulo 16 é ChaveResumoDiario.PARTICOES_CONTA
+INSERT INTO resumos_diarios (data_transferencia, dias_para_transferencia, particao_conta,
+                             quantidade, valor_total, taxa_total)
+SELECT data_transferencia, dias_para_transferencia, MOD(CAST(conta_origem AS BIGINT), 16),
+       COUNT(*), SUM(valor_transferencia), SUM(taxa_transferencia)
+FROM transferencias
+GROUP BY data_transferencia, dias_para_transferencia, MOD(CAST(conta_origem AS BIGINT), 16);
@@ -0,0 +1,23 @@
+-- Remessas de agendamento em massa (perfis prod,postgres). Manter igual à versão de db/migration/h2.
+-- O progresso (posição, contagens e tamanho do relatório) é gravado na transação de cada bloco de transferências.
+
+-- Incremento igual ao allocationSize de Remessa
+CREATE SEQUENCE remessas_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE remessas (
+    id BIGINT NOT NULL PRIMARY KEY,
+    nome_arquivo VARCHAR(255) NOT NULL,
+    formato VARCHAR(20) NOT NULL,
+    situacao VARCHAR(20) NOT NULL,
+    tamanho_bytes BIGINT NOT NULL,
+    posicao_confirmada BIGINT NOT NULL,
+    linhas_lidas BIGINT NOT NULL,
+    linhas_agendadas BIGINT NOT NULL,
+    linhas_rejeitadas BIGINT NOT NULL,
+    tamanho_resultado BIGINT NOT NULL,
+    mensagem_falha VARCHAR(255),
+    recebida_em TIMESTAMP(6) NOT NULL,
+    concluida_em TIMESTAMP(6),
+    CONSTRAINT ck_remessas_formato CHECK (formato IN ('CSV', 'POSICIONAL')),
+    CONSTRAINT ck_remessas_situacao CHECK (situacao IN ('RECEBIDA', 'PROCESSANDO', 'CONCLUIDA', 'FALHOU'))
+);
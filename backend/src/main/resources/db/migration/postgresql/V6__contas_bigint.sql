@@ -0,0 +1,5 @@
+-- Números de conta como BIGINT (perfis prod,postgres). Manter igual à versão de db/migration/h2.
+-- Os 10 dígitos são refeitos com zeros à esquerda na leitura (NumeroConta), então nada se perde na conversão.
+
+ALTER TABLE transferencias ALTER COLUMN conta_origem TYPE BIGINT USING conta_origem::BIGINT;
+ALTER TABLE transferencias ALTER COLUMN conta_destino TYPE BIGINT USING conta_destino::BIGINT;
@@ -0,0 +1,6 @@
+-- Nó responsável por cada remessa (perfis prod,postgres). Manter igual à versão de db/migration/h2.
+-- O arquivo fica no disco do nó que o recebeu; só um nó processa a remessa por vez, sob uma reserva com prazo.
+-- Remessas existentes ficam sem dono e sem reserva: o primeiro nó que tiver o arquivo as assume.
+
+ALTER TABLE remessas ADD COLUMN dono VARCHAR(100);
+ALTER TABLE remessas ADD COLUMN reservada_ate TIMESTAMP(6);
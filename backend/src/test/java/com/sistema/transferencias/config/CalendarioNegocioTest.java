@@ -0,0 +1,105 @@
+package com.sistema.transferencias.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalendarioNegocioTest {
+
+    private static final ZoneId SAO_PAULO = ZoneId.of("America/Sao_Paulo");
+
+    @Test
+    void deveManterADataAoLongoDoDia() {
+        // 00:30 em São Paulo
+        RelogioNoFuso relogio = new RelogioNoFuso(Instant.parse("2025-07-21T03:30:00Z"), SAO_PAULO);
+        CalendarioNegocio calendario = new CalendarioNegocio(relogio);
+
+        assertEquals(LocalDate.of(2025, 7, 21), calendario.hoje());
+
+        relogio.avancar(Duration.ofHours(23));
+        assertEquals(LocalDate.of(2025, 7, 21), calendario.hoje());
+        assertEquals(LocalDateTime.of(2025, 7, 21, 23, 30), calendario.agora());
+    }
+
+    @Test
+    void deveVirarODiaNaMeiaNoiteDoFusoConfigurado() {
+        // 23:59:59.999 em São Paulo, já 02:59 do dia seguinte em UTC
+        RelogioNoFuso relogio = new RelogioNoFuso(Instant.parse("2025-07-22T02:59:59.999Z"), SAO_PAULO);
+        CalendarioNegocio calendario = new CalendarioNegocio(relogio);
+
+        assertEquals(LocalDate.of(2025, 7, 21), calendario.hoje());
+
+        relogio.avancar(Duration.ofMillis(1));
+        assertEquals(LocalDate.of(2025, 7, 22), calendario.hoje());
+    }
+
+    @Test
+    void deveRecalcularADataQuandoORelogioVolta() {
+        RelogioNoFuso relogio = new RelogioNoFuso(Instant.parse("2025-07-21T15:00:00Z"), SAO_PAULO);
+        CalendarioNegocio calendario = new CalendarioNegocio(relogio);
+        assertEquals(LocalDate.of(2025, 7, 21), calendario.hoje());
+
+        relogio.avancar(Duration.ofDays(-1));
+
+        assertEquals(LocalDate.of(2025, 7, 20), calendario.hoje());
+    }
+
+    @Test
+    void relogioFixoDeveProduzirSempreAMesmaData() {
+        CalendarioNegocio calendario = new CalendarioNegocio(
+                Clock.fixed(Instant.parse("2025-07-21T15:00:00Z"), SAO_PAULO));
+
+        assertEquals(LocalDate.of(2025, 7, 21), calendario.hoje());
+        assertEquals(LocalDate.of(2025, 7, 21), calendario.hoje());
+        assertEquals(LocalDateTime.of(2025, 7, 21, 12, 0), calendario.agora());
+    }
+
+    @Test
+    void relogioConfigDeveUsarOFusoInformado() {
+        RelogioConfig config = new RelogioConfig();
+
+        assertEquals(SAO_PAULO, config.clock("America/Sao_Paulo").getZone());
+        assertEquals(ZoneId.systemDefault(), config.clock("").getZone());
+    }
+
+    /**
+     * Relógio de teste num fuso fixo que só avança quando solicitado.
+     */
+
+    private static final class RelogioNoFuso extends Clock {
+
+        private final ZoneId zona;
+        private Instant instante;
+
+        private RelogioNoFuso(Instant instante, ZoneId zona) {
+            this.instante = instante;
+            this.zona = zona;
+        }
+
+        private void avancar(Duration duracao) {
+            instante = instante.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zona;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
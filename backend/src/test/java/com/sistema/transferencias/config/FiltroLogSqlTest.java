@@ -0,0 +1,100 @@
+package com.sistema.transferencias.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroLogSqlTest {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final LogSqlAmostradoTurboFilter turboFilter = new LogSqlAmostradoTurboFilter();
+
+    private Logger loggerSql;
+    private Level nivelAnterior;
+
+    // Estado do log de SQL visto pela aplicação durante cada requisição
+    private final List<Boolean> sqlHabilitadoNaRequisicao = new ArrayList<>();
+    private final FilterChain chain = (request, response) -> sqlHabilitadoNaRequisicao.add(loggerSql.isDebugEnabled());
+
+    @BeforeEach
+    void setUp() {
+        loggerSql = loggerContext.getLogger(LogSqlAmostradoTurboFilter.LOGGER_SQL);
+        nivelAnterior = loggerSql.getLevel();
+        loggerSql.setLevel(Level.INFO);
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loggerContext.getTurboFilterList().remove(turboFilter);
+        loggerSql.setLevel(nivelAnterior);
+    }
+
+    @Test
+    void deveHabilitarSqlSoNaRequisicaoComCabecalho() throws Exception {
+        FiltroLogSql filtro = new FiltroLogSql(0, true);
+
+        filtro.doFilter(requisicao("true"), new MockHttpServletResponse(), chain);
+        filtro.doFilter(requisicao(null), new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of(true, false), sqlHabilitadoNaRequisicao);
+        assertNull(MDC.get(FiltroLogSql.CHAVE_MDC));
+        assertFalse(loggerSql.isDebugEnabled());
+    }
+
+    @Test
+    void naoDeveAfetarOutrosLoggers() throws Exception {
+        Logger outro = loggerContext.getLogger("org.hibernate.orm.jdbc.bind");
+        List<Boolean> habilitado = new ArrayList<>();
+
+        new FiltroLogSql(0, true).doFilter(requisicao("true"), new MockHttpServletResponse(),
+                (request, response) -> habilitado.add(outro.isTraceEnabled()));
+
+        assertEquals(List.of(false), habilitado);
+    }
+
+    @Test
+    void deveIgnorarCabecalhoQuandoDesabilitado() throws Exception {
+        new FiltroLogSql(0, false).doFilter(requisicao("true"), new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of(false), sqlHabilitadoNaRequisicao);
+    }
+
+    @Test
+    void deveAmostrarRequisicoesSemCabecalho() throws Exception {
+        FiltroLogSql todas = new FiltroLogSql(1, false);
+
+        todas.doFilter(requisicao(null), new MockHttpServletResponse(), chain);
+        todas.doFilter(requisicao(null), new MockHttpServletResponse(), chain);
+
+        assertEquals(List.of(true, true), sqlHabilitadoNaRequisicao);
+    }
+
+    @Test
+    void deveRecusarAmostragemForaDoIntervalo() {
+        assertThrows(IllegalStateException.class, () -> new FiltroLogSql(1.5, true));
+        assertThrows(IllegalStateException.class, () -> new FiltroLogSql(-0.1, true));
+    }
+
+    private static MockHttpServletRequest requisicao(String cabecalho) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/transferencias");
+        if (cabecalho != null) {
+            request.addHeader(FiltroLogSql.CABECALHO, cabecalho);
+        }
+        return request;
+    }
+}
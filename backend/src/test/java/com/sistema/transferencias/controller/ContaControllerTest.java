@@ -0,0 +1,98 @@
+package com.sistema.transferencias.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.transferencias.dto.ContaRequestDTO;
+import com.sistema.transferencias.dto.ContaResponseDTO;
+import com.sistema.transferencias.dto.DepositoRequestDTO;
+import com.sistema.transferencias.model.Conta;
+import com.sistema.transferencias.service.ContaService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ContaController.class)
+public class ContaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ContaService contaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testAbrirConta() throws Exception {
+        Mockito.when(contaService.abrirConta(any(ContaRequestDTO.class)))
+                .thenReturn(new ContaResponseDTO(new Conta("1234567890", new BigDecimal("100.00"))));
+
+        mockMvc.perform(post("/api/contas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContaRequestDTO("1234567890", new BigDecimal("100.00")))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.numero").value("1234567890"))
+                .andExpect(jsonPath("$.saldo").value(100.00));
+    }
+
+    @Test
+    public void testAbrirContaComNumeroInvalido() throws Exception {
+        mockMvc.perform(post("/api/contas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ContaRequestDTO("123", BigDecimal.ZERO))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.numero").exists());
+    }
+
+    @Test
+    public void testDepositar() throws Exception {
+        Mockito.when(contaService.depositar(eq("1234567890"), any(BigDecimal.class)))
+                .thenReturn(new ContaResponseDTO(new Conta("1234567890", new BigDecimal("150.00"))));
+
+        mockMvc.perform(post("/api/contas/1234567890/depositos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DepositoRequestDTO(new BigDecimal("50.00")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saldo").value(150.00));
+    }
+
+    @Test
+    public void testDepositarValorZero() throws Exception {
+        mockMvc.perform(post("/api/contas/1234567890/depositos")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DepositoRequestDTO(BigDecimal.ZERO))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testBuscarContaInexistente() throws Exception {
+        Mockito.when(contaService.buscarConta("9999999999"))
+                .thenThrow(new IllegalArgumentException("Conta não encontrada: 9999999999"));
+
+        mockMvc.perform(get("/api/contas/9999999999"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Conta não encontrada: 9999999999"));
+    }
+
+    @Test
+    public void testBuscarExtratoComLimitePadrao() throws Exception {
+        Mockito.when(contaService.buscarExtrato("1234567890", 50)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/contas/1234567890/lancamentos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray());
+        Mockito.verify(contaService).buscarExtrato("1234567890", 50);
+    }
+}
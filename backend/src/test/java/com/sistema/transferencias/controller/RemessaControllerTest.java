@@ -0,0 +1,112 @@
+package com.sistema.transferencias.controller;
+
+import com.sistema.transferencias.dto.RemessaDTO;
+import com.sistema.transferencias.exception.RemessaEmOutroNoException;
+import com.sistema.transferencias.model.FormatoRemessa;
+import com.sistema.transferencias.model.SituacaoRemessa;
+import com.sistema.transferencias.service.RemessaService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(RemessaController.class)
+public class RemessaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RemessaService remessaService;
+
+    @Test
+    public void testReceberRemessa() throws Exception {
+        Mockito.when(remessaService.receber(eq("remessa.txt"), eq(FormatoRemessa.POSICIONAL), any(InputStream.class)))
+                .thenReturn(remessa(7L, SituacaoRemessa.RECEBIDA));
+
+        mockMvc.perform(multipart("/api/remessas")
+                        .file(new MockMultipartFile("arquivo", "remessa.txt", "text/plain", "conteudo".getBytes()))
+                        .param("formato", "posicional"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/remessas/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.situacao").value("RECEBIDA"));
+    }
+
+    @Test
+    public void testReceberRemessaComFormatoInvalido() throws Exception {
+        mockMvc.perform(multipart("/api/remessas")
+                        .file(new MockMultipartFile("arquivo", "remessa.xml", "text/xml", "<a/>".getBytes()))
+                        .param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(remessaService);
+    }
+
+    @Test
+    public void testConsultarRemessaInexistente() throws Exception {
+        Mockito.when(remessaService.consultar(99L))
+                .thenThrow(new IllegalArgumentException("Remessa não encontrada com ID: 99"));
+
+        mockMvc.perform(get("/api/remessas/99"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testBaixarResultado() throws Exception {
+        Mockito.when(remessaService.consultarResultado(7L)).thenReturn(remessa(7L, SituacaoRemessa.CONCLUIDA));
+        Mockito.doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(1);
+            saida.write("linha,situacao,id,taxa,mensagem\n2,AGENDADA,1,82.00,\n".getBytes());
+            return null;
+        }).when(remessaService).escreverResultado(eq(7L), any());
+
+        MvcResult resultado = mockMvc.perform(get("/api/remessas/7/resultado"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"remessa_7_resultado.csv\""))
+                .andExpect(content().string("linha,situacao,id,taxa,mensagem\n2,AGENDADA,1,82.00,\n"));
+    }
+
+    @Test
+    public void testBaixarResultadoDeOutroNo() throws Exception {
+        Mockito.when(remessaService.consultarResultado(7L))
+                .thenThrow(new RemessaEmOutroNoException("Relatório da remessa 7 está no nó no-b"));
+
+        mockMvc.perform(get("/api/remessas/7/resultado"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Relatório da remessa 7 está no nó no-b"));
+    }
+
+    @Test
+    public void testRetomarRemessa() throws Exception {
+        Mockito.when(remessaService.retomar(7L)).thenReturn(remessa(7L, SituacaoRemessa.FALHOU));
+
+        mockMvc.perform(post("/api/remessas/7/retomar"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.situacao").value("FALHOU"));
+    }
+
+    private static RemessaDTO remessa(Long id, SituacaoRemessa situacao) {
+        RemessaDTO remessa = new RemessaDTO();
+        remessa.setId(id);
+        remessa.setSituacao(situacao);
+        remessa.setFormato("csv");
+        return remessa;
+    }
+}
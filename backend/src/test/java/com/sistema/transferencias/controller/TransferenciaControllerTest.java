@@ -1,28 +1,58 @@
 package com.sistema.transferencias.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.config.RelogioConfig;
+import com.sistema.transferencias.dto.PaginaTransferenciasDTO;
+import com.sistema.transferencias.dto.ResumoTransferenciasDTO;
+import com.sistema.transferencias.dto.ResumoTransferenciasItemDTO;
+import com.sistema.transferencias.dto.SituacaoGravacaoDTO;
+import com.sistema.transferencias.dto.TransferenciaLoteItemDTO;
+import com.sistema.transferencias.dto.TransferenciaLoteResponseDTO;
 import com.sistema.transferencias.dto.TransferenciaRequestDTO;
 import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.NumeroConta;
 import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.exception.ChaveIdempotenciaException;
+import com.sistema.transferencias.exception.FilaAgendamentoCheiaException;
+import com.sistema.transferencias.service.AgendamentoAssincrono;
+import com.sistema.transferencias.service.AgendamentoAssincronoService;
+import com.sistema.transferencias.service.AgendamentoIdempotente;
+import com.sistema.transferencias.service.AgrupamentoResumo;
+import com.sistema.transferencias.service.CotacaoTaxaCache;
+import com.sistema.transferencias.service.FormatoExportacao;
+import com.sistema.transferencias.service.IdempotenciaService;
+import com.sistema.transferencias.service.ResumoDiarioService;
+import com.sistema.transferencias.service.SituacaoGravacao;
+import com.sistema.transferencias.service.TransferenciaExportService;
+import com.sistema.transferencias.service.TransferenciaLoteService;
 import com.sistema.transferencias.service.TransferenciaService;
+import com.sistema.transferencias.service.ValidadorTransferencia;
+import com.sistema.transferencias.strategy.MotivoRejeicao;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransferenciaController.class)
+@Import({RelogioConfig.class, CalendarioNegocio.class, ValidadorTransferencia.class})
 public class TransferenciaControllerTest {
 
     @Autowired
@@ -31,6 +61,24 @@ public class TransferenciaControllerTest {
     @MockBean
     private TransferenciaService transferenciaService;
 
+    @MockBean
+    private TransferenciaLoteService transferenciaLoteService;
+
+    @MockBean
+    private TransferenciaExportService transferenciaExportService;
+
+    @MockBean
+    private CotacaoTaxaCache cotacaoTaxaCache;
+
+    @MockBean
+    private IdempotenciaService idempotenciaService;
+
+    @MockBean
+    private AgendamentoAssincronoService agendamentoAssincronoService;
+
+    @MockBean
+    private ResumoDiarioService resumoDiarioService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -46,14 +94,14 @@ public class TransferenciaControllerTest {
         requestDTO.setDataTransferencia(LocalDate.now().plusDays(1));
 
         Transferencia transferencia = new Transferencia();
-        transferencia.setContaOrigem("1234567890");
-        transferencia.setContaDestino("0987654321");
+        transferencia.setContaOrigem(NumeroConta.de("1234567890"));
+        transferencia.setContaDestino(NumeroConta.de("0987654321"));
         transferencia.setValorTransferencia(new BigDecimal("100.00"));
         transferencia.setDataTransferencia(requestDTO.getDataTransferencia());
         transferencia.setTaxaTransferencia(new BigDecimal("5.00"));
         transferencia.setDataAgendamento(LocalDate.now());
 
-        responseDTO = new TransferenciaResponseDTO(transferencia);
+        responseDTO = TransferenciaResponseDTO.de(transferencia);
     }
 
     @Test
@@ -68,12 +116,163 @@ public class TransferenciaControllerTest {
     }
 
     @Test
-    void testBuscarTodasTransferencias() throws Exception {
-        Mockito.when(transferenciaService.buscarTodasTransferencias()).thenReturn(List.of(responseDTO));
+    void testAgendarTransferenciaComIdempotencyKey() throws Exception {
+        Mockito.when(idempotenciaService.agendarTransferencia(eq("chave-1"), any()))
+                .thenReturn(AgendamentoIdempotente.repetido(responseDTO));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .header("Idempotency-Key", "chave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.contaOrigem").value("1234567890"));
+
+        Mockito.verify(transferenciaService, Mockito.never()).agendarTransferencia(any());
+    }
+
+    @Test
+    void testAgendarTransferenciaComDadosInvalidos() throws Exception {
+        requestDTO.setContaOrigem("123");
+        requestDTO.setValorTransferencia(null);
+        requestDTO.setDataTransferencia(LocalDate.now().minusDays(1));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Erro de validação"))
+                .andExpect(jsonPath("$.message").value("Dados inválidos fornecidos"))
+                .andExpect(jsonPath("$.errors.contaOrigem").value("Conta de origem deve ter exatamente 10 dígitos"))
+                .andExpect(jsonPath("$.errors.valorTransferencia").value("Valor da transferência é obrigatório"))
+                .andExpect(jsonPath("$.errors.dataTransferencia")
+                        .value("Data da transferência deve ser igual ou posterior à data atual"))
+                .andExpect(jsonPath("$.errors.contaDestino").doesNotExist());
+
+        Mockito.verifyNoInteractions(transferenciaService);
+    }
+
+    @Test
+    void testAgendarTransferenciaComIdempotencyKeyReutilizada() throws Exception {
+        Mockito.when(idempotenciaService.agendarTransferencia(eq("chave-1"), any()))
+                .thenThrow(new ChaveIdempotenciaException("Idempotency-Key 'chave-1' já foi usada"));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .header("Idempotency-Key", "chave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key 'chave-1' já foi usada"));
+    }
+
+    @Test
+    void testAgendarTransferenciaAssincrona() throws Exception {
+        responseDTO = new TransferenciaResponseDTO(42L, responseDTO.contaOrigem(), responseDTO.contaDestino(),
+                responseDTO.valorTransferencia(), responseDTO.taxaTransferencia(), responseDTO.dataTransferencia(),
+                responseDTO.dataAgendamento(), responseDTO.diasParaTransferencia(), responseDTO.status());
+        Mockito.when(agendamentoAssincronoService.isHabilitado()).thenReturn(true);
+        Mockito.when(agendamentoAssincronoService.agendar(any())).thenReturn(AgendamentoAssincrono.enfileirado(responseDTO));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/transferencias/42/gravacao"))
+                .andExpect(jsonPath("$.id").value(42));
+
+        Mockito.verify(transferenciaService, Mockito.never()).agendarTransferencia(any());
+    }
+
+    @Test
+    void testAgendarTransferenciaAssincronaGravada() throws Exception {
+        Mockito.when(agendamentoAssincronoService.isHabilitado()).thenReturn(true);
+        Mockito.when(agendamentoAssincronoService.agendar(any())).thenReturn(AgendamentoAssincrono.gravado(responseDTO));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.contaOrigem").value("1234567890"));
+    }
+
+    @Test
+    void testAgendarTransferenciaAssincronaComFilaCheia() throws Exception {
+        Mockito.when(agendamentoAssincronoService.isHabilitado()).thenReturn(true);
+        Mockito.when(agendamentoAssincronoService.agendar(any()))
+                .thenThrow(new FilaAgendamentoCheiaException("Fila de agendamento cheia. Tente novamente mais tarde."));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Fila de agendamento cheia. Tente novamente mais tarde."));
+    }
+
+    @Test
+    void testAgendarTransferenciaComIdempotencyKeyIgnoraFilaAssincrona() throws Exception {
+        Mockito.when(agendamentoAssincronoService.isHabilitado()).thenReturn(true);
+        Mockito.when(idempotenciaService.agendarTransferencia(eq("chave-1"), any()))
+                .thenReturn(AgendamentoIdempotente.novo(responseDTO));
+
+        mockMvc.perform(post("/api/transferencias")
+                        .header("Idempotency-Key", "chave-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isCreated());
+
+        Mockito.verify(agendamentoAssincronoService, Mockito.never()).agendar(any());
+    }
+
+    @Test
+    void testConsultarGravacao() throws Exception {
+        Mockito.when(agendamentoAssincronoService.consultarGravacao(42L))
+                .thenReturn(new SituacaoGravacaoDTO(42L, SituacaoGravacao.PENDENTE, null));
+
+        mockMvc.perform(get("/api/transferencias/42/gravacao"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(42))
+                .andExpect(jsonPath("$.situacao").value("PENDENTE"));
+    }
+
+    @Test
+    void testAgendarLote() throws Exception {
+        TransferenciaLoteResponseDTO loteResponse = new TransferenciaLoteResponseDTO(List.of(
+                TransferenciaLoteItemDTO.agendada(0, responseDTO),
+                TransferenciaLoteItemDTO.rejeitada(1, Map.of("contaOrigem", "Conta de origem é obrigatória"),
+                        "Dados inválidos fornecidos")));
+        Mockito.when(transferenciaLoteService.agendarLote(any())).thenReturn(loteResponse);
+
+        mockMvc.perform(post("/api/transferencias/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(requestDTO, new TransferenciaRequestDTO()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecebido").value(2))
+                .andExpect(jsonPath("$.totalAgendado").value(1))
+                .andExpect(jsonPath("$.itens[0].transferencia.contaOrigem").value("1234567890"))
+                .andExpect(jsonPath("$.itens[1].errors.contaOrigem").value("Conta de origem é obrigatória"));
+    }
+
+    @Test
+    void testBuscarTransferencias() throws Exception {
+        Mockito.when(transferenciaService.buscarTransferencias(null, 50))
+                .thenReturn(new PaginaTransferenciasDTO(List.of(responseDTO), 50, "cursor"));
 
         mockMvc.perform(get("/api/transferencias"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].contaOrigem").value("1234567890"));
+                .andExpect(jsonPath("$.itens[0].contaOrigem").value("1234567890"))
+                .andExpect(jsonPath("$.proximoCursor").value("cursor"));
+    }
+
+    @Test
+    void testBuscarTransferenciasComCursor() throws Exception {
+        Mockito.when(transferenciaService.buscarTransferencias("cursor", 10))
+                .thenReturn(new PaginaTransferenciasDTO(List.of(responseDTO), 10, null));
+
+        mockMvc.perform(get("/api/transferencias").param("cursor", "cursor").param("tamanho", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tamanho").value(10))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
     }
 
     @Test
@@ -88,18 +287,98 @@ public class TransferenciaControllerTest {
 
     @Test
     void testBuscarTransferenciasPorConta() throws Exception {
-        Mockito.when(transferenciaService.buscarTransferenciasPorContaOrigem("1234567890"))
-                .thenReturn(List.of(responseDTO));
+        Mockito.when(transferenciaService.buscarTransferenciasPorContaOrigem("1234567890", null, 50))
+                .thenReturn(new PaginaTransferenciasDTO(List.of(responseDTO), 50, null));
 
         mockMvc.perform(get("/api/transferencias/conta/1234567890"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].contaOrigem").value("1234567890"));
+                .andExpect(jsonPath("$.itens[0].contaOrigem").value("1234567890"));
+    }
+
+    @Test
+    void testExportarTransferencias() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            java.io.OutputStream saida = invocation.getArgument(3);
+            saida.write("{\"id\":1}\n".getBytes());
+            return null;
+        }).when(transferenciaExportService).exportar(any(), any(), eq(FormatoExportacao.NDJSON), any());
+
+        MvcResult resultado = mockMvc.perform(get("/api/transferencias/exportar")
+                        .param("dataInicio", "2025-07-01")
+                        .param("dataFim", "2025-07-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"transferencias_2025-07-01_2025-07-31.ndjson\""))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void testExportarTransferenciasComFormatoInvalido() throws Exception {
+        mockMvc.perform(get("/api/transferencias/exportar")
+                        .param("dataInicio", "2025-07-01")
+                        .param("dataFim", "2025-07-31")
+                        .param("formato", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testResumirTransferenciasPorFaixa() throws Exception {
+        LocalDate inicio = LocalDate.of(2025, 7, 1);
+        LocalDate fim = LocalDate.of(2025, 7, 31);
+        Mockito.when(resumoDiarioService.resumir(inicio, fim, AgrupamentoResumo.FAIXA))
+                .thenReturn(new ResumoTransferenciasDTO(inicio, fim, "faixa", 3,
+                        new BigDecimal("300.00"), new BigDecimal("12.00"), List.of(
+                        new ResumoTransferenciasItemDTO(null, "0", 1, new BigDecimal("100.00"), new BigDecimal("5.50")),
+                        new ResumoTransferenciasItemDTO(null, "1-10", 2, new BigDecimal("200.00"), new BigDecimal("6.50")))));
+
+        mockMvc.perform(get("/api/transferencias/resumo")
+                        .param("dataInicio", "2025-07-01")
+                        .param("dataFim", "2025-07-31")
+                        .param("agrupamento", "faixa"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantidade").value(3))
+                .andExpect(jsonPath("$.valorTotal").value(300.0))
+                .andExpect(jsonPath("$.itens[1].faixa").value("1-10"))
+                .andExpect(jsonPath("$.itens[1].quantidade").value(2))
+                .andExpect(jsonPath("$.itens[1].dataTransferencia").doesNotExist());
+    }
+
+    @Test
+    void testResumirTransferenciasPorConta() throws Exception {
+        LocalDate inicio = LocalDate.of(2025, 7, 1);
+        LocalDate fim = LocalDate.of(2025, 7, 31);
+        Mockito.when(resumoDiarioService.resumir(inicio, fim, AgrupamentoResumo.CONTA))
+                .thenReturn(new ResumoTransferenciasDTO(inicio, fim, "conta", 1,
+                        new BigDecimal("100.00"), new BigDecimal("5.50"), List.of(
+                        new ResumoTransferenciasItemDTO(null, null, 2, 1, new BigDecimal("100.00"), new BigDecimal("5.50")))));
+
+        mockMvc.perform(get("/api/transferencias/resumo")
+                        .param("dataInicio", "2025-07-01")
+                        .param("dataFim", "2025-07-31")
+                        .param("agrupamento", "conta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.agrupamento").value("conta"))
+                .andExpect(jsonPath("$.itens[0].particaoConta").value(2))
+                .andExpect(jsonPath("$.itens[0].faixa").doesNotExist());
+    }
+
+    @Test
+    void testResumirTransferenciasComAgrupamentoInvalido() throws Exception {
+        mockMvc.perform(get("/api/transferencias/resumo")
+                        .param("dataInicio", "2025-07-01")
+                        .param("dataFim", "2025-07-31")
+                        .param("agrupamento", "mes"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
     void testCalcularTaxa() throws Exception {
-        Mockito.when(transferenciaService.calcularTaxaTransferencia(any(), any()))
-                .thenReturn(new BigDecimal("5.00"));
+        Mockito.when(cotacaoTaxaCache.cotarTaxa(any(), any()))
+                .thenReturn(ResultadoTaxa.calculada(new BigDecimal("5.00")));
 
         mockMvc.perform(get("/api/transferencias/calcular-taxa")
                         .param("valor", "100.00")
@@ -108,6 +387,29 @@ public class TransferenciaControllerTest {
                 .andExpect(jsonPath("$.taxaCalculada").value(5.0));
     }
 
+    @Test
+    void testCalcularTaxaRejeitada() throws Exception {
+        Mockito.when(cotacaoTaxaCache.cotarTaxa(any(), any()))
+                .thenReturn(ResultadoTaxa.rejeitada(MotivoRejeicao.FORA_DA_JANELA, "Transferência não permitida para 60 dias."));
+
+        mockMvc.perform(get("/api/transferencias/calcular-taxa")
+                        .param("valor", "100.00")
+                        .param("dataTransferencia", LocalDate.now().plusDays(60).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Erro no cálculo da taxa"))
+                .andExpect(jsonPath("$.message").value("Transferência não permitida para 60 dias."));
+    }
+
+    @Test
+    void testEstatisticasCacheCotacoes() throws Exception {
+        Mockito.when(cotacaoTaxaCache.getEstatisticas()).thenReturn(Map.of("acertos", 3L, "faltas", 1L));
+
+        mockMvc.perform(get("/api/transferencias/calcular-taxa/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.acertos").value(3))
+                .andExpect(jsonPath("$.faltas").value(1));
+    }
+
     @Test
     void testHealthCheck() throws Exception {
         mockMvc.perform(get("/api/transferencias/health"))
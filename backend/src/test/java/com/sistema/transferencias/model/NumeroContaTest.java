@@ -0,0 +1,91 @@
+package com.sistema.transferencias.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do número de conta")
+class NumeroContaTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    @DisplayName("Deve aceitar exatamente 10 dígitos, como a expressão \\d{10}")
+    void deveValidarComoAExpressaoRegular() {
+        for (String valido : new String[] {"0000000000", "0987654321", "9999999999"}) {
+            assertTrue(NumeroConta.isValido(valido), valido);
+            assertTrue(valido.matches("\\d{10}"), valido);
+        }
+        // Dígitos não ASCII também ficam de fora do \d padrão do Java
+        for (String invalido : new String[] {"", "123456789", "12345678901", "12345 7890", "-123456789",
+                "+123456789", "123456789a", "١٢٣٤٥٦٧٨٩٠"}) {
+            assertFalse(NumeroConta.isValido(invalido), invalido);
+            assertFalse(invalido.matches("\\d{10}"), invalido);
+        }
+        assertFalse(NumeroConta.isValido(null));
+    }
+
+    @Test
+    @DisplayName("Deve manter os zeros à esquerda no texto")
+    void deveManterZerosAEsquerda() {
+        NumeroConta conta = NumeroConta.de("0000000042");
+
+        assertEquals(42L, conta.getValor());
+        assertEquals("0000000042", conta.toString());
+        assertEquals(conta, NumeroConta.de(42));
+        assertEquals(conta.hashCode(), NumeroConta.de(42).hashCode());
+        assertTrue(conta.compareTo(NumeroConta.de("0000000100")) < 0);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar textos e valores fora do formato")
+    void deveRejeitarForaDoFormato() {
+        assertThrows(IllegalArgumentException.class, () -> NumeroConta.de("123"));
+        assertThrows(IllegalArgumentException.class, () -> NumeroConta.de((String) null));
+        assertThrows(IllegalArgumentException.class, () -> NumeroConta.de(-1));
+        assertThrows(IllegalArgumentException.class, () -> NumeroConta.de(NumeroConta.MAXIMO + 1));
+    }
+
+    @Test
+    @DisplayName("Deve converter para BIGINT e de volta")
+    void deveConverterParaBigint() {
+        NumeroContaConverter converter = new NumeroContaConverter();
+
+        assertEquals(987654321L, converter.convertToDatabaseColumn(NumeroConta.de("0987654321")));
+        assertEquals(NumeroConta.de("0987654321"), converter.convertToEntityAttribute(987654321L));
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    @DisplayName("Deve manter o JSON como texto de 10 dígitos")
+    void deveManterOFormatoDoJson() throws Exception {
+        TransferenciaResponseDTO dto = new TransferenciaResponseDTO(1L, NumeroConta.de("1234567890"),
+                NumeroConta.de("0987654321"), new BigDecimal("100.00"), new BigDecimal("5.00"),
+                LocalDate.of(2030, 1, 15), LocalDate.of(2030, 1, 1), 14, StatusTransferencia.AGENDADA);
+
+        String json = objectMapper.writeValueAsString(dto);
+
+        assertTrue(json.contains("\"contaOrigem\":\"1234567890\""), json);
+        assertTrue(json.contains("\"contaDestino\":\"0987654321\""), json);
+        TransferenciaResponseDTO lido = objectMapper.readValue(json, TransferenciaResponseDTO.class);
+        assertEquals(dto.contaOrigem(), lido.contaOrigem());
+        assertEquals(dto.contaDestino(), lido.contaDestino());
+    }
+
+    @Test
+    @DisplayName("Deve recusar no JSON números de conta fora do formato")
+    void deveRecusarJsonForaDoFormato() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("\"12345\"", NumeroConta.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("1234567890", NumeroConta.class));
+    }
+}
@@ -0,0 +1,91 @@
+package com.sistema.transferencias.repository;
+
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.ChaveIdempotencia;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Esquema do perfil prod: aplica as migrações do Flyway num H2 em memória e sobe o Hibernate
+ * com ddl-auto=validate, de modo que uma divergência entre migração e entidade falha aqui.
+ */
+
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:migracoes;DB_CLOSE_DELAY=-1")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("prod")
+@DisplayName("Testes das migrações do perfil prod")
+class MigracoesFlywayTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve criar o esquema com os índices das consultas do repository")
+    void deveCriarEsquemaComIndices() {
+        List<String> indices = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_SCHEMA = 'PUBLIC'", String.class);
+
+        assertTrue(indices.containsAll(List.of(
+                "IDX_TRANSFERENCIAS_CONTA_ORIGEM_AGENDAMENTO",
+                "IDX_TRANSFERENCIAS_DATA_TRANSFERENCIA_AGENDAMENTO",
+                "IDX_TRANSFERENCIAS_DATA_AGENDAMENTO",
+                "IDX_TRANSFERENCIAS_STATUS_DATA_TRANSFERENCIA",
+                "IDX_CHAVES_IDEMPOTENCIA_EXPIRA_EM",
+                "IDX_LANCAMENTOS_CONTA_NUMERO_CONTA")), "Índices encontrados: " + indices);
+        assertEquals(List.of(true, true, true, true, true, true, true), jdbcTemplate.queryForList(
+                "SELECT \"success\" FROM \"flyway_schema_history\" WHERE \"version\" IN ('1', '2', '3', '4', '5', '6', '7') " +
+                "ORDER BY \"version\"", Boolean.class));
+    }
+
+    @Test
+    @DisplayName("Deve gravar em lote com a sequence da migração e consultar pelos índices")
+    void deveGravarEConsultarNoEsquemaMigrado() {
+        LocalDate hoje = LocalDate.now();
+        List<Transferencia> transferencias = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            Transferencia transferencia = new Transferencia(NumeroConta.de("1111111111"), NumeroConta.de("2222222222"),
+                    new BigDecimal("100.00"), hoje.plusDays(15), hoje.minusDays(i % 3));
+            transferencia.setTaxaTransferencia(new BigDecimal("8.20"));
+            transferencias.add(transferencia);
+        }
+        transferenciaRepository.saveAll(transferencias);
+        chaveIdempotenciaRepository.save(new ChaveIdempotencia("chave-1", new byte[32],
+                transferencias.get(0).getId(), hoje.atStartOfDay()));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TransferenciaResponseDTO> pagina = transferenciaRepository
+                .findPrimeiraPaginaPorContaOrigem(NumeroConta.de("1111111111"), Limit.of(5));
+
+        assertEquals(60, transferenciaRepository.count());
+        assertEquals(5, pagina.size());
+        assertEquals(hoje, pagina.get(0).dataAgendamento());
+        assertEquals(15, pagina.get(0).diasParaTransferencia());
+        assertEquals(1, chaveIdempotenciaRepository.deleteExpiradas(hoje.plusDays(1).atStartOfDay()));
+    }
+}
@@ -1,15 +1,21 @@
 package com.sistema.transferencias.repository;
 
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.StatusTransferencia;
 import com.sistema.transferencias.model.Transferencia;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,24 +37,24 @@ class TransferenciaRepositoryTest {
     @BeforeEach
     void setUp() {
         transferencia1 = new Transferencia();
-        transferencia1.setContaOrigem("1111111111");
-        transferencia1.setContaDestino("2222222222");
+        transferencia1.setContaOrigem(NumeroConta.de("1111111111"));
+        transferencia1.setContaDestino(NumeroConta.de("2222222222"));
         transferencia1.setValorTransferencia(new BigDecimal("1000.00"));
         transferencia1.setTaxaTransferencia(new BigDecimal("12.00"));
         transferencia1.setDataTransferencia(LocalDate.now().plusDays(5));
         transferencia1.setDataAgendamento(LocalDate.now());
 
         transferencia2 = new Transferencia();
-        transferencia2.setContaOrigem("1111111111");
-        transferencia2.setContaDestino("3333333333");
+        transferencia2.setContaOrigem(NumeroConta.de("1111111111"));
+        transferencia2.setContaDestino(NumeroConta.de("3333333333"));
         transferencia2.setValorTransferencia(new BigDecimal("500.00"));
         transferencia2.setTaxaTransferencia(new BigDecimal("6.00"));
         transferencia2.setDataTransferencia(LocalDate.now().plusDays(10));
         transferencia2.setDataAgendamento(LocalDate.now().minusDays(1));
 
         transferencia3 = new Transferencia();
-        transferencia3.setContaOrigem("4444444444");
-        transferencia3.setContaDestino("5555555555");
+        transferencia3.setContaOrigem(NumeroConta.de("4444444444"));
+        transferencia3.setContaDestino(NumeroConta.de("5555555555"));
         transferencia3.setValorTransferencia(new BigDecimal("2000.00"));
         transferencia3.setTaxaTransferencia(new BigDecimal("24.00"));
         transferencia3.setDataTransferencia(LocalDate.now().plusDays(15));
@@ -80,12 +86,12 @@ class TransferenciaRepositoryTest {
     void deveBuscarTransferenciasPorContaOrigem() {
 
         List<Transferencia> transferencias = transferenciaRepository
-                .findByContaOrigemOrderByDataAgendamentoDesc("1111111111");
+                .findByContaOrigemOrderByDataAgendamentoDesc(NumeroConta.de("1111111111"));
 
 
         assertEquals(2, transferencias.size());
-        assertEquals("1111111111", transferencias.get(0).getContaOrigem());
-        assertEquals("1111111111", transferencias.get(1).getContaOrigem());
+        assertEquals(NumeroConta.de("1111111111"), transferencias.get(0).getContaOrigem());
+        assertEquals(NumeroConta.de("1111111111"), transferencias.get(1).getContaOrigem());
 
         assertTrue(transferencias.get(0).getDataAgendamento()
                 .isAfter(transferencias.get(1).getDataAgendamento()) ||
@@ -93,6 +99,48 @@ class TransferenciaRepositoryTest {
                 .isEqual(transferencias.get(1).getDataAgendamento()));
     }
 
+    @Test
+    @DisplayName("Deve paginar por chave (dataAgendamento desc, id desc) sem repetir nem pular itens")
+    void devePaginarPorChave() {
+
+        Transferencia mesmoDia = new Transferencia();
+        mesmoDia.setContaOrigem(NumeroConta.de("1111111111"));
+        mesmoDia.setContaDestino(NumeroConta.de("4444444444"));
+        mesmoDia.setValorTransferencia(new BigDecimal("100.00"));
+        mesmoDia.setTaxaTransferencia(new BigDecimal("8.20"));
+        mesmoDia.setDataTransferencia(LocalDate.now().plusDays(15));
+        mesmoDia.setDataAgendamento(LocalDate.now());
+        entityManager.persistAndFlush(mesmoDia);
+
+
+        List<TransferenciaResponseDTO> primeira = transferenciaRepository.findPrimeiraPagina(Limit.of(2));
+        TransferenciaResponseDTO ultima = primeira.get(1);
+        List<TransferenciaResponseDTO> segunda = transferenciaRepository
+                .findPaginaApos(ultima.dataAgendamento(), ultima.id(), Limit.of(2));
+
+
+        assertEquals(List.of(mesmoDia.getId(), transferencia1.getId()),
+                primeira.stream().map(TransferenciaResponseDTO::id).toList());
+        assertEquals(List.of(transferencia2.getId(), transferencia3.getId()),
+                segunda.stream().map(TransferenciaResponseDTO::id).toList());
+    }
+
+    @Test
+    @DisplayName("Deve paginar por chave as transferências de uma conta de origem")
+    void devePaginarPorChavePorContaOrigem() {
+
+        List<TransferenciaResponseDTO> primeira = transferenciaRepository
+                .findPrimeiraPaginaPorContaOrigem(NumeroConta.de("1111111111"), Limit.of(1));
+        TransferenciaResponseDTO ultima = primeira.get(0);
+        List<TransferenciaResponseDTO> segunda = transferenciaRepository.findPaginaAposPorContaOrigem(
+                NumeroConta.de("1111111111"), ultima.dataAgendamento(), ultima.id(), Limit.of(10));
+
+
+        assertEquals(transferencia1.getId(), ultima.id());
+        assertEquals(1, segunda.size());
+        assertEquals(transferencia2.getId(), segunda.get(0).id());
+    }
+
     @Test
     @DisplayName("Deve buscar transferências por data de transferência")
     void deveBuscarTransferenciasPorDataTransferencia() {
@@ -145,7 +193,7 @@ class TransferenciaRepositoryTest {
     @DisplayName("Deve contar transferências por conta de origem")
     void deveContarTransferenciasPorContaOrigem() {
 
-        long count = transferenciaRepository.countByContaOrigem("1111111111");
+        long count = transferenciaRepository.countByContaOrigem(NumeroConta.de("1111111111"));
 
         assertEquals(2, count);
     }
@@ -154,7 +202,7 @@ class TransferenciaRepositoryTest {
     @DisplayName("Deve retornar zero para conta inexistente")
     void deveRetornarZeroParaContaInexistente() {
 
-        long count = transferenciaRepository.countByContaOrigem("9999999999");
+        long count = transferenciaRepository.countByContaOrigem(NumeroConta.de("9999999999"));
 
         assertEquals(0, count);
     }
@@ -179,8 +227,8 @@ class TransferenciaRepositoryTest {
     void deveSalvarTransferenciaComTodosOsCampos() {
 
         Transferencia novaTransferencia = new Transferencia();
-        novaTransferencia.setContaOrigem("6666666666");
-        novaTransferencia.setContaDestino("7777777777");
+        novaTransferencia.setContaOrigem(NumeroConta.de("6666666666"));
+        novaTransferencia.setContaDestino(NumeroConta.de("7777777777"));
         novaTransferencia.setValorTransferencia(new BigDecimal("750.00"));
         novaTransferencia.setTaxaTransferencia(new BigDecimal("9.00"));
         novaTransferencia.setDataTransferencia(LocalDate.now().plusDays(7));
@@ -191,21 +239,64 @@ class TransferenciaRepositoryTest {
 
 
         assertNotNull(transferenciaSalva.getId());
-        assertEquals("6666666666", transferenciaSalva.getContaOrigem());
-        assertEquals("7777777777", transferenciaSalva.getContaDestino());
+        assertEquals(NumeroConta.de("6666666666"), transferenciaSalva.getContaOrigem());
+        assertEquals(NumeroConta.de("7777777777"), transferenciaSalva.getContaDestino());
         assertEquals(0, new BigDecimal("750.00").compareTo(transferenciaSalva.getValorTransferencia()));
         assertEquals(0, new BigDecimal("9.00").compareTo(transferenciaSalva.getTaxaTransferencia()));
         assertEquals(LocalDate.now().plusDays(7), transferenciaSalva.getDataTransferencia());
         assertEquals(LocalDate.now(), transferenciaSalva.getDataAgendamento());
     }
 
+    @Test
+    @DisplayName("Deve salvar transferência com data anterior ao relógio da JVM")
+    void deveSalvarTransferenciaComDataAnteriorAoRelogioDaJvm() {
+        // O dia de negócio pode estar atrás do fuso da JVM: a data é validada no agendamento, não na entidade
+        Transferencia novaTransferencia = new Transferencia();
+        novaTransferencia.setContaOrigem(NumeroConta.de("6666666666"));
+        novaTransferencia.setContaDestino(NumeroConta.de("7777777777"));
+        novaTransferencia.setValorTransferencia(new BigDecimal("750.00"));
+        novaTransferencia.setTaxaTransferencia(new BigDecimal("9.00"));
+        novaTransferencia.setDataTransferencia(LocalDate.now().minusDays(1));
+        novaTransferencia.setDataAgendamento(LocalDate.now().minusDays(1));
+
+        Transferencia transferenciaSalva = transferenciaRepository.saveAndFlush(novaTransferencia);
+
+        assertNotNull(transferenciaSalva.getId());
+        assertEquals(LocalDate.now().minusDays(1), transferenciaSalva.getDataTransferencia());
+    }
+
+    @Test
+    @DisplayName("Deve salvar lote de transferências com ids da sequence")
+    void deveSalvarLoteDeTransferenciasComIdsDaSequence() {
+
+        List<Transferencia> lote = new java.util.ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Transferencia t = new Transferencia();
+            t.setContaOrigem(NumeroConta.de("6666666666"));
+            t.setContaDestino(NumeroConta.de("7777777777"));
+            t.setValorTransferencia(new BigDecimal("100.00"));
+            t.setTaxaTransferencia(new BigDecimal("8.20"));
+            t.setDataTransferencia(LocalDate.now().plusDays(15));
+            t.setDataAgendamento(LocalDate.now());
+            lote.add(t);
+        }
+
+
+        List<Transferencia> salvas = transferenciaRepository.saveAll(lote);
+        transferenciaRepository.flush();
+
+
+        assertEquals(120, salvas.stream().map(Transferencia::getId).distinct().count());
+        assertEquals(120, transferenciaRepository.countByContaOrigem(NumeroConta.de("6666666666")));
+    }
+
     @Test
     @DisplayName("Deve calcular dias para transferência automaticamente")
     void deveCalcularDiasParaTransferenciaAutomaticamente() {
 
         Transferencia novaTransferencia = new Transferencia();
-        novaTransferencia.setContaOrigem("8888888888");
-        novaTransferencia.setContaDestino("9999999999");
+        novaTransferencia.setContaOrigem(NumeroConta.de("8888888888"));
+        novaTransferencia.setContaDestino(NumeroConta.de("9999999999"));
         novaTransferencia.setValorTransferencia(new BigDecimal("300.00"));
         novaTransferencia.setTaxaTransferencia(new BigDecimal("3.60"));
         novaTransferencia.setDataTransferencia(LocalDate.now().plusDays(3));
@@ -217,5 +308,103 @@ class TransferenciaRepositoryTest {
 
         assertEquals(3, transferenciaSalva.getDiasParaTransferencia());
     }
-}
 
+    @Test
+    @DisplayName("Deve criar os índices usados pelas consultas de listagem")
+    @SuppressWarnings("unchecked")
+    void deveCriarIndicesDasConsultas() {
+
+        List<String> indices = entityManager.getEntityManager()
+                .createNativeQuery("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES " +
+                        "WHERE LOWER(TABLE_NAME) = 'transferencias'")
+                .getResultList();
+
+
+        assertTrue(indices.containsAll(List.of(
+                "idx_transferencias_conta_origem_agendamento",
+                "idx_transferencias_data_transferencia_agendamento",
+                "idx_transferencias_data_agendamento",
+                "idx_transferencias_status_data_transferencia")), "Índices encontrados: " + indices);
+    }
+
+    @Test
+    @DisplayName("Deve projetar a página diretamente no DTO, sem gerenciar entidades")
+    void deveProjetarPaginaSemGerenciarEntidades() {
+        entityManager.clear();
+
+
+        List<TransferenciaResponseDTO> pagina = transferenciaRepository.findPrimeiraPagina(Limit.of(10));
+
+
+        assertEquals(3, pagina.size());
+        assertEquals(transferencia1.getTaxaTransferencia(), pagina.get(0).taxaTransferencia());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Deve projetar a transferência por ID diretamente no DTO, sem gerenciar a entidade")
+    void deveProjetarPorIdSemGerenciarEntidade() {
+        entityManager.clear();
+
+        TransferenciaResponseDTO lida = transferenciaRepository.findResponseById(transferencia2.getId()).orElseThrow();
+
+        assertEquals(TransferenciaResponseDTO.de(transferencia2), lida);
+        assertTrue(transferenciaRepository.findResponseById(-1L).isEmpty());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    @DisplayName("Deve buscar para liquidação só as agendadas com data de transferência vencida")
+    void deveBuscarVencidasParaLiquidacao() {
+        transferenciaRepository.reservarParaLiquidacao(List.of(transferencia1.getId()), LocalDateTime.now());
+        entityManager.clear();
+
+
+        List<Transferencia> vencidas = transferenciaRepository.findVencidasParaLiquidacao(
+                LocalDate.now().plusDays(10), Limit.of(10));
+
+
+        assertEquals(List.of(transferencia2.getId()), vencidas.stream().map(Transferencia::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Deve mudar o status só na versão da reserva")
+    void deveLiquidarSomenteNaVersaoDaReserva() {
+        assertEquals(0L, transferencia1.getVersao());
+        assertEquals(StatusTransferencia.AGENDADA, transferencia1.getStatus());
+
+        assertEquals(1, transferenciaRepository.reservarParaLiquidacao(List.of(transferencia1.getId()), LocalDateTime.now()));
+        assertEquals(0, transferenciaRepository.reservarParaLiquidacao(List.of(transferencia1.getId()), LocalDateTime.now()));
+        assertEquals(0, transferenciaRepository.liquidar(transferencia1.getId(), 0L, LocalDate.now()));
+        assertEquals(1, transferenciaRepository.liquidar(transferencia1.getId(), 1L, LocalDate.now()));
+        assertEquals(0, transferenciaRepository.marcarFalha(transferencia1.getId(), 2L, "tarde demais"));
+        entityManager.clear();
+
+
+        Transferencia liquidada = transferenciaRepository.findById(transferencia1.getId()).orElseThrow();
+        assertEquals(StatusTransferencia.LIQUIDADA, liquidada.getStatus());
+        assertEquals(2L, liquidada.getVersao());
+        assertEquals(LocalDate.now(), liquidada.getDataLiquidacao());
+        assertNull(liquidada.getInicioProcessamento());
+        assertNull(liquidada.getMotivoFalha());
+    }
+
+    @Test
+    @DisplayName("Deve liberar só as reservas iniciadas antes do limite")
+    void deveLiberarReservasExpiradas() {
+        LocalDateTime agora = LocalDateTime.now();
+        transferenciaRepository.reservarParaLiquidacao(List.of(transferencia1.getId()), agora.minusMinutes(10));
+        transferenciaRepository.reservarParaLiquidacao(List.of(transferencia2.getId()), agora);
+
+
+        assertEquals(1, transferenciaRepository.liberarReservasIniciadasAntes(agora.minusMinutes(5)));
+        entityManager.clear();
+
+
+        Transferencia liberada = transferenciaRepository.findById(transferencia1.getId()).orElseThrow();
+        assertEquals(StatusTransferencia.AGENDADA, liberada.getStatus());
+        assertEquals(2L, liberada.getVersao());
+        assertEquals(StatusTransferencia.EM_PROCESSAMENTO,
+                transferenciaRepository.findById(transferencia2.getId()).orElseThrow().getStatus());
+    }
+}
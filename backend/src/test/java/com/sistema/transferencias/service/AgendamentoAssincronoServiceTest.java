@@ -0,0 +1,328 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.exception.FilaAgendamentoCheiaException;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AgendamentoAssincronoServiceTest {
+
+    private TransferenciaService transferenciaService;
+    private TransferenciaRepository transferenciaRepository;
+    private AlocadorIdsTransferencia alocadorIds;
+    private ResumoDiarioService resumoDiarioService;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+
+    // IDs de cada grupo enviado ao banco, na ordem das tentativas
+    private final List<List<Long>> grupos = new CopyOnWriteArrayList<>();
+    private AgendamentoAssincronoService service;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        transferenciaService = mock(TransferenciaService.class);
+        transferenciaRepository = mock(TransferenciaRepository.class);
+        alocadorIds = mock(AlocadorIdsTransferencia.class);
+        resumoDiarioService = mock(ResumoDiarioService.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        AtomicLong proximoId = new AtomicLong();
+        when(alocadorIds.proximoId()).thenAnswer(invocation -> proximoId.incrementAndGet());
+        when(transferenciaService.prepararTransferencia(any())).thenAnswer(invocation -> transferencia());
+        when(transferenciaRepository.existsById(anyLong())).thenReturn(true);
+        aoGravar(grupo -> { });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void deveDevolverIdReservadoEGravarEmUmUnicoGrupo() {
+        service = novoService(100, 500, Duration.ofMillis(200), AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+        service.start();
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            AgendamentoAssincrono agendamento = service.agendar(request());
+            assertFalse(agendamento.isGravado());
+            ids.add(agendamento.getTransferencia().id());
+        }
+        service.stop();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids);
+        assertEquals(List.of(ids), grupos);
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.GRUPOS_GRAVADOS).summary().count());
+        assertEquals(10.0, meterRegistry.get(MetricasTransferencias.GRUPOS_GRAVADOS).summary().totalAmount());
+        assertEquals(SituacaoGravacao.GRAVADA, service.consultarGravacao(1L).getSituacao());
+    }
+
+    @Test
+    void deveGravarAssimQueOGrupoEnche() throws Exception {
+        CountDownLatch gravado = new CountDownLatch(1);
+        aoGravar(ids -> gravado.countDown());
+        service = novoService(100, 5, Duration.ofSeconds(30), AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+        service.start();
+
+        for (int i = 0; i < 5; i++) {
+            service.agendar(request());
+        }
+
+        assertTrue(gravado.await(5, TimeUnit.SECONDS), "O grupo cheio deve ser gravado sem esperar o intervalo");
+        assertEquals(5, grupos.get(0).size());
+    }
+
+    @Test
+    void deveRecusarComAFilaCheiaSemEsperar() throws Exception {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        aoGravar(ids -> {
+            gravando.countDown();
+            aguardar(liberar);
+        });
+        service = novoService(2, 1, Duration.ZERO, AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+        service.start();
+
+        service.agendar(request());
+        assertTrue(gravando.await(5, TimeUnit.SECONDS));
+        service.agendar(request());
+        service.agendar(request());
+        FilaAgendamentoCheiaException ex = assertThrows(FilaAgendamentoCheiaException.class,
+                () -> service.agendar(request()));
+
+        assertEquals("Fila de agendamento cheia. Tente novamente mais tarde.", ex.getMessage());
+        assertEquals(2, service.getTamanhoFila());
+        assertEquals(1.0, meterRegistry.get(MetricasTransferencias.RECUSAS_FILA).counter().count());
+        assertEquals(SituacaoGravacao.PENDENTE, service.consultarGravacao(2L).getSituacao());
+
+        liberar.countDown();
+        service.stop();
+        assertEquals(List.of(List.of(1L), List.of(2L), List.of(3L)), grupos);
+    }
+
+    @Test
+    void confirmacaoGravadaDeveResponderSoDepoisDoCommit() {
+        service = novoService(100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.GRAVADA);
+        service.start();
+
+        AgendamentoAssincrono agendamento = service.agendar(request());
+
+        assertTrue(agendamento.isGravado());
+        assertEquals(List.of(List.of(1L)), grupos);
+        verify(resumoDiarioService).registrar(any(AcumuladorResumoDiario.class));
+    }
+
+    @Test
+    void confirmacaoGravadaDeveFalharQuandoOCommitFalha() throws SQLException {
+        aoGravar(ids -> {
+            throw new DataIntegrityViolationException("violação");
+        });
+        service = novoService(100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.GRAVADA);
+        service.start();
+
+        assertThrows(IllegalStateException.class, () -> service.agendar(request()));
+        assertEquals(SituacaoGravacao.FALHOU, service.consultarGravacao(1L).getSituacao());
+    }
+
+    @Test
+    void deveIsolarALinhaRecusadaPeloBancoSemPerderOGrupo() throws SQLException {
+        aoGravar(ids -> {
+            if (ids.contains(2L)) {
+                throw new DataIntegrityViolationException("violação na linha 2");
+            }
+        });
+        service = novoService(100, 500, Duration.ofMillis(200), AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+        service.start();
+
+        service.agendar(request());
+        service.agendar(request());
+        service.agendar(request());
+        service.stop();
+
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(1L), List.of(2L), List.of(3L)), grupos);
+        assertEquals(SituacaoGravacao.GRAVADA, service.consultarGravacao(1L).getSituacao());
+        assertEquals(SituacaoGravacao.FALHOU, service.consultarGravacao(2L).getSituacao());
+        assertEquals(AgendamentoAssincronoService.MENSAGEM_RECUSADA, service.consultarGravacao(2L).getMensagem());
+        assertEquals(SituacaoGravacao.GRAVADA, service.consultarGravacao(3L).getSituacao());
+    }
+
+    @Test
+    void deveGuardarAsFalhasMaisRecentesDescartandoAsAntigas() throws SQLException {
+        aoGravar(ids -> {
+            throw new DataIntegrityViolationException("violação");
+        });
+        service = novoService(2, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.GRAVADA);
+        service.start();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> service.agendar(request()));
+        }
+
+        when(transferenciaRepository.existsById(1L)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> service.consultarGravacao(1L));
+        assertEquals(SituacaoGravacao.FALHOU, service.consultarGravacao(2L).getSituacao());
+        assertEquals(SituacaoGravacao.FALHOU, service.consultarGravacao(3L).getSituacao());
+    }
+
+    @Test
+    void deveManterAFalhaConsultadaAoDescartarAsAntigas() throws SQLException {
+        aoGravar(ids -> {
+            throw new IllegalStateException("erro de SQL em transferencias");
+        });
+        service = novoService(2, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.GRAVADA);
+        service.start();
+
+        assertThrows(IllegalStateException.class, () -> service.agendar(request()));
+        assertThrows(IllegalStateException.class, () -> service.agendar(request()));
+        assertEquals(AgendamentoAssincronoService.MENSAGEM_FALHA, service.consultarGravacao(1L).getMensagem());
+        assertThrows(IllegalStateException.class, () -> service.agendar(request()));
+
+        when(transferenciaRepository.existsById(2L)).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> service.consultarGravacao(2L));
+        assertEquals(SituacaoGravacao.FALHOU, service.consultarGravacao(1L).getSituacao());
+        assertEquals(SituacaoGravacao.FALHOU, service.consultarGravacao(3L).getSituacao());
+    }
+
+    @Test
+    void deveRecusarATransferenciaEnfileiradaDepoisDaParada() {
+        service = novoService(100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.GRAVADA);
+        service.start();
+        // A parada termina entre a verificação da fila e a oferta da transferência
+        when(transferenciaService.prepararTransferencia(any())).thenAnswer(invocation -> {
+            service.stop();
+            return transferencia();
+        });
+        when(transferenciaRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(FilaAgendamentoCheiaException.class, () -> service.agendar(request()));
+
+        assertEquals(0, service.getTamanhoFila());
+        assertThrows(IllegalArgumentException.class, () -> service.consultarGravacao(1L));
+        assertTrue(grupos.isEmpty());
+    }
+
+    @Test
+    void deveRecusarQuandoParadoOuDesabilitado() {
+        service = novoService(100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+
+        assertThrows(FilaAgendamentoCheiaException.class, () -> service.agendar(request()));
+        verify(transferenciaService, never()).prepararTransferencia(any());
+
+        AgendamentoAssincronoService desabilitado = new AgendamentoAssincronoService(transferenciaService,
+                transferenciaRepository, alocadorIds, resumoDiarioService, jdbcTemplate,
+                mock(PlatformTransactionManager.class),
+                new MetricasTransferencias(meterRegistry), false, 100, 500, Duration.ofMillis(5),
+                AgendamentoAssincronoService.Confirmacao.ENFILEIRADA, Duration.ofSeconds(5));
+        desabilitado.start();
+        assertFalse(desabilitado.isRunning());
+    }
+
+    @Test
+    void naoDeveReservarIdParaTransferenciaRejeitada() {
+        when(transferenciaService.prepararTransferencia(any()))
+                .thenThrow(new IllegalArgumentException("Conta de origem e destino não podem ser iguais"));
+        service = novoService(100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+        service.start();
+
+        assertThrows(IllegalArgumentException.class, () -> service.agendar(request()));
+
+        verify(alocadorIds, never()).proximoId();
+        assertEquals(0, service.getTamanhoFila());
+    }
+
+    @Test
+    void consultaDeIdDesconhecidoDeveFalhar() {
+        when(transferenciaRepository.existsById(99L)).thenReturn(false);
+        service = novoService(100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.ENFILEIRADA);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.consultarGravacao(99L));
+        assertEquals("Transferência não encontrada com ID: 99", ex.getMessage());
+    }
+
+    private AgendamentoAssincronoService novoService(int capacidade, int tamanhoGrupo, Duration intervalo,
+                                                     AgendamentoAssincronoService.Confirmacao confirmacao) {
+        return new AgendamentoAssincronoService(transferenciaService, transferenciaRepository, alocadorIds,
+                resumoDiarioService, jdbcTemplate, mock(PlatformTransactionManager.class), new MetricasTransferencias(meterRegistry),
+                true, capacidade, tamanhoGrupo, intervalo, confirmacao, Duration.ofSeconds(5));
+    }
+
+    private interface AoGravar {
+        void gravar(List<Long> ids);
+    }
+
+    // Registra os IDs de cada grupo a partir dos parâmetros que o INSERT receberia
+    @SuppressWarnings("unchecked")
+    private void aoGravar(AoGravar acao) throws SQLException {
+        doAnswer(invocation -> {
+            Collection<Object> grupo = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            PreparedStatement ps = mock(PreparedStatement.class);
+            for (Object pendente : grupo) {
+                setter.setValues(ps, pendente);
+            }
+            ArgumentCaptor<Long> ids = ArgumentCaptor.forClass(Long.class);
+            verify(ps, times(grupo.size())).setLong(eq(1), ids.capture());
+
+            grupos.add(ids.getAllValues());
+            acao.gravar(ids.getAllValues());
+            return new int[0][];
+        }).when(jdbcTemplate).batchUpdate(eq(AgendamentoAssincronoService.INSERT), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TransferenciaRequestDTO request() {
+        TransferenciaRequestDTO request = new TransferenciaRequestDTO();
+        request.setContaOrigem("1234567890");
+        request.setContaDestino("0987654321");
+        request.setValorTransferencia(new BigDecimal("1000.00"));
+        request.setDataTransferencia(LocalDate.now().plusDays(15));
+        return request;
+    }
+
+    private static Transferencia transferencia() {
+        LocalDate hoje = LocalDate.now();
+        Transferencia transferencia = new Transferencia(NumeroConta.de("1234567890"), NumeroConta.de("0987654321"),
+                new BigDecimal("1000.00"), hoje.plusDays(15), hoje);
+        transferencia.setTaxaTransferencia(new BigDecimal("82.00"));
+        return transferencia;
+    }
+}
@@ -0,0 +1,125 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.model.ChaveResumoDiario;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.ResumoDiario;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ResumoDiarioRepository;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * IDs reservados pelo agendamento assíncrono contra a sequence real do H2, intercalados
+ * com os IDs que o Hibernate gera para o agendamento síncrono.
+ */
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do alocador de IDs de transferência")
+class AlocadorIdsTransferenciaTest {
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        transferenciaRepository.deleteAll();
+        resumoDiarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("IDs reservados não devem coincidir com os gerados pelo Hibernate")
+    void deveReservarIdsSemColidirComOHibernate() {
+        AlocadorIdsTransferencia alocador = new AlocadorIdsTransferencia(jdbcTemplate, entityManagerFactory);
+        Set<Long> ids = new HashSet<>();
+
+        // Três blocos de cada lado, para cruzar as fronteiras de bloco
+        for (int i = 0; i < Transferencia.TAMANHO_ALOCACAO_IDS * 3; i++) {
+            assertTrue(ids.add(alocador.proximoId()));
+            assertTrue(ids.add(transferenciaRepository.save(transferencia()).getId()));
+        }
+
+        assertEquals(Transferencia.TAMANHO_ALOCACAO_IDS * 6, ids.size());
+    }
+
+    @Test
+    @DisplayName("Deve gravar o grupo com os IDs reservados")
+    void deveGravarGrupoComIdsReservados() {
+        TransferenciaService transferenciaService = mock(TransferenciaService.class);
+        when(transferenciaService.prepararTransferencia(any())).thenAnswer(invocation -> transferencia());
+        AgendamentoAssincronoService service = new AgendamentoAssincronoService(transferenciaService,
+                transferenciaRepository, new AlocadorIdsTransferencia(jdbcTemplate, entityManagerFactory),
+                new ResumoDiarioService(jdbcTemplate, resumoDiarioRepository, mock(TaxaCalculationContext.class)),
+                jdbcTemplate, transactionManager, new MetricasTransferencias(new SimpleMeterRegistry()),
+                true, 100, 500, Duration.ofMillis(5), AgendamentoAssincronoService.Confirmacao.GRAVADA,
+                Duration.ofSeconds(5));
+        service.start();
+
+        Long id;
+        try {
+            AgendamentoAssincrono agendamento = service.agendar(new TransferenciaRequestDTO());
+            assertTrue(agendamento.isGravado());
+            id = agendamento.getTransferencia().id();
+        } finally {
+            service.stop();
+        }
+
+        Transferencia gravada = transferenciaRepository.findById(id).orElseThrow();
+        assertEquals(NumeroConta.de("1234567890"), gravada.getContaOrigem());
+        assertEquals(NumeroConta.de("0987654321"), gravada.getContaDestino());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(gravada.getValorTransferencia()));
+        assertEquals(0, new BigDecimal("82.00").compareTo(gravada.getTaxaTransferencia()));
+        assertEquals(LocalDate.now().plusDays(15), gravada.getDataTransferencia());
+        assertEquals(15, gravada.getDiasParaTransferencia());
+        assertEquals(SituacaoGravacao.GRAVADA, service.consultarGravacao(id).getSituacao());
+
+        ResumoDiario resumo = resumoDiarioRepository.findById(ChaveResumoDiario.de(gravada)).orElseThrow();
+        assertEquals(1, resumo.getQuantidade());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(resumo.getValorTotal()));
+        assertEquals(0, new BigDecimal("82.00").compareTo(resumo.getTaxaTotal()));
+        assertNotEquals(id, transferenciaRepository.save(transferencia()).getId());
+    }
+
+    private static Transferencia transferencia() {
+        LocalDate hoje = LocalDate.now();
+        Transferencia transferencia = new Transferencia(NumeroConta.de("1234567890"), NumeroConta.de("0987654321"),
+                new BigDecimal("1000.00"), hoje.plusDays(15), hoje);
+        transferencia.setTaxaTransferencia(new BigDecimal("82.00"));
+        return transferencia;
+    }
+}
@@ -0,0 +1,160 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.ContaRequestDTO;
+import com.sistema.transferencias.dto.ContaResponseDTO;
+import com.sistema.transferencias.dto.LancamentoContaDTO;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.TipoLancamento;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ContaRepository;
+import com.sistema.transferencias.repository.LancamentoContaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes das contas e do extrato")
+class ContaServiceTest {
+
+    private static final String CONTA_A = "1111111111";
+    private static final String CONTA_B = "2222222222";
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private LancamentoContaRepository lancamentoContaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ContaService contaService;
+
+    @BeforeEach
+    void setUp() {
+        contaService = new ContaService(contaRepository, lancamentoContaRepository, new TravasContas(1024),
+                transactionManager, new CalendarioNegocio(Clock.systemDefaultZone()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        lancamentoContaRepository.deleteAllInBatch();
+        contaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve abrir conta com o saldo inicial lançado como depósito")
+    void deveAbrirContaComDeposito() {
+        ContaResponseDTO conta = contaService.abrirConta(new ContaRequestDTO(CONTA_A, new BigDecimal("500.00")));
+
+        assertEquals(CONTA_A, conta.getNumero());
+        assertEquals(0, new BigDecimal("500.00").compareTo(conta.getSaldo()));
+        List<LancamentoContaDTO> extrato = contaService.buscarExtrato(CONTA_A, 50);
+        assertEquals(1, extrato.size());
+        assertEquals(TipoLancamento.DEPOSITO, extrato.get(0).getTipo());
+    }
+
+    @Test
+    @DisplayName("Deve recusar conta já existente")
+    void deveRecusarContaExistente() {
+        contaService.abrirConta(new ContaRequestDTO(CONTA_A, BigDecimal.ZERO));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> contaService.abrirConta(new ContaRequestDTO(CONTA_A, BigDecimal.TEN)));
+        assertEquals(0, lancamentoContaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve listar o extrato do lançamento mais recente para o mais antigo")
+    void deveListarExtratoDoMaisRecente() {
+        contaService.abrirConta(new ContaRequestDTO(CONTA_A, new BigDecimal("10.00")));
+        contaService.depositar(CONTA_A, new BigDecimal("20.00"));
+        ContaResponseDTO conta = contaService.depositar(CONTA_A, new BigDecimal("30.00"));
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(conta.getSaldo()));
+        List<LancamentoContaDTO> extrato = contaService.buscarExtrato(CONTA_A, 2);
+        assertEquals(2, extrato.size());
+        assertEquals(0, new BigDecimal("60.00").compareTo(extrato.get(0).getSaldoApos()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(extrato.get(1).getSaldoApos()));
+        assertThrows(IllegalArgumentException.class, () -> contaService.buscarExtrato(CONTA_A, 0));
+        assertThrows(IllegalArgumentException.class, () -> contaService.buscarExtrato("9999999999", 50));
+    }
+
+    @Test
+    @DisplayName("Não deve movimentar as contas quando a transição de status é recusada")
+    void naoDeveMovimentarQuandoTransicaoRecusada() {
+        contaService.abrirConta(new ContaRequestDTO(CONTA_A, new BigDecimal("100.00")));
+        contaService.abrirConta(new ContaRequestDTO(CONTA_B, BigDecimal.ZERO));
+
+        assertFalse(contaService.liquidar(transferencia(CONTA_A, CONTA_B, "10.00", "1.00"), () -> false));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(contaService.buscarConta(CONTA_A).getSaldo()));
+        assertEquals(1, lancamentoContaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve desfazer a transição quando a conta de destino não existe")
+    void deveDesfazerQuandoDestinoNaoExiste() {
+        contaService.abrirConta(new ContaRequestDTO(CONTA_A, new BigDecimal("100.00")));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> contaService.liquidar(transferencia(CONTA_A, CONTA_B, "10.00", "1.00"), () -> true));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(contaService.buscarConta(CONTA_A).getSaldo()));
+        assertEquals(1, lancamentoContaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Liquidações simultâneas A→B e B→A devem manter saldos iguais à soma dos lançamentos")
+    void liquidacoesCruzadasDevemManterSaldos() throws Exception {
+        contaService.abrirConta(new ContaRequestDTO(CONTA_A, new BigDecimal("10000.00")));
+        contaService.abrirConta(new ContaRequestDTO(CONTA_B, new BigDecimal("10000.00")));
+
+        List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            boolean inverter = i % 2 == 0;
+            execucoes.add(CompletableFuture.runAsync(() -> {
+                for (int j = 0; j < 25; j++) {
+                    Transferencia transferencia = inverter
+                            ? transferencia(CONTA_B, CONTA_A, "10.00", "1.00")
+                            : transferencia(CONTA_A, CONTA_B, "10.00", "1.00");
+                    assertTrue(contaService.liquidar(transferencia, () -> true));
+                }
+            }));
+        }
+        CompletableFuture.allOf(execucoes.toArray(CompletableFuture[]::new)).get(60, TimeUnit.SECONDS);
+
+        // Cada conta enviou e recebeu 50 transferências: só as taxas saíram do sistema
+        assertEquals(0, new BigDecimal("9950.00").compareTo(contaService.buscarConta(CONTA_A).getSaldo()));
+        assertEquals(0, new BigDecimal("9950.00").compareTo(contaService.buscarConta(CONTA_B).getSaldo()));
+        assertEquals(0, lancamentoContaRepository.somarLancamentos(CONTA_A)
+                .compareTo(contaService.buscarConta(CONTA_A).getSaldo()));
+        assertEquals(0, lancamentoContaRepository.somarLancamentos(CONTA_B)
+                .compareTo(contaService.buscarConta(CONTA_B).getSaldo()));
+    }
+
+    private static Transferencia transferencia(String origem, String destino, String valor, String taxa) {
+        LocalDate hoje = LocalDate.now();
+        Transferencia transferencia = new Transferencia(NumeroConta.de(origem), NumeroConta.de(destino), new BigDecimal(valor), hoje, hoje);
+        transferencia.setTaxaTransferencia(new BigDecimal(taxa));
+        return transferencia;
+    }
+}
@@ -0,0 +1,167 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.strategy.MotivoRejeicao;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
+import com.sistema.transferencias.strategy.TabelaTaxas;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CotacaoTaxaCacheTest {
+
+    private TransferenciaService transferenciaService;
+    private TaxaCalculationContext taxaCalculationContext;
+    private RelogioAjustavel relogio;
+    private CotacaoTaxaCache cache;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        transferenciaService = mock(TransferenciaService.class);
+        taxaCalculationContext = new TaxaCalculationContext(TabelaTaxas.vazia());
+        relogio = new RelogioAjustavel(Instant.parse("2025-07-21T10:00:00Z"));
+        cache = new CotacaoTaxaCache(transferenciaService, taxaCalculationContext, new CalendarioNegocio(relogio), 100);
+        hoje = LocalDate.now(relogio);
+    }
+
+    @Test
+    void deveCalcularApenasNaPrimeiraConsulta() {
+        LocalDate data = hoje.plusDays(15);
+        when(transferenciaService.cotarTaxa(new BigDecimal("1000.00"), data))
+                .thenReturn(ResultadoTaxa.calculada(new BigDecimal("82.00")));
+
+        assertEquals(new BigDecimal("82.00"), cache.cotarTaxa(new BigDecimal("1000.00"), data).getTaxa());
+        assertEquals(new BigDecimal("82.00"), cache.cotarTaxa(new BigDecimal("1000.00"), data).getTaxa());
+
+        verify(transferenciaService, times(1)).cotarTaxa(any(), any());
+        assertEquals(1, cache.getAcertos());
+        assertEquals(1, cache.getFaltas());
+        assertEquals(1, cache.getEntradas());
+    }
+
+    @Test
+    void deveUsarMesmaEntradaParaValoresEquivalentes() {
+        LocalDate data = hoje.plusDays(15);
+        when(transferenciaService.cotarTaxa(any(), eq(data))).thenReturn(ResultadoTaxa.calculada(new BigDecimal("82.00")));
+
+        cache.cotarTaxa(new BigDecimal("1000"), data);
+        cache.cotarTaxa(new BigDecimal("1000.00"), data);
+
+        verify(transferenciaService, times(1)).cotarTaxa(any(), any());
+    }
+
+    @Test
+    void deveGuardarRejeicoesComoEntradasNegativas() {
+        LocalDate data = hoje.plusDays(5);
+        ResultadoTaxa rejeicao = ResultadoTaxa.rejeitada(MotivoRejeicao.FAIXA_NAO_PERMITIDA, "Transferência negada");
+        when(transferenciaService.cotarTaxa(new BigDecimal("100.00"), data)).thenReturn(rejeicao);
+
+        cache.cotarTaxa(new BigDecimal("100.00"), data);
+        ResultadoTaxa repetida = cache.cotarTaxa(new BigDecimal("100.00"), data);
+
+        assertSame(rejeicao, repetida);
+        assertEquals(MotivoRejeicao.FAIXA_NAO_PERMITIDA, repetida.getMotivo());
+        verify(transferenciaService, times(1)).cotarTaxa(any(), any());
+        assertEquals(1, cache.getAcertos());
+    }
+
+    @Test
+    void deveDescartarCotacoesNaViradaDoDia() {
+        LocalDate data = hoje.plusDays(15);
+        when(transferenciaService.cotarTaxa(any(), eq(data))).thenReturn(ResultadoTaxa.calculada(new BigDecimal("82.00")));
+        cache.cotarTaxa(new BigDecimal("1000.00"), data);
+
+        relogio.avancar(Duration.ofDays(1));
+        cache.cotarTaxa(new BigDecimal("1000.00"), data);
+
+        verify(transferenciaService, times(2)).cotarTaxa(any(), any());
+        assertEquals(hoje.plusDays(1), cache.getEstatisticas().get("dataReferencia"));
+        assertEquals(1, cache.getEntradas());
+    }
+
+    @Test
+    void deveDescartarCotacoesQuandoATabelaDeTaxasMuda() {
+        LocalDate data = hoje.plusDays(15);
+        when(transferenciaService.cotarTaxa(new BigDecimal("1000.00"), data))
+                .thenReturn(ResultadoTaxa.calculada(new BigDecimal("82.00")))
+                .thenReturn(ResultadoTaxa.calculada(new BigDecimal("90.00")));
+
+        cache.cotarTaxa(new BigDecimal("1000.00"), data);
+        taxaCalculationContext.atualizarTabela(TabelaTaxas.vazia());
+
+        assertEquals(new BigDecimal("90.00"), cache.cotarTaxa(new BigDecimal("1000.00"), data).getTaxa());
+        assertEquals(new BigDecimal("90.00"), cache.cotarTaxa(new BigDecimal("1000.00"), data).getTaxa());
+        verify(transferenciaService, times(2)).cotarTaxa(any(), any());
+    }
+
+    @Test
+    void deveRespeitarTamanhoMaximo() {
+        cache = new CotacaoTaxaCache(transferenciaService, taxaCalculationContext, new CalendarioNegocio(relogio), 2);
+        when(transferenciaService.cotarTaxa(any(), any())).thenReturn(ResultadoTaxa.calculada(BigDecimal.ONE));
+
+        for (int i = 1; i <= 5; i++) {
+            cache.cotarTaxa(new BigDecimal(i), hoje.plusDays(15));
+        }
+
+        assertEquals(2, cache.getEntradas());
+        assertEquals(3, cache.getRemocoes());
+        assertEquals(3L, cache.getEstatisticas().get("remocoes"));
+    }
+
+    @Test
+    void deveRemoverACotacaoNaoConsultadaQuandoCheio() {
+        cache = new CotacaoTaxaCache(transferenciaService, taxaCalculationContext, new CalendarioNegocio(relogio), 2);
+        when(transferenciaService.cotarTaxa(any(), any())).thenReturn(ResultadoTaxa.calculada(BigDecimal.ONE));
+        LocalDate data = hoje.plusDays(15);
+
+        cache.cotarTaxa(new BigDecimal("100.00"), data);
+        cache.cotarTaxa(new BigDecimal("200.00"), data);
+        cache.cotarTaxa(new BigDecimal("100.00"), data);
+        cache.cotarTaxa(new BigDecimal("300.00"), data);
+
+        cache.cotarTaxa(new BigDecimal("100.00"), data);
+        verify(transferenciaService, times(3)).cotarTaxa(any(), any());
+        cache.cotarTaxa(new BigDecimal("200.00"), data);
+        verify(transferenciaService, times(4)).cotarTaxa(any(), any());
+        assertEquals(2, cache.getRemocoes());
+    }
+
+    @Test
+    void naoDeveGuardarValoresForaDaChave() {
+        when(transferenciaService.cotarTaxa(any(), any())).thenReturn(ResultadoTaxa.calculada(BigDecimal.ONE));
+
+        cache.cotarTaxa(new BigDecimal("100.005"), hoje.plusDays(15));
+        cache.cotarTaxa(new BigDecimal("100.005"), hoje.plusDays(15));
+
+        verify(transferenciaService, times(2)).cotarTaxa(any(), any());
+        assertEquals(0, cache.getEntradas());
+        assertEquals(0, cache.getAcertos() + cache.getFaltas());
+    }
+
+    @Test
+    void devePublicarContadoresComoMetricas() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        when(transferenciaService.cotarTaxa(any(), any())).thenReturn(ResultadoTaxa.calculada(BigDecimal.ONE));
+
+        cache.cotarTaxa(new BigDecimal("1000.00"), hoje.plusDays(15));
+        cache.cotarTaxa(new BigDecimal("1000.00"), hoje.plusDays(15));
+
+        assertEquals(1, registry.get("transferencias.cotacao.cache.consultas").tag("resultado", "acerto")
+                .functionCounter().count());
+        assertEquals(1, registry.get("transferencias.cotacao.cache.consultas").tag("resultado", "falta")
+                .functionCounter().count());
+        assertEquals(1, registry.get("transferencias.cotacao.cache.entradas").gauge().value());
+        assertEquals(0, registry.get("transferencias.cotacao.cache.remocoes").functionCounter().count());
+    }
+}
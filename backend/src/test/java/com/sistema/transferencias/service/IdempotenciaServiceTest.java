@@ -0,0 +1,139 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.exception.ChaveIdempotenciaException;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ChaveIdempotenciaRepository;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class IdempotenciaServiceTest {
+
+    private static final Duration VALIDADE = Duration.ofHours(24);
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveIdempotenciaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransferenciaService transferenciaService;
+    private RelogioAjustavel relogio;
+    private IdempotenciaService idempotenciaService;
+
+    @BeforeEach
+    void setUp() {
+        transferenciaService = mock(TransferenciaService.class);
+        when(transferenciaService.agendarTransferencia(any())).thenAnswer(invocation -> {
+            TransferenciaRequestDTO dto = invocation.getArgument(0);
+            Transferencia transferencia = new Transferencia(NumeroConta.de(dto.getContaOrigem()), NumeroConta.de(dto.getContaDestino()),
+                    dto.getValorTransferencia(), dto.getDataTransferencia(), LocalDate.now(relogio));
+            transferencia.setTaxaTransferencia(new BigDecimal("82.00"));
+            return TransferenciaResponseDTO.de(transferenciaRepository.save(transferencia));
+        });
+        relogio = new RelogioAjustavel(Instant.now());
+        idempotenciaService = novoService();
+    }
+
+    @Test
+    void deveAgendarUmaUnicaVezPorChave() {
+        AgendamentoIdempotente primeiro = idempotenciaService.agendarTransferencia("chave-1", request("1000.00"));
+        AgendamentoIdempotente repetido = idempotenciaService.agendarTransferencia("chave-1", request("1000.00"));
+
+        assertFalse(primeiro.isRepetido());
+        assertTrue(repetido.isRepetido());
+        assertEquals(primeiro.getTransferencia().id(), repetido.getTransferencia().id());
+        verify(transferenciaService, times(1)).agendarTransferencia(any());
+        assertEquals(1, transferenciaRepository.count());
+    }
+
+    @Test
+    void deveDevolverTransferenciaOriginalRegistradaNoBanco() {
+        AgendamentoIdempotente primeiro = idempotenciaService.agendarTransferencia("chave-1", request("1000.00"));
+
+        // Outra instância não tem a chave em memória e precisa consultar a tabela
+        AgendamentoIdempotente repetido = novoService().agendarTransferencia("chave-1", request("1000"));
+
+        assertTrue(repetido.isRepetido());
+        assertEquals(primeiro.getTransferencia().id(), repetido.getTransferencia().id());
+        assertEquals(new BigDecimal("82.00"), repetido.getTransferencia().taxaTransferencia());
+        verify(transferenciaService, times(1)).agendarTransferencia(any());
+    }
+
+    @Test
+    void deveRejeitarChaveReutilizadaComOutrosDados() {
+        idempotenciaService.agendarTransferencia("chave-1", request("1000.00"));
+
+        assertThrows(ChaveIdempotenciaException.class,
+                () -> idempotenciaService.agendarTransferencia("chave-1", request("2000.00")));
+        assertThrows(ChaveIdempotenciaException.class,
+                () -> novoService().agendarTransferencia("chave-1", request("2000.00")));
+        verify(transferenciaService, times(1)).agendarTransferencia(any());
+    }
+
+    @Test
+    void deveAgendarNovamenteAposExpirarAChave() {
+        idempotenciaService.agendarTransferencia("chave-1", request("1000.00"));
+
+        relogio.avancar(VALIDADE.plusMinutes(1));
+        AgendamentoIdempotente depois = idempotenciaService.agendarTransferencia("chave-1", request("2000.00"));
+
+        assertFalse(depois.isRepetido());
+        verify(transferenciaService, times(2)).agendarTransferencia(any());
+        assertEquals(1, chaveIdempotenciaRepository.count());
+    }
+
+    @Test
+    void deveRemoverChavesExpiradas() {
+        idempotenciaService.agendarTransferencia("chave-1", request("1000.00"));
+        relogio.avancar(Duration.ofHours(1));
+        idempotenciaService.agendarTransferencia("chave-2", request("1000.00"));
+
+        relogio.avancar(VALIDADE.minusMinutes(30));
+        idempotenciaService.removerChavesExpiradas();
+
+        assertFalse(chaveIdempotenciaRepository.existsById("chave-1"));
+        assertTrue(chaveIdempotenciaRepository.existsById("chave-2"));
+    }
+
+    @Test
+    void deveRejeitarChaveInvalida() {
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotenciaService.agendarTransferencia(" ", request("1000.00")));
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotenciaService.agendarTransferencia("x".repeat(65), request("1000.00")));
+        verifyNoInteractions(transferenciaService);
+    }
+
+    private IdempotenciaService novoService() {
+        return new IdempotenciaService(transferenciaService, transferenciaRepository, chaveIdempotenciaRepository,
+                transactionManager, relogio, VALIDADE, 100);
+    }
+
+    private static TransferenciaRequestDTO request(String valor) {
+        TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("0987654321");
+        dto.setValorTransferencia(new BigDecimal(valor));
+        dto.setDataTransferencia(LocalDate.now().plusDays(15));
+        return dto;
+    }
+}
@@ -0,0 +1,208 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.model.FormatoRemessa;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do leitor de remessas")
+class LeitorRemessaTest {
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    @DisplayName("Deve ler os campos do CSV, pulando cabeçalho e linhas em branco")
+    void deveLerCsv() throws IOException {
+        Path arquivo = arquivo("contaOrigem,contaDestino,valor,dataTransferencia\r\n"
+                + "1234567890,0987654321,1000.50,2030-01-15\r\n"
+                + "\r\n"
+                + " 1111111111 , 2222222222 , 7 , 2030-02-28 ");
+        BlocoRemessa bloco = new BlocoRemessa(10);
+
+        try (LeitorRemessa leitor = new LeitorRemessa(arquivo, FormatoRemessa.CSV, 0, 0)) {
+            assertTrue(leitor.ler(bloco));
+            assertEquals(2, bloco.getQuantidade());
+            assertEquals(Files.size(arquivo), bloco.getPosicaoFinal());
+            assertEquals(4, bloco.getLinhasLidas());
+            assertFalse(leitor.ler(new BlocoRemessa(10)));
+        }
+
+        interpretar(bloco, FormatoRemessa.CSV);
+        assertEquals(2, bloco.getNumeroLinha(0));
+        assertTrue(bloco.isAceita(0));
+        assertEquals(1234567890L, bloco.getContaOrigem(0));
+        assertEquals(987654321L, bloco.getContaDestino(0));
+        assertEquals(100050, bloco.getValorCentavos(0));
+        assertEquals(LocalDate.of(2030, 1, 15).toEpochDay(), bloco.getDataTransferencia(0));
+
+        assertEquals(4, bloco.getNumeroLinha(1));
+        assertTrue(bloco.isAceita(1));
+        assertEquals(700, bloco.getValorCentavos(1));
+        assertEquals(LocalDate.of(2030, 2, 28).toEpochDay(), bloco.getDataTransferencia(1));
+    }
+
+    @Test
+    @DisplayName("Deve aceitar BOM, separador ponto e vírgula e vírgula decimal")
+    void deveAceitarBomEPontoEVirgula() throws IOException {
+        byte[] conteudo = "contaOrigem;contaDestino;valor;dataTransferencia\n1234567890;0987654321;1000,5;2030-01-15\n"
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] comBom = new byte[conteudo.length + 3];
+        comBom[0] = (byte) 0xEF;
+        comBom[1] = (byte) 0xBB;
+        comBom[2] = (byte) 0xBF;
+        System.arraycopy(conteudo, 0, comBom, 3, conteudo.length);
+        Path arquivo = Files.write(diretorio.resolve("bom.csv"), comBom);
+
+        List<BlocoRemessa> blocos = lerTudo(arquivo, FormatoRemessa.CSV, 10, LeitorRemessa.TAMANHO_JANELA);
+
+        BlocoRemessa bloco = blocos.get(0);
+        assertEquals(1, bloco.getQuantidade());
+        assertEquals(2, bloco.getNumeroLinha(0));
+        assertTrue(bloco.isAceita(0));
+        assertEquals(100050, bloco.getValorCentavos(0));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linhas fora do layout com o motivo")
+    void deveRejeitarLinhasForaDoLayout() throws IOException {
+        Path arquivo = arquivo("1234567890,0987654321,1000.00\n"
+                + "123456789,0987654321,1000.00,2030-01-15\n"
+                + "1234567890,09876X4321,1000.00,2030-01-15\n"
+                + "1234567890,0987654321,10.001,2030-01-15\n"
+                + "1234567890,0987654321,1000000000000.00,2030-01-15\n"
+                + "1234567890,0987654321,1000.00,2030-02-30\n"
+                + "1234567890,0987654321,1000.00,2030-01-15,extra\n"
+                + "1234567890,0987654321,999999999999.99,2032-02-29\n");
+
+        BlocoRemessa bloco = lerTudo(arquivo, FormatoRemessa.CSV, 10, LeitorRemessa.TAMANHO_JANELA).get(0);
+
+        assertEquals(8, bloco.getQuantidade());
+        assertEquals(LeitorRemessa.LAYOUT_CSV, bloco.getRejeicao(0));
+        assertEquals(LeitorRemessa.CONTA_ORIGEM_INVALIDA, bloco.getRejeicao(1));
+        assertEquals(LeitorRemessa.CONTA_DESTINO_INVALIDA, bloco.getRejeicao(2));
+        assertEquals(LeitorRemessa.VALOR_INVALIDO, bloco.getRejeicao(3));
+        assertEquals(LeitorRemessa.VALOR_INVALIDO, bloco.getRejeicao(4));
+        assertEquals(LeitorRemessa.DATA_INVALIDA, bloco.getRejeicao(5));
+        assertEquals(LeitorRemessa.LAYOUT_CSV, bloco.getRejeicao(6));
+        assertTrue(bloco.isAceita(7));
+        assertEquals(LeitorRemessa.VALOR_MAXIMO_CENTAVOS, bloco.getValorCentavos(7));
+    }
+
+    @Test
+    @DisplayName("Deve ler o layout posicional")
+    void deveLerPosicional() throws IOException {
+        Path arquivo = arquivo("12345678900987654321" + "000000000100050" + "20300115\n"
+                + "12345678900987654321" + "00000000010005" + "20300115\n");
+
+        BlocoRemessa bloco = lerTudo(arquivo, FormatoRemessa.POSICIONAL, 10, LeitorRemessa.TAMANHO_JANELA).get(0);
+
+        assertEquals(2, bloco.getQuantidade());
+        assertTrue(bloco.isAceita(0));
+        assertEquals(1234567890L, bloco.getContaOrigem(0));
+        assertEquals(987654321L, bloco.getContaDestino(0));
+        assertEquals(100050, bloco.getValorCentavos(0));
+        assertEquals(LocalDate.of(2030, 1, 15).toEpochDay(), bloco.getDataTransferencia(0));
+        assertEquals(LeitorRemessa.LAYOUT_POSICIONAL, bloco.getRejeicao(1));
+    }
+
+    @Test
+    @DisplayName("Deve dividir os blocos nas fronteiras da janela e retomar da posição confirmada")
+    void deveDividirBlocosNaFronteiraDaJanela() throws IOException {
+        StringBuilder conteudo = new StringBuilder("contaOrigem,contaDestino,valor,dataTransferencia\n");
+        for (int i = 1; i <= 50; i++) {
+            conteudo.append("1234567890,0987654321,").append(i).append(".00,2030-01-15\n");
+        }
+        Path arquivo = arquivo(conteudo.toString());
+
+        // Janela de 100 bytes: cabem duas linhas por janela, e várias linhas atravessam a fronteira
+        List<BlocoRemessa> blocos = lerTudo(arquivo, FormatoRemessa.CSV, 3, 100);
+
+        List<Long> valores = new ArrayList<>();
+        long linha = 1;
+        for (BlocoRemessa bloco : blocos) {
+            for (int i = 0; i < bloco.getQuantidade(); i++) {
+                assertTrue(bloco.isAceita(i), "Linha " + bloco.getNumeroLinha(i) + ": " + bloco.getRejeicao(i));
+                assertEquals(++linha, bloco.getNumeroLinha(i));
+                valores.add(bloco.getValorCentavos(i));
+            }
+        }
+        assertEquals(50, valores.size());
+        for (int i = 0; i < 50; i++) {
+            assertEquals((i + 1) * 100L, valores.get(i));
+        }
+
+        // Retomando do fim do quinto bloco, a leitura continua na linha seguinte
+        BlocoRemessa quinto = blocos.get(4);
+        BlocoRemessa bloco = new BlocoRemessa(100);
+        try (LeitorRemessa leitor = new LeitorRemessa(arquivo, FormatoRemessa.CSV,
+                quinto.getPosicaoFinal(), quinto.getLinhasLidas(), 100)) {
+            assertTrue(leitor.ler(bloco));
+        }
+        assertEquals(quinto.getLinhasLidas() + 1, bloco.getNumeroLinha(0));
+    }
+
+    @Test
+    @DisplayName("Deve falhar com linha maior que a janela de leitura")
+    void deveFalharComLinhaMaiorQueAJanela() throws IOException {
+        Path arquivo = arquivo("1234567890,0987654321,1000.00,2030-01-15\n"
+                + "1234567890,0987654321,1000.00,2030-01-15" + " ".repeat(100) + "\n");
+
+        try (LeitorRemessa leitor = new LeitorRemessa(arquivo, FormatoRemessa.CSV, 0, 0, 64)) {
+            BlocoRemessa bloco = new BlocoRemessa(10);
+            assertTrue(leitor.ler(bloco));
+            assertEquals(1, bloco.getQuantidade());
+            IOException erro = assertThrows(IOException.class, () -> leitor.ler(bloco));
+            assertTrue(erro.getMessage().contains("Linha 2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve escrever o relatório do bloco")
+    void deveEscreverRelatorio() throws IOException {
+        Path arquivo = arquivo("1234567890,0987654321,1000.00,2030-01-15\n1234567890,0987654321,abc,2030-01-15\n");
+        BlocoRemessa bloco = lerTudo(arquivo, FormatoRemessa.CSV, 10, LeitorRemessa.TAMANHO_JANELA).get(0);
+        bloco.cotar(0, 12, 12005);
+        bloco.definirId(0, 42);
+
+        byte[] relatorio = new byte[bloco.escreverResultado().remaining()];
+        bloco.escreverResultado().get(relatorio);
+
+        assertEquals("1,AGENDADA,42,120.05,\n2,REJEITADA,,,\"" + LeitorRemessa.VALOR_INVALIDO + "\"\n",
+                new String(relatorio, StandardCharsets.UTF_8));
+    }
+
+    private Path arquivo(String conteudo) throws IOException {
+        return Files.writeString(Files.createTempFile(diretorio, "remessa", ".dat"), conteudo);
+    }
+
+    private static List<BlocoRemessa> lerTudo(Path arquivo, FormatoRemessa formato, int tamanhoBloco,
+                                              int tamanhoJanela) throws IOException {
+        List<BlocoRemessa> blocos = new ArrayList<>();
+        try (LeitorRemessa leitor = new LeitorRemessa(arquivo, formato, 0, 0, tamanhoJanela)) {
+            BlocoRemessa bloco = new BlocoRemessa(tamanhoBloco);
+            while (leitor.ler(bloco)) {
+                interpretar(bloco, formato);
+                blocos.add(bloco);
+                bloco = new BlocoRemessa(tamanhoBloco);
+            }
+        }
+        return blocos;
+    }
+
+    private static void interpretar(BlocoRemessa bloco, FormatoRemessa formato) {
+        for (int i = 0; i < bloco.getQuantidade(); i++) {
+            LeitorRemessa.interpretar(bloco, i, formato);
+        }
+    }
+}
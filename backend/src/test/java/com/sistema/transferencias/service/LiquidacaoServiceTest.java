@@ -0,0 +1,306 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.model.Conta;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.StatusTransferencia;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ContaRepository;
+import com.sistema.transferencias.repository.LancamentoContaRepository;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Motor de liquidação contra o H2, com o calendário adiantado em {@link #DIAS_ADIANTE} dias
+ * para que as transferências agendadas (sempre com data futura) vençam. Cada transferência
+ * liquidada de {@link #ORIGEM} para {@link #DESTINO} move 1000,00 mais 82,00 de taxa.
+ */
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do motor de liquidação")
+class LiquidacaoServiceTest {
+
+    private static final int DIAS_ADIANTE = 10;
+    private static final String ORIGEM = "1234567890";
+    private static final String DESTINO = "0987654321";
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private ContaRepository contaRepository;
+
+    @Autowired
+    private LancamentoContaRepository lancamentoContaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CalendarioNegocio calendario = new CalendarioNegocio(
+            Clock.offset(Clock.systemDefaultZone(), Duration.ofDays(DIAS_ADIANTE)));
+    private final List<LiquidacaoService> nos = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        contaRepository.save(new Conta(ORIGEM, SALDO_INICIAL));
+        contaRepository.save(new Conta(DESTINO, BigDecimal.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        for (LiquidacaoService no : nos) {
+            no.encerrar();
+        }
+        transferenciaRepository.deleteAll();
+        lancamentoContaRepository.deleteAllInBatch();
+        contaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve liquidar só as transferências vencidas")
+    void deveLiquidarSomenteVencidas() {
+        Transferencia vencida = salvar(DIAS_ADIANTE - 5);
+        Transferencia doDia = salvar(DIAS_ADIANTE);
+        Transferencia futura = salvar(DIAS_ADIANTE + 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        ResultadoLiquidacao resultado = no(transferenciaRepository, registry, 500, 4).liquidarLote();
+
+        assertEquals(2, resultado.getReservadas());
+        assertEquals(2, resultado.getLiquidadas());
+        assertEquals(StatusTransferencia.LIQUIDADA, status(vencida));
+        assertEquals(StatusTransferencia.LIQUIDADA, status(doDia));
+        assertEquals(StatusTransferencia.AGENDADA, status(futura));
+
+        Transferencia liquidada = transferenciaRepository.findById(vencida.getId()).orElseThrow();
+        assertEquals(calendario.hoje(), liquidada.getDataLiquidacao());
+        assertEquals(2L, liquidada.getVersao());
+        assertNull(liquidada.getInicioProcessamento());
+        assertEquals(2.0, registry.get(MetricasTransferencias.LIQUIDACOES).tag("resultado", "liquidada").counter().count());
+        assertEquals(1, registry.get(MetricasTransferencias.LOTE_LIQUIDACAO).timer().count());
+        assertEquals(2.0, registry.get(MetricasTransferencias.LOTE_LIQUIDACAO_TAMANHO).summary().totalAmount());
+    }
+
+    @Test
+    @DisplayName("Deve liquidar lote após lote até não restar transferência vencida")
+    void deveLiquidarEmLotesAteEsvaziar() {
+        for (int i = 0; i < 10; i++) {
+            salvar(DIAS_ADIANTE - 1);
+        }
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        no(transferenciaRepository, registry, 3, 2).liquidarVencidas();
+
+        assertEquals(10, contar(StatusTransferencia.LIQUIDADA));
+        assertEquals(4, registry.get(MetricasTransferencias.LOTE_LIQUIDACAO).timer().count());
+    }
+
+    @Test
+    @DisplayName("Nós concorrentes não devem liquidar a mesma transferência duas vezes")
+    void nosConcorrentesNaoDevemLiquidarDuasVezes() {
+        for (int i = 0; i < 200; i++) {
+            salvar(DIAS_ADIANTE - 1);
+        }
+        List<SimpleMeterRegistry> registros = List.of(new SimpleMeterRegistry(), new SimpleMeterRegistry());
+        List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+        for (SimpleMeterRegistry registry : registros) {
+            LiquidacaoService no = no(transferenciaRepository, registry, 20, 4);
+            execucoes.add(CompletableFuture.runAsync(no::liquidarVencidas));
+        }
+        execucoes.forEach(CompletableFuture::join);
+
+        double liquidadas = 0;
+        for (SimpleMeterRegistry registry : registros) {
+            liquidadas += registry.get(MetricasTransferencias.LIQUIDACOES).tag("resultado", "liquidada").counter().count();
+        }
+        assertEquals(200.0, liquidadas);
+        assertEquals(200, contar(StatusTransferencia.LIQUIDADA));
+        assertEquals(200, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transferencias WHERE versao = 2", Integer.class));
+        assertEquals(0, SALDO_INICIAL.subtract(new BigDecimal("216400.00")).compareTo(saldo(ORIGEM)));
+        assertEquals(0, new BigDecimal("200000.00").compareTo(saldo(DESTINO)));
+        assertEquals(600, lancamentoContaRepository.count());
+        assertEquals(0, lancamentoContaRepository.somarLancamentos(DESTINO).compareTo(saldo(DESTINO)));
+    }
+
+    @Test
+    @DisplayName("Deve debitar valor e taxa da origem e creditar o valor no destino")
+    void deveMovimentarContasNaLiquidacao() {
+        Transferencia vencida = salvar(DIAS_ADIANTE - 1);
+
+        no(transferenciaRepository, new SimpleMeterRegistry(), 500, 4).liquidarLote();
+
+        assertEquals(0, new BigDecimal("998918.00").compareTo(saldo(ORIGEM)));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(saldo(DESTINO)));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM lancamentos_conta WHERE transferencia_id = ?", Integer.class, vencida.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como falha, sem lançamentos, a transferência sem saldo na origem")
+    void deveMarcarFalhaPorSaldoInsuficiente() {
+        contaRepository.save(new Conta("1111111111", new BigDecimal("1081.99")));
+        Transferencia semSaldo = salvar("1111111111", DIAS_ADIANTE - 1);
+        Transferencia comSaldo = salvar(DIAS_ADIANTE - 1);
+
+        ResultadoLiquidacao resultado = no(transferenciaRepository, new SimpleMeterRegistry(), 500, 1).liquidarLote();
+
+        assertEquals(new ResultadoLiquidacao(2, 1, 1, 0, 0).toString(), resultado.toString());
+        assertEquals(StatusTransferencia.LIQUIDADA, status(comSaldo));
+        Transferencia falha = transferenciaRepository.findById(semSaldo.getId()).orElseThrow();
+        assertEquals(StatusTransferencia.FALHOU, falha.getStatus());
+        assertTrue(falha.getMotivoFalha().startsWith("Saldo insuficiente"));
+        assertEquals(0, new BigDecimal("1081.99").compareTo(saldo("1111111111")));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM lancamentos_conta WHERE transferencia_id = ?", Integer.class, semSaldo.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve adiar, sem falhar, a transferência de conta não cadastrada até a conta ser aberta")
+    void deveAdiarTransferenciaDeContaNaoCadastrada() {
+        Transferencia semConta = salvar("2222222222", DIAS_ADIANTE - 1);
+        Transferencia comConta = salvar(DIAS_ADIANTE - 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LiquidacaoService no = no(transferenciaRepository, registry, 500, 1);
+
+        ResultadoLiquidacao resultado = no.liquidarLote();
+
+        assertEquals(new ResultadoLiquidacao(2, 1, 0, 0, 1).toString(), resultado.toString());
+        assertEquals(StatusTransferencia.LIQUIDADA, status(comConta));
+        assertEquals(StatusTransferencia.EM_PROCESSAMENTO, status(semConta));
+        assertNull(transferenciaRepository.findById(semConta.getId()).orElseThrow().getMotivoFalha());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM lancamentos_conta WHERE transferencia_id = ?", Integer.class, semConta.getId()));
+        assertEquals(1.0, registry.get(MetricasTransferencias.LIQUIDACOES).tag("resultado", "adiada").counter().count());
+
+        // Os próximos lotes não voltam a ela enquanto a reserva não expira
+        assertEquals(0, no.liquidarLote().getReservadas());
+
+        contaRepository.save(new Conta("2222222222", SALDO_INICIAL));
+        jdbcTemplate.update("UPDATE transferencias SET inicio_processamento = ? WHERE id = ?",
+                calendario.agora().minusMinutes(10), semConta.getId());
+        no.liquidarVencidas();
+
+        assertEquals(StatusTransferencia.LIQUIDADA, status(semConta));
+    }
+
+    @Test
+    @DisplayName("Deve marcar como falha só a transferência com erro na partição")
+    void deveMarcarFalhaSomenteDaTransferenciaComErro() {
+        Transferencia primeira = salvar(DIAS_ADIANTE - 1);
+        Transferencia comErro = salvar(DIAS_ADIANTE - 1);
+        Transferencia terceira = salvar(DIAS_ADIANTE - 1);
+        TransferenciaRepository repositorio = mock(TransferenciaRepository.class, delegatesTo(transferenciaRepository));
+        doThrow(new DataAccessResourceFailureException("conta bloqueada"))
+                .when(repositorio).liquidar(eq(comErro.getId()), anyLong(), any());
+
+        ResultadoLiquidacao resultado = no(repositorio, new SimpleMeterRegistry(), 500, 1).liquidarLote();
+
+        assertEquals(new ResultadoLiquidacao(3, 2, 1, 0, 0).toString(), resultado.toString());
+        assertEquals(StatusTransferencia.LIQUIDADA, status(primeira));
+        assertEquals(StatusTransferencia.LIQUIDADA, status(terceira));
+        Transferencia falha = transferenciaRepository.findById(comErro.getId()).orElseThrow();
+        assertEquals(StatusTransferencia.FALHOU, falha.getStatus());
+        assertEquals("conta bloqueada", falha.getMotivoFalha());
+    }
+
+    @Test
+    @DisplayName("Deve devolver e liquidar reservas de um nó que parou no meio do lote")
+    void deveRetomarReservasExpiradas() {
+        Transferencia abandonada = salvar(DIAS_ADIANTE - 1);
+        jdbcTemplate.update("UPDATE transferencias SET status = 'EM_PROCESSAMENTO', versao = 1, " +
+                "inicio_processamento = ? WHERE id = ?", calendario.agora().minusMinutes(10), abandonada.getId());
+        Transferencia emAndamento = salvar(DIAS_ADIANTE - 1);
+        jdbcTemplate.update("UPDATE transferencias SET status = 'EM_PROCESSAMENTO', versao = 1, " +
+                "inicio_processamento = ? WHERE id = ?", calendario.agora().minusMinutes(1), emAndamento.getId());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        no(transferenciaRepository, registry, 500, 4).liquidarVencidas();
+
+        assertEquals(StatusTransferencia.LIQUIDADA, status(abandonada));
+        assertEquals(StatusTransferencia.EM_PROCESSAMENTO, status(emAndamento));
+        assertEquals(1.0, registry.get(MetricasTransferencias.RESERVAS_LIBERADAS).counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve liquidar quando desabilitada")
+    void naoDeveLiquidarQuandoDesabilitada() {
+        Transferencia vencida = salvar(DIAS_ADIANTE - 1);
+        LiquidacaoService desabilitada = new LiquidacaoService(transferenciaRepository, contaService(), transactionManager, calendario,
+                new MetricasTransferencias(new SimpleMeterRegistry()), false, 500, 4, Duration.ofMinutes(5));
+        nos.add(desabilitada);
+
+        desabilitada.liquidarVencidas();
+
+        assertEquals(StatusTransferencia.AGENDADA, status(vencida));
+    }
+
+    private LiquidacaoService no(TransferenciaRepository repositorio, SimpleMeterRegistry registry,
+                                 int tamanhoLote, int workers) {
+        LiquidacaoService no = new LiquidacaoService(repositorio, contaService(), transactionManager, calendario,
+                new MetricasTransferencias(registry), true, tamanhoLote, workers, Duration.ofMinutes(5));
+        nos.add(no);
+        return no;
+    }
+
+    private ContaService contaService() {
+        return new ContaService(contaRepository, lancamentoContaRepository, new TravasContas(1024),
+                transactionManager, calendario);
+    }
+
+    private Transferencia salvar(int diasAdiante) {
+        return salvar(ORIGEM, diasAdiante);
+    }
+
+    private Transferencia salvar(String origem, int diasAdiante) {
+        LocalDate hoje = LocalDate.now();
+        Transferencia transferencia = new Transferencia(NumeroConta.de(origem), NumeroConta.de(DESTINO),
+                new BigDecimal("1000.00"), hoje.plusDays(diasAdiante), hoje);
+        transferencia.setTaxaTransferencia(new BigDecimal("82.00"));
+        return transferenciaRepository.save(transferencia);
+    }
+
+    private StatusTransferencia status(Transferencia transferencia) {
+        return transferenciaRepository.findById(transferencia.getId()).orElseThrow().getStatus();
+    }
+
+    private BigDecimal saldo(String numero) {
+        return contaRepository.findById(numero).orElseThrow().getSaldo();
+    }
+
+    private int contar(StatusTransferencia status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transferencias WHERE status = ?",
+                Integer.class, status.name());
+    }
+}
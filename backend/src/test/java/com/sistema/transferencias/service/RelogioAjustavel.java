@@ -0,0 +1,39 @@
+package com.sistema.transferencias.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Relógio de teste que só avança quando solicitado.
+ */
+
+final class RelogioAjustavel extends Clock {
+
+    private Instant instante;
+
+    RelogioAjustavel(Instant instante) {
+        this.instante = instante;
+    }
+
+    void avancar(Duration duracao) {
+        instante = instante.plus(duracao);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return instante;
+    }
+}
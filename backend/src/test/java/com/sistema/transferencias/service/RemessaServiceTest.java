@@ -0,0 +1,332 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.RemessaDTO;
+import com.sistema.transferencias.exception.RemessaEmOutroNoException;
+import com.sistema.transferencias.model.FormatoRemessa;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.ResumoDiario;
+import com.sistema.transferencias.model.SituacaoRemessa;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.RemessaRepository;
+import com.sistema.transferencias.repository.ResumoDiarioRepository;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import com.sistema.transferencias.strategy.TaxaFaixaStrategy;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Processamento de remessas contra o H2, em blocos de duas linhas para exercitar o pipeline e a retomada.
+ */
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes do processamento de remessas")
+class RemessaServiceTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2030, 1, 10);
+    private static final String CABECALHO = "contaOrigem,contaDestino,valor,dataTransferencia\n";
+
+    @TempDir
+    private Path diretorio;
+
+    @Autowired
+    private RemessaRepository remessaRepository;
+
+    @Autowired
+    private TransferenciaRepository transferenciaRepository;
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TaxaCalculationContext taxaCalculationContext;
+    private CalendarioNegocio calendario;
+    private RemessaService remessaService;
+    private RemessaService outroNo;
+
+    @BeforeEach
+    void setUp() {
+        taxaCalculationContext = spy(new TaxaCalculationContext(List.of(
+                new TaxaFaixaStrategy(0, 0, new BigDecimal("2.50"), BigDecimal.ZERO, true),
+                new TaxaFaixaStrategy(1, 10, BigDecimal.ZERO, BigDecimal.ZERO, true),
+                new TaxaFaixaStrategy(11, 20, new BigDecimal("8.20"), new BigDecimal("100.00"), true))));
+        calendario = new CalendarioNegocio(Clock.fixed(
+                HOJE.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        remessaService = novoService(diretorio, "no-a");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        remessaService.encerrar();
+        if (outroNo != null) {
+            outroNo.encerrar();
+        }
+        transferenciaRepository.deleteAll();
+        resumoDiarioRepository.deleteAll();
+        remessaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve agendar as linhas válidas e reportar o motivo de cada rejeição")
+    void deveProcessarRemessa() throws IOException {
+        RemessaDTO recebida = receber(CABECALHO
+                + "1234567890,0987654321,1000.00,2030-01-25\n"
+                + "1234567890,1234567890,1000.00,2030-01-25\n"
+                + "1234567890,0987654321,0.00,2030-01-25\n"
+                + "1234567890,0987654321,1000.00,2030-01-01\n"
+                + "1234567890,0987654321,1000.00,2030-03-25\n"
+                + "1234567890,0987654321,50.00,2030-01-25\n"
+                + "2222222222,0987654321,500.00,2030-01-15\n"
+                + "lixo\n", FormatoRemessa.CSV);
+        assertEquals(SituacaoRemessa.RECEBIDA, recebida.getSituacao());
+
+        RemessaDTO remessa = remessaService.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.CONCLUIDA, remessa.getSituacao(), remessa.getMensagemFalha());
+        assertEquals(2, remessa.getLinhasAgendadas());
+        assertEquals(6, remessa.getLinhasRejeitadas());
+        assertEquals(remessa.getTamanhoBytes(), remessa.getBytesProcessados());
+        assertNotNull(remessa.getConcluidaEm());
+
+        List<Transferencia> transferencias = transferenciaRepository.findAll();
+        transferencias.sort(Comparator.comparing(Transferencia::getId));
+        assertEquals(2, transferencias.size());
+        Transferencia primeira = transferencias.get(0);
+        assertEquals(NumeroConta.de("1234567890"), primeira.getContaOrigem());
+        assertEquals(NumeroConta.de("0987654321"), primeira.getContaDestino());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(primeira.getValorTransferencia()));
+        assertEquals(0, new BigDecimal("82.00").compareTo(primeira.getTaxaTransferencia()));
+        assertEquals(LocalDate.of(2030, 1, 25), primeira.getDataTransferencia());
+        assertEquals(HOJE, primeira.getDataAgendamento());
+        assertEquals(15, primeira.getDiasParaTransferencia());
+        assertEquals(NumeroConta.de("2222222222"), transferencias.get(1).getContaOrigem());
+        assertEquals(0, BigDecimal.ZERO.compareTo(transferencias.get(1).getTaxaTransferencia()));
+
+        List<ResumoDiario> resumos = resumoDiarioRepository.findAll();
+        assertEquals(2, resumos.stream().mapToLong(ResumoDiario::getQuantidade).sum());
+        assertEquals(0, new BigDecimal("1500.00").compareTo(
+                resumos.stream().map(ResumoDiario::getValorTotal).reduce(BigDecimal.ZERO, BigDecimal::add)));
+
+        List<String> relatorio = relatorio(remessa.getId());
+        assertEquals(9, relatorio.size());
+        assertEquals("linha,situacao,id,taxa,mensagem", relatorio.get(0));
+        assertEquals("2,AGENDADA," + primeira.getId() + ",82.00,", relatorio.get(1));
+        assertEquals(rejeitada(3, TransferenciaService.CONTAS_IGUAIS.getMensagem()), relatorio.get(2));
+        assertEquals(rejeitada(4, ResultadoTaxa.VALOR_INVALIDO.getMensagem()), relatorio.get(3));
+        assertEquals(rejeitada(5, TransferenciaService.DATA_PASSADA.getMensagem()), relatorio.get(4));
+        assertTrue(relatorio.get(5).startsWith("6,REJEITADA,,,\"Transferência não permitida para 74 dias"));
+        assertTrue(relatorio.get(6).startsWith("7,REJEITADA,,,\""), relatorio.get(6));
+        assertEquals("8,AGENDADA," + transferencias.get(1).getId() + ",0.00,", relatorio.get(7));
+        assertEquals(rejeitada(9, LeitorRemessa.LAYOUT_CSV), relatorio.get(8));
+    }
+
+    @Test
+    @DisplayName("Deve retomar do último bloco gravado sem duplicar transferências nem linhas do relatório")
+    void deveRetomarDoUltimoBlocoGravado() throws IOException {
+        // Falha na cotação do segundo bloco (16 dias) na primeira execução
+        doThrow(new IllegalStateException("Falha simulada na cotação"))
+                .doCallRealMethod()
+                .when(taxaCalculationContext).resolverStrategy(eq(16), any());
+        RemessaDTO recebida = receber(CABECALHO
+                + "1234567890,0987654321,1000.00,2030-01-25\n"
+                + "1234567890,0987654321,1000.00,2030-01-25\n"
+                + "1234567890,0987654321,1000.00,2030-01-26\n"
+                + "1234567890,0987654321,1000.00,2030-01-25\n"
+                + "1234567890,0987654321,1000.00,2030-01-25\n"
+                + "1234567890,0987654321,1000.00,2030-01-25\n", FormatoRemessa.CSV);
+
+        RemessaDTO falhou = remessaService.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.FALHOU, falhou.getSituacao());
+        assertEquals("Falha simulada na cotação", falhou.getMensagemFalha());
+        assertEquals(2, falhou.getLinhasAgendadas());
+        assertEquals(2, transferenciaRepository.count());
+        assertEquals(3, relatorio(recebida.getId()).size());
+
+        // Resto de uma escrita não confirmada no relatório, descartado na retomada
+        Files.writeString(diretorio.resolve("remessa-" + recebida.getId() + ".resultado.csv"),
+                "4,AGENDADA,999,0.00,\n", StandardOpenOption.APPEND);
+
+        RemessaDTO concluida = remessaService.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.CONCLUIDA, concluida.getSituacao());
+        assertNull(concluida.getMensagemFalha());
+        assertEquals(6, concluida.getLinhasAgendadas());
+        assertEquals(0, concluida.getLinhasRejeitadas());
+        assertEquals(6, transferenciaRepository.count());
+        assertEquals(6, resumoDiarioRepository.findAll().stream().mapToLong(ResumoDiario::getQuantidade).sum());
+        List<String> relatorio = relatorio(recebida.getId());
+        assertEquals(7, relatorio.size());
+        for (int i = 1; i < relatorio.size(); i++) {
+            assertTrue(relatorio.get(i).startsWith((i + 1) + ",AGENDADA,"), relatorio.get(i));
+        }
+        assertEquals(7, relatorio.stream().distinct().count());
+        assertThrows(IllegalArgumentException.class, () -> remessaService.retomar(recebida.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve processar o layout posicional")
+    void deveProcessarPosicional() throws IOException {
+        RemessaDTO recebida = receber("12345678900987654321000000000100000" + "20300125\n"
+                + "1234567890098765432100000000010000" + "20300125\n", FormatoRemessa.POSICIONAL);
+
+        RemessaDTO remessa = remessaService.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.CONCLUIDA, remessa.getSituacao());
+        assertEquals("posicional", remessa.getFormato());
+        assertEquals(1, remessa.getLinhasAgendadas());
+        assertEquals(1, remessa.getLinhasRejeitadas());
+        List<String> relatorio = relatorio(remessa.getId());
+        assertTrue(relatorio.get(1).startsWith("1,AGENDADA,"));
+        assertTrue(relatorio.get(1).endsWith(",82.00,"));
+        assertEquals(rejeitada(2, LeitorRemessa.LAYOUT_POSICIONAL), relatorio.get(2));
+    }
+
+    @Test
+    @DisplayName("Deve devolver só o cabeçalho do relatório antes do processamento")
+    void deveDevolverCabecalhoAntesDoProcessamento() throws IOException {
+        RemessaDTO recebida = receber(CABECALHO + "1234567890,0987654321,1000.00,2030-01-25\n", FormatoRemessa.CSV);
+
+        assertEquals(List.of("linha,situacao,id,taxa,mensagem"), relatorio(recebida.getId()));
+        assertEquals(SituacaoRemessa.RECEBIDA, remessaService.consultar(recebida.getId()).getSituacao());
+        assertEquals(0, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Não deve processar remessa reservada por outro nó até a reserva vencer")
+    void deveRespeitarAReservaDeOutroNo() {
+        RemessaDTO recebida = receber(CABECALHO + "1234567890,0987654321,1000.00,2030-01-25\n", FormatoRemessa.CSV);
+        assertEquals("no-a", recebida.getDono());
+        outroNo = novoService(diretorio, "no-b");
+
+        RemessaDTO ignorada = outroNo.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.RECEBIDA, ignorada.getSituacao());
+        assertEquals("no-a", ignorada.getDono());
+        assertEquals(0, transferenciaRepository.count());
+        assertThrows(RemessaEmOutroNoException.class, () -> outroNo.retomar(recebida.getId()));
+
+        // Reserva vencida: com o diretório compartilhado, o outro nó assume a remessa
+        jdbcTemplate.update("UPDATE remessas SET reservada_ate = ? WHERE id = ?",
+                HOJE.atStartOfDay().minusMinutes(1), recebida.getId());
+        RemessaDTO assumida = outroNo.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.CONCLUIDA, assumida.getSituacao());
+        assertEquals("no-b", assumida.getDono());
+        assertEquals(1, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Não deve assumir nem servir o relatório de remessa cujo arquivo está em outro nó")
+    void deveRecusarRemessaComArquivoEmOutroNo(@TempDir Path outroDiretorio) throws IOException {
+        RemessaDTO recebida = receber(CABECALHO + "1234567890,0987654321,1000.00,2030-01-25\n", FormatoRemessa.CSV);
+        jdbcTemplate.update("UPDATE remessas SET reservada_ate = NULL WHERE id = ?", recebida.getId());
+        outroNo = novoService(outroDiretorio, "no-b");
+
+        outroNo.start();
+        assertEquals(SituacaoRemessa.RECEBIDA, outroNo.processar(recebida.getId()).getSituacao());
+        assertThrows(RemessaEmOutroNoException.class, () -> outroNo.retomar(recebida.getId()));
+        assertEquals("no-a", outroNo.consultar(recebida.getId()).getDono());
+
+        assertEquals(SituacaoRemessa.CONCLUIDA, remessaService.processar(recebida.getId()).getSituacao());
+        assertEquals(2, relatorio(recebida.getId()).size());
+        assertThrows(RemessaEmOutroNoException.class, () -> outroNo.consultarResultado(recebida.getId()));
+        assertThrows(RemessaEmOutroNoException.class,
+                () -> outroNo.escreverResultado(recebida.getId(), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    @DisplayName("Deve desfazer o bloco e não marcar falha quando outro nó assume a reserva")
+    void deveDesfazerOBlocoAoPerderAReserva() {
+        RemessaDTO recebida = receber(CABECALHO + "1234567890,0987654321,1000.00,2030-01-25\n", FormatoRemessa.CSV);
+        doAnswer(invocation -> {
+            jdbcTemplate.update("UPDATE remessas SET dono = 'no-b' WHERE id = ?", recebida.getId());
+            return invocation.callRealMethod();
+        }).when(taxaCalculationContext).resolverStrategy(eq(15), any());
+
+        RemessaDTO remessa = remessaService.processar(recebida.getId());
+
+        assertEquals(SituacaoRemessa.PROCESSANDO, remessa.getSituacao());
+        assertNull(remessa.getMensagemFalha());
+        assertEquals(0, remessa.getBytesProcessados());
+        assertEquals("no-b", remessa.getDono());
+        assertEquals(0, transferenciaRepository.count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar remessa inexistente e formato ausente")
+    void deveRejeitarRemessaInexistente() {
+        assertThrows(IllegalArgumentException.class, () -> remessaService.consultar(999_999L));
+        assertThrows(IllegalArgumentException.class, () -> remessaService.retomar(999_999L));
+        assertThrows(IllegalArgumentException.class, () -> remessaService.processar(999_999L));
+        assertThrows(IllegalArgumentException.class,
+                () -> remessaService.receber("remessa.csv", null, new ByteArrayInputStream(new byte[0])));
+    }
+
+    private RemessaService novoService(Path diretorioRemessas, String no) {
+        return new RemessaService(remessaRepository,
+                new AlocadorIdsTransferencia(jdbcTemplate, entityManagerFactory),
+                new ResumoDiarioService(jdbcTemplate, resumoDiarioRepository, taxaCalculationContext),
+                taxaCalculationContext, jdbcTemplate, transactionManager, calendario, diretorioRemessas, 2, 2,
+                no, Duration.ofMinutes(5));
+    }
+
+    private RemessaDTO receber(String conteudo, FormatoRemessa formato) {
+        return remessaService.receber("remessa.csv", formato,
+                new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<String> relatorio(Long id) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        remessaService.escreverResultado(id, saida);
+        return saida.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    private static String rejeitada(int linha, String mensagem) {
+        return linha + ",REJEITADA,,,\"" + mensagem + "\"";
+    }
+}
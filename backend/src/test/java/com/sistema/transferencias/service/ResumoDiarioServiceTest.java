@@ -0,0 +1,255 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.dto.ResumoTransferenciasDTO;
+import com.sistema.transferencias.dto.ResumoTransferenciasItemDTO;
+import com.sistema.transferencias.model.ChaveResumoDiario;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.ResumoDiario;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.ResumoDiarioRepository;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import com.sistema.transferencias.strategy.TaxaFaixaStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Resumos diários contra o H2. Nenhum teste grava na tabela de transferências:
+ * os resumos se mantêm e respondem sozinhos.
+ */
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes dos resumos diários de transferências")
+class ResumoDiarioServiceTest {
+
+    private static final LocalDate DATA = LocalDate.of(2025, 7, 10);
+    private static final String CONTA_A = "1234567890";
+    private static final String CONTA_B = "1234567891";
+
+    @Autowired
+    private ResumoDiarioRepository resumoDiarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private ResumoDiarioService resumoDiarioService;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        TaxaCalculationContext taxaCalculationContext = new TaxaCalculationContext(List.of(
+                new TaxaFaixaStrategy(0, 0, new BigDecimal("2.50"), new BigDecimal("3.00"), true),
+                new TaxaFaixaStrategy(1, 10, BigDecimal.ZERO, new BigDecimal("12.00"), true),
+                new TaxaFaixaStrategy(11, 20, new BigDecimal("8.20"), BigDecimal.ZERO, true)));
+        resumoDiarioService = new ResumoDiarioService(jdbcTemplate, resumoDiarioRepository, taxaCalculationContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resumoDiarioRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve somar transferências da mesma data, dias e partição numa única linha")
+    void deveSomarNaMesmaLinha() {
+        registrar(transferencia(CONTA_A, "100.00", DATA, 5, "12.00"));
+        registrar(transferencia(CONTA_A, "50.00", DATA, 5, "12.00"));
+
+        assertEquals(1, resumoDiarioRepository.count());
+        ResumoDiario resumo = resumoDiarioRepository.findById(
+                new ChaveResumoDiario(DATA, 5, ChaveResumoDiario.particao(NumeroConta.de(CONTA_A)))).orElseThrow();
+        assertEquals(2, resumo.getQuantidade());
+        assertEquals(0, new BigDecimal("150.00").compareTo(resumo.getValorTotal()));
+        assertEquals(0, new BigDecimal("24.00").compareTo(resumo.getTaxaTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve somar o lote acumulado com um UPDATE por linha de resumo")
+    void deveSomarLoteAcumulado() {
+        AcumuladorResumoDiario lote = new AcumuladorResumoDiario();
+        lote.adicionar(transferencia(CONTA_A, "100.00", DATA, 5, "12.00"));
+        lote.adicionar(transferencia(CONTA_B, "200.00", DATA, 5, "12.00"));
+        lote.adicionar(transferencia(CONTA_A, "300.00", DATA, 5, "12.00"));
+        transactionTemplate.executeWithoutResult(status -> resumoDiarioService.registrar(lote));
+
+        assertEquals(2, resumoDiarioRepository.count());
+        ResumoDiario resumoA = resumoDiarioRepository.findById(
+                new ChaveResumoDiario(DATA, 5, ChaveResumoDiario.particao(NumeroConta.de(CONTA_A)))).orElseThrow();
+        assertEquals(2, resumoA.getQuantidade());
+        assertEquals(0, new BigDecimal("400.00").compareTo(resumoA.getValorTotal()));
+    }
+
+    @Test
+    @DisplayName("Resumos devem ser desfeitos junto com a transação que os registrou")
+    void deveDesfazerComATransacao() {
+        transactionTemplate.executeWithoutResult(status -> {
+            resumoDiarioService.registrar(transferencia(CONTA_A, "100.00", DATA, 5, "12.00"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, resumoDiarioRepository.count());
+    }
+
+    @Test
+    @DisplayName("Registros concorrentes na mesma linha nova não devem perder valores")
+    void deveManterTotaisExatosComRegistrosConcorrentes() throws Exception {
+        int threads = 4;
+        int registrosPorThread = 25;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            execucoes.add(CompletableFuture.runAsync(() -> {
+                aguardar(largada);
+                for (int j = 0; j < registrosPorThread; j++) {
+                    registrar(transferencia(CONTA_A, "10.00", DATA, 5, "12.00"));
+                }
+            }));
+        }
+        largada.countDown();
+        CompletableFuture.allOf(execucoes.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        ResumoDiario resumo = resumoDiarioRepository.findById(
+                new ChaveResumoDiario(DATA, 5, ChaveResumoDiario.particao(NumeroConta.de(CONTA_A)))).orElseThrow();
+        assertEquals(threads * registrosPorThread, resumo.getQuantidade());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(resumo.getValorTotal()));
+        assertEquals(0, new BigDecimal("1200.00").compareTo(resumo.getTaxaTotal()));
+    }
+
+    @Test
+    @DisplayName("Deve resumir o período por dia, somando as partições")
+    void deveResumirPorDia() {
+        registrar(transferencia(CONTA_A, "100.00", DATA, 0, "5.50"));
+        registrar(transferencia(CONTA_B, "200.00", DATA, 5, "12.00"));
+        registrar(transferencia(CONTA_A, "300.00", DATA.plusDays(1), 15, "24.60"));
+        registrar(transferencia(CONTA_A, "999.00", DATA.plusDays(2), 5, "12.00"));
+
+        ResumoTransferenciasDTO resumo = resumoDiarioService.resumir(DATA, DATA.plusDays(1), AgrupamentoResumo.DIA);
+
+        assertEquals("dia", resumo.getAgrupamento());
+        assertEquals(3, resumo.getQuantidade());
+        assertEquals(0, new BigDecimal("600.00").compareTo(resumo.getValorTotal()));
+        assertEquals(0, new BigDecimal("42.10").compareTo(resumo.getTaxaTotal()));
+        List<ResumoTransferenciasItemDTO> itens = resumo.getItens();
+        assertEquals(2, itens.size());
+        assertEquals(DATA, itens.get(0).getDataTransferencia());
+        assertEquals(2, itens.get(0).getQuantidade());
+        assertEquals(0, new BigDecimal("300.00").compareTo(itens.get(0).getValorTotal()));
+        assertEquals(DATA.plusDays(1), itens.get(1).getDataTransferencia());
+        assertNull(itens.get(1).getFaixa());
+    }
+
+    @Test
+    @DisplayName("Deve resumir o período por faixa de taxa, na ordem das faixas")
+    void deveResumirPorFaixa() {
+        registrar(transferencia(CONTA_A, "300.00", DATA, 15, "24.60"));
+        registrar(transferencia(CONTA_A, "100.00", DATA, 3, "12.00"));
+        registrar(transferencia(CONTA_B, "200.00", DATA.plusDays(1), 8, "12.00"));
+        registrar(transferencia(CONTA_A, "50.00", DATA.plusDays(1), 0, "3.00"));
+
+        ResumoTransferenciasDTO resumo = resumoDiarioService.resumir(DATA, DATA.plusDays(1), AgrupamentoResumo.FAIXA);
+
+        assertEquals(4, resumo.getQuantidade());
+        List<ResumoTransferenciasItemDTO> itens = resumo.getItens();
+        assertEquals(List.of("0", "1-10", "11-20"), itens.stream().map(ResumoTransferenciasItemDTO::getFaixa).toList());
+        assertEquals(2, itens.get(1).getQuantidade());
+        assertEquals(0, new BigDecimal("300.00").compareTo(itens.get(1).getValorTotal()));
+        assertEquals(0, new BigDecimal("24.00").compareTo(itens.get(1).getTaxaTotal()));
+        assertNull(itens.get(1).getDataTransferencia());
+    }
+
+    @Test
+    @DisplayName("Deve resumir o período por partição da conta de origem, somando datas e dias")
+    void deveResumirPorConta() {
+        registrar(transferencia(CONTA_B, "200.00", DATA, 5, "12.00"));
+        registrar(transferencia(CONTA_A, "100.00", DATA, 0, "5.50"));
+        registrar(transferencia(CONTA_A, "300.00", DATA.plusDays(1), 15, "24.60"));
+        registrar(transferencia(CONTA_A, "999.00", DATA.plusDays(2), 5, "12.00"));
+
+        ResumoTransferenciasDTO resumo = resumoDiarioService.resumir(DATA, DATA.plusDays(1), AgrupamentoResumo.CONTA);
+
+        assertEquals("conta", resumo.getAgrupamento());
+        assertEquals(3, resumo.getQuantidade());
+        List<ResumoTransferenciasItemDTO> itens = resumo.getItens();
+        int particaoA = ChaveResumoDiario.particao(NumeroConta.de(CONTA_A));
+        int particaoB = ChaveResumoDiario.particao(NumeroConta.de(CONTA_B));
+        assertEquals(List.of(particaoA, particaoB),
+                itens.stream().map(ResumoTransferenciasItemDTO::getParticaoConta).toList());
+        assertEquals(2, itens.get(0).getQuantidade());
+        assertEquals(0, new BigDecimal("400.00").compareTo(itens.get(0).getValorTotal()));
+        assertEquals(0, new BigDecimal("30.10").compareTo(itens.get(0).getTaxaTotal()));
+        assertEquals(1, itens.get(1).getQuantidade());
+        assertNull(itens.get(1).getDataTransferencia());
+        assertNull(itens.get(1).getFaixa());
+    }
+
+    @Test
+    @DisplayName("Período sem transferências deve resumir em zero")
+    void deveResumirPeriodoVazio() {
+        ResumoTransferenciasDTO resumo = resumoDiarioService.resumir(DATA, DATA, AgrupamentoResumo.DIA);
+
+        assertEquals(0, resumo.getQuantidade());
+        assertEquals(0, BigDecimal.ZERO.compareTo(resumo.getValorTotal()));
+        assertTrue(resumo.getItens().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar período inválido")
+    void deveRejeitarPeriodoInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> resumoDiarioService.resumir(DATA, DATA.minusDays(1), AgrupamentoResumo.DIA));
+        assertThrows(IllegalArgumentException.class,
+                () -> resumoDiarioService.resumir(null, DATA, AgrupamentoResumo.DIA));
+        assertThrows(IllegalArgumentException.class, () -> AgrupamentoResumo.de("mes"));
+    }
+
+    @Test
+    @DisplayName("Partição da conta deve coincidir com a calculada pela migração")
+    void particaoDeveCoincidirComAMigracao() {
+        for (String conta : List.of(CONTA_A, CONTA_B, "0000000000", "9999999999")) {
+            assertEquals(ChaveResumoDiario.particao(NumeroConta.de(conta)), jdbcTemplate.queryForObject(
+                    "SELECT MOD(CAST(? AS BIGINT), " + ChaveResumoDiario.PARTICOES_CONTA + ")", Integer.class, conta));
+        }
+    }
+
+    private void registrar(Transferencia transferencia) {
+        transactionTemplate.executeWithoutResult(status -> resumoDiarioService.registrar(transferencia));
+    }
+
+    private static Transferencia transferencia(String contaOrigem, String valor, LocalDate data, int dias, String taxa) {
+        Transferencia transferencia = new Transferencia(NumeroConta.de(contaOrigem), NumeroConta.de("0987654321"), new BigDecimal(valor),
+                data, data.minusDays(dias));
+        transferencia.setTaxaTransferencia(new BigDecimal(taxa));
+        return transferencia;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.sistema.transferencias.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransferenciaExportService.class)
+class TransferenciaExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransferenciaExportService exportService;
+
+    private Transferencia dentroDoPeriodo1;
+    private Transferencia dentroDoPeriodo2;
+
+    @BeforeEach
+    void setUp() {
+        dentroDoPeriodo2 = persistir("1111111111", new BigDecimal("500.00"), LocalDate.now().plusDays(12));
+        dentroDoPeriodo1 = persistir("2222222222", new BigDecimal("1000.00"), LocalDate.now().plusDays(11));
+        persistir("3333333333", new BigDecimal("750.00"), LocalDate.now().plusDays(30));
+        entityManager.clear();
+    }
+
+    @Test
+    void deveExportarNdjsonComUmaTransferenciaPorLinha() throws Exception {
+        String conteudo = exportar(FormatoExportacao.NDJSON);
+
+        String[] linhas = conteudo.split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(conteudo.endsWith("\n"));
+
+        JsonNode primeira = new ObjectMapper().readTree(linhas[0]);
+        assertEquals(dentroDoPeriodo1.getId(), primeira.get("id").asLong());
+        assertEquals("2222222222", primeira.get("contaOrigem").asText());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(primeira.get("valorTransferencia").decimalValue()));
+        assertEquals(LocalDate.now().plusDays(11).toString(), primeira.get("dataTransferencia").asText());
+        assertEquals(dentroDoPeriodo2.getId(), new ObjectMapper().readTree(linhas[1]).get("id").asLong());
+    }
+
+    @Test
+    void deveExportarCsvComCabecalho() throws Exception {
+        String conteudo = exportar(FormatoExportacao.CSV);
+
+        String[] linhas = conteudo.split("\n");
+        assertEquals(3, linhas.length);
+        assertEquals(TransferenciaExportService.CABECALHO_CSV, linhas[0]);
+        assertEquals(dentroDoPeriodo1.getId() + ",2222222222,9999999999,1000.00,82.00,"
+                + LocalDate.now().plusDays(11) + "," + LocalDate.now() + ",11", linhas[1]);
+    }
+
+    @Test
+    void deveDesanexarEntidadesAposEscrever() throws Exception {
+        exportar(FormatoExportacao.NDJSON);
+
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        assertEquals(0, session.getStatistics().getEntityCount());
+    }
+
+    @Test
+    void deveRejeitarPeriodoInvertido() {
+        assertThrows(IllegalArgumentException.class, () ->
+                exportService.validarPeriodo(LocalDate.now().plusDays(5), LocalDate.now()));
+        assertThrows(IllegalArgumentException.class, () -> exportService.validarPeriodo(null, LocalDate.now()));
+    }
+
+    private String exportar(FormatoExportacao formato) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportService.exportar(LocalDate.now().plusDays(10), LocalDate.now().plusDays(20), formato, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    private Transferencia persistir(String contaOrigem, BigDecimal valor, LocalDate dataTransferencia) {
+        Transferencia t = new Transferencia();
+        t.setContaOrigem(NumeroConta.de(contaOrigem));
+        t.setContaDestino(NumeroConta.de("9999999999"));
+        t.setValorTransferencia(valor);
+        t.setTaxaTransferencia(valor.multiply(new BigDecimal("0.082")).setScale(2, RoundingMode.HALF_UP));
+        t.setDataTransferencia(dataTransferencia);
+        t.setDataAgendamento(LocalDate.now());
+        return entityManager.persistAndFlush(t);
+    }
+}
@@ -0,0 +1,121 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.TransferenciaLoteResponseDTO;
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.exception.TaxaCalculationException;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TransferenciaLoteServiceTest {
+
+    private TransferenciaService transferenciaService;
+    private TransferenciaRepository transferenciaRepository;
+    private ResumoDiarioService resumoDiarioService;
+    private EntityManager entityManager;
+    private TransferenciaLoteService loteService;
+
+    @BeforeEach
+    void setUp() {
+        transferenciaService = mock(TransferenciaService.class);
+        transferenciaRepository = mock(TransferenciaRepository.class);
+        resumoDiarioService = mock(ResumoDiarioService.class);
+        entityManager = mock(EntityManager.class);
+        loteService = new TransferenciaLoteService(transferenciaService, transferenciaRepository, resumoDiarioService, entityManager,
+                new ValidadorTransferencia(CalendarioNegocio.sistema()), 5, 2);
+
+        when(transferenciaService.prepararTransferencia(any())).thenAnswer(invocation -> {
+            TransferenciaRequestDTO dto = invocation.getArgument(0);
+            Transferencia t = new Transferencia();
+            t.setContaOrigem(NumeroConta.de(dto.getContaOrigem()));
+            t.setContaDestino(NumeroConta.de(dto.getContaDestino()));
+            t.setValorTransferencia(dto.getValorTransferencia());
+            t.setDataTransferencia(dto.getDataTransferencia());
+            t.setTaxaTransferencia(new BigDecimal("8.20"));
+            return t;
+        });
+        when(transferenciaRepository.saveAll(any())).thenAnswer(invocation -> new ArrayList<>(invocation.getArgument(0)));
+    }
+
+    @Test
+    void deveAgendarItensValidosEReportarErrosPorItem() {
+        TransferenciaRequestDTO valido = request("1234567890", "0987654321");
+        TransferenciaRequestDTO contaInvalida = request("123", "0987654321");
+        TransferenciaRequestDTO negado = request("1111111111", "2222222222");
+        when(transferenciaService.prepararTransferencia(negado))
+                .thenThrow(new TaxaCalculationException("Transferência não permitida"));
+
+        TransferenciaLoteResponseDTO response = loteService.agendarLote(Arrays.asList(valido, contaInvalida, negado, null));
+
+        assertEquals(4, response.getTotalRecebido());
+        assertEquals(1, response.getTotalAgendado());
+        assertEquals(3, response.getTotalRejeitado());
+        assertTrue(response.getItens().get(0).isAgendada());
+        assertEquals(NumeroConta.de("1234567890"), response.getItens().get(0).getTransferencia().contaOrigem());
+        assertEquals("Conta de origem deve ter exatamente 10 dígitos",
+                response.getItens().get(1).getErrors().get("contaOrigem"));
+        assertEquals("Transferência não permitida", response.getItens().get(2).getMessage());
+        assertEquals(3, response.getItens().get(3).getIndice());
+        verify(transferenciaService, never()).prepararTransferencia(contaInvalida);
+    }
+
+    @Test
+    void devePersistirEmBatchesELimparContextoDePersistencia() {
+        List<TransferenciaRequestDTO> requests = List.of(
+                request("1234567890", "0987654321"),
+                request("1234567890", "0987654322"),
+                request("1234567890", "0987654323"),
+                request("1234567890", "0987654324"),
+                request("1234567890", "0987654325"));
+
+        TransferenciaLoteResponseDTO response = loteService.agendarLote(requests);
+
+        assertEquals(5, response.getTotalAgendado());
+        verify(transferenciaRepository, times(3)).saveAll(any());
+        verify(transferenciaRepository, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+        ArgumentCaptor<AcumuladorResumoDiario> resumos = ArgumentCaptor.forClass(AcumuladorResumoDiario.class);
+        verify(resumoDiarioService).registrar(resumos.capture());
+        assertEquals(5, resumos.getValue().getTotais().values().stream()
+                .mapToLong(AcumuladorResumoDiario.Totais::getQuantidade).sum());
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(i, response.getItens().get(i).getIndice());
+            assertEquals(NumeroConta.de(requests.get(i).getContaDestino()), response.getItens().get(i).getTransferencia().contaDestino());
+        }
+    }
+
+    @Test
+    void deveRejeitarLoteVazio() {
+        assertThrows(IllegalArgumentException.class, () -> loteService.agendarLote(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> loteService.agendarLote(null));
+    }
+
+    @Test
+    void deveRejeitarLoteAcimaDoTamanhoMaximo() {
+        List<TransferenciaRequestDTO> requests = Collections.nCopies(6, request("1234567890", "0987654321"));
+
+        assertThrows(IllegalArgumentException.class, () -> loteService.agendarLote(requests));
+        verifyNoInteractions(transferenciaRepository, resumoDiarioService);
+    }
+
+    private TransferenciaRequestDTO request(String contaOrigem, String contaDestino) {
+        return new TransferenciaRequestDTO(contaOrigem, contaDestino, new BigDecimal("100.00"),
+                LocalDate.now().plusDays(15));
+    }
+}
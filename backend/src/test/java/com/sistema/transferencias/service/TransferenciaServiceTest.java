@@ -1,17 +1,28 @@
 package com.sistema.transferencias.service;
 
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.PaginaTransferenciasDTO;
+import com.sistema.transferencias.config.CalendarioNegocio;
 import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.config.CalendarioNegocio;
 import com.sistema.transferencias.dto.TransferenciaResponseDTO;
 import com.sistema.transferencias.exception.TaxaCalculationException;
+import com.sistema.transferencias.model.NumeroConta;
 import com.sistema.transferencias.model.Transferencia;
 import com.sistema.transferencias.repository.TransferenciaRepository;
+import com.sistema.transferencias.strategy.MotivoRejeicao;
+import com.sistema.transferencias.strategy.ResultadoTaxa;
 import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import com.sistema.transferencias.strategy.TaxaCalculationStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,38 +32,99 @@ class TransferenciaServiceTest {
 
     private TransferenciaRepository transferenciaRepository;
     private TaxaCalculationContext taxaCalculationContext;
+    private TaxaCalculationStrategy strategy;
+    private SimpleMeterRegistry meterRegistry;
+    private ResumoDiarioService resumoDiarioService;
     private TransferenciaService transferenciaService;
 
     @BeforeEach
     void setUp() {
         transferenciaRepository = mock(TransferenciaRepository.class);
         taxaCalculationContext = mock(TaxaCalculationContext.class);
-        transferenciaService = new TransferenciaService(transferenciaRepository, taxaCalculationContext);
+        strategy = mock(TaxaCalculationStrategy.class);
+        when(taxaCalculationContext.resolverStrategy(anyInt(), any())).thenReturn(strategy);
+        when(strategy.getFaixa()).thenReturn("11-20");
+        meterRegistry = new SimpleMeterRegistry();
+        resumoDiarioService = mock(ResumoDiarioService.class);
+        transferenciaService = new TransferenciaService(transferenciaRepository, taxaCalculationContext,
+                new MetricasTransferencias(meterRegistry), CalendarioNegocio.sistema(), resumoDiarioService);
     }
 
     @Test
     void agendarTransferenciaComSucesso() {
         TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
-        dto.setContaOrigem("123");
-        dto.setContaDestino("456");
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("0987654321");
         dto.setValorTransferencia(new BigDecimal("20.00"));
         dto.setDataTransferencia(LocalDate.now().plusDays(5));
 
-        when(taxaCalculationContext.isTransferenciaPermitida(5)).thenReturn(true);
-        when(taxaCalculationContext.calcularTaxa(any(), eq(5))).thenReturn(new BigDecimal("5.00"));
+        when(strategy.cotarTaxaValidada(any(), eq(5))).thenReturn(ResultadoTaxa.calculada(new BigDecimal("5.00")));
         when(transferenciaRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         TransferenciaResponseDTO response = transferenciaService.agendarTransferencia(dto);
 
-        assertEquals(dto.getContaOrigem(), response.getContaOrigem());
+        assertEquals(NumeroConta.de(dto.getContaOrigem()), response.contaOrigem());
         verify(transferenciaRepository, times(1)).save(any());
+        verify(resumoDiarioService).registrar(any(Transferencia.class));
+    }
+
+    @Test
+    void agendarTransferenciaDeveResolverEstrategiaUmaVezNaDataDoAgendamento() {
+        TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("0987654321");
+        dto.setValorTransferencia(new BigDecimal("20.00"));
+        dto.setDataTransferencia(LocalDate.now().plusDays(5));
+
+        when(strategy.cotarTaxaValidada(any(), eq(5))).thenReturn(ResultadoTaxa.calculada(new BigDecimal("5.00")));
+
+        Transferencia transferencia = transferenciaService.prepararTransferencia(dto);
+
+        verify(taxaCalculationContext, times(1)).resolverStrategy(5, transferencia.getDataAgendamento());
+        verify(strategy, times(1)).cotarTaxaValidada(dto.getValorTransferencia(), 5);
+        verify(strategy, never()).cotarTaxa(any(), anyInt());
+        verify(taxaCalculationContext, never()).cotarTaxa(any(), anyInt());
+    }
+
+    @Test
+    void agendarTransferenciaDeveRegistrarTempoECalculoPorFaixa() {
+        TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("0987654321");
+        dto.setValorTransferencia(new BigDecimal("20.00"));
+        dto.setDataTransferencia(LocalDate.now().plusDays(5));
+
+        when(strategy.cotarTaxaValidada(any(), eq(5))).thenReturn(ResultadoTaxa.calculada(new BigDecimal("5.00")));
+        when(transferenciaRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transferenciaService.agendarTransferencia(dto);
+
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.AGENDAMENTO).tag("resultado", "sucesso").timer().count());
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.CALCULOS_POR_FAIXA)
+                .tag("faixa", "11-20").counter().count());
+    }
+
+    @Test
+    void agendarTransferenciaRejeitadaDeveContarMotivo() {
+        TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("1234567890");
+        dto.setValorTransferencia(BigDecimal.TEN);
+        dto.setDataTransferencia(LocalDate.now().plusDays(1));
+
+        assertThrows(IllegalArgumentException.class, () -> transferenciaService.agendarTransferencia(dto));
+
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.REJEICOES)
+                .tag("motivo", MotivoRejeicao.CONTAS_IGUAIS.getTag()).counter().count());
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.AGENDAMENTO).tag("resultado", "rejeitada").timer().count());
+        verifyNoInteractions(transferenciaRepository);
     }
 
     @Test
     void agendarTransferenciaComContasIguaisDeveLancarExcecao() {
         TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
-        dto.setContaOrigem("123");
-        dto.setContaDestino("123");
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("1234567890");
         dto.setValorTransferencia(BigDecimal.TEN);
         dto.setDataTransferencia(LocalDate.now().plusDays(1));
 
@@ -64,8 +136,7 @@ class TransferenciaServiceTest {
         BigDecimal valor = new BigDecimal("15.00");
         LocalDate data = LocalDate.now().plusDays(1);
 
-        when(taxaCalculationContext.isTransferenciaPermitida(1)).thenReturn(true);
-        when(taxaCalculationContext.calcularTaxa(valor, 1)).thenReturn(new BigDecimal("3.00"));
+        when(strategy.cotarTaxaValidada(valor, 1)).thenReturn(ResultadoTaxa.calculada(new BigDecimal("3.00")));
 
         BigDecimal taxa = transferenciaService.calcularTaxaTransferencia(valor, data);
 
@@ -80,38 +151,145 @@ class TransferenciaServiceTest {
     }
 
     @Test
-    void buscarTransferenciaPorIdComSucesso() {
-        Transferencia t = new Transferencia();
-        t.setId(1L);
-        t.setContaOrigem("123");
-        t.setContaDestino("456");
+    void cotarTaxaDeveDevolverRejeicaoSemLancarExcecao() {
+        ResultadoTaxa resultado = transferenciaService.cotarTaxa(BigDecimal.ZERO, LocalDate.now());
 
-        when(transferenciaRepository.findById(1L)).thenReturn(Optional.of(t));
+        assertTrue(resultado.isRejeitada());
+        assertEquals(MotivoRejeicao.VALOR_INVALIDO, resultado.getMotivo());
+        assertNull(resultado.getTaxa());
+        verify(taxaCalculationContext, never()).resolverStrategy(anyInt(), any());
+    }
+
+    @Test
+    void cotarTaxaDeveRepassarRejeicaoDaFaixa() {
+        ResultadoTaxa negada = ResultadoTaxa.rejeitada(MotivoRejeicao.FAIXA_NAO_PERMITIDA, "Transferência negada");
+        when(strategy.cotarTaxaValidada(any(), eq(5))).thenReturn(negada);
+
+        assertSame(negada, transferenciaService.cotarTaxa(new BigDecimal("20.00"), LocalDate.now().plusDays(5)));
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.REJEICOES)
+                .tag("motivo", MotivoRejeicao.FAIXA_NAO_PERMITIDA.getTag()).counter().count());
+    }
+
+    @Test
+    void calcularTaxaAbaixoDoMinimoDaFaixaDeveLancarErroDeTaxa() {
+        when(strategy.cotarTaxaValidada(any(), eq(0))).thenReturn(ResultadoTaxa.rejeitada(MotivoRejeicao.VALOR_MINIMO,
+                "Valor da transferência deve ser maior ou igual a R$ 3.00 para transferências no mesmo dia"));
+
+        TaxaCalculationException ex = assertThrows(TaxaCalculationException.class, () ->
+                transferenciaService.calcularTaxaTransferencia(new BigDecimal("2.00"), LocalDate.now()));
+        assertTrue(ex.getMessage().contains("R$ 3.00"));
+    }
+
+    @Test
+    void agendarTransferenciaRejeitadaPelaFaixaDeveLancarArgumentoInvalido() {
+        TransferenciaRequestDTO dto = new TransferenciaRequestDTO();
+        dto.setContaOrigem("1234567890");
+        dto.setContaDestino("0987654321");
+        dto.setValorTransferencia(new BigDecimal("20.00"));
+        dto.setDataTransferencia(LocalDate.now().plusDays(5));
+
+        when(strategy.cotarTaxaValidada(any(), eq(5)))
+                .thenReturn(ResultadoTaxa.rejeitada(MotivoRejeicao.FAIXA_NAO_PERMITIDA, "Transferência negada"));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> transferenciaService.agendarTransferencia(dto));
+        assertEquals("Transferência negada", ex.getMessage());
+        verifyNoInteractions(transferenciaRepository);
+    }
+
+    @Test
+    void calcularTaxaForaDaJanelaDeveContarRejeicao() {
+        when(strategy.cotarTaxaValidada(any(), eq(60))).thenReturn(ResultadoTaxa.rejeitada(
+                MotivoRejeicao.FORA_DA_JANELA, "Transferência não permitida para 60 dias."));
+
+        assertThrows(TaxaCalculationException.class, () ->
+                transferenciaService.calcularTaxaTransferencia(new BigDecimal("1000.00"), LocalDate.now().plusDays(60))
+        );
+
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.REJEICOES)
+                .tag("motivo", MotivoRejeicao.FORA_DA_JANELA.getTag()).counter().count());
+        assertEquals(1, meterRegistry.get(MetricasTransferencias.COTACAO).tag("resultado", "rejeitada").timer().count());
+    }
+
+    @Test
+    void buscarTransferenciaPorIdComSucesso() {
+        when(transferenciaRepository.findResponseById(1L)).thenReturn(Optional.of(itemPagina(1L, LocalDate.now())));
 
         TransferenciaResponseDTO response = transferenciaService.buscarTransferenciaPorId(1L);
 
-        assertEquals("123", response.getContaOrigem());
+        assertEquals(NumeroConta.de("1234567890"), response.contaOrigem());
     }
 
     @Test
     void buscarTransferenciaPorIdInexistenteDeveLancarExcecao() {
-        when(transferenciaRepository.findById(999L)).thenReturn(Optional.empty());
+        when(transferenciaRepository.findResponseById(999L)).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> transferenciaService.buscarTransferenciaPorId(999L));
     }
 
     @Test
-    void buscarTodasTransferenciasDeveRetornarLista() {
-        when(transferenciaRepository.findAllByOrderByDataAgendamentoDesc()).thenReturn(Collections.emptyList());
+    void buscarTransferenciasDeveRetornarPaginaVazia() {
+        when(transferenciaRepository.findPrimeiraPagina(Limit.of(11))).thenReturn(Collections.emptyList());
 
-        assertTrue(transferenciaService.buscarTodasTransferencias().isEmpty());
+        PaginaTransferenciasDTO pagina = transferenciaService.buscarTransferencias(null, 10);
+
+        assertTrue(pagina.getItens().isEmpty());
+        assertNull(pagina.getProximoCursor());
     }
 
     @Test
-    void buscarPorContaOrigemDeveRetornarLista() {
-        when(transferenciaRepository.findByContaOrigemOrderByDataAgendamentoDesc("123"))
+    void buscarPorContaOrigemDeveRetornarPaginaVazia() {
+        when(transferenciaRepository.findPrimeiraPaginaPorContaOrigem(NumeroConta.de("1234567890"), Limit.of(11)))
                 .thenReturn(Collections.emptyList());
 
-        assertTrue(transferenciaService.buscarTransferenciasPorContaOrigem("123").isEmpty());
+        assertTrue(transferenciaService.buscarTransferenciasPorContaOrigem("1234567890", null, 10).getItens().isEmpty());
+    }
+
+    @Test
+    void buscarTransferenciasDeveRetornarCursorQuandoHaProximaPagina() {
+        TransferenciaResponseDTO t1 = itemPagina(3L, LocalDate.now());
+        TransferenciaResponseDTO t2 = itemPagina(2L, LocalDate.now());
+        TransferenciaResponseDTO t3 = itemPagina(1L, LocalDate.now().minusDays(1));
+        when(transferenciaRepository.findPrimeiraPagina(Limit.of(3))).thenReturn(List.of(t1, t2, t3));
+
+        PaginaTransferenciasDTO pagina = transferenciaService.buscarTransferencias(null, 2);
+
+        assertEquals(2, pagina.getItens().size());
+        CursorPaginacao cursor = CursorPaginacao.decodificar(pagina.getProximoCursor());
+        assertEquals(LocalDate.now(), cursor.getDataAgendamento());
+        assertEquals(2L, cursor.getId());
+    }
+
+    @Test
+    void buscarTransferenciasComCursorDeveContinuarAposUltimaPosicao() {
+        String cursor = CursorPaginacao.posicaoApos(itemPagina(2L, LocalDate.now())).codificar();
+        when(transferenciaRepository.findPaginaApos(LocalDate.now(), 2L, Limit.of(3)))
+                .thenReturn(List.of(itemPagina(1L, LocalDate.now())));
+
+        PaginaTransferenciasDTO pagina = transferenciaService.buscarTransferencias(cursor, 2);
+
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void buscarTransferenciasDeveLimitarTamanhoDaPagina() {
+        when(transferenciaRepository.findPrimeiraPagina(any())).thenReturn(Collections.emptyList());
+
+        PaginaTransferenciasDTO pagina = transferenciaService.buscarTransferencias(null, 100_000);
+
+        assertEquals(TransferenciaService.TAMANHO_MAXIMO_PAGINA, pagina.getTamanho());
+        verify(transferenciaRepository).findPrimeiraPagina(Limit.of(TransferenciaService.TAMANHO_MAXIMO_PAGINA + 1));
+    }
+
+    @Test
+    void buscarTransferenciasComCursorInvalidoDeveLancarExcecao() {
+        assertThrows(IllegalArgumentException.class, () -> transferenciaService.buscarTransferencias("invalido", 10));
+        assertThrows(IllegalArgumentException.class, () -> transferenciaService.buscarTransferencias(null, 0));
+    }
+
+    private TransferenciaResponseDTO itemPagina(Long id, LocalDate dataAgendamento) {
+        return new TransferenciaResponseDTO(id, NumeroConta.de("1234567890"), NumeroConta.de("0987654321"),
+                null, null, null, dataAgendamento, null, null);
     }
 }
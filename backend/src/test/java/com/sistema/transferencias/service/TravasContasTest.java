@@ -0,0 +1,89 @@
+package com.sistema.transferencias.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes das travas de contas")
+class TravasContasTest {
+
+    @Test
+    @DisplayName("Deve exigir quantidade de travas potência de 2")
+    void deveExigirPotenciaDeDois() {
+        assertThrows(IllegalStateException.class, () -> new TravasContas(0));
+        assertThrows(IllegalStateException.class, () -> new TravasContas(1000));
+        assertDoesNotThrow(() -> new TravasContas(1));
+    }
+
+    @Test
+    @DisplayName("Deve distribuir as contas em faixas dentro do intervalo")
+    void deveDistribuirContasEmFaixas() {
+        TravasContas travas = new TravasContas(16);
+        boolean[] usadas = new boolean[16];
+        for (int i = 0; i < 1000; i++) {
+            int faixa = travas.faixa(String.format("%010d", i));
+            assertTrue(faixa >= 0 && faixa < 16);
+            usadas[faixa] = true;
+        }
+        for (boolean usada : usadas) {
+            assertTrue(usada);
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve entrar em deadlock com pares de contas em ordens opostas")
+    void naoDeveEntrarEmDeadlockComOrdensOpostas() throws Exception {
+        TravasContas travas = new TravasContas(1024);
+        String a = "1234567890";
+        String b = "0987654321";
+        assertNotEquals(travas.faixa(a), travas.faixa(b));
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                boolean inverter = i % 2 == 0;
+                execucoes.add(CompletableFuture.runAsync(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        travas.executar(inverter ? b : a, inverter ? a : b, contador::incrementAndGet);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(execucoes.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(80_000, contador.get());
+    }
+
+    @Test
+    @DisplayName("Deve excluir mutuamente operações sobre a mesma conta")
+    void deveExcluirMutuamenteMesmaConta() throws Exception {
+        TravasContas travas = new TravasContas(1024);
+        int[] naoAtomico = {0};
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<Void>> execucoes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                execucoes.add(CompletableFuture.runAsync(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        travas.executar("1234567890", "1234567890", () -> naoAtomico[0]++);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(execucoes.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(40_000, naoAtomico[0]);
+    }
+}
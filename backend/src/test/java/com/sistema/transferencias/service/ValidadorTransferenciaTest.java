@@ -0,0 +1,105 @@
+package com.sistema.transferencias.service;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do validador de transferências")
+class ValidadorTransferenciaTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator beanValidation;
+
+    private final ValidadorTransferencia validador = new ValidadorTransferencia(CalendarioNegocio.sistema());
+
+    @BeforeAll
+    static void criarBeanValidation() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidation = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void fecharBeanValidation() {
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Deve aceitar a transferência válida sem alocar o mapa de erros")
+    void deveAceitarTransferenciaValida() {
+        TransferenciaRequestDTO dto = request("1234567890", "0987654321", "0.01", LocalDate.now());
+
+        assertSame(Map.of(), validador.validar(dto));
+    }
+
+    @Test
+    @DisplayName("Deve produzir os mesmos erros das anotações do DTO")
+    void deveConcordarComAsAnotacoes() {
+        LocalDate hoje = LocalDate.now();
+        List<TransferenciaRequestDTO> casos = List.of(
+                request("1234567890", "0987654321", "100.00", hoje.plusDays(15)),
+                request("123", "0987654321", "100.00", hoje),
+                request("1234567890", "09876543210", "100.00", hoje),
+                request("12345a7890", "١٢٣٤٥٦٧٨٩٠", "100.00", hoje),
+                request(null, null, null, null),
+                request("1234567890", "0987654321", "0.00", hoje),
+                request("1234567890", "0987654321", "0.009", hoje),
+                request("1234567890", "0987654321", "-5", hoje),
+                request("1234567890", "0987654321", "100.00", hoje.minusDays(1)),
+                request("123", "456", "0", hoje.minusYears(1)));
+
+        for (TransferenciaRequestDTO dto : casos) {
+            assertEquals(errosDasAnotacoes(dto), validador.validar(dto), dto.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve reportar a ausência antes do formato quando as duas regras falham")
+    void deveReportarAusenciaAntesDoFormato() {
+        Map<String, String> errors = validador.validar(request("", "   ", "100.00", LocalDate.now()));
+
+        assertEquals(TransferenciaRequestDTO.CONTA_ORIGEM_OBRIGATORIA, errors.get("contaOrigem"));
+        assertEquals(TransferenciaRequestDTO.CONTA_DESTINO_OBRIGATORIA, errors.get("contaDestino"));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar os campos no binding result com a mensagem como padrão")
+    void deveRejeitarCamposNoBindingResult() {
+        TransferenciaRequestDTO dto = request("123", "0987654321", "100.00", LocalDate.now());
+        BeanPropertyBindingResult resultado = new BeanPropertyBindingResult(dto, "transferenciaRequestDTO");
+
+        validador.validate(dto, resultado);
+
+        assertEquals(1, resultado.getErrorCount());
+        assertEquals("contaOrigem", resultado.getFieldError().getField());
+        assertEquals(TransferenciaRequestDTO.CONTA_ORIGEM_INVALIDA, resultado.getFieldError().getDefaultMessage());
+        assertTrue(validador.supports(TransferenciaRequestDTO.class));
+    }
+
+    private static Map<String, String> errosDasAnotacoes(TransferenciaRequestDTO dto) {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<TransferenciaRequestDTO> violation : beanValidation.validate(dto)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    private static TransferenciaRequestDTO request(String origem, String destino, String valor, LocalDate data) {
+        return new TransferenciaRequestDTO(origem, destino, valor == null ? null : new BigDecimal(valor), data);
+    }
+}
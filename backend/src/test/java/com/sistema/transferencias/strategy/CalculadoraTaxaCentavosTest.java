@@ -0,0 +1,123 @@
+package com.sistema.transferencias.strategy;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de propriedade: o motor em centavos deve reproduzir, para todas as faixas,
+ * o cálculo original em BigDecimal (valor x percentual, setScale(2, HALF_UP)).
+ */
+class CalculadoraTaxaCentavosTest {
+
+    private static final int AMOSTRAS_POR_FAIXA = 20_000;
+    private static final long VALOR_MAXIMO_CENTAVOS = 100_000_000_000_00L;
+
+    private final Random random = new Random(20250721L);
+
+    @Test
+    void deveCoincidirComCalculoOriginalNaFaixaDiaZero() {
+        verificarFaixa(faixa(0, 0, "2.5", "3.00", true), 0, new BigDecimal("0.025"), 300L);
+    }
+
+    @Test
+    void deveCoincidirComCalculoOriginalNaFaixa11a20() {
+        verificarFaixa(faixa(11, 20, "8.2", "0", true), 11, new BigDecimal("0.082"), 1L);
+        verificarFaixa(faixa(11, 20, "8.2", "0", true), 20, new BigDecimal("0.082"), 1L);
+    }
+
+    @Test
+    void deveCoincidirComCalculoOriginalNaFaixa21a30() {
+        verificarFaixa(faixa(21, 30, "6.9", "0", true), 21, new BigDecimal("0.069"), 1L);
+        verificarFaixa(faixa(21, 30, "6.9", "0", true), 30, new BigDecimal("0.069"), 1L);
+    }
+
+    @Test
+    void deveCoincidirComCalculoOriginalNaFaixa31a40() {
+        verificarFaixa(faixa(31, 40, "4.7", "0", true), 31, new BigDecimal("0.047"), 1L);
+        verificarFaixa(faixa(31, 40, "4.7", "0", true), 40, new BigDecimal("0.047"), 1L);
+    }
+
+    @Test
+    void deveCoincidirComCalculoOriginalNaFaixa41a50() {
+        verificarFaixa(faixa(41, 50, "1.7", "0", true), 41, new BigDecimal("0.017"), 1L);
+        verificarFaixa(faixa(41, 50, "1.7", "0", true), 50, new BigDecimal("0.017"), 1L);
+    }
+
+    @Test
+    void deveRejeitarFaixa1a10DaMesmaFormaQueOCalculoOriginal() {
+        TaxaCalculationStrategy strategy = faixa(1, 10, "0", "12.00", false);
+
+        for (int i = 0; i < AMOSTRAS_POR_FAIXA; i++) {
+            long centavos = 1 + (long) (random.nextDouble() * 100_000_00L);
+            int dias = 1 + random.nextInt(10);
+
+            IllegalArgumentException original = assertThrows(IllegalArgumentException.class, () ->
+                    strategy.calcularTaxa(CalculadoraTaxaCentavos.paraBigDecimal(centavos), dias));
+            IllegalArgumentException emCentavos = assertThrows(IllegalArgumentException.class, () ->
+                    strategy.calcularTaxaCentavos(centavos, dias));
+
+            assertEquals(original.getMessage(), emCentavos.getMessage());
+        }
+    }
+
+    @Test
+    void deveArredondarMeioCentavoParaCima() {
+        // 0,20 x 2,5% = 0,005 -> 0,01
+        assertEquals(1L, CalculadoraTaxaCentavos.aplicarPercentual(20L, 250));
+        // 0,19 x 2,5% = 0,00475 -> 0,00
+        assertEquals(0L, CalculadoraTaxaCentavos.aplicarPercentual(19L, 250));
+        // Arredondamento simétrico para valores negativos, como no HALF_UP
+        assertEquals(-1L, CalculadoraTaxaCentavos.aplicarPercentual(-20L, 250));
+    }
+
+    @Test
+    void deveUsarCalculoEmBigDecimalParaFracoesDeCentavo() {
+        BigDecimal valor = new BigDecimal("100.005");
+
+        assertFalse(CalculadoraTaxaCentavos.isRepresentavelEmCentavos(valor));
+        assertEquals(valor.multiply(new BigDecimal("0.069")).setScale(2, RoundingMode.HALF_UP),
+                CalculadoraTaxaCentavos.aplicarPercentual(valor, 690));
+    }
+
+    @Test
+    void deveAceitarZerosAEsquerdaDaSegundaCasa() {
+        BigDecimal valor = new BigDecimal("100.0000");
+
+        assertTrue(CalculadoraTaxaCentavos.isRepresentavelEmCentavos(valor));
+        assertEquals(10_000L, CalculadoraTaxaCentavos.paraCentavos(valor));
+    }
+
+    private static TaxaFaixaStrategy faixa(int diasMin, int diasMax, String taxaPercentual, String valorMinimo,
+                                           boolean permitida) {
+        return new TaxaFaixaStrategy(diasMin, diasMax, new BigDecimal(taxaPercentual), new BigDecimal(valorMinimo), permitida);
+    }
+
+    private void verificarFaixa(TaxaCalculationStrategy strategy, int dias,
+                                BigDecimal percentualOriginal, long valorMinimoCentavos) {
+        for (int i = 0; i < AMOSTRAS_POR_FAIXA; i++) {
+            long centavos = valorMinimoCentavos
+                    + (long) (random.nextDouble() * (amostrarMagnitude() - valorMinimoCentavos));
+            BigDecimal valor = CalculadoraTaxaCentavos.paraBigDecimal(centavos);
+            BigDecimal esperado = valor.multiply(percentualOriginal).setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(esperado, strategy.calcularTaxa(valor, dias), "Valor " + valor);
+            assertEquals(esperado, CalculadoraTaxaCentavos.paraBigDecimal(strategy.calcularTaxaCentavos(centavos, dias)),
+                    "Valor em centavos " + centavos);
+
+            BigDecimal valorComFracao = valor.add(BigDecimal.valueOf(random.nextInt(10), 3));
+            assertEquals(valorComFracao.multiply(percentualOriginal).setScale(2, RoundingMode.HALF_UP),
+                    strategy.calcularTaxa(valorComFracao, dias), "Valor " + valorComFracao);
+        }
+    }
+
+    // Distribui as amostras entre valores pequenos, onde o arredondamento domina, e valores grandes
+    private long amostrarMagnitude() {
+        long[] magnitudes = {1_000L, 100_000L, 10_000_000L, VALOR_MAXIMO_CENTAVOS};
+        return magnitudes[random.nextInt(magnitudes.length)];
+    }
+}
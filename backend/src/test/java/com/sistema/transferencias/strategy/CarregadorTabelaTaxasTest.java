@@ -0,0 +1,144 @@
+package com.sistema.transferencias.strategy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CarregadorTabelaTaxasTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private TaxaCalculationContext context;
+    private CarregadorTabelaTaxas carregador;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        arquivo = diretorio.resolve("faixas-taxa.yml");
+        escrever(tabela("2000-01-01", "8.2"));
+        context = new TaxaCalculationContext(TabelaTaxas.vazia());
+        carregador = new CarregadorTabelaTaxas(context, new FileSystemResource(arquivo));
+        carregador.carregar();
+    }
+
+    @Test
+    void deveLerATabelaPadrao() {
+        TaxaCalculationContext padrao = new TaxaCalculationContext(
+                CarregadorTabelaTaxas.ler(new ClassPathResource("faixas-taxa.yml")));
+
+        assertEquals(50, padrao.getDiasMaximo());
+        assertEquals(new BigDecimal("2.50"), padrao.cotarTaxa(new BigDecimal("100.00"), 0).getTaxa());
+        assertEquals(MotivoRejeicao.VALOR_MINIMO, padrao.cotarTaxa(new BigDecimal("2.99"), 0).getMotivo());
+        assertEquals(MotivoRejeicao.FAIXA_NAO_PERMITIDA, padrao.cotarTaxa(new BigDecimal("20.00"), 5).getMotivo());
+        assertEquals(new BigDecimal("82.00"), padrao.cotarTaxa(new BigDecimal("1000.00"), 15).getTaxa());
+        assertEquals(new BigDecimal("69.00"), padrao.cotarTaxa(new BigDecimal("1000.00"), 25).getTaxa());
+        assertEquals(new BigDecimal("47.00"), padrao.cotarTaxa(new BigDecimal("1000.00"), 35).getTaxa());
+        assertEquals(new BigDecimal("17.00"), padrao.cotarTaxa(new BigDecimal("1000.00"), 45).getTaxa());
+        assertEquals(MotivoRejeicao.FORA_DA_JANELA, padrao.cotarTaxa(new BigDecimal("1000.00"), 51).getMotivo());
+    }
+
+    @Test
+    void deveCarregarVigenciasEmOrdemDeData() throws IOException {
+        LocalDate amanha = LocalDate.now().plusDays(1);
+        escrever(tabela(amanha.toString(), "1.0") + tabela("2000-01-01", "8.2").replace("vigencias:\n", ""));
+
+        TabelaTaxas tabela = CarregadorTabelaTaxas.ler(new FileSystemResource(arquivo));
+
+        assertEquals(2, tabela.getVigencias().size());
+        assertEquals(LocalDate.of(2000, 1, 1), tabela.getVigencias().get(0));
+        assertEquals(amanha, tabela.getVigencias().get(1));
+        assertEquals(new BigDecimal("82.00"),
+                new TaxaCalculationContext(tabela).cotarTaxa(new BigDecimal("1000.00"), 15).getTaxa());
+    }
+
+    @Test
+    void deveRecarregarQuandoOArquivoMuda() throws IOException {
+        TabelaTaxas anterior = context.getTabela();
+        escrever(tabela("2000-01-01", "1.0"));
+        avancarModificacao();
+
+        carregador.recarregarSeAlterado();
+
+        assertNotSame(anterior, context.getTabela());
+        assertEquals(new BigDecimal("10.00"), context.cotarTaxa(new BigDecimal("1000.00"), 15).getTaxa());
+    }
+
+    @Test
+    void naoDeveRecarregarArquivoInalterado() {
+        TabelaTaxas anterior = context.getTabela();
+
+        carregador.recarregarSeAlterado();
+
+        assertSame(anterior, context.getTabela());
+    }
+
+    @Test
+    void deveManterATabelaVigenteQuandoARecargaForInvalida() throws IOException {
+        TabelaTaxas anterior = context.getTabela();
+        escrever(tabela("2000-01-01", "8.2") + """
+                      - dias-min: 15
+                        dias-max: 25
+                        taxa-percentual: 6.9
+                """);
+        avancarModificacao();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, carregador::recarregarSeAlterado);
+
+        assertTrue(ex.getMessage().contains("Sobreposição"));
+        assertSame(anterior, context.getTabela());
+
+        // O mesmo arquivo inválido não é lido de novo
+        carregador.recarregarSeAlterado();
+        assertSame(anterior, context.getTabela());
+    }
+
+    @Test
+    void deveRecusarFaixaComParametrosInvalidos() throws IOException {
+        escrever(tabela("2000-01-01", "8.255"));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                CarregadorTabelaTaxas.ler(new FileSystemResource(arquivo)));
+
+        assertTrue(ex.getMessage().contains("Faixa inválida"));
+    }
+
+    @Test
+    void deveRecusarArquivoSemVigencias() throws IOException {
+        escrever("outra-chave: 1\n");
+
+        assertThrows(IllegalStateException.class, () -> CarregadorTabelaTaxas.ler(new FileSystemResource(arquivo)));
+    }
+
+    private static String tabela(String vigenteDesde, String taxaPercentual) {
+        return """
+                vigencias:
+                  - vigente-desde: %s
+                    faixas:
+                      - dias-min: 0
+                        dias-max: 20
+                        taxa-percentual: %s
+                """.formatted(vigenteDesde, taxaPercentual);
+    }
+
+    private void escrever(String conteudo) throws IOException {
+        Files.writeString(arquivo, conteudo);
+    }
+
+    // A resolução da data de modificação do sistema de arquivos pode ser de um segundo
+    private void avancarModificacao() throws IOException {
+        Files.setLastModifiedTime(arquivo, FileTime.fromMillis(
+                Files.getLastModifiedTime(arquivo).toMillis() + 60_000));
+    }
+}
@@ -3,8 +3,12 @@ package com.sistema.transferencias.strategy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.io.ClassPathResource;
+
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -65,4 +69,120 @@ class TaxaCalculationContextTest {
         assertTrue(descricoes.contains("Taxa para 1 a 10 dias"));
         assertTrue(descricoes.contains("Outra estratégia"));
     }
+
+    @Test
+    void deveCobrirDeZeroACinquentaDiasComEstrategiasReais() {
+        TaxaCalculationContext real = contextoComEstrategiasReais();
+
+        for (int dias = 0; dias <= 50; dias++) {
+            assertTrue(real.isTransferenciaPermitida(dias), "Esperado permitido para dia " + dias);
+        }
+        assertFalse(real.isTransferenciaPermitida(-1));
+        assertFalse(real.isTransferenciaPermitida(51));
+    }
+
+    @Test
+    void deveLancarExcecaoParaDiasForaDaTabela() {
+        TaxaCalculationContext real = contextoComEstrategiasReais();
+
+        assertThrows(IllegalArgumentException.class, () -> real.calcularTaxa(new BigDecimal("100.00"), 51));
+        assertThrows(IllegalArgumentException.class, () -> real.calcularTaxa(new BigDecimal("100.00"), -1));
+    }
+
+    @Test
+    void deveCotarComEstrategiasReais() {
+        TaxaCalculationContext real = contextoComEstrategiasReais();
+
+        ResultadoTaxa calculada = real.cotarTaxa(new BigDecimal("1000.00"), 15);
+        ResultadoTaxa foraDaJanela = real.cotarTaxa(new BigDecimal("1000.00"), 51);
+
+        assertTrue(calculada.isCalculada());
+        assertEquals(new BigDecimal("82.00"), calculada.getTaxa());
+        assertTrue(foraDaJanela.isRejeitada());
+        assertEquals(MotivoRejeicao.FORA_DA_JANELA, foraDaJanela.getMotivo());
+        assertTrue(foraDaJanela.getMensagem().contains("51 dias"));
+    }
+
+    @Test
+    void deveFalharInicializacaoComEstrategiasSobrepostas() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                new TaxaCalculationContext(List.of(faixa(11, 20, "8.2"), faixa(15, 25, "6.9"))));
+
+        assertTrue(ex.getMessage().contains("Sobreposição"));
+    }
+
+    @Test
+    void deveFalharInicializacaoComLacunaEntreEstrategias() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                new TaxaCalculationContext(List.of(faixa(0, 0, "2.5"), faixa(11, 20, "8.2"))));
+
+        assertTrue(ex.getMessage().contains("Lacuna"));
+    }
+
+    @Test
+    void deveFalharInicializacaoComEstrategiaForaDoIntervalo() {
+        TaxaCalculationStrategy foraDoIntervalo = mock(TaxaCalculationStrategy.class);
+        when(foraDoIntervalo.isAplicavel(TabelaTaxas.DIAS_MAXIMO + 1)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> new TaxaCalculationContext(List.of(foraDoIntervalo)));
+    }
+
+    @Test
+    void deveResolverEstrategiaDaFaixaOuRejeicaoForaDaJanela() {
+        TaxaCalculationContext real = contextoComEstrategiasReais();
+        LocalDate hoje = LocalDate.now();
+
+        TaxaCalculationStrategy faixa = real.resolverStrategy(15, hoje);
+        TaxaCalculationStrategy foraDaJanela = real.resolverStrategy(51, hoje);
+
+        assertEquals("11-20", faixa.getFaixa());
+        assertEquals(new BigDecimal("82.00"), faixa.cotarTaxaValidada(new BigDecimal("1000.00"), 15).getTaxa());
+        assertFalse(foraDaJanela.isAplicavel(51));
+        ResultadoTaxa rejeicao = foraDaJanela.cotarTaxaValidada(new BigDecimal("1000.00"), 51);
+        assertEquals(MotivoRejeicao.FORA_DA_JANELA, rejeicao.getMotivo());
+        assertEquals("Transferência não permitida para 51 dias. Transferências são permitidas apenas entre 0 e 50 dias.",
+                rejeicao.getMensagem());
+    }
+
+    @Test
+    void deveUsarAVigenciaEmVigorNaDataAtual() {
+        LocalDate hoje = LocalDate.now();
+        TaxaCalculationContext comVigencias = new TaxaCalculationContext(TabelaTaxas.compilar(Map.of(
+                hoje.minusDays(1), List.of(faixa(0, 20, "8.2")),
+                hoje.plusDays(1), List.of(faixa(0, 30, "1.0")))));
+
+        assertEquals(new BigDecimal("82.00"), comVigencias.cotarTaxa(new BigDecimal("1000.00"), 15).getTaxa());
+        assertEquals(20, comVigencias.getDiasMaximo());
+        assertFalse(comVigencias.isTransferenciaPermitida(25));
+    }
+
+    @Test
+    void deveRecusarTudoAntesDaPrimeiraVigencia() {
+        TaxaCalculationContext futura = new TaxaCalculationContext(TabelaTaxas.compilar(Map.of(
+                LocalDate.now().plusDays(1), List.of(faixa(0, 20, "8.2")))));
+
+        ResultadoTaxa resultado = futura.cotarTaxa(new BigDecimal("1000.00"), 15);
+
+        assertEquals(MotivoRejeicao.FORA_DA_JANELA, resultado.getMotivo());
+        assertEquals(-1, futura.getDiasMaximo());
+    }
+
+    @Test
+    void deveUsarANovaTabelaAposAtualizacao() {
+        TaxaCalculationContext real = contextoComEstrategiasReais();
+
+        real.atualizarTabela(TabelaTaxas.compilar(Map.of(LocalDate.MIN, List.of(faixa(0, 60, "1.0")))));
+
+        assertEquals(new BigDecimal("10.00"), real.cotarTaxa(new BigDecimal("1000.00"), 55).getTaxa());
+        assertEquals("0-60", real.getFaixa(55));
+        assertEquals(TaxaCalculationContext.FAIXA_NAO_PERMITIDA, real.getFaixa(61));
+    }
+
+    private TaxaCalculationContext contextoComEstrategiasReais() {
+        return new TaxaCalculationContext(CarregadorTabelaTaxas.ler(new ClassPathResource("faixas-taxa.yml")));
+    }
+
+    private static TaxaFaixaStrategy faixa(int diasMin, int diasMax, String taxaPercentual) {
+        return new TaxaFaixaStrategy(diasMin, diasMax, new BigDecimal(taxaPercentual), BigDecimal.ZERO, true);
+    }
 }
@@ -0,0 +1,146 @@
+package com.sistema.transferencias.strategy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxaFaixaStrategyTest {
+
+    private TaxaFaixaStrategy diaZero;
+    private TaxaFaixaStrategy dias1a10;
+    private TaxaFaixaStrategy dias11a20;
+
+    @BeforeEach
+    void setUp() {
+        diaZero = new TaxaFaixaStrategy(0, 0, new BigDecimal("2.5"), new BigDecimal("3.00"), true);
+        dias1a10 = new TaxaFaixaStrategy(1, 10, BigDecimal.ZERO, new BigDecimal("12.00"), false);
+        dias11a20 = new TaxaFaixaStrategy(11, 20, new BigDecimal("8.2"), BigDecimal.ZERO, true);
+    }
+
+    @Test
+    void deveCalcularTaxaCorretamenteParaValorValido() {
+        BigDecimal valor = new BigDecimal("100.00");
+        BigDecimal taxa = diaZero.calcularTaxa(valor, 0);
+        assertEquals(new BigDecimal("2.50"), taxa, "A taxa deve ser 2,5% do valor (R$ 2,50 para R$ 100,00)");
+    }
+
+    @Test
+    void deveLancarExcecaoParaValorMenorQueMinimo() {
+        BigDecimal valor = new BigDecimal("2.99");
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                diaZero.calcularTaxa(valor, 0));
+        assertEquals("Valor da transferência deve ser maior ou igual a R$ 3.00 para transferências no mesmo dia",
+                exception.getMessage());
+    }
+
+    @Test
+    void deveLancarExcecaoParaValorNulo() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                diaZero.calcularTaxa(null, 0));
+        assertEquals("Valor da transferência deve ser maior que zero", exception.getMessage());
+    }
+
+    @Test
+    void deveLancarExcecaoParaValorZero() {
+        BigDecimal valor = BigDecimal.ZERO;
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                diaZero.calcularTaxa(valor, 0));
+        assertEquals("Valor da transferência deve ser maior que zero", exception.getMessage());
+    }
+
+    @Test
+    void deveLancarExcecaoParaDiasForaDaFaixa() {
+        BigDecimal valor = new BigDecimal("100.00");
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                diaZero.calcularTaxa(valor, 1));
+        assertEquals("Esta estratégia não é aplicável para 1 dias", exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> dias1a10.calcularTaxa(new BigDecimal("20.00"), 0));
+        assertThrows(IllegalArgumentException.class, () -> dias1a10.calcularTaxa(new BigDecimal("20.00"), 11));
+    }
+
+    @Test
+    void deveRejeitarValorAbaixoDoMinimoDaFaixa() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                dias1a10.calcularTaxa(new BigDecimal("11.99"), 5));
+
+        assertEquals("Valor da transferência deve ser maior ou igual a R$ 12.00 para transferências de 1 a 10 dias",
+                ex.getMessage());
+    }
+
+    @Test
+    void deveNegarFaixaNaoPermitidaMesmoComValorValido() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                dias1a10.calcularTaxa(new BigDecimal("20.00"), 5));
+
+        assertEquals("Transferência negada, não há taxa percentual aplicável para esta data", ex.getMessage());
+    }
+
+    @Test
+    void cotarTaxaDeveDevolverRejeicaoTipadaSemLancarExcecao() {
+        ResultadoTaxa abaixoDoMinimo = dias1a10.cotarTaxa(new BigDecimal("11.99"), 5);
+        ResultadoTaxa negada = dias1a10.cotarTaxa(new BigDecimal("20.00"), 5);
+
+        assertEquals(MotivoRejeicao.VALOR_MINIMO, abaixoDoMinimo.getMotivo());
+        assertEquals(MotivoRejeicao.FAIXA_NAO_PERMITIDA, negada.getMotivo());
+        assertEquals("Transferência negada, não há taxa percentual aplicável para esta data", negada.getMensagem());
+        assertNull(negada.getTaxa());
+    }
+
+    @Test
+    void calcularTaxaCentavosDeveSeguirAsMesmasRegras() {
+        assertEquals(82L, dias11a20.calcularTaxaCentavos(1_000L, 15));
+        assertEquals(250L, diaZero.calcularTaxaCentavos(10_000L, 0));
+        assertThrows(IllegalArgumentException.class, () -> diaZero.calcularTaxaCentavos(299L, 0));
+        assertThrows(IllegalArgumentException.class, () -> dias1a10.calcularTaxaCentavos(2_000L, 5));
+    }
+
+    @Test
+    void isAplicavelDeveRespeitarOsLimitesDaFaixa() {
+        assertTrue(diaZero.isAplicavel(0));
+        assertFalse(diaZero.isAplicavel(1));
+        assertFalse(diaZero.isAplicavel(-1));
+        for (int i = 1; i <= 10; i++) {
+            assertTrue(dias1a10.isAplicavel(i), "Esperado true para dia " + i);
+        }
+        assertFalse(dias1a10.isAplicavel(0));
+        assertFalse(dias1a10.isAplicavel(11));
+    }
+
+    @Test
+    void deveRetornarDescricaoCorreta() {
+        assertEquals("Taxa para transferência no mesmo dia: 2,5% sobre o valor (mínimo R$ 3,00)", diaZero.getDescricao());
+        assertEquals("Taxa para transferência de 11 a 20 dias: 8,2% sobre o valor", dias11a20.getDescricao());
+        assertTrue(dias1a10.getDescricao().contains("Transferências de 1 a 10 dias não são permitidas"));
+        assertTrue(dias1a10.getDescricao().contains("R$ 12,00"));
+    }
+
+    @Test
+    void deveValidarCentavosComAsMesmasRejeicoesDaCotacao() {
+        assertNull(diaZero.validarCentavos(300, 0));
+        assertEquals(diaZero.cotarTaxaValidada(new BigDecimal("2.99"), 0).getMensagem(),
+                diaZero.validarCentavos(299, 0).getMensagem());
+        assertEquals(dias1a10.cotarTaxaValidada(new BigDecimal("12.00"), 5).getMensagem(),
+                dias1a10.validarCentavos(1200, 5).getMensagem());
+        assertNull(dias11a20.validarCentavos(1, 15));
+    }
+
+    @Test
+    void deveRetornarFaixaDeDiasComoTag() {
+        assertEquals("0", diaZero.getFaixa());
+        assertEquals("1-10", dias1a10.getFaixa());
+    }
+
+    @Test
+    void deveRecusarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new TaxaFaixaStrategy(10, 5, BigDecimal.ONE, BigDecimal.ZERO, true));
+        assertThrows(IllegalArgumentException.class, () ->
+                new TaxaFaixaStrategy(0, 5, new BigDecimal("1.255"), BigDecimal.ZERO, true));
+        assertThrows(IllegalArgumentException.class, () ->
+                new TaxaFaixaStrategy(0, 5, BigDecimal.ONE, new BigDecimal("-1"), true));
+    }
+}
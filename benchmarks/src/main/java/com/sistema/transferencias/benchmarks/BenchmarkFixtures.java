@@ -0,0 +1,65 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.strategy.CarregadorTabelaTaxas;
+import com.sistema.transferencias.strategy.TabelaTaxas;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Objetos compartilhados pelos benchmarks, montados como a aplicação os monta.
+ */
+
+final class BenchmarkFixtures {
+
+    /**
+     * Calendário sobre um relógio fixo, para que as contas de dias não mudem se a medição cruzar a meia-noite.
+     */
+
+    static final CalendarioNegocio CALENDARIO = new CalendarioNegocio(
+            Clock.fixed(Instant.parse("2025-07-21T15:00:00Z"), ZoneId.of("America/Sao_Paulo")));
+
+    private BenchmarkFixtures() {
+    }
+
+    static TaxaCalculationContext contextoPadrao() {
+        return new TaxaCalculationContext(tabelaPadrao(), CALENDARIO);
+    }
+
+    /**
+     * Tabela de faixas distribuída com a aplicação ({@code faixas-taxa.yml}).
+     */
+
+    static TabelaTaxas tabelaPadrao() {
+        return CarregadorTabelaTaxas.ler(new ClassPathResource("faixas-taxa.yml"));
+    }
+
+    /**
+     * ObjectMapper com a mesma configuração padrão do Spring Boot (JavaTimeModule, datas ISO).
+     */
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Transferencia transferencia(long id) {
+        Transferencia transferencia = new Transferencia();
+        transferencia.setId(id);
+        transferencia.setContaOrigem(NumeroConta.de("1234567890"));
+        transferencia.setContaDestino(NumeroConta.de("0987654321"));
+        transferencia.setValorTransferencia(new BigDecimal("1000.00"));
+        transferencia.setTaxaTransferencia(new BigDecimal("82.00"));
+        transferencia.setDataTransferencia(CALENDARIO.hoje().plusDays(15));
+        transferencia.setDataAgendamento(CALENDARIO.hoje());
+        return transferencia;
+    }
+}
@@ -0,0 +1,107 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.SistemaDeTransferenciasApplication;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.service.ContaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vazão da movimentação de contas na liquidação ({@link ContaService#liquidar}) com
+ * {@value #THREADS} threads, em duas distribuições: {@code quente}, com todas as transferências
+ * entre {@value #CONTAS_QUENTES} contas, e {@code uniforme}, entre {@value #TOTAL_CONTAS} contas.
+ * O parâmetro {@code travas} compara uma trava única (todas as movimentações em fila) com as
+ * travas em faixas. Sobe o contexto Spring sem servidor web, com o H2 em memória.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+// Aquecimento longo: a vazão só estabiliza depois de ~30 s (JIT e caches de plano do Hibernate)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(ContaContencaoBenchmark.THREADS)
+@State(Scope.Benchmark)
+public class ContaContencaoBenchmark {
+
+    static final int THREADS = 8;
+    private static final int TOTAL_CONTAS = 10_000;
+    private static final int CONTAS_QUENTES = 4;
+    private static final BigDecimal VALOR = new BigDecimal("1.00");
+    private static final BigDecimal TAXA = new BigDecimal("0.10");
+
+    @Param({"quente", "uniforme"})
+    private String distribuicao;
+
+    @Param({"1", "1024"})
+    private int travas;
+
+    private ConfigurableApplicationContext contexto;
+    private ContaService contaService;
+    private NumeroConta[] contas;
+    private int contasSorteadas;
+    private LocalDate hoje;
+
+    @Setup
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(SistemaDeTransferenciasApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:contencao;DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.mode=never",
+                        "--transferencias.liquidacao.habilitada=false",
+                        "--transferencias.contas.travas=" + travas,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        contaService = contexto.getBean(ContaService.class);
+
+        // Saldo alto o bastante para nenhuma movimentação falhar durante a medição
+        contexto.getBean(JdbcTemplate.class).update(
+                "INSERT INTO contas (numero, saldo) SELECT LPAD(X, 10, '0'), 1000000000.00 FROM SYSTEM_RANGE(1, ?)",
+                TOTAL_CONTAS);
+        contas = new NumeroConta[TOTAL_CONTAS];
+        for (int i = 0; i < TOTAL_CONTAS; i++) {
+            contas[i] = NumeroConta.de(i + 1);
+        }
+        contasSorteadas = "quente".equals(distribuicao) ? CONTAS_QUENTES : TOTAL_CONTAS;
+        hoje = LocalDate.now();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public boolean liquidar() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int origem = random.nextInt(contasSorteadas);
+        int destino = (origem + 1 + random.nextInt(contasSorteadas - 1)) % contasSorteadas;
+        Transferencia transferencia = new Transferencia(contas[origem], contas[destino], VALOR, hoje, hoje);
+        transferencia.setTaxaTransferencia(TAXA);
+        return contaService.liquidar(transferencia, () -> true);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.SistemaDeTransferenciasApplication;
+import com.sistema.transferencias.dto.RemessaDTO;
+import com.sistema.transferencias.model.FormatoRemessa;
+import com.sistema.transferencias.model.SituacaoRemessa;
+import com.sistema.transferencias.service.RemessaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Tempo de uma remessa CSV de {@value #TOTAL_LINHAS} linhas, do recebimento do arquivo à conclusão:
+ * gravação do arquivo, leitura mapeada, cotação em paralelo, INSERT em batch no H2 e relatório de resultado.
+ * Uma linha em cada 20 cai na faixa de 1 a 10 dias, não permitida, e é rejeitada.
+ */
+
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class IngestaoRemessaBenchmark {
+
+    static final int TOTAL_LINHAS = 1_000_000;
+    private static final long ESPERA_CONCLUSAO_MS = 10;
+
+    private Path diretorio;
+    private Path arquivo;
+    private ConfigurableApplicationContext contexto;
+    private RemessaService remessaService;
+    private JdbcTemplate jdbc;
+
+    @Setup
+    public void setUp() throws IOException {
+        diretorio = Files.createTempDirectory("remessas-benchmark");
+        arquivo = diretorio.resolve("entrada.csv");
+        LocalDate hoje = LocalDate.now();
+        try (BufferedWriter saida = Files.newBufferedWriter(arquivo)) {
+            saida.write("contaOrigem,contaDestino,valor,dataTransferencia\n");
+            for (int i = 0; i < TOTAL_LINHAS; i++) {
+                int dias = i % 20 == 0 ? 5 : 11 + i % 40;
+                saida.write(String.format("%010d,%010d,%d.%02d,%s\n",
+                        i % 10_000, 9_999_999_999L - i % 10_000, 100 + i % 5_000, i % 100, hoje.plusDays(dias)));
+            }
+        }
+
+        contexto = new SpringApplicationBuilder(SistemaDeTransferenciasApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:remessas;DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.mode=never",
+                        "--transferencias.liquidacao.habilitada=false",
+                        "--transferencias.remessas.diretorio=" + diretorio,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        remessaService = contexto.getBean(RemessaService.class);
+        jdbc = contexto.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void limpar() {
+        jdbc.execute("TRUNCATE TABLE transferencias");
+        jdbc.execute("TRUNCATE TABLE resumos_diarios");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        contexto.close();
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            for (Path gerado : (Iterable<Path>) arquivos::iterator) {
+                Files.delete(gerado);
+            }
+        }
+        Files.delete(diretorio);
+    }
+
+    @Benchmark
+    public RemessaDTO receberEProcessar() throws IOException, InterruptedException {
+        RemessaDTO remessa;
+        try (InputStream conteudo = Files.newInputStream(arquivo)) {
+            remessa = remessaService.receber("entrada.csv", FormatoRemessa.CSV, conteudo);
+        }
+        while (remessa.getSituacao() != SituacaoRemessa.CONCLUIDA) {
+            if (remessa.getSituacao() == SituacaoRemessa.FALHOU) {
+                throw new IllegalStateException("Remessa falhou: " + remessa.getMensagemFalha());
+            }
+            Thread.sleep(ESPERA_CONCLUSAO_MS);
+            remessa = remessaService.consultar(remessa.getId());
+        }
+        return remessa;
+    }
+}
@@ -0,0 +1,55 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.model.NumeroConta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validação do número de conta de uma requisição: a expressão {@code \d{10}} já compilada,
+ * como no antigo {@code @Pattern}, contra a verificação manual de {@link NumeroConta#isValido},
+ * e a conversão do texto para {@link NumeroConta} feita pelo serviço.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumeroContaBenchmark {
+
+    private static final Pattern DEZ_DIGITOS = Pattern.compile("\\d{10}");
+
+    private String conta;
+
+    @Setup
+    public void setUp() {
+        conta = new String("0987654321");
+    }
+
+    @Benchmark
+    public boolean validarComExpressaoRegular() {
+        return DEZ_DIGITOS.matcher(conta).matches();
+    }
+
+    @Benchmark
+    public boolean validarManualmente() {
+        return NumeroConta.isValido(conta);
+    }
+
+    @Benchmark
+    public NumeroConta converter() {
+        return NumeroConta.de(conta);
+    }
+}
@@ -0,0 +1,124 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.SistemaDeTransferenciasApplication;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.Transferencia;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Custo de uma página de {@value #TAMANHO_PAGINA} transferências até a lista de
+ * {@link TransferenciaResponseDTO}: entidades gerenciadas mapeadas com {@code de} (com e sem
+ * transação somente leitura) contra a expressão de construtor do {@link TransferenciaRepository}.
+ * O interesse está no {@code gc.alloc.rate.norm} do GCProfiler, em bytes por página.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class PaginaTransferenciasBenchmark {
+
+    static final int TAMANHO_PAGINA = 10_000;
+    private static final int TOTAL_TRANSFERENCIAS = 100_000;
+
+    private static final String CONSULTA_ENTIDADES =
+            "SELECT t FROM Transferencia t ORDER BY t.dataAgendamento DESC, t.id DESC";
+
+    private ConfigurableApplicationContext contexto;
+    private TransferenciaRepository repository;
+    private EntityManager entityManager;
+    private TransactionTemplate transacao;
+    private TransactionTemplate transacaoSomenteLeitura;
+
+    @Setup
+    public void setUp() {
+        contexto = new SpringApplicationBuilder(SistemaDeTransferenciasApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:pagina;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                        "--spring.sql.init.mode=never",
+                        "--transferencias.liquidacao.habilitada=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        repository = contexto.getBean(TransferenciaRepository.class);
+        entityManager = contexto.getBean(EntityManager.class);
+
+        PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+        transacao = new TransactionTemplate(transactionManager);
+        transacaoSomenteLeitura = new TransactionTemplate(transactionManager);
+        transacaoSomenteLeitura.setReadOnly(true);
+
+        contexto.getBean(JdbcTemplate.class).update(
+                "INSERT INTO transferencias (id, conta_origem, conta_destino, valor_transferencia, " +
+                        "taxa_transferencia, data_transferencia, data_agendamento, dias_para_transferencia, status, versao) " +
+                        "SELECT X, MOD(X, 10000), 9999999999, 1000.00, 82.00, " +
+                        "DATEADD(DAY, 10, CURRENT_DATE), DATEADD(DAY, -MOD(X, 365), CURRENT_DATE), 10, 'AGENDADA', 0 " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                TOTAL_TRANSFERENCIAS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    /**
+     * Como era: entidades hidratadas, com snapshot para o dirty checking, copiadas para o DTO.
+     */
+
+    @Benchmark
+    public List<TransferenciaResponseDTO> entidades() {
+        return transacao.execute(status -> mapear(carregarEntidades()));
+    }
+
+    /**
+     * Entidades numa transação somente leitura: o Hibernate dispensa o snapshot, mas ainda hidrata.
+     */
+
+    @Benchmark
+    public List<TransferenciaResponseDTO> entidadesSomenteLeitura() {
+        return transacaoSomenteLeitura.execute(status -> mapear(carregarEntidades()));
+    }
+
+    @Benchmark
+    public List<TransferenciaResponseDTO> projecao() {
+        return transacaoSomenteLeitura.execute(status -> repository.findPrimeiraPagina(Limit.of(TAMANHO_PAGINA)));
+    }
+
+    private List<Transferencia> carregarEntidades() {
+        return entityManager.createQuery(CONSULTA_ENTIDADES, Transferencia.class)
+                .setMaxResults(TAMANHO_PAGINA)
+                .getResultList();
+    }
+
+    private static List<TransferenciaResponseDTO> mapear(List<Transferencia> transferencias) {
+        return transferencias.stream().map(TransferenciaResponseDTO::de).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,62 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.strategy.TabelaTaxas;
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cotações concorrentes com a troca contínua da tabela de taxas.
+ * Três threads cotam enquanto uma publica tabelas alternadas; comparado a
+ * {@code TaxaCalculationContextBenchmark.cotarTaxa}, mostra o custo da recarga para as leituras.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class TabelaTaxasRecargaBenchmark {
+
+    private TaxaCalculationContext context;
+    private TabelaTaxas[] tabelas;
+    private BigDecimal valor;
+    private int proxima;
+
+    @Setup
+    public void setUp() {
+        tabelas = new TabelaTaxas[]{BenchmarkFixtures.tabelaPadrao(), BenchmarkFixtures.tabelaPadrao()};
+        context = new TaxaCalculationContext(tabelas[0]);
+        valor = new BigDecimal("1234.56");
+    }
+
+    @Benchmark
+    @Group("recarga")
+    @GroupThreads(3)
+    public void cotarTaxa(Blackhole blackhole) {
+        blackhole.consume(context.cotarTaxa(valor, 15));
+    }
+
+    @Benchmark
+    @Group("recarga")
+    @GroupThreads(1)
+    public void atualizarTabela() {
+        proxima ^= 1;
+        context.atualizarTabela(tabelas[proxima]);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.strategy.TaxaCalculationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de taxa pelo {@link TaxaCalculationContext} em cada uma das seis faixas.
+ * A faixa de 1 a 10 dias sempre rejeita a transferência: {@code calcularTaxa} mede o custo
+ * da exceção e {@code cotarTaxa}, o da rejeição devolvida como {@code ResultadoTaxa}.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaxaCalculationContextBenchmark {
+
+    @Param({"0", "5", "15", "25", "35", "45"})
+    private int dias;
+
+    private TaxaCalculationContext context;
+    private BigDecimal valor;
+    private long valorCentavos;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.contextoPadrao();
+        valor = new BigDecimal("1234.56");
+        valorCentavos = 123_456L;
+    }
+
+    @Benchmark
+    public void calcularTaxa(Blackhole blackhole) {
+        try {
+            blackhole.consume(context.calcularTaxa(valor, dias));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void cotarTaxa(Blackhole blackhole) {
+        blackhole.consume(context.cotarTaxa(valor, dias));
+    }
+
+    @Benchmark
+    public void calcularTaxaCentavos(Blackhole blackhole) {
+        try {
+            blackhole.consume(context.calcularTaxaCentavos(valorCentavos, dias));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+}
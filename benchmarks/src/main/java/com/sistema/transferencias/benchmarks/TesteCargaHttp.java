@@ -0,0 +1,182 @@
+package com.sistema.transferencias.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Teste de carga HTTP com um número fixo de requisições simultâneas contra a aplicação
+ * em execução, para medir a vazão e a latência do pool de threads do Tomcat sob contenção.
+ * Cada conexão mantém uma requisição em andamento durante toda a medição.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.sistema.transferencias.benchmarks.TesteCargaHttp \
+ *      --url http://localhost:8080 --conexoes 2000 --duracao 30 --endpoint listagem
+ * </pre>
+ * Endpoints: {@code listagem}, {@code conta}, {@code taxa} e {@code agendamento} (POST de uma transferência).
+ */
+
+public final class TesteCargaHttp {
+
+    // Histograma de latência em milissegundos; a última posição acumula o que passar do limite
+    private static final int LATENCIA_MAXIMA_MS = 60_000;
+
+    private TesteCargaHttp() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = lerOpcoes(args);
+        String url = opcoes.getOrDefault("url", "http://localhost:8080");
+        int conexoes = Integer.parseInt(opcoes.getOrDefault("conexoes", "2000"));
+        int duracaoSegundos = Integer.parseInt(opcoes.getOrDefault("duracao", "30"));
+        int aquecimentoSegundos = Integer.parseInt(opcoes.getOrDefault("aquecimento", "10"));
+        int carga = Integer.parseInt(opcoes.getOrDefault("carga-inicial", "5000"));
+        String endpoint = opcoes.getOrDefault("endpoint", "listagem");
+
+        HttpClient cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+
+        if (carga > 0) {
+            carregarTransferencias(cliente, url, carga);
+        }
+        HttpRequest requisicao = requisicao(url, endpoint);
+
+        System.out.printf("Aquecimento: %d s com %d conexões em %s%n", aquecimentoSegundos, conexoes, requisicao.uri());
+        executar(cliente, requisicao, conexoes, aquecimentoSegundos);
+        System.out.printf("Medição: %d s%n", duracaoSegundos);
+        Resultado resultado = executar(cliente, requisicao, conexoes, duracaoSegundos);
+        resultado.imprimir(duracaoSegundos);
+    }
+
+    private static Resultado executar(HttpClient cliente, HttpRequest requisicao,
+                                      int conexoes, int duracaoSegundos) throws InterruptedException {
+        Resultado resultado = new Resultado();
+        Semaphore emAndamento = new Semaphore(conexoes);
+        long fim = System.nanoTime() + Duration.ofSeconds(duracaoSegundos).toNanos();
+
+        while (System.nanoTime() < fim) {
+            emAndamento.acquire();
+            long inicio = System.nanoTime();
+            cliente.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> {
+                        if (erro != null || resposta.statusCode() >= 400) {
+                            resultado.erros.incrementAndGet();
+                        } else {
+                            resultado.registrar(System.nanoTime() - inicio);
+                        }
+                        emAndamento.release();
+                    });
+        }
+        // Aguarda as requisições em andamento, sem contabilizá-las fora da janela
+        emAndamento.acquire(conexoes);
+        return resultado;
+    }
+
+    private static void carregarTransferencias(HttpClient cliente, String url, int quantidade) throws Exception {
+        int porLote = 1000;
+        CountDownLatch lotes = new CountDownLatch((quantidade + porLote - 1) / porLote);
+        for (int enviadas = 0; enviadas < quantidade; enviadas += porLote) {
+            StringBuilder corpo = new StringBuilder("[");
+            for (int i = 0; i < Math.min(porLote, quantidade - enviadas); i++) {
+                if (i > 0) {
+                    corpo.append(',');
+                }
+                corpo.append(String.format(
+                        "{\"contaOrigem\":\"%010d\",\"contaDestino\":\"9999999999\"," +
+                        "\"valorTransferencia\":1000.00,\"dataTransferencia\":\"%s\"}",
+                        (enviadas + i) % 100, LocalDate.now().plusDays(15 + (i % 30))));
+            }
+            corpo.append(']');
+            HttpRequest lote = HttpRequest.newBuilder(URI.create(url + "/api/transferencias/lote"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo.toString()))
+                    .build();
+            cliente.sendAsync(lote, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((resposta, erro) -> lotes.countDown());
+        }
+        lotes.await();
+    }
+
+    private static HttpRequest requisicao(String url, String endpoint) {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(LATENCIA_MAXIMA_MS / 1000));
+        if (endpoint.equals("agendamento")) {
+            return requisicao.uri(URI.create(url + "/api/transferencias"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(String.format(
+                            "{\"contaOrigem\":\"0000000042\",\"contaDestino\":\"9999999999\"," +
+                            "\"valorTransferencia\":1000.00,\"dataTransferencia\":\"%s\"}",
+                            LocalDate.now().plusDays(15))))
+                    .build();
+        }
+        return requisicao.uri(URI.create(url + caminho(endpoint))).GET().build();
+    }
+
+    private static String caminho(String endpoint) {
+        return switch (endpoint) {
+            case "listagem" -> "/api/transferencias?tamanho=50";
+            case "conta" -> "/api/transferencias/conta/0000000042?tamanho=50";
+            case "taxa" -> "/api/transferencias/calcular-taxa?valor=1000.00&dataTransferencia="
+                    + LocalDate.now().plusDays(15);
+            default -> throw new IllegalArgumentException("Endpoint desconhecido: " + endpoint);
+        };
+    }
+
+    private static Map<String, String> lerOpcoes(String[] args) {
+        Map<String, String> opcoes = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            opcoes.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        return opcoes;
+    }
+
+    private static final class Resultado {
+
+        private final AtomicLongArray histograma = new AtomicLongArray(LATENCIA_MAXIMA_MS + 1);
+        private final AtomicLong sucessos = new AtomicLong();
+        private final AtomicLong erros = new AtomicLong();
+
+        void registrar(long nanos) {
+            int ms = (int) Math.min(LATENCIA_MAXIMA_MS, nanos / 1_000_000);
+            histograma.incrementAndGet(ms);
+            sucessos.incrementAndGet();
+        }
+
+        void imprimir(int duracaoSegundos) {
+            long total = sucessos.get();
+            System.out.printf("Requisições: %d (%.1f req/s), erros: %d%n",
+                    total, total / (double) duracaoSegundos, erros.get());
+            for (double percentil : Arrays.asList(0.50, 0.90, 0.99, 0.999)) {
+                System.out.printf("p%-5s %6d ms%n", formatar(percentil * 100), percentil(total, percentil));
+            }
+        }
+
+        private long percentil(long total, double percentil) {
+            long alvo = (long) Math.ceil(total * percentil);
+            long acumulado = 0;
+            for (int ms = 0; ms <= LATENCIA_MAXIMA_MS; ms++) {
+                acumulado += histograma.get(ms);
+                if (acumulado >= alvo) {
+                    return ms;
+                }
+            }
+            return LATENCIA_MAXIMA_MS;
+        }
+
+        private static String formatar(double valor) {
+            return valor == Math.floor(valor) ? String.valueOf((long) valor) : String.valueOf(valor);
+        }
+    }
+}
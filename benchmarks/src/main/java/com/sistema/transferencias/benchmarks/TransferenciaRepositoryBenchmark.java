@@ -0,0 +1,133 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.SistemaDeTransferenciasApplication;
+import com.sistema.transferencias.model.NumeroConta;
+import com.sistema.transferencias.repository.TransferenciaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência das consultas do {@link TransferenciaRepository} sobre uma tabela com
+ * {@value #TOTAL_TRANSFERENCIAS} transferências no H2, com e sem os índices declarados
+ * na entidade. Sobe o contexto Spring sem servidor web para usar as mesmas consultas
+ * e o mesmo esquema gerado pelo Hibernate.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TransferenciaRepositoryBenchmark {
+
+    static final int TOTAL_TRANSFERENCIAS = 1_000_000;
+    private static final int TOTAL_CONTAS = 10_000;
+    private static final int DIAS_DE_HISTORICO = 365;
+    private static final int TAMANHO_PAGINA = 50;
+
+    private static final String[] INDICES = {
+            "idx_transferencias_conta_origem_agendamento",
+            "idx_transferencias_data_transferencia_agendamento",
+            "idx_transferencias_data_agendamento"
+    };
+
+    @Param({"true", "false"})
+    private boolean indices;
+
+    private ConfigurableApplicationContext contexto;
+    private TransferenciaRepository repository;
+
+    private NumeroConta contaOrigem;
+    private LocalDate dataCursor;
+    private long idCursor;
+    private LocalDate dataTransferencia;
+
+    @Setup
+    public void setUp() {
+        // OPTIMIZE_REUSE_RESULTS=FALSE impede o H2 de devolver o resultado anterior de uma
+        // consulta idêntica sobre tabela inalterada, o que esconderia o custo da varredura
+        contexto = new SpringApplicationBuilder(SistemaDeTransferenciasApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                        "--spring.sql.init.mode=never",
+                        "--transferencias.liquidacao.habilitada=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        repository = contexto.getBean(TransferenciaRepository.class);
+
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO transferencias (id, conta_origem, conta_destino, valor_transferencia, " +
+                        "taxa_transferencia, data_transferencia, data_agendamento, dias_para_transferencia, status, versao) " +
+                        "SELECT X, MOD(X, ?), 9999999999, 1000.00, 82.00, " +
+                        "DATEADD(DAY, MOD(X, 51) - MOD(X, ?), CURRENT_DATE), " +
+                        "DATEADD(DAY, -MOD(X, ?), CURRENT_DATE), MOD(X, 51), 'AGENDADA', 0 " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                TOTAL_CONTAS, DIAS_DE_HISTORICO, DIAS_DE_HISTORICO, TOTAL_TRANSFERENCIAS);
+        if (!indices) {
+            for (String indice : INDICES) {
+                jdbc.execute("DROP INDEX " + indice);
+            }
+        }
+        jdbc.execute("ANALYZE");
+
+        contaOrigem = NumeroConta.de(TOTAL_CONTAS / 2);
+        // Cursor no meio da listagem, como um cliente que já percorreu metade das páginas
+        dataCursor = LocalDate.now().minusDays(DIAS_DE_HISTORICO / 2);
+        idCursor = TOTAL_TRANSFERENCIAS / 2;
+        dataTransferencia = LocalDate.now().plusDays(10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public void primeiraPagina(Blackhole blackhole) {
+        blackhole.consume(repository.findPrimeiraPagina(Limit.of(TAMANHO_PAGINA + 1)));
+    }
+
+    @Benchmark
+    public void paginaApos(Blackhole blackhole) {
+        blackhole.consume(repository.findPaginaApos(dataCursor, idCursor, Limit.of(TAMANHO_PAGINA + 1)));
+    }
+
+    @Benchmark
+    public void primeiraPaginaPorContaOrigem(Blackhole blackhole) {
+        blackhole.consume(repository.findPrimeiraPaginaPorContaOrigem(contaOrigem, Limit.of(TAMANHO_PAGINA + 1)));
+    }
+
+    @Benchmark
+    public void paginaAposPorContaOrigem(Blackhole blackhole) {
+        blackhole.consume(repository.findPaginaAposPorContaOrigem(
+                contaOrigem, dataCursor, idCursor, Limit.of(TAMANHO_PAGINA + 1)));
+    }
+
+    @Benchmark
+    public void porDataTransferencia(Blackhole blackhole) {
+        blackhole.consume(repository.findByDataTransferenciaOrderByDataAgendamentoDesc(dataTransferencia));
+    }
+}
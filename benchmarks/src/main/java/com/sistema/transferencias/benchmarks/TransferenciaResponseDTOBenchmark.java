@@ -0,0 +1,72 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sistema.transferencias.dto.TransferenciaResponseDTO;
+import com.sistema.transferencias.model.Transferencia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Mapeamento entidade → {@link TransferenciaResponseDTO} e serialização Jackson
+ * de listas de resposta, como feito pelos endpoints de listagem.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferenciaResponseDTOBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int tamanhoLista;
+
+    private Transferencia transferencia;
+    private List<Transferencia> transferencias;
+    private List<TransferenciaResponseDTO> respostas;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        transferencia = BenchmarkFixtures.transferencia(1L);
+        transferencias = new ArrayList<>(tamanhoLista);
+        for (long id = 1; id <= tamanhoLista; id++) {
+            transferencias.add(BenchmarkFixtures.transferencia(id));
+        }
+        respostas = transferencias.stream().map(TransferenciaResponseDTO::de).collect(Collectors.toList());
+        writer = BenchmarkFixtures.objectMapper().writerFor(List.class);
+    }
+
+    @Benchmark
+    public TransferenciaResponseDTO construirResponseDTO() {
+        return TransferenciaResponseDTO.de(transferencia);
+    }
+
+    @Benchmark
+    public List<TransferenciaResponseDTO> mapearLista() {
+        return transferencias.stream()
+                .map(TransferenciaResponseDTO::de)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializarLista() throws JsonProcessingException {
+        return writer.writeValueAsBytes(respostas);
+    }
+}
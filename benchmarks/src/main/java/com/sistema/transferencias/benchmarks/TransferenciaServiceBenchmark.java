@@ -0,0 +1,70 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.service.MetricasTransferencias;
+import com.sistema.transferencias.service.TransferenciaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho completo da cotação pelo service, incluindo as validações e a rejeição da faixa
+ * de 1 a 10 dias: por exceção em {@link TransferenciaService#calcularTaxaTransferencia} e
+ * como {@code ResultadoTaxa} em {@link TransferenciaService#cotarTaxa}.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferenciaServiceBenchmark {
+
+    @Param({"0", "5", "15", "25", "35", "45"})
+    private int dias;
+
+    @Param({"1234.56"})
+    private String valor;
+
+    private TransferenciaService service;
+    private BigDecimal valorTransferencia;
+    private LocalDate dataTransferencia;
+
+    @Setup
+    public void setUp() {
+        // O repository e os resumos não são usados pelo cálculo de taxa; as métricas entram no custo medido,
+        // como na aplicação
+        service = new TransferenciaService(null, BenchmarkFixtures.contextoPadrao(),
+                new MetricasTransferencias(new SimpleMeterRegistry()), BenchmarkFixtures.CALENDARIO, null);
+        valorTransferencia = new BigDecimal(valor);
+        dataTransferencia = BenchmarkFixtures.CALENDARIO.hoje().plusDays(dias);
+    }
+
+    @Benchmark
+    public void calcularTaxaTransferencia(Blackhole blackhole) {
+        try {
+            blackhole.consume(service.calcularTaxaTransferencia(valorTransferencia, dataTransferencia));
+        } catch (RuntimeException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void cotarTaxa(Blackhole blackhole) {
+        blackhole.consume(service.cotarTaxa(valorTransferencia, dataTransferencia));
+    }
+}
@@ -0,0 +1,82 @@
+package com.sistema.transferencias.benchmarks;
+
+import com.sistema.transferencias.config.CalendarioNegocio;
+import com.sistema.transferencias.dto.TransferenciaRequestDTO;
+import com.sistema.transferencias.service.ValidadorTransferencia;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de um {@link TransferenciaRequestDTO} até o mapa de erros por campo do
+ * {@code GlobalExceptionHandler}: Hibernate Validator sobre as anotações do DTO contra o
+ * {@link ValidadorTransferencia}. {@code valido=false} traz conta de origem e data inválidas.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacaoTransferenciaBenchmark {
+
+    @Param({"true", "false"})
+    private boolean valido;
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidation;
+    private ValidadorTransferencia validador;
+    private TransferenciaRequestDTO requestDTO;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidation = validatorFactory.getValidator();
+        // @FutureOrPresent lê o relógio do sistema: os dois caminhos precisam da mesma data atual
+        CalendarioNegocio calendario = CalendarioNegocio.sistema();
+        validador = new ValidadorTransferencia(calendario);
+        requestDTO = valido
+                ? new TransferenciaRequestDTO("1234567890", "0987654321", new BigDecimal("1000.00"),
+                        calendario.hoje().plusDays(15))
+                : new TransferenciaRequestDTO("123456789", "0987654321", new BigDecimal("1000.00"),
+                        calendario.hoje().minusDays(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Map<String, String> hibernateValidator() {
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<TransferenciaRequestDTO> violation : beanValidation.validate(requestDTO)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    @Benchmark
+    public Map<String, String> validadorManual() {
+        return validador.validar(requestDTO);
+    }
+}
@@ -5,7 +5,7 @@ import { of, throwError } from 'rxjs';
 
 import { ExtratoComponent } from './extrato';
 import { TransferenciaService } from '../../services/transferencia';
-import { TransferenciaResponse } from '../../models/transferencia.model';
+import { PaginaTransferencias, TransferenciaResponse } from '../../models/transferencia.model';
 
 describe('ExtratoComponent', () => {
   let component: ExtratoComponent;
@@ -37,7 +37,7 @@ describe('ExtratoComponent', () => {
 
   beforeEach(async () => {
     const spy = jasmine.createSpyObj('TransferenciaService', [
-      'buscarTodasTransferencias'
+      'buscarTransferencias'
     ]);
 
     await TestBed.configureTestingModule({
@@ -60,19 +60,49 @@ describe('ExtratoComponent', () => {
     expect(component).toBeTruthy();
   });
 
+  const mockPagina: PaginaTransferencias = {
+    itens: mockTransferencias,
+    tamanho: 50,
+    proximoCursor: null
+  };
+
   it('should load transferências on init', () => {
-    transferenciaService.buscarTodasTransferencias.and.returnValue(of(mockTransferencias));
+    transferenciaService.buscarTransferencias.and.returnValue(of(mockPagina));
 
     component.ngOnInit();
 
-    expect(transferenciaService.buscarTodasTransferencias).toHaveBeenCalled();
+    expect(transferenciaService.buscarTransferencias).toHaveBeenCalled();
     expect(component.transferencias).toEqual(mockTransferencias);
     expect(component.transferenciasOriginais).toEqual(mockTransferencias);
+    expect(component.proximoCursor).toBeNull();
     expect(component.loading).toBeFalsy();
   });
 
+  it('should append the next page when carregarMais is called', () => {
+    transferenciaService.buscarTransferencias.and.returnValues(
+      of({ itens: [mockTransferencias[0]], tamanho: 1, proximoCursor: 'cursor-1' }),
+      of({ itens: [mockTransferencias[1]], tamanho: 1, proximoCursor: null })
+    );
+
+    component.carregarTransferencias();
+    component.carregarMais();
+
+    expect(transferenciaService.buscarTransferencias).toHaveBeenCalledWith('cursor-1');
+    expect(component.transferenciasOriginais).toEqual(mockTransferencias);
+    expect(component.proximoCursor).toBeNull();
+    expect(component.carregandoMais).toBeFalsy();
+  });
+
+  it('should not request another page when there is no cursor', () => {
+    component.proximoCursor = null;
+
+    component.carregarMais();
+
+    expect(transferenciaService.buscarTransferencias).not.toHaveBeenCalled();
+  });
+
   it('should handle loading error', () => {
-    transferenciaService.buscarTodasTransferencias.and.returnValue(
+    transferenciaService.buscarTransferencias.and.returnValue(
       throwError(() => new Error('Erro de rede'))
     );
 
@@ -282,11 +312,11 @@ describe('ExtratoComponent', () => {
 
   describe('Reload', () => {
     it('should reload transferências', () => {
-      transferenciaService.buscarTodasTransferencias.and.returnValue(of(mockTransferencias));
+      transferenciaService.buscarTransferencias.and.returnValue(of(mockPagina));
 
       component.carregarTransferencias();
 
-      expect(transferenciaService.buscarTodasTransferencias).toHaveBeenCalled();
+      expect(transferenciaService.buscarTransferencias).toHaveBeenCalled();
       expect(component.transferencias).toEqual(mockTransferencias);
     });
   });
@@ -2,7 +2,7 @@ import { Component, OnInit } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
 import { TransferenciaService } from '../../services/transferencia';
-import { TransferenciaResponse } from '../../models/transferencia.model';
+import { PaginaTransferencias, TransferenciaResponse } from '../../models/transferencia.model';
 
 @Component({
   selector: 'app-extrato',
@@ -17,6 +17,10 @@ export class ExtratoComponent implements OnInit {
   loading = false;
   erro: string | null = null;
 
+  // Paginação por cursor
+  proximoCursor: string | null = null;
+  carregandoMais = false;
+
   // Filtros
   filtroContaOrigem = '';
   filtroDataInicio = '';
@@ -36,9 +40,10 @@ export class ExtratoComponent implements OnInit {
     this.loading = true;
     this.erro = null;
 
-    this.transferenciaService.buscarTodasTransferencias().subscribe({
-      next: (transferencias: TransferenciaResponse[]) => {
-        this.transferenciasOriginais = transferencias;
+    this.transferenciaService.buscarTransferencias().subscribe({
+      next: (pagina: PaginaTransferencias) => {
+        this.transferenciasOriginais = pagina.itens;
+        this.proximoCursor = pagina.proximoCursor;
         this.aplicarFiltros();
         this.loading = false;
       },
@@ -50,6 +55,28 @@ export class ExtratoComponent implements OnInit {
     });
   }
 
+  carregarMais(): void {
+    if (!this.proximoCursor || this.carregandoMais) {
+      return;
+    }
+    this.carregandoMais = true;
+    this.erro = null;
+
+    this.transferenciaService.buscarTransferencias(this.proximoCursor).subscribe({
+      next: (pagina: PaginaTransferencias) => {
+        this.transferenciasOriginais = [...this.transferenciasOriginais, ...pagina.itens];
+        this.proximoCursor = pagina.proximoCursor;
+        this.aplicarFiltros();
+        this.carregandoMais = false;
+      },
+      error: (error) => {
+        this.carregandoMais = false;
+        this.erro = 'Erro ao carregar transferências. Tente novamente.';
+        console.error('Erro ao carregar transferências:', error);
+      }
+    });
+  }
+
   aplicarFiltros(): void {
     let transferenciasFiltradas = [...this.transferenciasOriginais];
 
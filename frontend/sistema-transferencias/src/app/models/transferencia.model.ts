@@ -5,6 +5,8 @@ export interface TransferenciaRequest {
   dataTransferencia: string;
 }
 
+export type StatusTransferencia = 'AGENDADA' | 'EM_PROCESSAMENTO' | 'LIQUIDADA' | 'FALHOU';
+
 export interface TransferenciaResponse {
   id: number;
   contaOrigem: string;
@@ -14,6 +16,13 @@ export interface TransferenciaResponse {
   dataTransferencia: string;
   dataAgendamento: string;
   diasParaTransferencia: number;
+  status?: StatusTransferencia;
+}
+
+export interface PaginaTransferencias {
+  itens: TransferenciaResponse[];
+  tamanho: number;
+  proximoCursor: string | null;
 }
 
 export interface TaxaCalculoResponse {
@@ -4,6 +4,7 @@ import { TransferenciaService } from './transferencia';
 import { 
   TransferenciaRequest, 
   TransferenciaResponse, 
+  PaginaTransferencias,
   TaxaCalculoResponse 
 } from '../models/transferencia.model';
 
@@ -60,9 +61,9 @@ describe('TransferenciaService', () => {
     });
   });
 
-  describe('buscarTodasTransferencias', () => {
-    it('should send GET request to fetch all transferências', () => {
-      const mockResponse: TransferenciaResponse[] = [
+  describe('buscarTransferencias', () => {
+    const mockPagina: PaginaTransferencias = {
+      itens: [
         {
           id: 1,
           contaOrigem: '1234567890',
@@ -73,16 +74,30 @@ describe('TransferenciaService', () => {
           dataAgendamento: '2025-07-21',
           diasParaTransferencia: 1
         }
-      ];
-
-      service.buscarTodasTransferencias().subscribe(response => {
-        expect(response).toEqual(mockResponse);
-        expect(response.length).toBe(1);
+      ],
+      tamanho: 50,
+      proximoCursor: 'cursor-1'
+    };
+
+    it('should send GET request to fetch the first page of transferências', () => {
+      service.buscarTransferencias().subscribe(response => {
+        expect(response).toEqual(mockPagina);
+        expect(response.itens.length).toBe(1);
       });
 
       const req = httpMock.expectOne(apiUrl);
       expect(req.request.method).toBe('GET');
-      req.flush(mockResponse);
+      req.flush(mockPagina);
+    });
+
+    it('should send cursor and page size when fetching the next page', () => {
+      service.buscarTransferencias('cursor-1', 20).subscribe(response => {
+        expect(response).toEqual(mockPagina);
+      });
+
+      const req = httpMock.expectOne(`${apiUrl}?cursor=cursor-1&tamanho=20`);
+      expect(req.request.method).toBe('GET');
+      req.flush(mockPagina);
     });
   });
 
@@ -111,18 +126,22 @@ describe('TransferenciaService', () => {
 
   describe('buscarTransferenciasPorConta', () => {
     it('should send GET request to fetch transferências by conta', () => {
-      const mockResponse: TransferenciaResponse[] = [
-        {
-          id: 1,
-          contaOrigem: '1234567890',
-          contaDestino: '0987654321',
-          valorTransferencia: 1000,
-          taxaTransferencia: 12,
-          dataTransferencia: '2025-07-22',
-          dataAgendamento: '2025-07-21',
-          diasParaTransferencia: 1
-        }
-      ];
+      const mockResponse: PaginaTransferencias = {
+        itens: [
+          {
+            id: 1,
+            contaOrigem: '1234567890',
+            contaDestino: '0987654321',
+            valorTransferencia: 1000,
+            taxaTransferencia: 12,
+            dataTransferencia: '2025-07-22',
+            dataAgendamento: '2025-07-21',
+            diasParaTransferencia: 1
+          }
+        ],
+        tamanho: 50,
+        proximoCursor: null
+      };
 
       service.buscarTransferenciasPorConta('1234567890').subscribe(response => {
         expect(response).toEqual(mockResponse);
@@ -4,6 +4,7 @@ import { Observable } from 'rxjs';
 import {
   TransferenciaRequest,
   TransferenciaResponse,
+  PaginaTransferencias,
   TaxaCalculoResponse
 } from '../models/transferencia.model';
 
@@ -24,10 +25,10 @@ export class TransferenciaService {
   }
 
 
-   // Busca todas as transferências agendadas
+   // Busca uma página das transferências agendadas (cursor da página anterior ou nenhum para a primeira)
 
-  buscarTodasTransferencias(): Observable<TransferenciaResponse[]> {
-    return this.http.get<TransferenciaResponse[]>(this.apiUrl);
+  buscarTransferencias(cursor?: string | null, tamanho?: number): Observable<PaginaTransferencias> {
+    return this.http.get<PaginaTransferencias>(this.apiUrl, { params: this.paramsPaginacao(cursor, tamanho) });
   }
 
 
@@ -38,10 +39,12 @@ export class TransferenciaService {
   }
 
 
-   // Busca transferências por conta de origem
+   // Busca uma página das transferências de uma conta de origem
 
-  buscarTransferenciasPorConta(contaOrigem: string): Observable<TransferenciaResponse[]> {
-    return this.http.get<TransferenciaResponse[]>(`${this.apiUrl}/conta/${contaOrigem}`);
+  buscarTransferenciasPorConta(contaOrigem: string, cursor?: string | null, tamanho?: number): Observable<PaginaTransferencias> {
+    return this.http.get<PaginaTransferencias>(`${this.apiUrl}/conta/${contaOrigem}`, {
+      params: this.paramsPaginacao(cursor, tamanho)
+    });
   }
 
 
@@ -61,5 +64,16 @@ export class TransferenciaService {
   verificarStatus(): Observable<any> {
     return this.http.get(`${this.apiUrl}/health`);
   }
+
+  private paramsPaginacao(cursor?: string | null, tamanho?: number): HttpParams {
+    let params = new HttpParams();
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    if (tamanho) {
+      params = params.set('tamanho', tamanho.toString());
+    }
+    return params;
+  }
 }
 